@@ -25,19 +25,20 @@ package com.github.lgooddatepicker.components;
 import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
 import com.github.lgooddatepicker.optionalusertools.CalendarBorderProperties;
 import com.github.lgooddatepicker.optionalusertools.CalendarListener;
-import com.github.lgooddatepicker.optionalusertools.DateHighlightPolicy;
 import com.github.lgooddatepicker.optionalusertools.DateInterval;
-import com.github.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import com.github.lgooddatepicker.zinternaltools.CalendarDateGrid;
+import com.github.lgooddatepicker.zinternaltools.CalendarLabelState;
 import com.github.lgooddatepicker.zinternaltools.CalendarSelectionEvent;
 import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
-import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
 import com.github.lgooddatepicker.zinternaltools.JIntegerTextField;
+import com.github.lgooddatepicker.zinternaltools.MonthGrid;
 import com.github.lgooddatepicker.zinternaltools.MouseLiberalAdapter;
+import com.github.lgooddatepicker.zinternaltools.TextMetricsCache;
+import com.github.lgooddatepicker.zinternaltools.YearListModel;
 import com.github.lgooddatepicker.zinternaltools.YearMonthChangeEvent;
 import com.privatejgoodies.forms.factories.CC;
 import com.privatejgoodies.forms.layout.CellConstraints;
 import com.privatejgoodies.forms.layout.FormLayout;
-import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
@@ -48,28 +49,41 @@ import java.awt.Insets;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.text.DateFormatSymbols;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.Year;
 import java.time.YearMonth;
 import java.time.temporal.WeekFields;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import javax.swing.AbstractAction;
 import javax.swing.JButton;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JMenuItem;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.ListSelectionModel;
+import javax.swing.MenuElement;
+import javax.swing.MenuSelectionManager;
+import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
+import javax.swing.event.MenuKeyEvent;
+import javax.swing.event.MenuKeyListener;
 import javax.swing.event.PopupMenuEvent;
 import javax.swing.event.PopupMenuListener;
 
@@ -96,9 +110,19 @@ public class CalendarPanel extends JPanel {
    * currently have dates or ones that are blank. This will always have exactly 42 labels. Date
    * labels are reused when the currently displayed month or year is changed. The first date label
    * is at index zero.
+   *
+   * <p>The date labels are created when the calendar is first drawn. This is null while the
+   * painted date grid is used instead of the date labels. (See DatePickerSettings.paintDateGrid.)
    */
   private ArrayList<JLabel> dateLabels;
 
+  /**
+   * dateGrid, This holds the component that paints all the date cells of the calendar, when the
+   * "paintDateGrid" setting is true. The date grid has the same cell order as the date labels. This
+   * is null while the date labels are used.
+   */
+  private CalendarDateGrid dateGrid;
+
   /**
    * topLeftLabel, This holds the top left label, which lies at the intersection of the weekday
    * labels row and the week number labels column.
@@ -213,6 +237,41 @@ public class CalendarPanel extends JPanel {
    */
   private EmptyBorder labelIndicatorEmptyBorder = new EmptyBorder(3, 2, 3, 2);
 
+  /**
+   * lastLayoutInputs, This holds the values that affected the layout of the calendar panel, the
+   * last time that the layout was validated. This is used to skip the layout of the calendar panel
+   * when the calendar is redrawn without any change to its geometry. This is null until the first
+   * layout.
+   */
+  private List<Object> lastLayoutInputs = null;
+
+  /**
+   * NAVIGATION_FRAME_MILLISECONDS, This is the shortest time between two calendar redraws that are
+   * caused by the navigation buttons. This is about one frame at 60 frames per second.
+   */
+  private static final int NAVIGATION_FRAME_MILLISECONDS = 16;
+
+  /**
+   * navigationFrameTimer, This timer is running while a navigation frame is open. A navigation
+   * frame is opened each time that the navigation buttons redraw the calendar. Any navigation that
+   * is requested during the frame is drawn when the frame ends. (See zNavigateByMonths().)
+   */
+  private final Timer navigationFrameTimer =
+      new Timer(NAVIGATION_FRAME_MILLISECONDS, actionEvent -> zNavigationFrameEnded());
+
+  /**
+   * pendingNavigationMonths, This holds the total number of months that have been requested by the
+   * navigation buttons, but that have not been drawn yet. Negative values move the calendar back.
+   */
+  private long pendingNavigationMonths = 0;
+
+  /**
+   * prefetchGeneration, This is increased each time that a prefetch of the adjacent months is
+   * scheduled. A scheduled prefetch step only runs while its generation is still the current
+   * generation, so drawing the calendar again abandons any unfinished prefetch.
+   */
+  private int prefetchGeneration = 0;
+
   /**
    * settings, This holds a reference to the date picker settings for this calendar panel.
    *
@@ -279,6 +338,26 @@ public class CalendarPanel extends JPanel {
   private final JPopupMenu popupMonth = new JPopupMenu();
   private final JPopupMenu popupYear = new JPopupMenu();
 
+  /**
+   * YEAR_LIST_HALF_SPAN, This is the largest number of years that the year list shows before or
+   * after the displayed year. The year list can not hold the full range of LocalDate years, because
+   * the list height in pixels must fit in an int. Years outside of the list can still be chosen
+   * with the "( . . . )" year editor.
+   */
+  private static final int YEAR_LIST_HALF_SPAN = 10000;
+
+  /** YEAR_LIST_VISIBLE_ROW_COUNT, This is the number of years that are visible in the year list. */
+  private static final int YEAR_LIST_VISIBLE_ROW_COUNT = 15;
+
+  /**
+   * yearListModel, This holds the range of years that are shown in the year popup menu. The model
+   * and the year list are created once, and reused each time that the year popup menu is shown.
+   */
+  private final YearListModel yearListModel = new YearListModel();
+
+  /** yearList, This is the scrollable list of years inside the year popup menu. */
+  private final JList<Integer> yearList = new JList<>(yearListModel);
+
   /**
    * Constructor, Independent CalendarPanel with default settings. This creates an independent
    * calendar panel with a default set of DatePickerSettings. The calendar panel will use the
@@ -328,6 +407,8 @@ public class CalendarPanel extends JPanel {
 
     popupMonth.addPopupMenuListener(monthPopupCancelWatcher);
     popupYear.addPopupMenuListener(yearPopupCancelWatcher);
+    zInitializeYearPopupMenu();
+    navigationFrameTimer.setRepeats(false);
 
     displayedYearMonth = YearMonth.now(getClockForToday());
 
@@ -376,7 +457,8 @@ public class CalendarPanel extends JPanel {
 
     // Generate and add the various calendar panel labels.
     // These are only generated once.
-    addDateLabels();
+    // Note: The date labels (or the painted date grid) are added when the calendar is first drawn,
+    // because the choice between them depends on the settings.
     addWeekdayLabels();
     addTopLeftLabel();
     addWeekNumberLabels();
@@ -582,52 +664,34 @@ public class CalendarPanel extends JPanel {
 
   /**
    * buttonNextMonthActionPerformed, This event is called when the next month button is pressed.
-   * This sets the YearMonth of the calendar to the next month, and redraws the calendar.
+   * This moves the calendar forward one month. (See zNavigateByMonths().)
    */
   private void buttonNextMonthActionPerformed(ActionEvent e) {
-    // We catch and ignore any exceptions at the minimum and maximum of the local date range.
-    try {
-      drawCalendar(displayedYearMonth.plusMonths(1));
-    } catch (Exception ex) {
-    }
+    zNavigateByMonths(1);
   }
 
   /**
-   * buttonNextYearActionPerformed, This event is called when the next year button is pressed. This
-   * sets the YearMonth of the calendar to the next year, and redraws the calendar.
+   * buttonNextYearActionPerformed, This event is called when the next year button is pressed.
+   * This moves the calendar forward one year. (See zNavigateByMonths().)
    */
   private void buttonNextYearActionPerformed(ActionEvent e) {
-    // We catch and ignore any exceptions at the minimum and maximum of the local date range.
-    try {
-      drawCalendar(displayedYearMonth.plusYears(1));
-    } catch (Exception ex) {
-    }
+    zNavigateByMonths(12);
   }
 
   /**
    * buttonPreviousMonthActionPerformed, This event is called when the previous month button is
-   * pressed. This sets the YearMonth of the calendar to the previous month, and redraws the
-   * calendar.
+   * pressed. This moves the calendar back one month. (See zNavigateByMonths().)
    */
   private void buttonPreviousMonthActionPerformed(ActionEvent e) {
-    // We catch and ignore any exceptions at the minimum and maximum of the local date range.
-    try {
-      drawCalendar(displayedYearMonth.minusMonths(1));
-    } catch (Exception ex) {
-    }
+    zNavigateByMonths(-1);
   }
 
   /**
    * buttonPreviousYearActionPerformed, This event is called when the previous year button is
-   * pressed. This sets the YearMonth of the calendar to the previous year, and redraws the
-   * calendar.
+   * pressed. This moves the calendar back one year. (See zNavigateByMonths().)
    */
   private void buttonPreviousYearActionPerformed(ActionEvent e) {
-    // We catch and ignore any exceptions at the minimum and maximum of the local date range.
-    try {
-      drawCalendar(displayedYearMonth.minusYears(1));
-    } catch (Exception ex) {
-    }
+    zNavigateByMonths(-12);
   }
 
   /**
@@ -637,8 +701,16 @@ public class CalendarPanel extends JPanel {
   private void dateLabelMousePressed(MouseEvent e) {
     // Get the label that was clicked.
     JLabel label = (JLabel) e.getSource();
-    // If the label is empty, do nothing and return.
-    String labelText = label.getText();
+    dateCellClicked(label.getText());
+  }
+
+  /**
+   * dateCellClicked, This is called any time that the user clicks on a date cell in the calendar,
+   * with the text of the clicked cell. Date cells can be date labels or cells of the painted date
+   * grid. This sets the date picker to the selected date, and closes the calendar panel.
+   */
+  private void dateCellClicked(String labelText) {
+    // If the cell is empty, do nothing and return.
     if ("".equals(labelText)) {
       return;
     }
@@ -655,7 +727,7 @@ public class CalendarPanel extends JPanel {
    * programmer, because the calendar will automatically redraw itself as needed.
    */
   public void drawCalendar() {
-    drawCalendar(displayedYearMonth);
+    drawCalendar(displayedYearMonth, null);
   }
 
   /**
@@ -668,9 +740,11 @@ public class CalendarPanel extends JPanel {
 
   /**
    * drawCalendar, This is called whenever the calendar needs to be drawn. This takes a year and a
-   * month to indicate which month should be drawn in the calendar.
+   * month to indicate which month should be drawn in the calendar. This is used when the month is
+   * chosen by anything other than the navigation buttons, so any pending navigation is discarded.
    */
   private void drawCalendar(YearMonth newYearMonth) {
+    zDiscardPendingNavigation();
     drawCalendar(newYearMonth, null);
   }
 
@@ -681,6 +755,16 @@ public class CalendarPanel extends JPanel {
    * YearMonth in "this.displayedYearMonth" will be used as the old YearMonth.
    */
   private void drawCalendar(YearMonth newYearMonth, YearMonth oldYearMonthOrNull) {
+    drawCalendar(newYearMonth, oldYearMonthOrNull, true);
+  }
+
+  /**
+   * drawCalendar, This is called whenever the calendar needs to be drawn. This is the same as the
+   * function above, except that the calendar listeners are only notified of the (possibly changed)
+   * YearMonth if notifyListeners is true.
+   */
+  private void drawCalendar(
+      YearMonth newYearMonth, YearMonth oldYearMonthOrNull, boolean notifyListeners) {
     // Skip this function if the settings have not been applied.
     if (settings == null) {
       return;
@@ -690,16 +774,20 @@ public class CalendarPanel extends JPanel {
         (oldYearMonthOrNull == null) ? this.displayedYearMonth : oldYearMonthOrNull;
     // Save the (new) displayed yearMonth.
     this.displayedYearMonth = newYearMonth;
+    // Make sure that the date cells match the "paintDateGrid" setting.
+    zApplyDateGridType();
 
     // Notify any CalendarListeners of a possible change to the YearMonth.
     // Note: It is intentional that this section of code does not have it's own function,
     // because this should not be called from anywhere else.
     // Note: this is placed at the beginning of the drawCalendar function, so that if desired,
     // a developer could change the appearance of the calendar in response to this event.
-    for (CalendarListener calendarListener : calendarListeners) {
-      YearMonthChangeEvent yearMonthChangeEvent =
-          new YearMonthChangeEvent(this, this.displayedYearMonth, oldYearMonth);
-      calendarListener.yearMonthChanged(yearMonthChangeEvent);
+    if (notifyListeners) {
+      for (CalendarListener calendarListener : calendarListeners) {
+        YearMonthChangeEvent yearMonthChangeEvent =
+            new YearMonthChangeEvent(this, this.displayedYearMonth, oldYearMonth);
+        calendarListener.yearMonthChanged(yearMonthChangeEvent);
+      }
     }
 
     // Get the displayed month and year.
@@ -715,59 +803,75 @@ public class CalendarPanel extends JPanel {
         settings.getTranslationArrayStandaloneLongMonthNames()[zeroBasedMonthIndex];
     String localizedShortMonth =
         settings.getTranslationArrayStandaloneShortMonthNames()[zeroBasedMonthIndex];
-    // Get the first day of the month, and the first day of week.
-    LocalDate firstDayOfMonth = LocalDate.of(displayedYear, displayedMonth, 1);
-    DayOfWeek firstDayOfWeekOfMonth = firstDayOfMonth.getDayOfWeek();
-    // Get the last day of the month.
-    int lastDateOfMonth = getLastDayOfMonth(displayedYearMonth);
-    // Find out if we have a selected date that is inside the currently displayed month.
-    boolean selectedDateIsInDisplayedMonth =
-        (displayedSelectedDate != null)
-            && (displayedSelectedDate.getYear() == displayedYear)
-            && (displayedSelectedDate.getMonth() == displayedMonth);
+    // Get the date grid of the displayed month. The grid maps each date label to a date, and holds
+    // the day number texts and the week numbers. Grids are cached, and shared by all calendars.
+    boolean showWeekNumbers = settings.getWeekNumbersDisplayed();
+    WeekFields weekNumberRules = settings.getWeekNumberRules();
+    MonthGrid monthGrid =
+        MonthGrid.getGrid(
+            newYearMonth,
+            settings.getFirstDayOfWeekDisplayedOnCalendar(),
+            (showWeekNumbers) ? weekNumberRules : null);
+    // If an asynchronous date policy is set, make sure that the displayed month and the month of
+    // today are loaded or loading. Any other loading month is cancelled. The calendar is redrawn
+    // when the displayed month has been loaded, and the today button is updated when the month of
+    // today has been loaded. While the displayed month is loading, its dates are drawn in the
+    // "loading" state, and the policies are not used.
+    // If adjacent months are prefetched, then they are also needed.
+    YearMonth todayYearMonth = YearMonth.now(settings.getClock());
+    ArrayList<YearMonth> asyncPolicyMonths = new ArrayList<>();
+    asyncPolicyMonths.add(newYearMonth);
+    asyncPolicyMonths.add(todayYearMonth);
+    if (settings.getPrefetchAdjacentMonths()) {
+      asyncPolicyMonths.addAll(getAdjacentMonths(newYearMonth));
+    }
+    settings.zLoadAsyncPolicyMonths(asyncPolicyMonths, this::zAsyncPolicyMonthLoaded);
+    boolean isMonthLoading = settings.zIsMonthLoadingForCalendar(newYearMonth);
+    // Find the date label of the selected date, if the selected date is in the displayed month.
+    int selectedDateLabelIndex = monthGrid.getCellIndexOfDate(displayedSelectedDate);
     // Set the component colors and fonts.
+    // Note: All the component properties in this function are set with the "IfChanged" functions
+    // of CalendarLabelState. Swing setters can fire events, revalidate, and repaint even when a
+    // value is not changed, and most redraws only change a few of these properties.
     Color calendarPanelBackgroundColor = settings.getColor(DateArea.BackgroundOverallCalendarPanel);
-    setBackground(calendarPanelBackgroundColor);
-    headerControlsPanel.setBackground(calendarPanelBackgroundColor);
-    monthAndYearOuterPanel.setBackground(calendarPanelBackgroundColor);
-    footerPanel.setBackground(calendarPanelBackgroundColor);
-    // Set the background of the navigation buttons.
+    CalendarLabelState.setBackgroundIfChanged(this, calendarPanelBackgroundColor);
+    CalendarLabelState.setBackgroundIfChanged(headerControlsPanel, calendarPanelBackgroundColor);
+    CalendarLabelState.setBackgroundIfChanged(monthAndYearOuterPanel, calendarPanelBackgroundColor);
+    CalendarLabelState.setBackgroundIfChanged(footerPanel, calendarPanelBackgroundColor);
+    // Set the background, font, and font-color of the navigation buttons.
     Color navigationButtonsColor =
         settings.getColor(DateArea.BackgroundMonthAndYearNavigationButtons);
-    buttonPreviousYear.setBackground(navigationButtonsColor);
-    buttonNextYear.setBackground(navigationButtonsColor);
-    buttonPreviousMonth.setBackground(navigationButtonsColor);
-    buttonNextMonth.setBackground(navigationButtonsColor);
-    // Set the fonts of all buttons.
-    buttonPreviousYear.setFont(settings.getFontMonthAndYearNavigationButtons());
-    buttonNextYear.setFont(settings.getFontMonthAndYearNavigationButtons());
-    buttonPreviousMonth.setFont(settings.getFontMonthAndYearNavigationButtons());
-    buttonNextMonth.setFont(settings.getFontMonthAndYearNavigationButtons());
-    // Set the font-colors of all buttons.
-    buttonPreviousYear.setForeground(settings.getColor(DateArea.TextMonthAndYearNavigationButtons));
-    buttonNextYear.setForeground(settings.getColor(DateArea.TextMonthAndYearNavigationButtons));
-    buttonPreviousMonth.setForeground(
-        settings.getColor(DateArea.TextMonthAndYearNavigationButtons));
-    buttonNextMonth.setForeground(settings.getColor(DateArea.TextMonthAndYearNavigationButtons));
+    Font navigationButtonsFont = settings.getFontMonthAndYearNavigationButtons();
+    Color navigationButtonsTextColor =
+        settings.getColor(DateArea.TextMonthAndYearNavigationButtons);
+    for (JButton navigationButton :
+        new JButton[] {buttonPreviousYear, buttonNextYear, buttonPreviousMonth, buttonNextMonth}) {
+      CalendarLabelState.setBackgroundIfChanged(navigationButton, navigationButtonsColor);
+      CalendarLabelState.setFontIfChanged(navigationButton, navigationButtonsFont);
+      CalendarLabelState.setForegroundIfChanged(navigationButton, navigationButtonsTextColor);
+    }
     // Set the fonts of all labels.
-    labelMonth.setFont(settings.getFontMonthAndYearMenuLabels());
-    labelYear.setFont(settings.getFontMonthAndYearMenuLabels());
-    labelSetDateToToday.setFont(settings.getFontTodayLabel());
-    labelClearDate.setFont(settings.getFontClearLabel());
+    CalendarLabelState.setFontIfChanged(labelMonth, settings.getFontMonthAndYearMenuLabels());
+    CalendarLabelState.setFontIfChanged(labelYear, settings.getFontMonthAndYearMenuLabels());
+    CalendarLabelState.setFontIfChanged(labelSetDateToToday, settings.getFontTodayLabel());
+    CalendarLabelState.setFontIfChanged(labelClearDate, settings.getFontClearLabel());
     // Set the font-colors of all labels.
-    labelMonth.setForeground(settings.getColor(DateArea.TextMonthAndYearMenuLabels));
-    labelYear.setForeground(settings.getColor(DateArea.TextMonthAndYearMenuLabels));
-    labelSetDateToToday.setForeground(settings.getColor(DateArea.TextTodayLabel));
-    labelClearDate.setForeground(settings.getColor(DateArea.TextClearLabel));
+    Color monthAndYearTextColor = settings.getColor(DateArea.TextMonthAndYearMenuLabels);
+    CalendarLabelState.setForegroundIfChanged(labelMonth, monthAndYearTextColor);
+    CalendarLabelState.setForegroundIfChanged(labelYear, monthAndYearTextColor);
+    CalendarLabelState.setForegroundIfChanged(
+        labelSetDateToToday, settings.getColor(DateArea.TextTodayLabel));
+    CalendarLabelState.setForegroundIfChanged(
+        labelClearDate, settings.getColor(DateArea.TextClearLabel));
     // Set the month and the year label text values.
     // Use the short month if the user is currently using the keyboard editor for the year.
     if (monthAndYearInnerPanel.isAncestorOf(yearEditorPanel)) {
-      labelMonth.setText(localizedShortMonth);
+      CalendarLabelState.setTextIfChanged(labelMonth, localizedShortMonth);
     } else {
-      labelMonth.setText(localizedFullMonth);
+      CalendarLabelState.setTextIfChanged(labelMonth, localizedFullMonth);
     }
     final String displayedYearString = String.valueOf(displayedYear);
-    labelYear.setText(displayedYearString);
+    CalendarLabelState.setTextIfChanged(labelYear, displayedYearString);
     if (!displayedYearString.equals(yearTextField.getText())) {
       // This invokeLater call fixes a bug where an exception was being thrown if you typed
       // "0X" into the year text field. The exception was:
@@ -779,8 +883,7 @@ public class CalendarPanel extends JPanel {
             yearTextField.skipNotificationOfNumberChangeListenerWhileTrue = false;
           });
     }
-    // Set the days of the week labels, and create an array to represent the weekday positions.
-    ArrayList<DayOfWeek> daysOfWeekAsDisplayed = new ArrayList<>();
+    // Set the days of the week labels.
     int isoFirstDayOfWeekValue = settings.getFirstDayOfWeekDisplayedOnCalendar().getValue();
     int isoLastDayOfWeekOverflowed = isoFirstDayOfWeekValue + 6;
     int weekdayLabelArrayIndex = 0;
@@ -788,164 +891,64 @@ public class CalendarPanel extends JPanel {
         dayOfWeek <= isoLastDayOfWeekOverflowed;
         dayOfWeek++) {
       int localShortDaysOfWeekArrayIndex = (dayOfWeek % 7) + 1;
-      int isoDayOfWeek = (dayOfWeek > 7) ? (dayOfWeek - 7) : dayOfWeek;
-      DayOfWeek currentDayOfWeek = DayOfWeek.of(isoDayOfWeek);
-      daysOfWeekAsDisplayed.add(currentDayOfWeek);
-      weekdayLabels
-          .get(weekdayLabelArrayIndex)
-          .setText(localShortDaysOfWeek[localShortDaysOfWeekArrayIndex]);
+      CalendarLabelState.setTextIfChanged(
+          weekdayLabels.get(weekdayLabelArrayIndex),
+          localShortDaysOfWeek[localShortDaysOfWeekArrayIndex]);
       ++weekdayLabelArrayIndex;
     }
     // Set the dates of the month labels.
-    // Also save the label for the selected date, if one is present in the current month.
-    // Also save the first date in each used row, for later use while displaying week numbers.
-    ArrayList<LocalDate> firstDateInEachUsedRow = new ArrayList<>();
-    boolean insideValidRange = false;
-    int dayOfMonth = 1;
-    JLabel selectedDateLabel = null;
-    DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-    DateHighlightPolicy highlightPolicy = settings.getHighlightPolicy();
+    // Note: The veto and highlight policy results are retrieved through the settings, which will
+    // use the policy result cache if the "cachePolicyResults" setting is true.
+    // The new state of each date label is filled out in this object, and then applied to the
+    // label. Only the label properties that have changed will be set.
+    CalendarLabelState labelState = new CalendarLabelState();
     for (int dateLabelArrayIndex = 0;
-        dateLabelArrayIndex < dateLabels.size();
+        dateLabelArrayIndex < MonthGrid.CELL_COUNT;
         ++dateLabelArrayIndex) {
-      // Get the current date label.
-      JLabel dateLabel = dateLabels.get(dateLabelArrayIndex);
-      // Reset the state of every label to a default state.
-      dateLabel.setBackground(settings.getColor(DateArea.CalendarBackgroundNormalDates));
-      dateLabel.setForeground(settings.getColor(DateArea.CalendarTextNormalDates));
-      dateLabel.setFont(settings.getFontCalendarDateLabels());
-      dateLabel.setBorder(new EmptyBorder(1, 1, 1, 1));
-      dateLabel.setEnabled(true);
-      dateLabel.setToolTipText(null);
-      // Calculate the index to use on the daysOfWeekAsDisplayed array.
-      int daysOfWeekAsDisplayedArrayIndex = dateLabelArrayIndex % 7;
-      // Check to see if we are inside the valid range for days of this month.
-      if (daysOfWeekAsDisplayed.get(daysOfWeekAsDisplayedArrayIndex) == firstDayOfWeekOfMonth
-          && dateLabelArrayIndex < 7) {
-        insideValidRange = true;
-      }
-      if (dayOfMonth > lastDateOfMonth) {
-        insideValidRange = false;
-      }
-      // While we are inside the valid range, set the date labels with the day of the month.
-      if (insideValidRange) {
-        // Get a local date object for the current date.
-        LocalDate currentDate = LocalDate.of(displayedYear, displayedMonth, dayOfMonth);
-
-        // Save the first date of each used calendar row, for getting week numbers.
-        // Notes: The first day of the month will always be in the first row.
-        // The first day of the month will only occur once while inside the valid range.
-        if (dayOfMonth == 1) {
-          // The first date of the first row will often be a date from the previous month.
-          // The first date label will often not have a displayed date.
-          // We encompass this in a try block, so that LocalDate.MIN will not throw an
-          // exception here.
-          try {
-            LocalDate firstDateOfFirstRow = currentDate.minusDays(dateLabelArrayIndex);
-            firstDateInEachUsedRow.add(firstDateOfFirstRow);
-          } catch (Exception e) {
-            firstDateInEachUsedRow.add(LocalDate.MIN);
-          }
-        } else if ((dateLabelArrayIndex % 7) == 0) {
-          // If we are not in the first row, and we are in the first label of a row, then
-          // add the current date to the firstDateInEachRow array.
-          firstDateInEachUsedRow.add(currentDate);
-        }
-
-        // Get the veto policy and highlight policy information for this date.
-        boolean dateIsVetoed = InternalUtilities.isDateVetoed(vetoPolicy, currentDate);
-        HighlightInformation highlightInfo = null;
-        if (highlightPolicy != null) {
-          highlightInfo = highlightPolicy.getHighlightInformationOrNull(currentDate);
-        }
-        if (dateIsVetoed) {
-          dateLabel.setEnabled(false);
-          dateLabel.setBackground(settings.getColor(DateArea.CalendarBackgroundVetoedDates));
-          // Note, the foreground color of a disabled date label will always be grey.
-          // So it is not easily possible let the programmer customize that color.
-
-          //  Added by Gautam Satpathy for #181. Date: 20220730
-          if (highlightInfo != null
-              && highlightInfo.tooltipText != null
-              && (!(highlightInfo.tooltipText.isEmpty()))) {
-            dateLabel.setToolTipText(highlightInfo.tooltipText);
-          }
-          //  End addition for Issue #181.
-        }
-        if ((!dateIsVetoed) && (highlightInfo != null)) {
-          // Get the "modifiable default" highlight and background colors from settings.
-          Color colorBackground =
-              settings.getColor(DateArea.CalendarDefaultBackgroundHighlightedDates);
-          Color colorText = settings.getColor(DateArea.CalendarDefaultTextHighlightedDates);
-          // If needed, modify the highlight and background colors as requested in the
-          // highlight information.
-          if (highlightInfo.colorBackground != null) {
-            colorBackground = highlightInfo.colorBackground;
-          }
-          if (highlightInfo.colorText != null) {
-            colorText = highlightInfo.colorText;
-          }
-          // Set the highlight and background colors for the label.
-          dateLabel.setBackground(colorBackground);
-          dateLabel.setForeground(colorText);
-          // If needed, set the highlight tooltip text.
-          if (highlightInfo.tooltipText != null && (!(highlightInfo.tooltipText.isEmpty()))) {
-            dateLabel.setToolTipText(highlightInfo.tooltipText);
-          }
-        }
-        // If needed, save the label for the selected date.
-        if (selectedDateIsInDisplayedMonth
-            && displayedSelectedDate != null
-            && displayedSelectedDate.getDayOfMonth() == dayOfMonth) {
-          selectedDateLabel = dateLabel;
-        }
-        // Set the text for the current date.
-        dateLabel.setText(String.valueOf(dayOfMonth));
-        ++dayOfMonth;
+      // Get the date of the current label. This is null outside of the displayed month.
+      LocalDate currentDate = monthGrid.getCellDateOrNull(dateLabelArrayIndex);
+      boolean isSelected = (dateLabelArrayIndex == selectedDateLabelIndex);
+      zFillDateCellState(settings, labelState, currentDate, isMonthLoading, isSelected);
+      // Set the text for the current date. This is an empty string outside of the displayed month.
+      labelState.text = monthGrid.getCellText(dateLabelArrayIndex);
+      if (dateGrid != null) {
+        dateGrid.setCellState(dateLabelArrayIndex, labelState);
       } else {
-        // We are not inside the valid range, so set this label to an empty string.
-        dateLabel.setText("");
+        labelState.applyTo(dateLabels.get(dateLabelArrayIndex));
       }
     }
-    // If needed, change the color of the selected date.
-    if (selectedDateLabel != null) {
-      selectedDateLabel.setBackground(settings.getColor(DateArea.CalendarBackgroundSelectedDate));
-      selectedDateLabel.setBorder(
-          new LineBorder(settings.getColor(DateArea.CalendarBorderSelectedDate)));
-    }
 
     // If needed, draw the week numbers.
-    boolean showWeekNumbers = settings.getWeekNumbersDisplayed();
-    int usedRowCount = firstDateInEachUsedRow.size();
-    WeekFields weekNumberRules = settings.getWeekNumberRules();
-    topLeftLabel.setVisible(showWeekNumbers);
+    CalendarLabelState.setVisibleIfChanged(topLeftLabel, showWeekNumbers);
     for (int weekNumberLabelIndex = 0;
         weekNumberLabelIndex < weekNumberLabels.size();
         ++weekNumberLabelIndex) {
       JLabel currentLabel = weekNumberLabels.get(weekNumberLabelIndex);
-      currentLabel.setVisible(showWeekNumbers);
-      currentLabel.setText("");
-      // If needed, populate the week number label with a week number.
-      if ((showWeekNumbers) && (weekNumberRules != null) && (weekNumberLabelIndex < usedRowCount)) {
-        LocalDate firstDateInRow = firstDateInEachUsedRow.get(weekNumberLabelIndex);
-        int weekNumber = zGetWeekNumberForASevenDayRange(firstDateInRow, weekNumberRules, false);
-        currentLabel.setText(String.valueOf(weekNumber));
-      }
+      CalendarLabelState.setVisibleIfChanged(currentLabel, showWeekNumbers);
+      // The grid week number text is empty for unused rows, or if week numbers are not shown.
+      CalendarLabelState.setTextIfChanged(
+          currentLabel, monthGrid.getWeekNumberText(weekNumberLabelIndex));
     }
 
     // Set the background color for the topLeftLabel.
-    topLeftLabel.setBackground(settings.getColor(DateArea.BackgroundTopLeftLabelAboveWeekNumbers));
+    CalendarLabelState.setBackgroundIfChanged(
+        topLeftLabel, settings.getColor(DateArea.BackgroundTopLeftLabelAboveWeekNumbers));
     // Set the colors and fonts for the weekday labels.
     for (JLabel weekdayLabel : weekdayLabels) {
-      weekdayLabel.setBackground(settings.getColorBackgroundWeekdayLabels());
-      weekdayLabel.setForeground(settings.getColor(DateArea.CalendarTextWeekdays));
-      weekdayLabel.setFont(settings.getFontCalendarWeekdayLabels());
+      CalendarLabelState.setBackgroundIfChanged(
+          weekdayLabel, settings.getColorBackgroundWeekdayLabels());
+      CalendarLabelState.setForegroundIfChanged(
+          weekdayLabel, settings.getColor(DateArea.CalendarTextWeekdays));
+      CalendarLabelState.setFontIfChanged(weekdayLabel, settings.getFontCalendarWeekdayLabels());
     }
     // Set the colors and fonts for the week number labels.
     for (JLabel weekNumberLabel : weekNumberLabels) {
-      weekNumberLabel.setBackground(settings.getColorBackgroundWeekNumberLabels());
-      weekNumberLabel.setForeground(settings.getColor(DateArea.CalendarTextWeekNumbers));
-      weekNumberLabel.setFont(settings.getFontCalendarWeekNumberLabels());
+      CalendarLabelState.setBackgroundIfChanged(
+          weekNumberLabel, settings.getColorBackgroundWeekNumberLabels());
+      CalendarLabelState.setForegroundIfChanged(
+          weekNumberLabel, settings.getColor(DateArea.CalendarTextWeekNumbers));
+      CalendarLabelState.setFontIfChanged(
+          weekNumberLabel, settings.getFontCalendarWeekNumberLabels());
     }
     // Set the size of the week number labels.
     setSizeOfWeekNumberLabels();
@@ -954,17 +957,15 @@ public class CalendarPanel extends JPanel {
     String todayDateString =
         settings.getFormatForTodayButton().format(LocalDate.now(settings.getClock()));
     String todayLabel = settings.getTranslationToday() + ":  " + todayDateString;
-    labelSetDateToToday.setText(todayLabel);
-    // If today is vetoed, disable the today button.
-    boolean todayIsVetoed =
-        InternalUtilities.isDateVetoed(vetoPolicy, LocalDate.now(settings.getClock()));
-    labelSetDateToToday.setEnabled(!todayIsVetoed);
+    CalendarLabelState.setTextIfChanged(labelSetDateToToday, todayLabel);
+    // If today is vetoed (or still loading), disable the today button.
+    zApplyTodayButtonEnabledState();
 
     // Set the visibility of all the calendar control buttons (and button labels).
     zApplyVisibilityOfButtons();
 
     // Set the label for the clear button.
-    labelClearDate.setText(settings.getTranslationClear());
+    CalendarLabelState.setTextIfChanged(labelClearDate, settings.getTranslationClear());
 
     // Set the size of the month and year panel to be big enough to hold the largest month text.
     setSizeOfMonthYearPanel();
@@ -972,12 +973,188 @@ public class CalendarPanel extends JPanel {
     // Set the size of the cell that contains the date panel.
     setSizeOfDatePanelCell();
 
-    // Repaint the component.
+    // Repaint the calendar panel, and lay it out first if its geometry has changed.
+    zValidateLayoutIfChanged();
+
+    // If needed, prepare the adjacent months in idle time.
+    zSchedulePrefetchOfAdjacentMonths();
+  }
+
+  /**
+   * zAsyncPolicyMonthLoaded, This is called on the event dispatch thread when the asynchronous date
+   * policy results of a month have been loaded. The calendar is only redrawn if the loaded month is
+   * the displayed month. This redraw does not notify the calendar listeners, because the displayed
+   * YearMonth has not changed. If the loaded month is the month of today, then the today button is
+   * updated. The results of other months (such as prefetched adjacent months) are only stored.
+   */
+  private void zAsyncPolicyMonthLoaded(YearMonth loadedMonth) {
+    if (settings == null) {
+      return;
+    }
+    if (loadedMonth.equals(displayedYearMonth)) {
+      drawCalendar(displayedYearMonth, null, false);
+    } else if (loadedMonth.equals(YearMonth.now(settings.getClock()))) {
+      zApplyTodayButtonEnabledState();
+    }
+  }
+
+  /**
+   * zApplyTodayButtonEnabledState, This enables the today button, unless today is vetoed or the
+   * results of today are still loading.
+   */
+  private void zApplyTodayButtonEnabledState() {
+    boolean todayIsVetoed = isDateVetoedOrLoading(LocalDate.now(settings.getClock()));
+    if (labelSetDateToToday.isEnabled() == todayIsVetoed) {
+      labelSetDateToToday.setEnabled(!todayIsVetoed);
+    }
+  }
+
+  /**
+   * zFillDateCellState, This fills out the colors, font, border, enabled state, and tooltip of a
+   * date cell, for the supplied date. The date is null for blank cells, which are outside of the
+   * displayed month. This does not set the text of the cell. The veto policy and highlight policy
+   * results are retrieved through the settings, which will use the policy result cache if the
+   * "cachePolicyResults" setting is true.
+   *
+   * <p>This is package private, so that other calendar components can draw their date cells the
+   * same way that the calendar panel draws its date labels.
+   */
+  static void zFillDateCellState(
+      DatePickerSettings settings,
+      CalendarLabelState labelState,
+      LocalDate currentDate,
+      boolean isMonthLoading,
+      boolean isSelected) {
+    // Reset the state to the default state of a date cell.
+    labelState.colorBackground = settings.getColor(DateArea.CalendarBackgroundNormalDates);
+    labelState.colorText = settings.getColor(DateArea.CalendarTextNormalDates);
+    labelState.font = settings.getFontCalendarDateLabels();
+    labelState.colorLineBorder = null;
+    labelState.enabled = true;
+    labelState.tooltipText = null;
+    // Blank cells outside of the displayed month keep the default state.
+    if (currentDate != null) {
+      // Get the veto policy and highlight policy information for this date.
+      boolean dateIsVetoed = (!isMonthLoading) && settings.zIsDateVetoedForCalendar(currentDate);
+      HighlightInformation highlightInfo =
+          (isMonthLoading)
+              ? null
+              : settings.zGetHighlightInformationForCalendarOrNull(currentDate);
+      if (dateIsVetoed) {
+        labelState.enabled = false;
+        labelState.colorBackground = settings.getColor(DateArea.CalendarBackgroundVetoedDates);
+        // Note, the foreground color of a disabled date label will always be grey.
+        // So it is not easily possible let the programmer customize that color.
+
+        //  Added by Gautam Satpathy for #181. Date: 20220730
+        if (highlightInfo != null
+            && highlightInfo.tooltipText != null
+            && (!(highlightInfo.tooltipText.isEmpty()))) {
+          labelState.tooltipText = highlightInfo.tooltipText;
+        }
+        //  End addition for Issue #181.
+      }
+      if ((!dateIsVetoed) && (highlightInfo != null)) {
+        // Get the "modifiable default" highlight and background colors from settings.
+        Color colorBackground =
+            settings.getColor(DateArea.CalendarDefaultBackgroundHighlightedDates);
+        Color colorText = settings.getColor(DateArea.CalendarDefaultTextHighlightedDates);
+        // If needed, modify the highlight and background colors as requested in the
+        // highlight information.
+        if (highlightInfo.colorBackground != null) {
+          colorBackground = highlightInfo.colorBackground;
+        }
+        if (highlightInfo.colorText != null) {
+          colorText = highlightInfo.colorText;
+        }
+        // Set the highlight and background colors for the label.
+        labelState.colorBackground = colorBackground;
+        labelState.colorText = colorText;
+        // If needed, set the highlight tooltip text.
+        if (highlightInfo.tooltipText != null && (!(highlightInfo.tooltipText.isEmpty()))) {
+          labelState.tooltipText = highlightInfo.tooltipText;
+        }
+      }
+      // If the asynchronous policy results are loading, draw the date in the loading state.
+      if (isMonthLoading) {
+        labelState.colorBackground = settings.getColor(DateArea.CalendarBackgroundLoadingDates);
+        labelState.colorText = settings.getColor(DateArea.CalendarTextLoadingDates);
+      }
+      // If needed, change the color of the selected date.
+      if (isSelected) {
+        labelState.colorBackground = settings.getColor(DateArea.CalendarBackgroundSelectedDate);
+        labelState.colorLineBorder = settings.getColor(DateArea.CalendarBorderSelectedDate);
+      }
+    }
+  }
+
+  /**
+   * zValidateLayoutIfChanged, This repaints the calendar panel, and first lays it out if any of the
+   * values that affect the layout have changed since the last layout. These values are the fonts,
+   * the locale (which determines the month names), the sizes that were calculated for the month and
+   * year panel, the date panel cell and the week number labels, the visibility of the week numbers,
+   * and the visibility of the calendar control buttons.
+   */
+  private void zValidateLayoutIfChanged() {
+    GridBagLayout layout = ((GridBagLayout) getLayout());
+    List<Object> layoutInputs =
+        Arrays.asList(
+            settings.getLocale(),
+            settings.getFontCalendarDateLabels(),
+            settings.getFontCalendarWeekNumberLabels(),
+            settings.getFontCalendarWeekdayLabels(),
+            settings.getFontClearLabel(),
+            settings.getFontMonthAndYearMenuLabels(),
+            settings.getFontMonthAndYearNavigationButtons(),
+            settings.getFontTodayLabel(),
+            monthAndYearOuterPanel.getPreferredSize(),
+            topLeftLabel.getPreferredSize(),
+            layout.rowHeights[3],
+            layout.columnWidths[1],
+            settings.getWeekNumbersDisplayed(),
+            (dateGrid != null),
+            buttonNextMonth.isVisible(),
+            buttonNextYear.isVisible(),
+            buttonPreviousMonth.isVisible(),
+            buttonPreviousYear.isVisible(),
+            labelMonth.isVisible(),
+            labelYear.isVisible(),
+            labelSetDateToToday.isVisible(),
+            labelClearDate.isVisible(),
+            monthAndYearInnerPanel.isVisible(),
+            headerControlsPanel.isVisible(),
+            footerPanel.isVisible());
+    if (!layoutInputs.equals(lastLayoutInputs)) {
+      lastLayoutInputs = layoutInputs;
+      // Ask the components to layout and redraw themselves.
+      this.doLayout();
+      this.validate();
+    }
+    // Repaint the component. This is done for every redraw, even when the layout is unchanged.
     // This was a supplied fix for a redrawing issue on MacOS, from NicholasQu.
     // https://github.com/LGoodDatePicker/LGoodDatePicker/issues/61
     this.repaint();
   }
 
+  /**
+   * getAdjacentMonths, This returns the months that are prefetched for the supplied month: The
+   * next and previous month, followed by the same month of the next and previous year. Months that
+   * are outside of the supported date range are skipped.
+   */
+  private static ArrayList<YearMonth> getAdjacentMonths(YearMonth yearMonth) {
+    ArrayList<YearMonth> adjacentMonths = new ArrayList<>(4);
+    for (int monthDifference : new int[] {1, -1, 12, -12}) {
+      // We catch and ignore any exceptions at the minimum and maximum of the local date range.
+      try {
+        YearMonth adjacentMonth = yearMonth.plusMonths(monthDifference);
+        adjacentMonth.atDay(1);
+        adjacentMonths.add(adjacentMonth);
+      } catch (Exception ex) {
+      }
+    }
+    return adjacentMonths;
+  }
+
   /**
    * getCalendarListeners, This returns a new ArrayList, that contains any calendar listeners that
    * are registered with this CalendarPanel.
@@ -1015,21 +1192,6 @@ public class CalendarPanel extends JPanel {
     return settings;
   }
 
-  /**
-   * getLastDayOfMonth, This returns the last day of the month for the specified year and month.
-   *
-   * <p>Implementation notes: As of this writing, the below implementation is verified to work
-   * correctly for negative years, as those years are to defined in the iso 8601 your format that is
-   * used by java.time.YearMonth. This functionality can be tested by by checking to see if to see
-   * if the year "-0004" is correctly displayed as a leap year. Leap years have 29 days in February.
-   * There should be 29 days in the month of "February 1, -0004".
-   */
-  private int getLastDayOfMonth(YearMonth yearMonth) {
-    LocalDate firstDayOfMonth = LocalDate.of(yearMonth.getYear(), yearMonth.getMonth(), 1);
-    int lastDayOfMonth = firstDayOfMonth.lengthOfMonth();
-    return lastDayOfMonth;
-  }
-
   /**
    * getMonthOrYearMenuLocation, This calculates the position should be used to set the location of
    * the month or the year popup menus, relative to their source labels. These menus are used to
@@ -1043,6 +1205,16 @@ public class CalendarPanel extends JPanel {
     return new Point(popupX, popupY);
   }
 
+  /**
+   * isDateVetoedOrLoading, This returns true if the specified date can not be selected in the
+   * calendar, because it is vetoed, or because the asynchronous date policy results for its month
+   * are still loading.
+   */
+  private boolean isDateVetoedOrLoading(LocalDate date) {
+    return settings.zIsMonthLoadingForCalendar(YearMonth.from(date))
+        || settings.zIsDateVetoedForCalendar(date);
+  }
+
   /**
    * labelClearDateMousePressed, This event is called when the "Clear" label is clicked in a date
    * picker. This sets the date picker date to an empty date. (This sets the last valid date to
@@ -1064,9 +1236,7 @@ public class CalendarPanel extends JPanel {
     JLabel label = ((JLabel) e.getSource());
     // Do not highlight the today label if today is vetoed.
     if (label == labelSetDateToToday) {
-      DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-      boolean todayIsVetoed =
-          InternalUtilities.isDateVetoed(vetoPolicy, LocalDate.now(settings.getClock()));
+      boolean todayIsVetoed = isDateVetoedOrLoading(LocalDate.now(settings.getClock()));
       if (todayIsVetoed) {
         return;
       }
@@ -1169,116 +1339,48 @@ public class CalendarPanel extends JPanel {
   }
 
   /**
-   * populateYearPopupMenu, Create entries of year PopUpMenu matching the currently selected year,
-   * entries have to be updated every time the selected year changes
+   * populateYearPopupMenu, Update the year list of the year PopUpMenu to match the currently
+   * displayed year. This should be called every time that the year popup menu is shown.
    */
   private void populateYearPopupMenu() {
     populateYearPopupMenu(displayedYearMonth.getYear());
   }
 
   /**
-   * populateYearPopupMenu, Create entries for the year PopUpMenu for the target middle year. The
-   * target middle year may or may not actually be placed in the middle of the year popup menu,
-   * depending on any existing settings from settings.getDateRangeLimits(). The popup menu entries
-   * must be updated every time year popup menu is needed.
+   * populateYearPopupMenu, Update the year list of the year PopUpMenu for the target middle year.
+   * The year list shows the years around the target middle year, within any existing limits from
+   * settings.getDateRangeLimits(). The target middle year is selected, and scrolled to the middle
+   * of the visible years when possible. No menu components are created by this function.
    */
   private void populateYearPopupMenu(int targetMiddleYear) {
-    final int firstYearDifference = -11;
-    final int lastYearDifference = +11;
-    final int maxYearCount = lastYearDifference - firstYearDifference + 1;
     // Calculate the first and last allowed year.
     final DateInterval dateLimits = settings.getDateRangeLimits();
     final int firstLegalYear =
         (dateLimits.firstDate != null) ? dateLimits.firstDate.getYear() : LocalDate.MIN.getYear();
     final int lastLegalYear =
         (dateLimits.lastDate != null) ? dateLimits.lastDate.getYear() : LocalDate.MAX.getYear();
-    // Calculate the first and last displayed menu year.
-    // If possible, expand the range within the allowed limits to show up to maxYearCount years.
-    final int firstMenuYear;
-    final int lastMenuYear;
-    {
-      int firstYear = targetMiddleYear + firstYearDifference;
-      int lastYear = targetMiddleYear + lastYearDifference;
-      firstYear = Math.max(firstYear, firstLegalYear);
-      lastYear = Math.min(lastYear, lastLegalYear);
-      int yearCount = lastYear - firstYear + 1;
-      if (yearCount < maxYearCount) {
-        int missingYears = maxYearCount - yearCount;
-        firstYear -= missingYears;
-        firstYear = Math.max(firstYear, firstLegalYear);
-      }
-      yearCount = lastYear - firstYear + 1;
-      if (yearCount < maxYearCount) {
-        int missingYears = maxYearCount - yearCount;
-        lastYear += missingYears;
-        lastYear = Math.min(lastYear, lastLegalYear);
-      }
-      // This should not happen, but make sure the years remain in numeric order.
-      if (firstYear > lastYear) {
-        firstYear = lastYear;
-      }
-      // Assign the year range to the final year menu variables.
-      firstMenuYear = firstYear;
-      lastMenuYear = lastYear;
-    }
-    // Clear the popup menu.
-    popupYear.removeAll();
-    // Add an up arrow to show earlier years, if any earlier year is allowed.
-    if (firstMenuYear > firstLegalYear) {
-      popupYear.add(
-          new JMenuItem(
-              // This is a black up-pointing triangle.
-              new AbstractAction("\u25b2") {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                  populateYearPopupMenu(firstMenuYear + firstYearDifference - 1);
-                  Point menuLocation = getMonthOrYearMenuLocation(labelYear, popupYear);
-                  popupYear.show(monthAndYearInnerPanel, menuLocation.x, menuLocation.y);
-                }
-              }));
-    }
-    for (int menuYear = firstMenuYear; menuYear <= lastMenuYear; ++menuYear) {
-      // No special processing is required for the BC to AD transition in the
-      // ISO 8601 calendar system. Year zero does exist in this system.
-      // This try block handles exceptions that can occur at LocalDate.MAX.
-      try {
-        String choiceYearString = String.valueOf(menuYear);
-        popupYear.add(
-            new JMenuItem(
-                new AbstractAction(choiceYearString) {
-                  @Override
-                  public void actionPerformed(ActionEvent e) {
-                    String chosenMenuText = ((JMenuItem) e.getSource()).getText();
-                    int chosenYear = Integer.parseInt(chosenMenuText);
-                    drawCalendar(chosenYear, displayedYearMonth.getMonth());
-                  }
-                }));
-      } catch (Exception ex) {
-      }
-    }
-    // Add a down arrow to show later years, if any later year is allowed.
-    if (lastMenuYear < lastLegalYear) {
-      popupYear.add(
-          new JMenuItem(
-              // This is a black down-pointing triangle.
-              new AbstractAction("\u25bc") {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                  populateYearPopupMenu(lastMenuYear + lastYearDifference + 1);
-                  Point menuLocation = getMonthOrYearMenuLocation(labelYear, popupYear);
-                  popupYear.show(monthAndYearInnerPanel, menuLocation.x, menuLocation.y);
-                }
-              }));
-    }
-    final String choiceOtherYearString = "( . . . )";
-    popupYear.add(
-        new JMenuItem(
-            new AbstractAction(choiceOtherYearString) {
-              @Override
-              public void actionPerformed(ActionEvent e) {
-                otherYearMenuItemClicked();
-              }
-            }));
+    // No special processing is required for the BC to AD transition in the
+    // ISO 8601 calendar system. Year zero does exist in this system.
+    int targetYear = Math.min(Math.max(targetMiddleYear, firstLegalYear), lastLegalYear);
+    int firstListYear = Math.max(targetYear - YEAR_LIST_HALF_SPAN, firstLegalYear);
+    int lastListYear = Math.min(targetYear + YEAR_LIST_HALF_SPAN, lastLegalYear);
+    if (yearListModel.setYearRange(firstListYear, lastListYear)) {
+      // The prototype value gives every row the same size, so that the list never measures
+      // each year. The year with the longest text is used as the prototype.
+      boolean isFirstYearLonger =
+          String.valueOf(firstListYear).length() > String.valueOf(lastListYear).length();
+      yearList.setPrototypeCellValue((isFirstYearLonger) ? firstListYear : lastListYear);
+    }
+    int targetIndex = yearListModel.getIndexOfYear(targetYear);
+    yearList.setSelectedIndex(targetIndex);
+    // Scroll the list so that the target year is in the middle of the visible years. The viewport
+    // may not have a size yet, so the position is calculated from the fixed row height.
+    int firstVisibleIndex = Math.max(0, targetIndex - (YEAR_LIST_VISIBLE_ROW_COUNT / 2));
+    firstVisibleIndex =
+        Math.min(firstVisibleIndex, yearListModel.getSize() - YEAR_LIST_VISIBLE_ROW_COUNT);
+    firstVisibleIndex = Math.max(0, firstVisibleIndex);
+    JViewport viewport = (JViewport) yearList.getParent();
+    viewport.setViewPosition(new Point(0, firstVisibleIndex * yearList.getFixedCellHeight()));
   }
 
   /**
@@ -1300,6 +1402,76 @@ public class CalendarPanel extends JPanel {
     popupYear.show(monthAndYearInnerPanel, menuLocation.x, menuLocation.y);
   }
 
+  /**
+   * yearListChoiceMade, This is called when the user chooses a year from the year list. This hides
+   * the year popup menu, and displays the chosen year.
+   */
+  private void yearListChoiceMade(int yearIndex) {
+    if (yearIndex < 0 || yearIndex >= yearListModel.getSize()) {
+      return;
+    }
+    popupYear.setVisible(false);
+    drawCalendar(yearListModel.getElementAt(yearIndex), displayedYearMonth.getMonth());
+  }
+
+  /**
+   * yearPopupMenuKeyPressed, This is called when a key is pressed while the year popup menu is
+   * showing. The menu keeps the keyboard focus, so the year list is navigated from here. The up,
+   * down, page up, page down, home, and end keys move the year list selection, and the enter key
+   * chooses the selected year. Pressing down on the last year, selects the "( . . . )" menu item.
+   * Any key that is not consumed is handled by the popup menu as usual.
+   */
+  private void yearPopupMenuKeyPressed(MenuKeyEvent e) {
+    MenuSelectionManager menuSelectionManager = e.getMenuSelectionManager();
+    boolean isMenuItemSelected = menuSelectionManager.getSelectedPath().length > 1;
+    int selectedIndex = yearList.getSelectedIndex();
+    int lastIndex = yearListModel.getSize() - 1;
+    int pageSize = YEAR_LIST_VISIBLE_ROW_COUNT - 1;
+    int newIndex;
+    switch (e.getKeyCode()) {
+      case KeyEvent.VK_UP:
+        if (isMenuItemSelected) {
+          // Move from the "( . . . )" menu item back to the year list.
+          menuSelectionManager.setSelectedPath(new MenuElement[] {popupYear});
+          newIndex = selectedIndex;
+        } else {
+          newIndex = selectedIndex - 1;
+        }
+        break;
+      case KeyEvent.VK_DOWN:
+        if (isMenuItemSelected || selectedIndex >= lastIndex) {
+          return;
+        }
+        newIndex = selectedIndex + 1;
+        break;
+      case KeyEvent.VK_PAGE_UP:
+        newIndex = selectedIndex - pageSize;
+        break;
+      case KeyEvent.VK_PAGE_DOWN:
+        newIndex = selectedIndex + pageSize;
+        break;
+      case KeyEvent.VK_HOME:
+        newIndex = 0;
+        break;
+      case KeyEvent.VK_END:
+        newIndex = lastIndex;
+        break;
+      case KeyEvent.VK_ENTER:
+        if (isMenuItemSelected) {
+          return;
+        }
+        e.consume();
+        yearListChoiceMade(selectedIndex);
+        return;
+      default:
+        return;
+    }
+    e.consume();
+    newIndex = Math.min(Math.max(newIndex, 0), lastIndex);
+    yearList.setSelectedIndex(newIndex);
+    yearList.ensureIndexIsVisible(newIndex);
+  }
+
   private void doneEditingYearButtonActionPerformed(ActionEvent e) {
     monthAndYearInnerPanel.remove(yearEditorPanel);
     // This will also set the visibility of the year menu label.
@@ -1395,15 +1567,20 @@ public class CalendarPanel extends JPanel {
     // Initialize the minimum height and width of the date panel cell.
     int panelHeight = minimumHeight;
     int panelWidth = minimumWidth;
+    // The painted date grid does not contribute to the size of the center panel rows and columns,
+    // because it spans all the date rows and columns. Make sure that each of the seven rows and
+    // columns of the date panel can hold a date cell, as each date label would.
+    if (dateGrid != null) {
+      Dimension cellSize = dateGrid.getPreferredCellSize(0);
+      panelHeight = Math.max(panelHeight, cellSize.height * 7);
+      panelWidth = Math.max(panelWidth, cellSize.width * 7);
+    }
     // Force the new size to be multiples of 7 for the columns and rows.
     panelHeight += (panelHeight % 7);
     panelWidth += (panelWidth % 7);
     // Set the containing cell to be the desired minimum size.
     layout.rowHeights[3] = panelHeight + constantSizeOfCenterPanelBorders.height;
     layout.columnWidths[1] = panelWidth + constantSizeOfCenterPanelBorders.width;
-    // Ask the components to layout and redraw themselves.
-    this.doLayout();
-    this.validate();
   }
 
   /**
@@ -1415,11 +1592,17 @@ public class CalendarPanel extends JPanel {
   private void setSizeOfWeekNumberLabels() {
     JLabel firstLabel = weekNumberLabels.get(0);
     Font font = firstLabel.getFont();
+    // The label's own font metrics are used (not the shared text metrics cache), so that the width
+    // matches the rendering hints of the label. This is a single measurement per call.
     FontMetrics fontMetrics = firstLabel.getFontMetrics(font);
     int width = fontMetrics.stringWidth("53 ");
     width += constantWeekNumberLabelInsets.left;
     width += constantWeekNumberLabelInsets.right;
     Dimension size = new Dimension(width, 1);
+    // Skip this function if the labels already have the needed size.
+    if (topLeftLabel.isPreferredSizeSet() && size.equals(topLeftLabel.getPreferredSize())) {
+      return;
+    }
     for (JLabel currentLabel : weekNumberLabels) {
       currentLabel.setMinimumSize(size);
       currentLabel.setPreferredSize(size);
@@ -1438,15 +1621,13 @@ public class CalendarPanel extends JPanel {
     if (settings == null) {
       return;
     }
-    // Get the font metrics object.
+    // Get the font of the month label. The text measurements are cached for each font.
     Font font = labelMonth.getFont();
-    Canvas canvas = new Canvas();
-    FontMetrics metrics = canvas.getFontMetrics(font);
     // Calculate the preferred height for the month and year panel.
     int heightNavigationButtons = buttonPreviousYear.getPreferredSize().height;
     int preferredHeightMonthLabel = labelMonth.getPreferredSize().height;
     int preferredHeightYearLabel = labelYear.getPreferredSize().height;
-    int monthFontHeight = metrics.getHeight();
+    int monthFontHeight = TextMetricsCache.getFontHeight(font);
     int monthFontHeightWithPadding = monthFontHeight + 2;
     int panelHeight =
         Math.max(
@@ -1455,23 +1636,18 @@ public class CalendarPanel extends JPanel {
                 preferredHeightMonthLabel,
                 Math.max(preferredHeightYearLabel, heightNavigationButtons)));
     // Get the length of the longest translated month string (in pixels).
-    DateFormatSymbols symbols = DateFormatSymbols.getInstance(settings.getLocale());
-    String[] allLocalMonths = symbols.getMonths();
-    int longestMonthPixels = 0;
-    for (String month : allLocalMonths) {
-      int monthPixels = metrics.stringWidth(month);
-      longestMonthPixels = (monthPixels > longestMonthPixels) ? monthPixels : longestMonthPixels;
-    }
-    int yearPixels = metrics.stringWidth("_2000");
+    int longestMonthPixels = TextMetricsCache.getLongestMonthNameWidth(font, settings.getLocale());
+    int yearPixels = TextMetricsCache.getStringWidth(font, "_2000");
     // Calculate the size of a box to hold the text with some padding.
     Dimension size = new Dimension(longestMonthPixels + yearPixels + 12, panelHeight);
-    // Set the monthAndYearPanel to the appropriate constant size.
+    // Set the monthAndYearPanel to the appropriate constant size, if the size has changed.
+    if (monthAndYearOuterPanel.isPreferredSizeSet()
+        && size.equals(monthAndYearOuterPanel.getPreferredSize())) {
+      return;
+    }
     monthAndYearOuterPanel.setMinimumSize(size);
     monthAndYearOuterPanel.setPreferredSize(size);
     // monthAndYearOuterPanel.setMaximumSize(size);
-    // Redraw the panel.
-    this.doLayout();
-    this.validate();
   }
 
   /**
@@ -1486,10 +1662,9 @@ public class CalendarPanel extends JPanel {
     if (settings == null) {
       return;
     }
-    // If a date was selected and the date is vetoed, do nothing.
+    // If a date was selected and the date is vetoed (or still loading), do nothing.
     if (selectedDate != null) {
-      DateVetoPolicy vetoPolicy = settings.getVetoPolicy();
-      if (InternalUtilities.isDateVetoed(vetoPolicy, selectedDate)) {
+      if (isDateVetoedOrLoading(selectedDate)) {
         return;
       }
     }
@@ -1556,6 +1731,78 @@ public class CalendarPanel extends JPanel {
         });
   }
 
+  /**
+   * zInitializeYearPopupMenu, This creates the contents of the year popup menu: A scrollable list
+   * of years, followed by the "( . . . )" menu item that opens the year editor. The contents are
+   * created once. Each time that the menu is shown, only the year range and the selected year of
+   * the year list are updated. (See populateYearPopupMenu().)
+   *
+   * <p>The year list is not focusable, because a focused list could take the focus away from a
+   * date picker popup and close it. The keyboard is handled through the menu key events of the
+   * year popup menu instead.
+   */
+  private void zInitializeYearPopupMenu() {
+    yearList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    yearList.setVisibleRowCount(YEAR_LIST_VISIBLE_ROW_COUNT);
+    yearList.setFocusable(false);
+    MouseAdapter yearListMouseListener =
+        new MouseAdapter() {
+          @Override
+          public void mouseMoved(MouseEvent e) {
+            // Select the year under the mouse, in the same way that a menu arms its menu items.
+            int yearIndex = yearList.locationToIndex(e.getPoint());
+            if (yearIndex >= 0 && yearIndex != yearList.getSelectedIndex()) {
+              yearList.setSelectedIndex(yearIndex);
+            }
+          }
+
+          @Override
+          public void mouseReleased(MouseEvent e) {
+            if (!SwingUtilities.isLeftMouseButton(e)) {
+              return;
+            }
+            int yearIndex = yearList.locationToIndex(e.getPoint());
+            Rectangle cellBounds = yearList.getCellBounds(yearIndex, yearIndex);
+            if (cellBounds != null && cellBounds.contains(e.getPoint())) {
+              yearListChoiceMade(yearIndex);
+            }
+          }
+        };
+    yearList.addMouseListener(yearListMouseListener);
+    yearList.addMouseMotionListener(yearListMouseListener);
+    JScrollPane yearScrollPane =
+        new JScrollPane(
+            yearList,
+            ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS,
+            ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+    yearScrollPane.setBorder(new EmptyBorder(0, 0, 0, 0));
+    yearScrollPane.setFocusable(false);
+    yearScrollPane.getVerticalScrollBar().setFocusable(false);
+    popupYear.add(yearScrollPane);
+    final String choiceOtherYearString = "( . . . )";
+    popupYear.add(
+        new JMenuItem(
+            new AbstractAction(choiceOtherYearString) {
+              @Override
+              public void actionPerformed(ActionEvent e) {
+                otherYearMenuItemClicked();
+              }
+            }));
+    popupYear.addMenuKeyListener(
+        new MenuKeyListener() {
+          @Override
+          public void menuKeyTyped(MenuKeyEvent e) {}
+
+          @Override
+          public void menuKeyPressed(MenuKeyEvent e) {
+            yearPopupMenuKeyPressed(e);
+          }
+
+          @Override
+          public void menuKeyReleased(MenuKeyEvent e) {}
+        });
+  }
+
   /**
    * zInternalChangeSelectedDateProcedure, This should be called whenever we need to change the
    * selected date variable. This will store the supplied selected date and redraw the calendar. If
@@ -1580,11 +1827,126 @@ public class CalendarPanel extends JPanel {
           new CalendarSelectionEvent(this, newDate, oldDate);
       calendarListener.selectedDateChanged(dateSelectionEvent);
     }
+    zDiscardPendingNavigation();
     drawCalendar(displayedYearMonth, oldYearMonthOrNull);
     // Fire a change event for beans binding.
     firePropertyChange("selectedDate", oldDate, newDate);
   }
 
+  /**
+   * zNavigateByMonths, This moves the displayed YearMonth by the supplied number of months, in
+   * response to the navigation buttons. Navigation is drawn at most once per navigation frame, so
+   * that fast clicks (or a held key on a focused button) can not queue up more redraws than the
+   * event dispatch thread can handle.
+   *
+   * <p>If no navigation frame is open, the calendar is drawn immediately and a new frame is opened.
+   * Otherwise, the months are added to the pending navigation, which is drawn when the frame ends.
+   * The getDisplayedYearMonth() function does not include pending navigation. Pending navigation is
+   * discarded if the displayed month is chosen in any other way before the frame ends.
+   *
+   * <p>Calendar listeners are notified once for each redraw, rather than once for each button
+   * press. The old YearMonth of the event is the month that was displayed before the redraw, and
+   * the new YearMonth is the month that is displayed after the redraw. The months that were skipped
+   * by combined button presses are not reported.
+   */
+  private void zNavigateByMonths(long months) {
+    pendingNavigationMonths += months;
+    if (!navigationFrameTimer.isRunning()) {
+      zDrawPendingNavigation();
+    }
+  }
+
+  /**
+   * zNavigationFrameEnded, This is called when a navigation frame ends. This draws any navigation
+   * that was requested during the frame.
+   */
+  private void zNavigationFrameEnded() {
+    if (pendingNavigationMonths != 0) {
+      zDrawPendingNavigation();
+    }
+  }
+
+  /**
+   * zDrawPendingNavigation, This draws the calendar with the pending navigation applied to the
+   * displayed YearMonth, and opens a new navigation frame. If the navigation would move the
+   * calendar past the minimum or maximum of the local date range, then the calendar is moved to
+   * that minimum or maximum.
+   */
+  private void zDrawPendingNavigation() {
+    long months = pendingNavigationMonths;
+    pendingNavigationMonths = 0;
+    navigationFrameTimer.restart();
+    long monthIndex =
+        (displayedYearMonth.getYear() * 12L) + (displayedYearMonth.getMonthValue() - 1) + months;
+    monthIndex = Math.max(monthIndex, Year.MIN_VALUE * 12L);
+    monthIndex = Math.min(monthIndex, (Year.MAX_VALUE * 12L) + 11);
+    int newYear = (int) Math.floorDiv(monthIndex, 12L);
+    YearMonth newYearMonth = YearMonth.of(newYear, (int) Math.floorMod(monthIndex, 12L) + 1);
+    drawCalendar(newYearMonth, null);
+  }
+
+  /**
+   * zDiscardPendingNavigation, This discards any pending navigation and closes the navigation
+   * frame. This is called whenever the displayed month is chosen by something other than the
+   * navigation buttons, so that button presses from before that choice are not added to it.
+   */
+  private void zDiscardPendingNavigation() {
+    pendingNavigationMonths = 0;
+    navigationFrameTimer.stop();
+  }
+
+  /**
+   * zPrefetchMonth, This prepares the data that will be needed to draw the supplied month: The date
+   * grid, and (if the cachePolicyResults setting is true) the veto policy and highlight policy
+   * results of each date. The month names and the day number texts do not need to be prepared,
+   * because they are already stored in the settings and in the date grid.
+   */
+  private void zPrefetchMonth(YearMonth yearMonth) {
+    boolean showWeekNumbers = settings.getWeekNumbersDisplayed();
+    MonthGrid.getGrid(
+        yearMonth,
+        settings.getFirstDayOfWeekDisplayedOnCalendar(),
+        (showWeekNumbers) ? settings.getWeekNumberRules() : null);
+    if (!settings.getCachePolicyResults() || settings.zIsMonthLoadingForCalendar(yearMonth)) {
+      return;
+    }
+    for (int day = 1; day <= yearMonth.lengthOfMonth(); ++day) {
+      LocalDate date = yearMonth.atDay(day);
+      settings.zIsDateVetoedForCalendar(date);
+      settings.zGetHighlightInformationForCalendarOrNull(date);
+    }
+  }
+
+  /**
+   * zPrefetchNextAdjacentMonth, This is one step of a scheduled prefetch. This prefetches the next
+   * month in the queue, and then schedules the following step. Each step runs as a separate event
+   * on the event dispatch thread, so user input can be handled between the steps. The prefetch is
+   * abandoned if the calendar has been drawn again since the prefetch was scheduled.
+   */
+  private void zPrefetchNextAdjacentMonth(int generation, ArrayDeque<YearMonth> months) {
+    if (generation != prefetchGeneration || settings == null || months.isEmpty()) {
+      return;
+    }
+    zPrefetchMonth(months.poll());
+    if (!months.isEmpty()) {
+      SwingUtilities.invokeLater(() -> zPrefetchNextAdjacentMonth(generation, months));
+    }
+  }
+
+  /**
+   * zSchedulePrefetchOfAdjacentMonths, This abandons any unfinished prefetch, and if the
+   * prefetchAdjacentMonths setting is true, schedules a prefetch of the months that are adjacent
+   * to the displayed month. The prefetch runs after any events that are already waiting.
+   */
+  private void zSchedulePrefetchOfAdjacentMonths() {
+    final int generation = ++prefetchGeneration;
+    if (!settings.getPrefetchAdjacentMonths()) {
+      return;
+    }
+    ArrayDeque<YearMonth> months = new ArrayDeque<>(getAdjacentMonths(displayedYearMonth));
+    SwingUtilities.invokeLater(() -> zPrefetchNextAdjacentMonth(generation, months));
+  }
+
   /**
    * zLabelIndicatorsAllSetColorsToDefaultState, This is called to set all label indicators to the
    * state they should have when there is no mouse hovering over them.
@@ -1952,6 +2314,41 @@ public class CalendarPanel extends JPanel {
     drawCalendar();
   }
 
+  /**
+   * zApplyDateGridType, This makes sure that the date cells of the calendar are drawn with the date
+   * labels or with the painted date grid, according to the "paintDateGrid" setting. If the current
+   * date cells do not match the setting, then they are removed and replaced. Otherwise this does
+   * nothing.
+   */
+  private void zApplyDateGridType() {
+    boolean paintDateGrid = settings.getPaintDateGrid();
+    if (paintDateGrid && dateGrid == null) {
+      if (dateLabels != null) {
+        for (JLabel dateLabel : dateLabels) {
+          centerPanel.remove(dateLabel);
+        }
+        dateLabels = null;
+      }
+      dateGrid =
+          new CalendarDateGrid(cellIndex -> dateCellClicked(dateGrid.getCellText(cellIndex)));
+      centerPanel.add(
+          dateGrid,
+          CC.xywh(
+              constantFirstDateLabelCell.x,
+              constantFirstDateLabelCell.y,
+              7,
+              MonthGrid.ROW_COUNT));
+      centerPanel.revalidate();
+    } else if (!paintDateGrid && dateLabels == null) {
+      if (dateGrid != null) {
+        centerPanel.remove(dateGrid);
+        dateGrid = null;
+      }
+      addDateLabels();
+      centerPanel.revalidate();
+    }
+  }
+
   /**
    * zApplyVisibilityOfButtons, This sets visibility of button controls for this calendar, according
    * to the current settings.
@@ -2000,71 +2397,6 @@ public class CalendarPanel extends JPanel {
     footerPanel.setVisible(showFooterPanel);
   }
 
-  /**
-   * zGetWeekNumberForASevenDayRange, This returns a week number for the specified seven day range,
-   * according to the supplied weekFieldRules.
-   *
-   * <p>If all seven days fall on the same week number, then that week number will be returned.
-   *
-   * <p>If "requireUnanimousWeekNumber" is true and the supplied range falls across two week
-   * numbers, then null is returned.
-   *
-   * <p>If "requireUnanimousWeekNumber" is false and the supplied range falls across two week
-   * numbers, then the "majority rules" system is used for determining the returned week number.
-   *
-   * <p>The majority rules system means that the most common week number in the seven day range will
-   * be returned. For example: If days 1 and 2 are in week 30, and days 3 through 7 are in week 31,
-   * then the week number 31 will be returned. There is no possibility of a "tie" week number,
-   * because the number of days in the range is seven (an odd number). Additionally, the returned
-   * week number will always be the correct week number for a minimum of four days out of the seven
-   * day range.
-   *
-   * <p>To make sure that all seven days in the range -can- fall on the same week number, the caller
-   * of the function would need to supply a seven day range that starts on the same "first day of
-   * the week" that is used by the supplied weekFieldRules. I don't know if there are any special
-   * cases where these matching parameters are supplied, but the result is still not a unanimous
-   * week number.
-   *
-   * <p>The week fields object can be created from a specific locale, (including Locale.ISO if
-   * desired), or the week fields can be configured to match any desired week field rules.
-   *
-   * <p>Examples of creating week field instances: WeekFields weekFields = WeekFields.of(Locale
-   * locale); WeekFields weekFields = WeekFields.of(DayOfWeek firstDayOfWeek, int
-   * minimalDaysInFirstWeek);
-   */
-  private Integer zGetWeekNumberForASevenDayRange(
-      LocalDate firstDateInRange, WeekFields weekFieldRules, boolean requireUnanimousWeekNumber) {
-    // Get the week number for each of the seven days in the range.
-    ArrayList<Integer> weekNumbersList = new ArrayList<>();
-    for (int daysIntoTheFuture = 0; daysIntoTheFuture <= 6; ++daysIntoTheFuture) {
-      LocalDate currentDateInRange;
-      // This try block handles an exception that can occur at LocalDate.MAX
-      try {
-        currentDateInRange = firstDateInRange.plusDays(daysIntoTheFuture);
-        int currentWeekNumber = currentDateInRange.get(weekFieldRules.weekOfWeekBasedYear());
-        weekNumbersList.add(currentWeekNumber);
-      } catch (Exception ex) {
-        return 1;
-      }
-    }
-    // Find out if all the week numbers are the same.
-    // We can check for a unanimous sequence by looking at the first and last number.
-    boolean isUnanimous =
-        (InternalUtilities.areObjectsEqual(weekNumbersList.get(0), weekNumbersList.get(6)));
-    // If the week numbers are unanimous, then return the unanimous week number.
-    if (isUnanimous) {
-      return weekNumbersList.get(0);
-    }
-    // The week number is not unanimous.
-    // If unanimous week numbers are required, then return null.
-    if (requireUnanimousWeekNumber) {
-      return null;
-    }
-    // Otherwise, return the most common week number.
-    int mostCommonWeekNumber = InternalUtilities.getMostCommonElementInList(weekNumbersList);
-    return mostCommonWeekNumber;
-  }
-
   /**
    * setSettings, This will set the settings instance for this calendar panel. The previous settings
    * will be deleted. Note that calling this function effectively re-initializes the picker
@@ -2109,6 +2441,28 @@ public class CalendarPanel extends JPanel {
     drawCalendar();
   }
 
+  /**
+   * updateUI, This resets the look and feel of the calendar panel. The month and year popup menus
+   * are not part of the component tree while they are hidden, so their look and feel is reset here
+   * as well. The prototype cell of the year list is then applied again, because the fixed row size
+   * of the list was measured with the previous look and feel (and its list font).
+   */
+  @Override
+  public void updateUI() {
+    super.updateUI();
+    // This is called by the JPanel constructor, before the popup menus are created.
+    if (popupYear == null) {
+      return;
+    }
+    SwingUtilities.updateComponentTreeUI(popupMonth);
+    SwingUtilities.updateComponentTreeUI(popupYear);
+    Integer prototypeYear = yearList.getPrototypeCellValue();
+    if (prototypeYear != null) {
+      yearList.setPrototypeCellValue(null);
+      yearList.setPrototypeCellValue(prototypeYear);
+    }
+  }
+
   public JButton getPreviousYearButton() {
     return buttonPreviousYear;
   }
@@ -31,7 +31,10 @@ import com.github.lgooddatepicker.zinternaltools.Convert;
 import com.github.lgooddatepicker.zinternaltools.CustomPopup;
 import com.github.lgooddatepicker.zinternaltools.CustomPopup.CustomPopupCloseListener;
 import com.github.lgooddatepicker.zinternaltools.DateChangeEvent;
+import com.github.lgooddatepicker.zinternaltools.DateTextClassifier;
+import com.github.lgooddatepicker.zinternaltools.DateTextClassifier.TextStatus;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.TextParseOutcome;
 import com.privatejgoodies.forms.factories.CC;
 import com.privatejgoodies.forms.layout.FormLayout;
 import java.awt.Dimension;
@@ -115,6 +118,29 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
    */
   private Instant lastPopupCloseTime = Instant.now();
 
+  /**
+   * lastParseOutcome, This holds the result of the most recent parse of the text field text by
+   * this date picker. This allows the text change handler, the text field indicators, and the text
+   * validation functions to share a single parse of any particular text. This is null until the
+   * first parse occurs. See also: zGetParsedDateOrNull().
+   */
+  private TextParseOutcome<LocalDate> lastParseOutcome = null;
+
+  /**
+   * textClassifier, This classifies the text field text as a valid date, a viable prefix of a
+   * date, or dead text. This is null until the first classification occurs, and it is replaced
+   * whenever the parsing settings change. See also: getTextFieldStatus().
+   */
+  private DateTextClassifier textClassifier = null;
+
+  /**
+   * textClassifierSettings, textClassifierSettingsVersion, These identify the settings instance
+   * and the parsing version that were used to create the current textClassifier.
+   */
+  private DatePickerSettings textClassifierSettings = null;
+
+  private int textClassifierSettingsVersion = 0;
+
   /**
    * lastValidDate, This holds the last valid date that was entered into the date picker. This value
    * is returned from the function DatePicker.getDate();
@@ -149,6 +175,13 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
    */
   private boolean skipTextFieldChangedFunctionWhileTrue = false;
 
+  /**
+   * textFieldValidationIsPending, This is true while a coalesced text field validation has been
+   * scheduled, but has not yet been performed. This is only used when the settings enable
+   * coalesceTextFieldValidation. See also: zEventTextFieldDocumentChanged().
+   */
+  private boolean textFieldValidationIsPending = false;
+
   /**
    * JFormDesigner GUI components, These variables are automatically generated by JFormDesigner.
    * This section should not be modified by hand, but only modified from within the JFormDesigner
@@ -341,6 +374,7 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
    * </pre>
    */
   public LocalDate getDate() {
+    zPerformPendingTextFieldValidation();
     return lastValidDate;
   }
 
@@ -421,6 +455,26 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     return (popup != null);
   }
 
+  /**
+   * getTextFieldStatus, This classifies the text that is currently in the text field. This returns
+   * "Valid" if the text contains a parsable date (even if that date is vetoed), "ViablePrefix" if
+   * the text is empty or could still become a parsable date by typing more characters at the end
+   * of the text, and "Dead" if no amount of additional typing could make the text parsable.
+   *
+   * <p>The classification is incremental. State is carried over from the previous call, so when
+   * the user types or deletes characters at the end of the text, each call only costs a small
+   * constant amount of work. Viable prefixes are only detected for the parsing formats that are
+   * built from numeric date fields, month names, and literal characters (which includes the
+   * default formats of most locales).
+   */
+  public TextStatus getTextFieldStatus() {
+    if (settings == null) {
+      return TextStatus.Dead;
+    }
+    String text = dateTextField.getText();
+    return zGetTextStatus(text, zGetParsedDateOrNull(text));
+  }
+
   /**
    * isTextFieldValid, This returns true if, and only if, the text field contains a parsable date or
    * a valid empty string. Note that this does not guarantee that the text in the text field is in a
@@ -454,12 +508,7 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
       return settings.getAllowEmptyDates();
     }
     // Try to get a parsed date.
-    LocalDate parsedDate =
-        InternalUtilities.getParsedDateOrNull(
-            text,
-            settings.getFormatForDatesCommonEra(),
-            settings.getFormatForDatesBeforeCommonEra(),
-            settings.getFormatsForParsing());
+    LocalDate parsedDate = zGetParsedDateOrNull(text);
 
     // If the date could not be parsed, return false.
     if (parsedDate == null) {
@@ -722,17 +771,17 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
             new DocumentListener() {
               @Override
               public void insertUpdate(DocumentEvent e) {
-                zEventTextFieldChanged();
+                zEventTextFieldDocumentChanged();
               }
 
               @Override
               public void removeUpdate(DocumentEvent e) {
-                zEventTextFieldChanged();
+                zEventTextFieldDocumentChanged();
               }
 
               @Override
               public void changedUpdate(DocumentEvent e) {
-                zEventTextFieldChanged();
+                zEventTextFieldDocumentChanged();
               }
             });
   }
@@ -845,6 +894,65 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     togglePopup();
   }
 
+  /**
+   * zGetParsedDateOrNull, This parses the supplied text using the current date picker settings, and
+   * returns the parsed date or null. Leading and trailing whitespace is ignored. The text field
+   * text is only parsed once for as long as the text and the parsing settings are unchanged.
+   *
+   * <p>Any other text (such as text that is passed to isTextValid() by the programmer) is parsed
+   * each time, and is neither cached nor recorded in the adaptive parsing statistics. This way, it
+   * can not replace the cached outcome of the text field text.
+   */
+  private LocalDate zGetParsedDateOrNull(String text) {
+    if (settings == null || text == null) {
+      return null;
+    }
+    text = text.trim();
+    int settingsVersion = settings.zGetParsingVersion();
+    if ((lastParseOutcome != null)
+        && lastParseOutcome.isOutcomeFor(text, settings, settingsVersion)) {
+      return lastParseOutcome.parsedValue;
+    }
+    boolean isTextFieldText = text.equals(dateTextField.getText().trim());
+    LocalDate parsedDate =
+        InternalUtilities.getParsedDateOrNull(
+            text,
+            settings.getFormatForDatesCommonEra(),
+            settings.getFormatForDatesBeforeCommonEra(),
+            settings.zGetFormatsForParsingInParsingOrder(),
+            (isTextFieldText) ? settings.zGetParsingFormatStatisticsOrNull() : null);
+    if (!isTextFieldText) {
+      return parsedDate;
+    }
+    // A successful parse can change the adaptive parsing statistics, and therefore the parsing
+    // version. The outcome is stored with the current version, so that the same text will not be
+    // parsed (and counted) again.
+    settingsVersion = settings.zGetParsingVersion();
+    lastParseOutcome = new TextParseOutcome<>(text, settings, settingsVersion, parsedDate);
+    return parsedDate;
+  }
+
+  /**
+   * zGetTextStatus, This classifies the supplied text with the text classifier of this date
+   * picker. The supplied parsed date must be the result of zGetParsedDateOrNull() for the same
+   * text. The text classifier is replaced whenever the parsing settings have changed.
+   */
+  private TextStatus zGetTextStatus(String text, LocalDate parsedDateOrNull) {
+    int settingsVersion = settings.zGetParsingVersion();
+    if (textClassifier == null
+        || textClassifierSettings != settings
+        || textClassifierSettingsVersion != settingsVersion) {
+      textClassifier =
+          new DateTextClassifier(
+              settings.getFormatForDatesCommonEra(),
+              settings.getFormatForDatesBeforeCommonEra(),
+              settings.getFormatsForParsing());
+      textClassifierSettings = settings;
+      textClassifierSettingsVersion = settingsVersion;
+    }
+    return textClassifier.classify(text, parsedDateOrNull);
+  }
+
   /**
    * zGetStandardTextFieldDateString, This returns a string for the supplied date (or null), in the
    * standard format which could be used for displaying that date in the text field.
@@ -898,6 +1006,36 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     }
   }
 
+  /**
+   * zEventTextFieldDocumentChanged, This is called for every document event of the date text
+   * field. If the settings enable coalesceTextFieldValidation, then this schedules a single
+   * validation for the current event dispatch thread turn. Otherwise, the text is validated
+   * immediately.
+   */
+  private void zEventTextFieldDocumentChanged() {
+    if (skipTextFieldChangedFunctionWhileTrue) {
+      return;
+    }
+    if (settings == null || !settings.getCoalesceTextFieldValidation()) {
+      zEventTextFieldChanged();
+      return;
+    }
+    if (!textFieldValidationIsPending) {
+      textFieldValidationIsPending = true;
+      SwingUtilities.invokeLater(this::zPerformPendingTextFieldValidation);
+    }
+  }
+
+  /**
+   * zPerformPendingTextFieldValidation, This validates the date text field, if a coalesced
+   * validation is pending. Otherwise, this does nothing.
+   */
+  private void zPerformPendingTextFieldValidation() {
+    if (textFieldValidationIsPending) {
+      zEventTextFieldChanged();
+    }
+  }
+
   /**
    * zEventTextFieldChanged, This is called whenever the text in the date picker text field has
    * changed, whether programmatically or by the user.
@@ -917,6 +1055,8 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     if (skipTextFieldChangedFunctionWhileTrue) {
       return;
     }
+    // Any pending coalesced validation is replaced by this validation.
+    textFieldValidationIsPending = false;
     // Gather some variables that we will need.
     String dateText = dateTextField.getText();
     boolean textIsEmpty = dateText.trim().isEmpty();
@@ -925,12 +1065,7 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
     // If the text is not empty, then try to parse the date.
     LocalDate parsedDate = null;
     if (!textIsEmpty) {
-      parsedDate =
-          InternalUtilities.getParsedDateOrNull(
-              dateText,
-              settings.getFormatForDatesCommonEra(),
-              settings.getFormatForDatesBeforeCommonEra(),
-              settings.getFormatsForParsing());
+      parsedDate = zGetParsedDateOrNull(dateText);
     }
     // If the date was parsed successfully, then check it against the veto policy.
     boolean dateIsVetoed = false;
@@ -1010,7 +1145,11 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
    * the programmer will not need to call this function.
    *
    * <p>List of possible text field states: DisabledComponent, ValidFullOrEmptyValue,
-   * UnparsableValue, VetoedValue, DisallowedEmptyValue.
+   * IncompleteValue, UnparsableValue, VetoedValue, DisallowedEmptyValue.
+   *
+   * <p>Unparsable text is shown as incomplete (instead of invalid) while the user is typing into
+   * the text field, if the text could still become a parsable date by typing more characters. See
+   * also: getTextFieldStatus().
    */
   public void zDrawTextFieldIndicators() {
     if (settings == null) {
@@ -1048,12 +1187,15 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
       return;
     }
     // The text is not empty.
-    LocalDate parsedDate =
-        InternalUtilities.getParsedDateOrNull(
-            dateText,
-            settings.getFormatForDatesCommonEra(),
-            settings.getFormatForDatesBeforeCommonEra(),
-            settings.getFormatsForParsing());
+    LocalDate parsedDate = zGetParsedDateOrNull(dateText);
+    if (parsedDate == null
+        && dateTextField.isFocusOwner()
+        && zGetTextStatus(dateText, null) == TextStatus.ViablePrefix) {
+      // (Possibility: IncompleteValue)
+      dateTextField.setBackground(settings.getColor(DateArea.TextFieldBackgroundIncompleteDate));
+      dateTextField.setForeground(settings.getColor(DateArea.DatePickerTextIncompleteDate));
+      return;
+    }
     if (parsedDate == null) {
       // (Possibility: UnparsableValue)
       dateTextField.setBackground(settings.getColor(DateArea.TextFieldBackgroundInvalidDate));
@@ -1085,6 +1227,8 @@ public class DatePicker extends JPanel implements CustomPopupCloseListener {
   public void zEventCustomPopupWasClosed(CustomPopup popup) {
     this.popup = null;
     calendarPanel = null;
+    // Stop loading any asynchronous date policy results that were needed by the closed calendar.
+    settings.zCancelAsyncPolicyLoading();
     lastPopupCloseTime = Instant.now();
   }
 
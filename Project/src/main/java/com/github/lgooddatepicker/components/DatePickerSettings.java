@@ -22,15 +22,21 @@
  */
 package com.github.lgooddatepicker.components;
 
+import com.github.lgooddatepicker.optionalusertools.AsyncDatePolicy;
 import com.github.lgooddatepicker.optionalusertools.CalendarBorderProperties;
 import com.github.lgooddatepicker.optionalusertools.DateHighlightPolicy;
 import com.github.lgooddatepicker.optionalusertools.DateInterval;
 import com.github.lgooddatepicker.optionalusertools.DateVetoPolicy;
 import com.github.lgooddatepicker.optionalusertools.PickerUtilities;
+import com.github.lgooddatepicker.zinternaltools.AsyncPolicyResultLoader;
+import com.github.lgooddatepicker.zinternaltools.DatePolicyResultCache;
 import com.github.lgooddatepicker.zinternaltools.DateVetoPolicyMinimumMaximumDate;
 import com.github.lgooddatepicker.zinternaltools.ExtraDateStrings;
+import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
 import com.github.lgooddatepicker.zinternaltools.InternalConstants;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.NumericDateScanner;
+import com.github.lgooddatepicker.zinternaltools.ParsingFormatStatistics;
 import com.github.lgooddatepicker.zinternaltools.TranslationSource;
 import com.privatejgoodies.forms.layout.ColumnSpec;
 import com.privatejgoodies.forms.layout.ConstantSize;
@@ -43,15 +49,18 @@ import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import javax.swing.JButton;
 import javax.swing.JLabel;
@@ -93,12 +102,14 @@ public class DatePickerSettings {
     BackgroundOverallCalendarPanel(new Color(240, 240, 240)),
     BackgroundTodayLabel(new Color(240, 240, 240)),
     BackgroundTopLeftLabelAboveWeekNumbers(new Color(184, 207, 229)),
+    CalendarBackgroundLoadingDates(new Color(245, 245, 245)),
     CalendarBackgroundNormalDates(Color.white),
     CalendarBackgroundSelectedDate(new Color(163, 184, 204)),
     CalendarBackgroundVetoedDates(Color.lightGray),
     CalendarBorderSelectedDate(new Color(99, 130, 191)),
     CalendarDefaultBackgroundHighlightedDates(Color.green),
     CalendarDefaultTextHighlightedDates(Color.black),
+    CalendarTextLoadingDates(Color.gray),
     CalendarTextNormalDates(Color.black),
     CalendarTextWeekdays(Color.black),
     CalendarTextWeekNumbers(Color.black),
@@ -108,11 +119,13 @@ public class DatePickerSettings {
     TextTodayLabel(new JLabel().getForeground()),
     TextCalendarPanelLabelsOnHover(new JLabel().getForeground()),
     TextFieldBackgroundDisallowedEmptyDate(Color.pink),
+    TextFieldBackgroundIncompleteDate(Color.white),
     TextFieldBackgroundInvalidDate(Color.white),
     TextFieldBackgroundValidDate(Color.white),
     TextFieldBackgroundVetoedDate(Color.white),
     TextFieldBackgroundDisabled(new Color(240, 240, 240)),
     TextFieldBorder(new Color(122, 138, 153)),
+    DatePickerTextIncompleteDate(new Color(204, 102, 0)),
     DatePickerTextInvalidDate(Color.red),
     DatePickerTextValidDate(Color.black),
     DatePickerTextVetoedDate(Color.black),
@@ -125,6 +138,35 @@ public class DatePickerSettings {
     public Color defaultColor;
   }
 
+  /**
+   * ParsingOrder, These enumerations specify the order in which the formatsForParsing are tried,
+   * when parsing the text that is typed into a date picker. This is used with the setParsingOrder()
+   * function. Note that the formatForDatesCommonEra and formatForDatesBeforeCommonEra are always
+   * tried (in that order) before any of the formatsForParsing, regardless of the parsing order.
+   *
+   * <p>Fixed: The formatsForParsing are always tried in the order that they appear in the list.
+   * This is the default.
+   *
+   * <p>Adaptive: The formatsForParsing are tried in order of the number of times that each format
+   * has successfully parsed text in this settings instance, from most to least successful. Formats
+   * with equal success counts are tried in the order that they appear in the list.
+   *
+   * <p>AdaptiveSharedByLocale: This is the same as Adaptive, except that the success counts are
+   * shared by all the settings instances that use this parsing order and the same locale.
+   *
+   * <p>Determinism note: The adaptive orders never change the date that any text is parsed to. A
+   * format is only tried ahead of an earlier format in the list if the two formats can not parse
+   * the same text. (Formats are treated as able to parse the same text if they have the same
+   * sequence of fields and literal characters, or if their shape can not be determined.) So when
+   * more than one format could parse some text, the earliest of those formats in the list is always
+   * used, exactly as it would be with the Fixed order.
+   */
+  public enum ParsingOrder {
+    Fixed,
+    Adaptive,
+    AdaptiveSharedByLocale
+  }
+
   /**
    * allowEmptyDates, This indicates whether or not empty dates are allowed in the date picker.
    * Empty dates are also called "null dates". The default value is true, which allows empty dates.
@@ -148,6 +190,15 @@ public class DatePickerSettings {
    */
   private boolean allowKeyboardEditing = true;
 
+  /**
+   * asyncDatePolicy, This is an optional policy that supplies vetoed and highlighted dates to the
+   * calendar panel without blocking the event dispatch thread. The calendar panel displays the
+   * dates of a month in a "loading" state, until the results of that month are available. This is
+   * used in addition to the veto policy and the highlight policy. See the AsyncDatePolicy class for
+   * details. The default value is null.
+   */
+  private AsyncDatePolicy asyncDatePolicy = null;
+
   /**
    * borderCalendarPopup, This is the (outside) border for the calendar popup window. If this is
    * null, a default border will be provided by the CustomPopup class. The default value is null.
@@ -188,6 +239,21 @@ public class DatePickerSettings {
    */
   private ArrayList<CalendarBorderProperties> borderPropertiesList;
 
+  /**
+   * cachePolicyResults, This indicates whether the calendar panel remembers the results of the veto
+   * policy and the highlight policy for each date. When this is true, each policy is called only
+   * once for each date, instead of once for each displayed date every time the calendar is
+   * redrawn. This is useful when the policies are expensive to evaluate. The default value is
+   * false.
+   *
+   * <p>The cache can not detect changes to the rules of a policy. If a policy would return a
+   * different result for any date, then the programmer must call invalidatePolicyCache(). Setting
+   * a new veto policy or highlight policy clears the cache automatically. The cache only applies
+   * to the calendar panel. Text in the date picker text field is always checked with the veto
+   * policy directly.
+   */
+  private boolean cachePolicyResults = false;
+
   /**
    * calendarPanelFactory, This allows to construct custom instances of CalendarPanel. If it is null
    * the standard CalendarPanel is instantiated.
@@ -199,6 +265,22 @@ public class DatePickerSettings {
    */
   private Clock clock = Clock.systemDefaultZone();
 
+  /**
+   * coalesceTextFieldValidation, This indicates whether text field changes that are made by the
+   * user (or by direct changes to the text field document) are validated once per event loop turn,
+   * instead of once per document event. Replacing the text of a text field produces a "remove"
+   * event and an "insert" event, and each event would otherwise parse and validate the text, notify
+   * the listeners, and fire a "text" property change. When this is true, all the document events
+   * of one event dispatch thread turn are collapsed into a single validation, which is performed
+   * later on the event dispatch thread. The default value is false.
+   *
+   * <p>Text that is set with the DatePicker.setText() function, or with the setDate() function, is
+   * always validated immediately, and any pending validation is then skipped. Calling
+   * DatePicker.getDate() also performs any pending validation first, so the returned value always
+   * matches the current text.
+   */
+  private boolean coalesceTextFieldValidation = false;
+
   /**
    * colorBackgroundWeekdayLabels, This is the calendar background color for the weekday labels. The
    * default color is a medium sky blue.
@@ -423,6 +505,15 @@ public class DatePickerSettings {
    */
   private Locale locale;
 
+  /**
+   * paintDateGrid, This indicates whether the calendar panel paints all its date cells with a
+   * single lightweight component, instead of using a separate label for each of the 42 date cells.
+   * The painted date grid looks and behaves the same as the date labels, but it greatly reduces the
+   * number of components in each calendar panel. This is useful when many calendar panels are
+   * displayed at the same time. The default value is false.
+   */
+  private boolean paintDateGrid = false;
+
   /**
    * parentCalendarPanel, This holds a reference to any parent -independent- calendar panel that is
    * associated with these settings. This variable is only intended to be set from the calendar
@@ -450,6 +541,45 @@ public class DatePickerSettings {
    */
   private DatePicker parentDatePicker;
 
+  /**
+   * parentScrollingCalendar, This holds a reference to any parent scrolling calendar that is
+   * associated with these settings. This variable is only intended to be set from the scrolling
+   * calendar constructor.
+   *
+   * <p>A date picker settings instance can only have one parent. When this is not null, all the
+   * other parent variables will always be null.
+   *
+   * <p>This will be null until the ScrollingCalendar is constructed (using this settings instance).
+   */
+  private ScrollingCalendar parentScrollingCalendar;
+
+  /**
+   * parentYearOverview, This holds a reference to any parent year overview that is associated with
+   * these settings. This variable is only intended to be set from the year overview constructor.
+   *
+   * <p>A date picker settings instance can only have one parent. When this is not null, the
+   * parentDatePicker and parentCalendarPanel variables will always be null.
+   *
+   * <p>This will be null until the YearOverview is constructed (using this settings instance).
+   */
+  private YearOverview parentYearOverview;
+
+  /**
+   * parsingOrder, This specifies the order in which the formatsForParsing are tried, when parsing
+   * the text that is typed into the date picker. The default value is ParsingOrder.Fixed. See the
+   * ParsingOrder enum for details.
+   */
+  private ParsingOrder parsingOrder = ParsingOrder.Fixed;
+
+  /**
+   * prefetchAdjacentMonths, This indicates whether the calendar panel prepares the neighboring
+   * months of the displayed month in idle time, after each time that the calendar is drawn. The
+   * neighboring months are the previous and next month, and the same month of the previous and
+   * next year. When this is true, navigating to a neighboring month can be drawn from prepared
+   * data. The default value is false.
+   */
+  private boolean prefetchAdjacentMonths = false;
+
   /**
    * sizeDatePanelMinimumHeight, This specifies the minimum height, in pixels, of the date label
    * area. The date label area is the part of the calendar panel that holds (only) the date labels.
@@ -632,6 +762,53 @@ public class DatePickerSettings {
    */
   private boolean zSkipDrawIndependentCalendarPanelIfNeeded = false;
 
+  /**
+   * zParsingVersion, This is incremented whenever a setting that affects the parsing of date text
+   * is changed. The parent date picker uses this to decide whether a previous parse of the same
+   * text can be reused.
+   */
+  private int zParsingVersion = 0;
+
+  /**
+   * zParsingVersionFormatsList and zParsingVersionFormatsSnapshot, These hold the formatsForParsing
+   * list and a copy of its contents, as they were last seen by zGetParsingVersion(). The list is
+   * returned directly by getFormatsForParsing(), so it can be modified without calling a setter.
+   * Formatters are immutable, so comparing the contents with the copy detects any modification.
+   */
+  private ArrayList<DateTimeFormatter> zParsingVersionFormatsList = null;
+
+  private ArrayList<DateTimeFormatter> zParsingVersionFormatsSnapshot = null;
+
+  /**
+   * zParsingFormatStatistics, This holds the success statistics that are used by the adaptive
+   * parsing orders. This is null when the parsing order is ParsingOrder.Fixed.
+   */
+  private ParsingFormatStatistics zParsingFormatStatistics = null;
+
+  /**
+   * zParsingFormatStatisticsModificationCount, This holds the modification count of the parsing
+   * format statistics, as it was last seen by zGetParsingVersion().
+   */
+  private int zParsingFormatStatisticsModificationCount = 0;
+
+  /**
+   * zOrderedFormatsForParsing, This holds the formatsForParsing in the current adaptive parsing
+   * order, or null if the order has not been calculated. See also: zGetParsingVersion().
+   */
+  private ArrayList<DateTimeFormatter> zOrderedFormatsForParsing = null;
+
+  /**
+   * zPolicyResultCache, This holds the cached veto policy and highlight policy results, when the
+   * cachePolicyResults setting is true.
+   */
+  private final DatePolicyResultCache zPolicyResultCache = new DatePolicyResultCache();
+
+  /**
+   * zAsyncPolicyResultLoader, This loads and holds the month results of the asyncDatePolicy, if an
+   * asynchronous policy is set.
+   */
+  private final AsyncPolicyResultLoader zAsyncPolicyResultLoader = new AsyncPolicyResultLoader();
+
   /**
    * Constructor with Default Locale, This constructs a date picker settings instance using the
    * system default locale and language. The constructor populates all the settings with default
@@ -703,6 +880,7 @@ public class DatePickerSettings {
     DatePickerSettings result = new DatePickerSettings();
     result.allowEmptyDates = this.allowEmptyDates;
     result.allowKeyboardEditing = this.allowKeyboardEditing;
+    // "result.asyncDatePolicy" is left at its default value.
     // "result.borderCalendarPopup" is left at its default value.
     if (this.borderPropertiesList == null) {
       result.borderPropertiesList = null;
@@ -712,7 +890,9 @@ public class DatePickerSettings {
         result.borderPropertiesList.add(borderProperty.clone());
       }
     }
+    result.cachePolicyResults = this.cachePolicyResults;
     result.calendarPanelFactory = this.calendarPanelFactory;
+    result.coalesceTextFieldValidation = this.coalesceTextFieldValidation;
     result.colorBackgroundWeekNumberLabels = this.colorBackgroundWeekNumberLabels;
     result.colorBackgroundWeekdayLabels = this.colorBackgroundWeekdayLabels;
     if (this.colors == null) {
@@ -751,8 +931,11 @@ public class DatePickerSettings {
     result.isVisibleTodayButton = this.isVisibleTodayButton;
     result.isVisibleYearMenuButton = this.isVisibleYearMenuButton;
     result.locale = (Locale) this.locale.clone();
+    result.paintDateGrid = this.paintDateGrid;
     // "result.parentCalendarPanel" is left at its default value.
     // "result.parentDatePicker" is left at its default value.
+    // "result.parentScrollingCalendar" is left at its default value.
+    // "result.parentYearOverview" is left at its default value.
     result.sizeDatePanelMinimumHeight = this.sizeDatePanelMinimumHeight;
     result.sizeDatePanelMinimumWidth = this.sizeDatePanelMinimumWidth;
     result.sizeTextFieldMinimumWidth = this.sizeTextFieldMinimumWidth;
@@ -770,6 +953,11 @@ public class DatePickerSettings {
     result.weekNumbersDisplayed = this.weekNumbersDisplayed;
     result.weekNumbersWillOverrideFirstDayOfWeek = this.weekNumbersWillOverrideFirstDayOfWeek;
     result.zSkipDrawIndependentCalendarPanelIfNeeded = false;
+    // The parsing order is applied after the locale is copied, because shared adaptive statistics
+    // depend on the locale. The statistics of an unshared adaptive order are not copied.
+    result.parsingOrder = this.parsingOrder;
+    result.prefetchAdjacentMonths = this.prefetchAdjacentMonths;
+    result.zApplyParsingOrder();
     return result;
   }
 
@@ -789,6 +977,11 @@ public class DatePickerSettings {
     return allowKeyboardEditing;
   }
 
+  /** getAsyncDatePolicy, This returns the asynchronous date policy or null. */
+  public AsyncDatePolicy getAsyncDatePolicy() {
+    return asyncDatePolicy;
+  }
+
   /**
    * getBorderCalendarPopup, Returns the value of this setting. See the "set" function for setting
    * information.
@@ -805,6 +998,14 @@ public class DatePickerSettings {
     return borderPropertiesList;
   }
 
+  /**
+   * getCachePolicyResults, Returns the value of this setting. See the "set" function for setting
+   * information.
+   */
+  public boolean getCachePolicyResults() {
+    return cachePolicyResults;
+  }
+
   /** getCalendarPanelFactory, This returns the calendarPanelFactory or null. */
   public Function<DatePicker, CalendarPanel> getCalendarPanelFactory() {
     return calendarPanelFactory;
@@ -815,6 +1016,14 @@ public class DatePickerSettings {
     return clock;
   }
 
+  /**
+   * getCoalesceTextFieldValidation, Returns the value of this setting. See the "set" function for
+   * setting information.
+   */
+  public boolean getCoalesceTextFieldValidation() {
+    return coalesceTextFieldValidation;
+  }
+
   /** getColor, This returns the currently set color for the specified area. */
   public Color getColor(DateArea area) {
     return colors.get(area);
@@ -1034,6 +1243,14 @@ public class DatePickerSettings {
     return locale;
   }
 
+  /**
+   * getPaintDateGrid, Returns the value of this setting. See the "set" function for setting
+   * information.
+   */
+  public boolean getPaintDateGrid() {
+    return paintDateGrid;
+  }
+
   /**
    * getParentCalendarPanel, Returns the calendar panel that is the parent of the settings, or null
    * if no parent calendar panel has been set.
@@ -1050,6 +1267,38 @@ public class DatePickerSettings {
     return parentDatePicker;
   }
 
+  /**
+   * getParentScrollingCalendar, Returns the scrolling calendar that is the parent of the settings,
+   * or null if no parent scrolling calendar has been set.
+   */
+  public ScrollingCalendar getParentScrollingCalendar() {
+    return parentScrollingCalendar;
+  }
+
+  /**
+   * getParentYearOverview, Returns the year overview that is the parent of the settings, or null if
+   * no parent year overview has been set.
+   */
+  public YearOverview getParentYearOverview() {
+    return parentYearOverview;
+  }
+
+  /**
+   * getParsingOrder, Returns the value of this setting. See the "set" function for setting
+   * information.
+   */
+  public ParsingOrder getParsingOrder() {
+    return parsingOrder;
+  }
+
+  /**
+   * getPrefetchAdjacentMonths, Returns the value of this setting. See the "set" function for
+   * setting information.
+   */
+  public boolean getPrefetchAdjacentMonths() {
+    return prefetchAdjacentMonths;
+  }
+
   /**
    * getSizeDatePanelMinimumHeight, Returns the value of this setting. See the "set" function for
    * setting information.
@@ -1191,13 +1440,48 @@ public class DatePickerSettings {
   /**
    * hasParent, This returns true if this settings instance has a parent, otherwise returns false. A
    * settings instance will have a parent if the settings instance has already been used to
-   * construct a DatePicker, or to construct an independent CalendarPanel. Note that settings
-   * instances cannot be reused. They are only expected to ever have one parent.
+   * construct a DatePicker, an independent CalendarPanel, a ScrollingCalendar, or a YearOverview.
+   * Note that settings instances cannot be reused. They are only expected to ever have one parent.
    */
   public boolean hasParent() {
     boolean hasParentDatePicker = (parentDatePicker != null);
     boolean hasParentCalendarPanel = (parentCalendarPanel != null);
-    return (hasParentDatePicker || hasParentCalendarPanel);
+    boolean hasParentScrollingCalendar = (parentScrollingCalendar != null);
+    boolean hasParentYearOverview = (parentYearOverview != null);
+    return (hasParentDatePicker
+        || hasParentCalendarPanel
+        || hasParentScrollingCalendar
+        || hasParentYearOverview);
+  }
+
+  /**
+   * invalidatePolicyCache, This clears all the cached veto policy and highlight policy results, and
+   * redraws any independent calendar panel. This should be called whenever the veto policy or the
+   * highlight policy would return a different result for any date. This only has an effect when
+   * the cachePolicyResults setting is true. (See setCachePolicyResults().)
+   *
+   * <p>This also discards all the loaded results of any asynchronous date policy, so that the
+   * displayed months will be loaded again.
+   */
+  public void invalidatePolicyCache() {
+    zPolicyResultCache.clear();
+    zAsyncPolicyResultLoader.clear();
+    zDrawIndependentCalendarPanelIfNeeded();
+  }
+
+  /**
+   * invalidatePolicyCache, This clears the cached veto policy and highlight policy results of the
+   * dates from firstDate to lastDate (inclusive), and redraws any independent calendar panel. If
+   * either date is null, then the range is open on that side. This can be used instead of
+   * invalidatePolicyCache() when the policy results have only changed for a known date range.
+   *
+   * <p>This also discards the loaded results of any asynchronous date policy, for every month that
+   * contains any date in the range.
+   */
+  public void invalidatePolicyCache(LocalDate firstDate, LocalDate lastDate) {
+    zPolicyResultCache.clear(firstDate, lastDate);
+    zAsyncPolicyResultLoader.clear(firstDate, lastDate);
+    zDrawIndependentCalendarPanelIfNeeded();
   }
 
   /**
@@ -1258,6 +1542,20 @@ public class DatePickerSettings {
     zApplyAllowKeyboardEditing();
   }
 
+  /**
+   * setAsyncDatePolicy, This sets an asynchronous policy that supplies vetoed and highlighted dates
+   * to the calendar panel, one month at a time, without blocking the event dispatch thread. While
+   * the results of a month are loading, the dates of that month are displayed in a "loading" state
+   * and can not be selected. Setting this to null removes the asynchronous policy. Setting a policy
+   * (even the current policy) discards any loaded results. See the AsyncDatePolicy class for
+   * details.
+   */
+  public void setAsyncDatePolicy(AsyncDatePolicy asyncDatePolicy) {
+    this.asyncDatePolicy = asyncDatePolicy;
+    zAsyncPolicyResultLoader.clear();
+    zDrawIndependentCalendarPanelIfNeeded();
+  }
+
   /**
    * setBorderCalendarPopup, This sets the border for the calendar popup window. If this is null, a
    * default border will be provided by the CustomPopup class. The default value is null. This
@@ -1311,6 +1609,17 @@ public class DatePickerSettings {
     }
   }
 
+  /**
+   * setCachePolicyResults, This sets whether the calendar panel remembers the results of the veto
+   * policy and the highlight policy for each date. The default value is false. When this is true,
+   * each policy is called only once for each date, until invalidatePolicyCache() is called or a new
+   * policy is set. Changing this setting clears any cached results.
+   */
+  public void setCachePolicyResults(boolean cachePolicyResults) {
+    this.cachePolicyResults = cachePolicyResults;
+    zPolicyResultCache.clear();
+  }
+
   /**
    * setCalendarPanelFactory, This sets the factory used to construct instances of CalendarPanel. If
    * it is null the standard CalendarPanel is instantiated.
@@ -1331,6 +1640,17 @@ public class DatePickerSettings {
     this.clock = clock;
   }
 
+  /**
+   * setCoalesceTextFieldValidation, This sets whether text field changes that are made by the user
+   * (or by direct changes to the text field document) are validated once per event loop turn,
+   * instead of once per document event. The default value is false. When this is true, the
+   * document events of one event dispatch thread turn are collapsed into a single validation. Text
+   * that is set with DatePicker.setText() or setDate() is still validated immediately.
+   */
+  public void setCoalesceTextFieldValidation(boolean coalesceTextFieldValidation) {
+    this.coalesceTextFieldValidation = coalesceTextFieldValidation;
+  }
+
   /**
    * setColor, This sets a color for the specified area. Setting an area to null will restore the
    * default color for that area.
@@ -1618,6 +1938,7 @@ public class DatePickerSettings {
    */
   public void setFormatForDatesBeforeCommonEra(DateTimeFormatter formatForDatesBeforeCommonEra) {
     this.formatForDatesBeforeCommonEra = formatForDatesBeforeCommonEra;
+    ++zParsingVersion;
     if (parentDatePicker != null) {
       parentDatePicker.setTextFieldToValidStateIfNeeded();
     }
@@ -1667,6 +1988,7 @@ public class DatePickerSettings {
    */
   public void setFormatForDatesCommonEra(DateTimeFormatter formatForDatesCommonEra) {
     this.formatForDatesCommonEra = formatForDatesCommonEra;
+    ++zParsingVersion;
     if (parentDatePicker != null) {
       parentDatePicker.setTextFieldToValidStateIfNeeded();
     }
@@ -1717,6 +2039,7 @@ public class DatePickerSettings {
    */
   public void setFormatsForParsing(ArrayList<DateTimeFormatter> formatsForParsing) {
     this.formatsForParsing = formatsForParsing;
+    ++zParsingVersion;
   }
 
   /**
@@ -1743,6 +2066,7 @@ public class DatePickerSettings {
    */
   public void setHighlightPolicy(DateHighlightPolicy highlightPolicy) {
     this.highlightPolicy = highlightPolicy;
+    zPolicyResultCache.clear();
     zDrawIndependentCalendarPanelIfNeeded();
   }
 
@@ -1821,6 +2145,10 @@ public class DatePickerSettings {
               .parseCaseInsensitive()
               .appendLocalized(allFormatStyle, null)
               .toFormatter(locale);
+      NumericDateScanner.registerPatternForFormatter(
+          parseFormat,
+          DateTimeFormatterBuilder.getLocalizedDateTimePattern(
+              allFormatStyle, null, IsoChronology.INSTANCE, locale));
       parsingFormats.add(parseFormat);
     }
 
@@ -1833,6 +2161,9 @@ public class DatePickerSettings {
     // Save the parsing formats.
     setFormatsForParsing(parsingFormats);
 
+    // Any adaptive parsing statistics belong to the previous locale, so re-apply the parsing order.
+    zApplyParsingOrder();
+
     // Initialize the first day of the week.
     DayOfWeek firstDayOfWeekDefault = WeekFields.of(locale).getFirstDayOfWeek();
     setFirstDayOfWeek(firstDayOfWeekDefault);
@@ -1845,6 +2176,52 @@ public class DatePickerSettings {
     zDrawDatePickerTextFieldIfNeeded();
   }
 
+  /**
+   * setPaintDateGrid, This sets whether the calendar panel paints all its date cells with a single
+   * lightweight component, instead of using a separate label for each date cell. The default value
+   * is false. Setting this to true reduces the number of components in each calendar panel by 41,
+   * which reduces the cost of laying out and repainting calendar panels. This can be changed
+   * before or after a calendar panel is created.
+   */
+  public void setPaintDateGrid(boolean paintDateGrid) {
+    this.paintDateGrid = paintDateGrid;
+    zDrawIndependentCalendarPanelIfNeeded();
+  }
+
+  /**
+   * setParsingOrder, This sets the order in which the formatsForParsing are tried, when parsing the
+   * text that is typed into the date picker. The default value is ParsingOrder.Fixed, which tries
+   * the formats in the order that they appear in the list. The adaptive orders try the most
+   * successful formats first. Setting this to null will restore the default value. See the
+   * ParsingOrder enum for details, including how the adaptive orders resolve text that could be
+   * parsed by more than one format.
+   *
+   * <p>Setting the parsing order (even to the current value) will clear the success statistics of
+   * the ParsingOrder.Adaptive order. The shared statistics of the AdaptiveSharedByLocale order are
+   * never cleared.
+   */
+  public void setParsingOrder(ParsingOrder parsingOrder) {
+    this.parsingOrder = (parsingOrder == null) ? ParsingOrder.Fixed : parsingOrder;
+    zApplyParsingOrder();
+  }
+
+  /**
+   * setPrefetchAdjacentMonths, This sets whether the calendar panel prepares the neighboring months
+   * of the displayed month in idle time. The neighboring months are the previous and next month,
+   * and the same month of the previous and next year. The default value is false.
+   *
+   * <p>Prefetching always prepares the date grid of each neighboring month. The veto policy and
+   * highlight policy results are only prefetched when the cachePolicyResults setting is true,
+   * because otherwise the results would not be kept. If an asynchronous date policy is set, then
+   * the neighboring months are also requested from that policy.
+   *
+   * <p>Prefetching is done one month per event, on the event dispatch thread, so it does not delay
+   * user input. Any unfinished prefetching is abandoned when the calendar is drawn again.
+   */
+  public void setPrefetchAdjacentMonths(boolean prefetchAdjacentMonths) {
+    this.prefetchAdjacentMonths = prefetchAdjacentMonths;
+  }
+
   /**
    * setSizeDatePanelMinimumHeight, This sets the minimum height, in pixels, of the date label area.
    * The date label area is the part of the calendar panel that holds (only) the date labels. The
@@ -2015,6 +2392,7 @@ public class DatePickerSettings {
               + " previous sentence is probably simpler than it sounds.)");
     }
     this.vetoPolicy = vetoPolicy;
+    zPolicyResultCache.clear();
     // If the parent is an independent calendar panel, redraw the panel to show the new policy.
     zDrawIndependentCalendarPanelIfNeeded();
     // Return true if the selected date is allowed by the new policy, otherwise return false.
@@ -2206,6 +2584,26 @@ public class DatePickerSettings {
     }
   }
 
+  /**
+   * zApplyParsingOrder, This creates or retrieves the success statistics that are needed by the
+   * current parsing order setting. This should be called whenever the parsing order or the locale
+   * is changed.
+   */
+  private void zApplyParsingOrder() {
+    switch (parsingOrder) {
+      case Adaptive:
+        zParsingFormatStatistics = new ParsingFormatStatistics();
+        break;
+      case AdaptiveSharedByLocale:
+        zParsingFormatStatistics = ParsingFormatStatistics.getSharedStatisticsForLocale(locale);
+        break;
+      default:
+        zParsingFormatStatistics = null;
+    }
+    zOrderedFormatsForParsing = null;
+    ++zParsingVersion;
+  }
+
   /** zApplyAllowKeyboardEditing, This applies the named setting to the parent component. */
   void zApplyAllowKeyboardEditing() {
     if (parentDatePicker == null) {
@@ -2265,8 +2663,8 @@ public class DatePickerSettings {
 
   /**
    * zDrawIndependentCalendarPanelIfNeeded, If needed, this will redraw the independent
-   * CalendarPanel. This function only has an effect if the parent of this settings instance is an
-   * independent CalendarPanel (and not a DatePicker).
+   * CalendarPanel, the ScrollingCalendar, or the YearOverview. This function only has an effect if
+   * the parent of this settings instance is not a DatePicker.
    */
   private void zDrawIndependentCalendarPanelIfNeeded() {
     if (zSkipDrawIndependentCalendarPanelIfNeeded) {
@@ -2275,6 +2673,79 @@ public class DatePickerSettings {
     if (parentCalendarPanel != null) {
       parentCalendarPanel.drawCalendar();
     }
+    if (parentScrollingCalendar != null) {
+      parentScrollingCalendar.drawScrollingCalendar();
+    }
+    if (parentYearOverview != null) {
+      parentYearOverview.drawYearOverview();
+    }
+  }
+
+  /**
+   * zCancelAsyncPolicyLoading, This cancels the loading of any months by the asynchronous date
+   * policy. This is called when a date picker calendar popup is closed. Any loaded results are
+   * kept.
+   */
+  void zCancelAsyncPolicyLoading() {
+    zAsyncPolicyResultLoader.cancelLoading();
+  }
+
+  /**
+   * zGetHighlightInformationForCalendarOrNull, This returns the highlight information of the
+   * highlight policy for the specified date, or null. When the cachePolicyResults setting is true,
+   * the result is taken from the policy result cache when possible. If an asynchronous date policy
+   * has highlighted the date, then that highlight information is returned instead.
+   */
+  HighlightInformation zGetHighlightInformationForCalendarOrNull(LocalDate date) {
+    if (asyncDatePolicy != null) {
+      HighlightInformation asyncHighlightInfo =
+          zAsyncPolicyResultLoader.getHighlightInformationOrNull(date);
+      if (asyncHighlightInfo != null) {
+        return asyncHighlightInfo;
+      }
+    }
+    if (!cachePolicyResults) {
+      return (highlightPolicy == null) ? null : highlightPolicy.getHighlightInformationOrNull(date);
+    }
+    return zPolicyResultCache.getHighlightInformationOrNull(highlightPolicy, date);
+  }
+
+  /**
+   * zIsDateVetoedForCalendar, This returns true if the specified date is vetoed by the veto policy.
+   * When the cachePolicyResults setting is true, the result is taken from the policy result cache
+   * when possible. A date is also vetoed if the loaded results of an asynchronous date policy veto
+   * it.
+   */
+  boolean zIsDateVetoedForCalendar(LocalDate date) {
+    if (asyncDatePolicy != null && zAsyncPolicyResultLoader.isDateVetoed(date)) {
+      return true;
+    }
+    if (!cachePolicyResults) {
+      return InternalUtilities.isDateVetoed(vetoPolicy, date);
+    }
+    return zPolicyResultCache.isDateVetoed(vetoPolicy, date);
+  }
+
+  /**
+   * zIsMonthLoadingForCalendar, This returns true if an asynchronous date policy is set, and the
+   * results of the specified month have not been loaded yet.
+   */
+  boolean zIsMonthLoadingForCalendar(YearMonth yearMonth) {
+    return (asyncDatePolicy != null) && !zAsyncPolicyResultLoader.isMonthLoaded(yearMonth);
+  }
+
+  /**
+   * zLoadAsyncPolicyMonths, This makes sure that the results of the needed months are loaded or
+   * loading, if an asynchronous date policy is set. Any loading month that is not needed is
+   * cancelled. The listener is notified on the event dispatch thread with the loaded month, each
+   * time that a month has been loaded.
+   */
+  void zLoadAsyncPolicyMonths(
+      Collection<YearMonth> neededMonths, Consumer<YearMonth> monthLoadedListener) {
+    if (asyncDatePolicy == null) {
+      return;
+    }
+    zAsyncPolicyResultLoader.loadMonths(asyncDatePolicy, neededMonths, monthLoadedListener);
   }
 
   /**
@@ -2288,6 +2759,12 @@ public class DatePickerSettings {
     if (!hasParent()) {
       return null;
     }
+    if (parentScrollingCalendar != null) {
+      return parentScrollingCalendar.getSelectedDate();
+    }
+    if (parentYearOverview != null) {
+      return parentYearOverview.getSelectedDate();
+    }
     boolean useDatePicker = (parentDatePicker != null);
     return (useDatePicker) ? parentDatePicker.getDate() : parentCalendarPanel.getSelectedDate();
   }
@@ -2328,6 +2805,64 @@ public class DatePickerSettings {
     return results;
   }
 
+  /**
+   * zGetParsingVersion, This returns a number that changes whenever the settings that affect the
+   * parsing of date text are changed. Those settings are formatForDatesCommonEra,
+   * formatForDatesBeforeCommonEra, and formatsForParsing (including any change to the contents of
+   * the formatsForParsing list). When an adaptive parsing order is used, this also changes whenever
+   * the order of the formatsForParsing changes.
+   */
+  int zGetParsingVersion() {
+    if ((formatsForParsing != zParsingVersionFormatsList)
+        || ((formatsForParsing != null)
+            && (!formatsForParsing.equals(zParsingVersionFormatsSnapshot)))) {
+      zParsingVersionFormatsList = formatsForParsing;
+      zParsingVersionFormatsSnapshot =
+          (formatsForParsing == null) ? null : new ArrayList<>(formatsForParsing);
+      zOrderedFormatsForParsing = null;
+      ++zParsingVersion;
+    }
+    // When an adaptive parsing order is used, any new success statistics can change the order.
+    // Most new successes do not change the order, and those do not change the version.
+    if (zParsingFormatStatistics != null && formatsForParsing != null) {
+      int modificationCount = zParsingFormatStatistics.getModificationCount();
+      if ((zOrderedFormatsForParsing == null)
+          || (modificationCount != zParsingFormatStatisticsModificationCount)) {
+        zParsingFormatStatisticsModificationCount = modificationCount;
+        ArrayList<DateTimeFormatter> orderedFormats =
+            zParsingFormatStatistics.orderFormatsBySuccessCount(formatsForParsing);
+        if ((zOrderedFormatsForParsing != null)
+            && (!orderedFormats.equals(zOrderedFormatsForParsing))) {
+          ++zParsingVersion;
+        }
+        zOrderedFormatsForParsing = orderedFormats;
+      }
+    }
+    return zParsingVersion;
+  }
+
+  /**
+   * zGetFormatsForParsingInParsingOrder, This returns the formatsForParsing in the order that they
+   * should be tried, according to the current parsing order setting. For ParsingOrder.Fixed, this
+   * returns the formatsForParsing list itself. For the adaptive orders, this returns a reordered
+   * copy of the list, which is only recalculated when the success statistics change.
+   */
+  ArrayList<DateTimeFormatter> zGetFormatsForParsingInParsingOrder() {
+    if (zParsingFormatStatistics == null || formatsForParsing == null) {
+      return formatsForParsing;
+    }
+    zGetParsingVersion();
+    return zOrderedFormatsForParsing;
+  }
+
+  /**
+   * zGetParsingFormatStatisticsOrNull, This returns the success statistics that are used by the
+   * current adaptive parsing order, or null if the parsing order is ParsingOrder.Fixed.
+   */
+  ParsingFormatStatistics zGetParsingFormatStatisticsOrNull() {
+    return zParsingFormatStatistics;
+  }
+
   /**
    * zGetDefaultYearMonthAsUsed, This returns the default YearMonth, but substitutes YearMonth.now()
    * for any null value. This will never return null.
@@ -2369,6 +2904,42 @@ public class DatePickerSettings {
     this.parentDatePicker = parentDatePicker;
   }
 
+  /**
+   * zSetParentScrollingCalendar, This sets the parent scrolling calendar for these settings. A
+   * settings instance may only be used for one parent component. If the setting instance already
+   * has a parent component, then an exception will be thrown.
+   *
+   * <p>This is package private, and is only intended to be called from the ScrollingCalendar class.
+   */
+  void zSetParentScrollingCalendar(ScrollingCalendar parentScrollingCalendar) {
+    if (hasParent()) {
+      throw new RuntimeException(
+          "DatePickerSettings.zSetParentScrollingCalendar(), A DatePickerSettings instance can"
+              + " only be used as the settings for one parent object. (Settings instances"
+              + " cannot be reused for multiple date components, or for combinations of"
+              + " date components.)");
+    }
+    this.parentScrollingCalendar = parentScrollingCalendar;
+  }
+
+  /**
+   * zSetParentYearOverview, This sets the parent year overview for these settings. A settings
+   * instance may only be used for one parent component. If the setting instance already has a
+   * parent component, then an exception will be thrown.
+   *
+   * <p>This is package private, and is only intended to be called from the YearOverview class.
+   */
+  void zSetParentYearOverview(YearOverview parentYearOverview) {
+    if (hasParent()) {
+      throw new RuntimeException(
+          "DatePickerSettings.zSetParentYearOverview(), A DatePickerSettings instance can"
+              + " only be used as the settings for one parent object. (Settings instances"
+              + " cannot be reused for multiple DatePickers, CalendarPanels, or YearOverviews,"
+              + " or for combinations of these.)");
+    }
+    this.parentYearOverview = parentYearOverview;
+  }
+
   /**
    * zSetParentSelectedDate, Sets the currently selected date for the parent DatePicker or parent
    * independent CalendarPanel (using whichever parent currently exists). If this settings instance
@@ -2383,5 +2954,11 @@ public class DatePickerSettings {
     if (parentCalendarPanel != null) {
       parentCalendarPanel.setSelectedDate(dateValue);
     }
+    if (parentScrollingCalendar != null) {
+      parentScrollingCalendar.setSelectedDate(dateValue);
+    }
+    if (parentYearOverview != null) {
+      parentYearOverview.setSelectedDate(dateValue);
+    }
   }
 }
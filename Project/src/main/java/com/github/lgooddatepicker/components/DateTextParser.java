@@ -0,0 +1,233 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.components;
+
+import com.github.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import com.github.lgooddatepicker.optionalusertools.TimeVetoPolicy;
+import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.NumericDateScanner;
+import com.github.lgooddatepicker.zinternaltools.NumericTimeScanner;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * DateTextParser, This parses and validates date and time text in exactly the same way as a
+ * DatePicker or TimePicker, without creating any components. This can be used to validate large
+ * amounts of text (for example, imported table data) outside of the Swing event dispatch thread.
+ *
+ * <p>A parser holds an immutable snapshot of the parsing settings that were in effect when the
+ * parser was created: the display formats, the parsing formats (in their current parsing order),
+ * the "allow empty" settings, and the veto policies. Later changes to the settings instances do
+ * not affect the parser. The parsing results are identical to the results of
+ * InternalUtilities.getParsedDateOrNull() and InternalUtilities.getParsedTimeOrNull() for the
+ * snapshot. (Parsing with a DateTextParser does not update any adaptive parsing statistics.) The
+ * numeric scanners of the formats are also resolved once, when the parser is created, so parsing
+ * does not need to look up the shared scanner registry for every text.
+ *
+ * <p>Thread safety: All the functions of this class can be called from any number of threads at
+ * the same time, and the bulk functions parse their text in parallel. The veto policies are called
+ * from those threads, so any veto policy must be thread safe (or null) when the validation
+ * functions are used from more than one thread. The default settings have no veto policy.
+ */
+public class DateTextParser {
+
+  /**
+   * Date settings snapshot, These hold the date parsing settings. The formats are held in the order
+   * in which they are tried (the common era display format, the before common era display format,
+   * and then the parsing formats), together with their numeric scanners (or null) at the same
+   * indexes. The arrays are null if no date settings were supplied.
+   */
+  private final DateTimeFormatter[] dateFormatsInOrder;
+
+  private final NumericDateScanner[] dateScannersInOrder;
+  private final boolean allowEmptyDates;
+  private final DateVetoPolicy dateVetoPolicy;
+
+  /**
+   * Time settings snapshot, These hold the time parsing settings. The formats are held in the order
+   * in which they are tried (the display format, the menu format, and then the parsing formats),
+   * together with their numeric scanners (or null) at the same indexes. The arrays are null if no
+   * time settings were supplied.
+   */
+  private final DateTimeFormatter[] timeFormatsInOrder;
+
+  private final NumericTimeScanner[] timeScannersInOrder;
+  private final boolean allowEmptyTimes;
+  private final TimeVetoPolicy timeVetoPolicy;
+
+  /**
+   * Constructor, This creates a parser from a snapshot of the supplied settings. Either of the
+   * settings may be null. If the date settings are null, then no text is a valid date. If the time
+   * settings are null, then no text is a valid time.
+   */
+  public DateTextParser(
+      DatePickerSettings dateSettingsOrNull, TimePickerSettings timeSettingsOrNull) {
+    if (dateSettingsOrNull == null) {
+      dateFormatsInOrder = null;
+      dateScannersInOrder = null;
+      allowEmptyDates = false;
+      dateVetoPolicy = null;
+    } else {
+      List<DateTimeFormatter> formatsForParsing =
+          dateSettingsOrNull.zGetFormatsForParsingInParsingOrder();
+      dateFormatsInOrder = new DateTimeFormatter[formatsForParsing.size() + 2];
+      dateFormatsInOrder[0] = dateSettingsOrNull.getFormatForDatesCommonEra();
+      dateFormatsInOrder[1] = dateSettingsOrNull.getFormatForDatesBeforeCommonEra();
+      for (int i = 0; i < formatsForParsing.size(); ++i) {
+        dateFormatsInOrder[i + 2] = formatsForParsing.get(i);
+      }
+      dateScannersInOrder = InternalUtilities.getDateScanners(dateFormatsInOrder);
+      allowEmptyDates = dateSettingsOrNull.getAllowEmptyDates();
+      dateVetoPolicy = dateSettingsOrNull.getVetoPolicy();
+    }
+    if (timeSettingsOrNull == null) {
+      timeFormatsInOrder = null;
+      timeScannersInOrder = null;
+      allowEmptyTimes = false;
+      timeVetoPolicy = null;
+    } else {
+      List<DateTimeFormatter> formatsForParsing = timeSettingsOrNull.formatsForParsing;
+      timeFormatsInOrder = new DateTimeFormatter[formatsForParsing.size() + 2];
+      timeFormatsInOrder[0] = timeSettingsOrNull.getFormatForDisplayTime();
+      timeFormatsInOrder[1] = timeSettingsOrNull.getFormatForMenuTimes();
+      for (int i = 0; i < formatsForParsing.size(); ++i) {
+        timeFormatsInOrder[i + 2] = formatsForParsing.get(i);
+      }
+      timeScannersInOrder = InternalUtilities.getTimeScanners(timeFormatsInOrder);
+      allowEmptyTimes = timeSettingsOrNull.getAllowEmptyTimes();
+      timeVetoPolicy = timeSettingsOrNull.getVetoPolicy();
+    }
+  }
+
+  /**
+   * parseDateOrNull, This returns the date that is represented by the supplied text, or null if
+   * the text cannot be parsed. Leading and trailing whitespace is ignored. Veto policies are not
+   * consulted. This is thread safe.
+   */
+  public LocalDate parseDateOrNull(String text) {
+    if (dateFormatsInOrder == null) {
+      return null;
+    }
+    return InternalUtilities.getParsedDateOrNull(text, dateFormatsInOrder, dateScannersInOrder);
+  }
+
+  /**
+   * parseTimeOrNull, This returns the time that is represented by the supplied text, or null if
+   * the text cannot be parsed. Leading and trailing whitespace is ignored. Veto policies are not
+   * consulted. This is thread safe.
+   */
+  public LocalTime parseTimeOrNull(String text) {
+    if (timeFormatsInOrder == null) {
+      return null;
+    }
+    return InternalUtilities.getParsedTimeOrNull(text, timeFormatsInOrder, timeScannersInOrder);
+  }
+
+  /**
+   * isDateTextValid, This returns true if the supplied text would be a valid date in a DatePicker
+   * with the snapshot settings. This follows the same rules as DatePicker.isTextValid(). Valid
+   * text is either a parsable date that is not vetoed, or empty text when empty dates are allowed.
+   */
+  public boolean isDateTextValid(String text) {
+    if (text == null || dateFormatsInOrder == null) {
+      return false;
+    }
+    if (text.trim().isEmpty()) {
+      return allowEmptyDates;
+    }
+    LocalDate parsedDate = parseDateOrNull(text);
+    return (parsedDate != null) && !InternalUtilities.isDateVetoed(dateVetoPolicy, parsedDate);
+  }
+
+  /**
+   * isTimeTextValid, This returns true if the supplied text would be a valid time in a TimePicker
+   * with the snapshot settings. This follows the same rules as TimePicker.isTextValid(). Valid
+   * text is either a parsable time that is not vetoed, or empty text when empty times are allowed.
+   */
+  public boolean isTimeTextValid(String text) {
+    if (text == null || timeFormatsInOrder == null) {
+      return false;
+    }
+    if (text.trim().isEmpty()) {
+      return allowEmptyTimes;
+    }
+    LocalTime parsedTime = parseTimeOrNull(text);
+    return (parsedTime != null) && !InternalUtilities.isTimeVetoed(timeVetoPolicy, parsedTime);
+  }
+
+  /**
+   * parseDates, This parses each of the supplied texts in parallel, and returns a list with one
+   * result for each text, in the same order as the texts. Each result is the same as the result of
+   * parseDateOrNull() for that text (null for unparsable text).
+   */
+  public List<LocalDate> parseDates(List<String> texts) {
+    return parseDates(texts.parallelStream()).collect(Collectors.toList());
+  }
+
+  /**
+   * parseDates, This maps the supplied stream of texts to a stream of parse results, using
+   * parseDateOrNull(). The returned stream is parallel if the supplied stream is parallel.
+   */
+  public Stream<LocalDate> parseDates(Stream<String> texts) {
+    return texts.map(this::parseDateOrNull);
+  }
+
+  /**
+   * parseTimes, This parses each of the supplied texts in parallel, and returns a list with one
+   * result for each text, in the same order as the texts. Each result is the same as the result of
+   * parseTimeOrNull() for that text (null for unparsable text).
+   */
+  public List<LocalTime> parseTimes(List<String> texts) {
+    return parseTimes(texts.parallelStream()).collect(Collectors.toList());
+  }
+
+  /**
+   * parseTimes, This maps the supplied stream of texts to a stream of parse results, using
+   * parseTimeOrNull(). The returned stream is parallel if the supplied stream is parallel.
+   */
+  public Stream<LocalTime> parseTimes(Stream<String> texts) {
+    return texts.map(this::parseTimeOrNull);
+  }
+
+  /**
+   * validateDateTexts, This validates each of the supplied texts in parallel with
+   * isDateTextValid(), and returns a list with one result for each text, in the same order as the
+   * texts.
+   */
+  public List<Boolean> validateDateTexts(List<String> texts) {
+    return texts.parallelStream().map(this::isDateTextValid).collect(Collectors.toList());
+  }
+
+  /**
+   * validateTimeTexts, This validates each of the supplied texts in parallel with
+   * isTimeTextValid(), and returns a list with one result for each text, in the same order as the
+   * texts.
+   */
+  public List<Boolean> validateTimeTexts(List<String> texts) {
+    return texts.parallelStream().map(this::isTimeTextValid).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,743 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.components;
+
+import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
+import com.github.lgooddatepicker.zinternaltools.CalendarDateGrid;
+import com.github.lgooddatepicker.zinternaltools.CalendarLabelState;
+import com.github.lgooddatepicker.zinternaltools.MonthGrid;
+import com.github.lgooddatepicker.zinternaltools.MouseLiberalAdapter;
+import com.github.lgooddatepicker.zinternaltools.TextMetricsCache;
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseEvent;
+import java.text.DateFormatSymbols;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import javax.swing.JComponent;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.ToolTipManager;
+
+/**
+ * ScrollingCalendar, This is a lightweight calendar component that displays a range of dates as one
+ * continuous, vertically scrolling list of weeks, with the months flowing one after another. It is
+ * intended to be placed inside of a JScrollPane, where it also supplies a column header with the
+ * weekday names.
+ *
+ * <p>The scrolling calendar is virtualized: No component or state object is created for any week
+ * or date. Like the renderers of a JTable, one recycled cell state is filled out and painted for
+ * each visible cell, and only the weeks that intersect the painted area are drawn. The cost of
+ * painting and scrolling is therefore proportional to the size of the viewport, and not to the size
+ * of the date range.
+ *
+ * <p>The scrolling calendar uses the colors, fonts, first day of the week, week number settings,
+ * and policies of its DatePickerSettings instance. The dates are drawn the same way as the dates of
+ * a CalendarPanel. The first column shows the month and year next to the first week of each month.
+ * If week numbers are displayed, then the second column shows the week numbers.
+ *
+ * <p>Clicking on a date that is not vetoed (and not loading) will select that date. Any change to
+ * the selected date fires a "selectedDate" property change event.
+ */
+public class ScrollingCalendar extends JComponent implements Scrollable {
+
+  /** COLUMN_COUNT, This is the number of date columns in each week. */
+  private static final int COLUMN_COUNT = 7;
+
+  /**
+   * MAX_WEEK_COUNT, This is the largest number of weeks that can be displayed. This keeps the
+   * height of the component within the range of an int.
+   */
+  private static final int MAX_WEEK_COUNT = 1000000;
+
+  /**
+   * cellRenderState, This is the single cell state that is filled out and painted for each visible
+   * cell. It is recycled for every cell, so painting does not allocate a state for each date.
+   */
+  private final CalendarLabelState cellRenderState = new CalendarLabelState();
+
+  /** firstDate, This is the first date that is displayed. This is never null. */
+  private LocalDate firstDate;
+
+  /** lastDate, This is the last date that is displayed. This is never null. */
+  private LocalDate lastDate;
+
+  /**
+   * lastPreferredSize, This holds the preferred size from the last time that the scrolling
+   * calendar was drawn. The scrolling calendar is only revalidated when the preferred size changes.
+   */
+  private Dimension lastPreferredSize = null;
+
+  /** selectedDate, This is the selected date, or null if no date is selected. */
+  private LocalDate selectedDate = null;
+
+  /** settings, This holds the date picker settings for this calendar. This is never null. */
+  private DatePickerSettings settings;
+
+  /** weekdayHeader, This is the column header that displays the weekday names. */
+  private final WeekdayHeader weekdayHeader = new WeekdayHeader();
+
+  /**
+   * Constructor, Scrolling calendar with default settings. This creates a scrolling calendar with a
+   * default set of DatePickerSettings. The calendar will use the default operating system locale
+   * and language.
+   */
+  public ScrollingCalendar() {
+    this(null);
+  }
+
+  /**
+   * Constructor, Scrolling calendar with supplied settings. This creates a scrolling calendar with
+   * the supplied date picker settings. If the settings are null, then a default settings instance
+   * will be created. The settings instance may not be used by any other component.
+   *
+   * <p>The default date range starts 100 years before the default year and month of the settings,
+   * and ends 100 years after it.
+   */
+  public ScrollingCalendar(DatePickerSettings settings) {
+    if (settings == null) {
+      settings = new DatePickerSettings();
+    }
+    this.settings = settings;
+    settings.zSetParentScrollingCalendar(this);
+    YearMonth defaultYearMonth = settings.zGetDefaultYearMonthAsUsed();
+    firstDate = defaultYearMonth.minusYears(100).atDay(1);
+    lastDate = defaultYearMonth.plusYears(100).atEndOfMonth();
+    setOpaque(true);
+    addMouseListener(
+        new MouseLiberalAdapter() {
+          @Override
+          public void mouseLiberalClick(MouseEvent e) {
+            userSelectedADate(getDateAt(e.getPoint()));
+          }
+        });
+    // The calendar moves inside of its viewport while scrolling. Make sure that the asynchronous
+    // date policy results of the newly visible months are loading.
+    addComponentListener(
+        new ComponentAdapter() {
+          @Override
+          public void componentMoved(ComponentEvent e) {
+            zLoadAsyncPolicyMonthsForVisibleWeeks();
+          }
+
+          @Override
+          public void componentResized(ComponentEvent e) {
+            zLoadAsyncPolicyMonthsForVisibleWeeks();
+          }
+        });
+    ToolTipManager.sharedInstance().registerComponent(this);
+    settings.zApplyAllowEmptyDates();
+    drawScrollingCalendar();
+  }
+
+  /**
+   * addNotify, This adds the weekday header as the column header of any enclosing scroll pane,
+   * when this calendar is the view of that scroll pane.
+   */
+  @Override
+  public void addNotify() {
+    super.addNotify();
+    JScrollPane scrollPane = getEnclosingScrollPane();
+    if (scrollPane != null) {
+      scrollPane.setColumnHeaderView(weekdayHeader);
+    }
+  }
+
+  /**
+   * drawScrollingCalendar, This applies the current settings, and repaints the calendar. This
+   * function should not normally need to be called by the programmer, because the calendar will
+   * automatically redraw itself as needed.
+   */
+  public void drawScrollingCalendar() {
+    setBackground(settings.getColor(DateArea.BackgroundOverallCalendarPanel));
+    weekdayHeader.setBackground(settings.getColor(DateArea.BackgroundOverallCalendarPanel));
+    // The preferred size depends on the fonts, the date range, and the week number visibility.
+    Dimension preferredSize = getPreferredSize();
+    if (!preferredSize.equals(lastPreferredSize)) {
+      lastPreferredSize = preferredSize;
+      revalidate();
+      weekdayHeader.revalidate();
+    }
+    zLoadAsyncPolicyMonthsForVisibleWeeks();
+    repaint();
+    weekdayHeader.repaint();
+  }
+
+  /**
+   * getDateAt, This returns the date of the date cell that contains the supplied point, or null if
+   * the point is not inside of a date cell, or if the date is outside of the date range.
+   */
+  public LocalDate getDateAt(Point point) {
+    int dateColumnsX = getDateColumnsX();
+    if (point.x < dateColumnsX || point.x >= getWidth() || point.y < 0) {
+      return null;
+    }
+    long weekIndex = point.y / getRowHeight();
+    if (weekIndex >= getWeekCount()) {
+      return null;
+    }
+    int dateColumnsWidth = getWidth() - dateColumnsX;
+    int column = ((point.x - dateColumnsX + 1) * COLUMN_COUNT - 1) / dateColumnsWidth;
+    long epochDay = getFirstWeekEpochDay() + (weekIndex * COLUMN_COUNT) + column;
+    return (isEpochDayInRange(epochDay)) ? LocalDate.ofEpochDay(epochDay) : null;
+  }
+
+  /** getFirstDate, This returns the first date that is displayed. */
+  public LocalDate getFirstDate() {
+    return firstDate;
+  }
+
+  /** getLastDate, This returns the last date that is displayed. */
+  public LocalDate getLastDate() {
+    return lastDate;
+  }
+
+  /** getPreferredScrollableViewportSize, This returns a viewport size of about six weeks. */
+  @Override
+  public Dimension getPreferredScrollableViewportSize() {
+    return new Dimension(getPreferredSize().width, getRowHeight() * MonthGrid.ROW_COUNT);
+  }
+
+  /**
+   * getPreferredSize, This returns the size that fits the preferred size of every column, for all
+   * the weeks of the date range.
+   */
+  @Override
+  public Dimension getPreferredSize() {
+    if (isPreferredSizeSet()) {
+      return super.getPreferredSize();
+    }
+    int width = getDateColumnsPreferredX() + (COLUMN_COUNT * getPreferredCellWidth());
+    long height = getWeekCount() * getRowHeight();
+    return new Dimension(width, (int) Math.min(height, Integer.MAX_VALUE));
+  }
+
+  /**
+   * getRectangleForDate, This returns the bounds of the cell of the supplied date, in the
+   * coordinates of this component, or null if the date is outside of the date range.
+   */
+  public Rectangle getRectangleForDate(LocalDate date) {
+    if (date == null || !isEpochDayInRange(date.toEpochDay())) {
+      return null;
+    }
+    long daysFromFirstWeek = date.toEpochDay() - getFirstWeekEpochDay();
+    int weekIndex = (int) (daysFromFirstWeek / COLUMN_COUNT);
+    int column = (int) (daysFromFirstWeek % COLUMN_COUNT);
+    int dateColumnsX = getDateColumnsX();
+    int dateColumnsWidth = getWidth() - dateColumnsX;
+    int x = dateColumnsX + (dateColumnsWidth * column) / COLUMN_COUNT;
+    int nextX = dateColumnsX + (dateColumnsWidth * (column + 1)) / COLUMN_COUNT;
+    int rowHeight = getRowHeight();
+    return new Rectangle(x, weekIndex * rowHeight, nextX - x, rowHeight);
+  }
+
+  /**
+   * getScrollableBlockIncrement, This scrolls by the visible height, less one week, so that one
+   * week stays visible.
+   */
+  @Override
+  public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+    if (orientation == SwingConstants.HORIZONTAL) {
+      return visibleRect.width;
+    }
+    return Math.max(getRowHeight(), visibleRect.height - getRowHeight());
+  }
+
+  /**
+   * getScrollableTracksViewportHeight, The calendar is as high as all of its weeks, so it does not
+   * track the viewport height.
+   */
+  @Override
+  public boolean getScrollableTracksViewportHeight() {
+    return false;
+  }
+
+  /**
+   * getScrollableTracksViewportWidth, The calendar fills the viewport width, unless the viewport
+   * is narrower than the preferred width.
+   */
+  @Override
+  public boolean getScrollableTracksViewportWidth() {
+    Container parent = getParent();
+    return (parent instanceof JViewport) && (parent.getWidth() >= getPreferredSize().width);
+  }
+
+  /**
+   * getScrollableUnitIncrement, This scrolls by one week. When the visible area does not start at
+   * the top of a week, this scrolls to the nearest week boundary.
+   */
+  @Override
+  public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+    if (orientation == SwingConstants.HORIZONTAL) {
+      return getPreferredCellWidth();
+    }
+    int rowHeight = getRowHeight();
+    int offset = visibleRect.y % rowHeight;
+    if (direction < 0) {
+      return (offset == 0) ? rowHeight : offset;
+    }
+    return rowHeight - offset;
+  }
+
+  /** getSelectedDate, This returns the selected date, or null if no date is selected. */
+  public LocalDate getSelectedDate() {
+    return selectedDate;
+  }
+
+  /** getSettings, This returns the scrolling calendar settings instance. */
+  public DatePickerSettings getSettings() {
+    return settings;
+  }
+
+  /**
+   * getToolTipText, This returns the tooltip text of the date cell under the mouse pointer, or null
+   * if that cell has no tooltip.
+   */
+  @Override
+  public String getToolTipText(MouseEvent event) {
+    LocalDate date = getDateAt(event.getPoint());
+    if (date == null) {
+      return null;
+    }
+    zFillDateCellState(date);
+    return cellRenderState.tooltipText;
+  }
+
+  /** getWeekdayHeader, This returns the column header component that shows the weekday names. */
+  public JComponent getWeekdayHeader() {
+    return weekdayHeader;
+  }
+
+  /**
+   * removeNotify, This removes the weekday header from any enclosing scroll pane, if it was added
+   * by addNotify().
+   */
+  @Override
+  public void removeNotify() {
+    JScrollPane scrollPane = getEnclosingScrollPane();
+    if (scrollPane != null) {
+      JViewport columnHeader = scrollPane.getColumnHeader();
+      if (columnHeader != null && columnHeader.getView() == weekdayHeader) {
+        scrollPane.setColumnHeaderView(null);
+      }
+    }
+    super.removeNotify();
+  }
+
+  /**
+   * scrollToDate, This scrolls the enclosing viewport so that the week of the supplied date is
+   * visible. This does nothing if the date is outside of the date range.
+   */
+  public void scrollToDate(LocalDate date) {
+    Rectangle dateBounds = getRectangleForDate(date);
+    if (dateBounds != null) {
+      scrollRectToVisible(dateBounds);
+    }
+  }
+
+  /**
+   * setDateRange, This sets the first and the last date that are displayed, and redraws the
+   * calendar. Neither date may be null, the first date may not be after the last date, and the
+   * range may not contain more than one million weeks. Otherwise, an exception will be thrown.
+   */
+  public void setDateRange(LocalDate firstDate, LocalDate lastDate) {
+    if (firstDate == null || lastDate == null || firstDate.isAfter(lastDate)) {
+      throw new RuntimeException(
+          "ScrollingCalendar.setDateRange(), The first and last dates cannot be null, and the"
+              + " first date cannot be after the last date.");
+    }
+    if ((lastDate.toEpochDay() - firstDate.toEpochDay()) / COLUMN_COUNT >= MAX_WEEK_COUNT - 1) {
+      throw new RuntimeException(
+          "ScrollingCalendar.setDateRange(), The date range cannot be longer than "
+              + MAX_WEEK_COUNT
+              + " weeks.");
+    }
+    this.firstDate = firstDate;
+    this.lastDate = lastDate;
+    drawScrollingCalendar();
+  }
+
+  /**
+   * setSelectedDate, This sets the selected date. This does not check the date against the veto
+   * policy, and does not scroll to the date. (To show the date, call scrollToDate().)
+   */
+  public void setSelectedDate(LocalDate selectedDate) {
+    LocalDate oldDate = this.selectedDate;
+    this.selectedDate = selectedDate;
+    Rectangle oldBounds = getRectangleForDate(oldDate);
+    Rectangle newBounds = getRectangleForDate(selectedDate);
+    if (oldBounds != null) {
+      repaint(oldBounds);
+    }
+    if (newBounds != null) {
+      repaint(newBounds);
+    }
+    // Fire a change event for beans binding.
+    firePropertyChange("selectedDate", oldDate, selectedDate);
+  }
+
+  /** paintComponent, This paints all the weeks that intersect the clip bounds. */
+  @Override
+  protected void paintComponent(Graphics g) {
+    Graphics2D g2 = (Graphics2D) g.create();
+    try {
+      CalendarDateGrid.applyTextRenderingHints(g2);
+      Rectangle clip = g2.getClipBounds();
+      if (clip == null) {
+        clip = new Rectangle(0, 0, getWidth(), getHeight());
+      }
+      if (isOpaque()) {
+        g2.setColor(getBackground());
+        g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+      }
+      Color disabledTextColor = CalendarDateGrid.getDisabledTextColor();
+      // The column positions are the same for every week.
+      int rowHeight = getRowHeight();
+      int monthColumnWidth = Math.min(getMonthColumnWidth(), getWidth());
+      int dateColumnsX = getDateColumnsX();
+      long firstWeekEpochDay = getFirstWeekEpochDay();
+      int firstVisibleWeek = Math.max(0, clip.y / rowHeight);
+      long lastVisibleWeek = Math.min(getWeekCount() - 1, (clip.y + clip.height - 1) / rowHeight);
+      for (int weekIndex = firstVisibleWeek; weekIndex <= lastVisibleWeek; ++weekIndex) {
+        long weekEpochDay = firstWeekEpochDay + ((long) weekIndex * COLUMN_COUNT);
+        Rectangle weekBounds = new Rectangle(0, weekIndex * rowHeight, getWidth(), rowHeight);
+        paintWeek(g2, weekEpochDay, weekBounds, monthColumnWidth, dateColumnsX, disabledTextColor);
+      }
+    } finally {
+      g2.dispose();
+    }
+  }
+
+  /**
+   * getDateColumnsPreferredX, This returns the preferred width of the month column and the week
+   * number column, which are in front of the date columns.
+   */
+  private int getDateColumnsPreferredX() {
+    return getMonthColumnWidth() + getWeekNumberColumnWidth();
+  }
+
+  /**
+   * getDateColumnsX, This returns the x coordinate of the first date column. Any extra width of
+   * the component is given to the date columns.
+   */
+  private int getDateColumnsX() {
+    return Math.min(getDateColumnsPreferredX(), getWidth());
+  }
+
+  /**
+   * getEnclosingScrollPane, This returns the scroll pane that holds this calendar as its viewport
+   * view, or null if there is no such scroll pane.
+   */
+  private JScrollPane getEnclosingScrollPane() {
+    Container parent = getParent();
+    if (!(parent instanceof JViewport) || ((JViewport) parent).getView() != this) {
+      return null;
+    }
+    Container grandParent = parent.getParent();
+    if (!(grandParent instanceof JScrollPane)) {
+      return null;
+    }
+    JScrollPane scrollPane = (JScrollPane) grandParent;
+    return (scrollPane.getViewport() == parent) ? scrollPane : null;
+  }
+
+  /**
+   * getFirstWeekEpochDay, This returns the epoch day of the first day of the first displayed week.
+   * The first week starts on the first day of the week (from the settings) that is on or before the
+   * first date.
+   */
+  private long getFirstWeekEpochDay() {
+    int firstDayOfWeek = settings.getFirstDayOfWeekDisplayedOnCalendar().getValue();
+    int daysIntoWeek = Math.floorMod(firstDate.getDayOfWeek().getValue() - firstDayOfWeek, 7);
+    return firstDate.toEpochDay() - daysIntoWeek;
+  }
+
+  /**
+   * getMonthColumnWidth, This returns the width of the month column, which is wide enough for the
+   * longest short month name followed by a four digit year.
+   */
+  private int getMonthColumnWidth() {
+    Font font = settings.getFontMonthAndYearMenuLabels();
+    int longestWidth = 0;
+    for (String monthName : settings.getTranslationArrayStandaloneShortMonthNames()) {
+      longestWidth =
+          Math.max(longestWidth, TextMetricsCache.getStringWidth(font, monthName + " 2000"));
+    }
+    return longestWidth + 12;
+  }
+
+  /**
+   * getPreferredCellWidth, This returns the preferred width of a date column. The width is large
+   * enough for the longest day number and the longest weekday name.
+   */
+  private int getPreferredCellWidth() {
+    int width = TextMetricsCache.getStringWidth(settings.getFontCalendarDateLabels(), "30");
+    Font weekdayFont = settings.getFontCalendarWeekdayLabels();
+    for (String weekdayName : getShortWeekdayNames()) {
+      width = Math.max(width, TextMetricsCache.getStringWidth(weekdayFont, weekdayName));
+    }
+    return width + 6;
+  }
+
+  /**
+   * getRowHeight, This returns the height of one week, which is large enough for the fonts of all
+   * the columns.
+   */
+  private int getRowHeight() {
+    Font dateFont = settings.getFontCalendarDateLabels();
+    Font monthFont = settings.getFontMonthAndYearMenuLabels();
+    Font weekNumberFont = settings.getFontCalendarWeekNumberLabels();
+    int height = TextMetricsCache.getFontHeight(dateFont);
+    height = Math.max(height, TextMetricsCache.getFontHeight(monthFont));
+    if (settings.getWeekNumbersDisplayed()) {
+      height = Math.max(height, TextMetricsCache.getFontHeight(weekNumberFont));
+    }
+    return height + 4;
+  }
+
+  /**
+   * getShortWeekdayNames, This returns the short weekday names in the locale of the settings, in
+   * the order of the date columns.
+   */
+  private String[] getShortWeekdayNames() {
+    DayOfWeek firstDayOfWeek = settings.getFirstDayOfWeekDisplayedOnCalendar();
+    String[] localShortDaysOfWeek =
+        DateFormatSymbols.getInstance(settings.getLocale()).getShortWeekdays();
+    String[] weekdayNames = new String[COLUMN_COUNT];
+    for (int column = 0; column < COLUMN_COUNT; ++column) {
+      // The weekday array of DateFormatSymbols starts with Sunday at index 1.
+      int isoDayOfWeek = firstDayOfWeek.plus(column).getValue();
+      weekdayNames[column] = localShortDaysOfWeek[(isoDayOfWeek % 7) + 1];
+    }
+    return weekdayNames;
+  }
+
+  /** getWeekCount, This returns the number of weeks that are displayed. */
+  private long getWeekCount() {
+    return ((lastDate.toEpochDay() - getFirstWeekEpochDay()) / COLUMN_COUNT) + 1;
+  }
+
+  /**
+   * getWeekNumberColumnWidth, This returns the width of the week number column, or zero if week
+   * numbers are not displayed.
+   */
+  private int getWeekNumberColumnWidth() {
+    if (!settings.getWeekNumbersDisplayed()) {
+      return 0;
+    }
+    Font font = settings.getFontCalendarWeekNumberLabels();
+    return TextMetricsCache.getStringWidth(font, "53 ") + 11;
+  }
+
+  /**
+   * isEpochDayInRange, This returns true if the date with the supplied epoch day is inside of the
+   * date range.
+   */
+  private boolean isEpochDayInRange(long epochDay) {
+    return epochDay >= firstDate.toEpochDay() && epochDay <= lastDate.toEpochDay();
+  }
+
+  /**
+   * paintWeek, This paints the month column, the week number column, and the date cells of the
+   * week that starts on the supplied epoch day, in the supplied week bounds.
+   */
+  private void paintWeek(
+      Graphics2D g2,
+      long weekEpochDay,
+      Rectangle weekBounds,
+      int monthColumnWidth,
+      int dateColumnsX,
+      Color disabledTextColor) {
+    int y = weekBounds.y;
+    int rowHeight = weekBounds.height;
+    int dateColumnsWidth = weekBounds.width - dateColumnsX;
+    // Label the first week of each month, and the first displayed week, with the month and year.
+    LocalDate monthStartInWeek = null;
+    for (int column = 0; column < COLUMN_COUNT; ++column) {
+      long epochDay = weekEpochDay + column;
+      if (isEpochDayInRange(epochDay)) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        if (date.getDayOfMonth() == 1 || date.equals(firstDate)) {
+          monthStartInWeek = date;
+          break;
+        }
+      }
+    }
+    cellRenderState.text = "";
+    if (monthStartInWeek != null) {
+      int zeroBasedMonthIndex = monthStartInWeek.getMonthValue() - 1;
+      String shortMonthName =
+          settings.getTranslationArrayStandaloneShortMonthNames()[zeroBasedMonthIndex];
+      cellRenderState.text = shortMonthName + " " + monthStartInWeek.getYear();
+    }
+    cellRenderState.colorBackground = settings.getColor(DateArea.BackgroundMonthAndYearMenuLabels);
+    cellRenderState.colorText = settings.getColor(DateArea.TextMonthAndYearMenuLabels);
+    cellRenderState.font = settings.getFontMonthAndYearMenuLabels();
+    cellRenderState.colorLineBorder = null;
+    cellRenderState.enabled = true;
+    cellRenderState.tooltipText = null;
+    Rectangle monthBounds = new Rectangle(0, y, monthColumnWidth, rowHeight);
+    CalendarDateGrid.paintCell(g2, cellRenderState, monthBounds, this, disabledTextColor);
+    // If needed, paint the week number.
+    if (settings.getWeekNumbersDisplayed() && dateColumnsX > monthColumnWidth) {
+      WeekFields weekNumberRules = settings.getWeekNumberRules();
+      // The first week can start before LocalDate.MIN, so the range starts on its first valid day.
+      long firstValidEpochDay = Math.max(weekEpochDay, LocalDate.MIN.toEpochDay());
+      Integer weekNumber =
+          MonthGrid.getWeekNumberForASevenDayRange(
+              LocalDate.ofEpochDay(firstValidEpochDay), weekNumberRules, false);
+      cellRenderState.text = (weekNumber == null) ? "" : String.valueOf(weekNumber);
+      cellRenderState.colorBackground = settings.getColorBackgroundWeekNumberLabels();
+      cellRenderState.colorText = settings.getColor(DateArea.CalendarTextWeekNumbers);
+      cellRenderState.font = settings.getFontCalendarWeekNumberLabels();
+      Rectangle weekNumberBounds =
+          new Rectangle(monthColumnWidth, y, dateColumnsX - monthColumnWidth, rowHeight);
+      CalendarDateGrid.paintCell(g2, cellRenderState, weekNumberBounds, this, disabledTextColor);
+    }
+    // Paint the date cells.
+    for (int column = 0; column < COLUMN_COUNT; ++column) {
+      long epochDay = weekEpochDay + column;
+      LocalDate date = (isEpochDayInRange(epochDay)) ? LocalDate.ofEpochDay(epochDay) : null;
+      zFillDateCellState(date);
+      int x = dateColumnsX + (dateColumnsWidth * column) / COLUMN_COUNT;
+      int nextX = dateColumnsX + (dateColumnsWidth * (column + 1)) / COLUMN_COUNT;
+      Rectangle cellBounds = new Rectangle(x, y, nextX - x, rowHeight);
+      CalendarDateGrid.paintCell(g2, cellRenderState, cellBounds, this, disabledTextColor);
+    }
+  }
+
+  /**
+   * userSelectedADate, This is called when the user clicks on a date cell. If the date is not null,
+   * not vetoed, and not loading, then the date will be selected.
+   */
+  private void userSelectedADate(LocalDate date) {
+    if (date == null) {
+      return;
+    }
+    boolean isMonthLoading = settings.zIsMonthLoadingForCalendar(YearMonth.from(date));
+    if (isMonthLoading || settings.zIsDateVetoedForCalendar(date)) {
+      return;
+    }
+    setSelectedDate(date);
+  }
+
+  /**
+   * zFillDateCellState, This fills out the recycled cell state for the supplied date, the same way
+   * that a CalendarPanel draws its date labels. The date is null for blank cells.
+   */
+  private void zFillDateCellState(LocalDate date) {
+    boolean isMonthLoading =
+        (date != null) && settings.zIsMonthLoadingForCalendar(YearMonth.from(date));
+    boolean isSelected = (date != null) && date.equals(selectedDate);
+    CalendarPanel.zFillDateCellState(settings, cellRenderState, date, isMonthLoading, isSelected);
+    cellRenderState.text = (date == null) ? "" : String.valueOf(date.getDayOfMonth());
+  }
+
+  /**
+   * zLoadAsyncPolicyMonthsForVisibleWeeks, This makes sure that the asynchronous date policy
+   * results are loading for every month that has a date in the visible weeks. Months that are no
+   * longer visible are cancelled.
+   */
+  private void zLoadAsyncPolicyMonthsForVisibleWeeks() {
+    if (settings.getAsyncDatePolicy() == null) {
+      return;
+    }
+    Rectangle visibleRect = getVisibleRect();
+    if (visibleRect.isEmpty()) {
+      return;
+    }
+    LocalDate firstVisibleDate = getDateAt(new Point(getDateColumnsX(), visibleRect.y));
+    LocalDate lastVisibleDate =
+        getDateAt(new Point(getWidth() - 1, visibleRect.y + visibleRect.height - 1));
+    firstVisibleDate = (firstVisibleDate == null) ? firstDate : firstVisibleDate;
+    lastVisibleDate = (lastVisibleDate == null) ? lastDate : lastVisibleDate;
+    ArrayList<YearMonth> visibleMonths = new ArrayList<>();
+    for (YearMonth month = YearMonth.from(firstVisibleDate);
+        !month.isAfter(YearMonth.from(lastVisibleDate));
+        month = month.plusMonths(1)) {
+      visibleMonths.add(month);
+    }
+    settings.zLoadAsyncPolicyMonths(visibleMonths, loadedMonth -> repaint());
+  }
+
+  /**
+   * WeekdayHeader, This is the column header of the scrolling calendar. It displays the weekday
+   * names above the date columns.
+   */
+  private class WeekdayHeader extends JComponent {
+
+    /** Constructor. */
+    WeekdayHeader() {
+      setOpaque(true);
+    }
+
+    /** getPreferredSize, This returns the preferred width of the calendar, and one row height. */
+    @Override
+    public Dimension getPreferredSize() {
+      return new Dimension(ScrollingCalendar.this.getPreferredSize().width, getRowHeight());
+    }
+
+    /** paintComponent, This paints the weekday names above the date columns. */
+    @Override
+    protected void paintComponent(Graphics g) {
+      Graphics2D g2 = (Graphics2D) g.create();
+      try {
+        CalendarDateGrid.applyTextRenderingHints(g2);
+        g2.setColor(getBackground());
+        g2.fillRect(0, 0, getWidth(), getHeight());
+        Color disabledTextColor = CalendarDateGrid.getDisabledTextColor();
+        // Use the width of the calendar, so that the columns line up with the date columns.
+        int calendarWidth = ScrollingCalendar.this.getWidth();
+        int dateColumnsX = getDateColumnsX();
+        int dateColumnsWidth = calendarWidth - dateColumnsX;
+        CalendarLabelState weekdayState = new CalendarLabelState();
+        weekdayState.colorBackground = settings.getColorBackgroundWeekdayLabels();
+        weekdayState.colorText = settings.getColor(DateArea.CalendarTextWeekdays);
+        weekdayState.font = settings.getFontCalendarWeekdayLabels();
+        String[] weekdayNames = getShortWeekdayNames();
+        for (int column = 0; column < COLUMN_COUNT; ++column) {
+          weekdayState.text = weekdayNames[column];
+          int x = dateColumnsX + (dateColumnsWidth * column) / COLUMN_COUNT;
+          int nextX = dateColumnsX + (dateColumnsWidth * (column + 1)) / COLUMN_COUNT;
+          Rectangle bounds = new Rectangle(x, 0, nextX - x, getHeight());
+          CalendarDateGrid.paintCell(g2, weekdayState, bounds, this, disabledTextColor);
+        }
+      } finally {
+        g2.dispose();
+      }
+    }
+  }
+}
@@ -29,6 +29,7 @@ import com.github.lgooddatepicker.optionalusertools.TimeVetoPolicy;
 import com.github.lgooddatepicker.zinternaltools.CalculateMinimumTimeFieldSize;
 import com.github.lgooddatepicker.zinternaltools.CustomPopup;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.TextParseOutcome;
 import com.github.lgooddatepicker.zinternaltools.TimeChangeEvent;
 import com.github.lgooddatepicker.zinternaltools.TimeMenuPanel;
 import com.github.lgooddatepicker.zinternaltools.TimeSpinnerTimer;
@@ -106,6 +107,14 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
    */
   private Instant lastPopupCloseTime = Instant.now();
 
+  /**
+   * lastParseOutcome, This holds the result of the most recent parse of time text by this time
+   * picker. This allows the text change handler, the text field indicators, and the text
+   * validation functions to share a single parse of any particular text. This is null until the
+   * first parse occurs. See also: zGetParsedTimeOrNull().
+   */
+  private TextParseOutcome<LocalTime> lastParseOutcome = null;
+
   /**
    * lastValidTime, This holds the last valid time that was entered into the time picker. This value
    * is returned from the function TimePicker.getTime();
@@ -136,6 +145,13 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
    */
   private boolean skipTextFieldChangedFunctionWhileTrue = false;
 
+  /**
+   * textFieldValidationIsPending, This is true while a coalesced text field validation has been
+   * scheduled, but has not yet been performed. This is only used when the settings enable
+   * coalesceTextFieldValidation. See also: zEventTextFieldDocumentChanged().
+   */
+  private boolean textFieldValidationIsPending = false;
+
   /**
    * timeChangeListeners, This holds a list of time change listeners that wish to be notified
    * whenever the last valid time is changed.
@@ -407,6 +423,7 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
    * </pre>
    */
   public LocalTime getTime() {
+    zPerformPendingTextFieldValidation();
     return lastValidTime;
   }
 
@@ -510,13 +527,7 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
       return settings.getAllowEmptyTimes();
     }
     // Try to get a parsed time.
-    LocalTime parsedTime =
-        InternalUtilities.getParsedTimeOrNull(
-            text,
-            settings.getFormatForDisplayTime(),
-            settings.getFormatForMenuTimes(),
-            settings.formatsForParsing,
-            settings.getLocale());
+    LocalTime parsedTime = zGetParsedTimeOrNull(text);
 
     // If the time could not be parsed, return false.
     if (parsedTime == null) {
@@ -835,17 +846,17 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
             new DocumentListener() {
               @Override
               public void insertUpdate(DocumentEvent e) {
-                zEventTextFieldChanged();
+                zEventTextFieldDocumentChanged();
               }
 
               @Override
               public void removeUpdate(DocumentEvent e) {
-                zEventTextFieldChanged();
+                zEventTextFieldDocumentChanged();
               }
 
               @Override
               public void changedUpdate(DocumentEvent e) {
-                zEventTextFieldChanged();
+                zEventTextFieldDocumentChanged();
               }
             });
   }
@@ -901,13 +912,7 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
       return;
     }
     // The text is not empty.
-    LocalTime parsedTime =
-        InternalUtilities.getParsedTimeOrNull(
-            timeText,
-            settings.getFormatForDisplayTime(),
-            settings.getFormatForMenuTimes(),
-            settings.formatsForParsing,
-            settings.getLocale());
+    LocalTime parsedTime = zGetParsedTimeOrNull(timeText);
     if (parsedTime == null) {
       // (Possibility: UnparsableValue)
       timeTextField.setBackground(settings.getColor(TimeArea.TextFieldBackgroundInvalidTime));
@@ -945,6 +950,32 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
     lastPopupCloseTime = Instant.now();
   }
 
+  /**
+   * zGetParsedTimeOrNull, This parses the supplied text using the current time picker settings, and
+   * returns the parsed time or null. Each distinct text is only parsed once for as long as the
+   * parsing settings are unchanged. Leading and trailing whitespace is ignored.
+   */
+  private LocalTime zGetParsedTimeOrNull(String text) {
+    if (settings == null || text == null) {
+      return null;
+    }
+    text = text.trim();
+    int settingsVersion = settings.zGetParsingVersion();
+    if ((lastParseOutcome != null)
+        && lastParseOutcome.isOutcomeFor(text, settings, settingsVersion)) {
+      return lastParseOutcome.parsedValue;
+    }
+    LocalTime parsedTime =
+        InternalUtilities.getParsedTimeOrNull(
+            text,
+            settings.getFormatForDisplayTime(),
+            settings.getFormatForMenuTimes(),
+            settings.formatsForParsing,
+            settings.getLocale());
+    lastParseOutcome = new TextParseOutcome<>(text, settings, settingsVersion, parsedTime);
+    return parsedTime;
+  }
+
   /**
    * zGetStandardTextFieldTimeString, This returns a string for the supplied time (or null), in the
    * standard format which could be used for displaying that time in the text field.
@@ -1084,6 +1115,36 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
     this.validate();
   }
 
+  /**
+   * zEventTextFieldDocumentChanged, This is called for every document event of the time text
+   * field. If the settings enable coalesceTextFieldValidation, then this schedules a single
+   * validation for the current event dispatch thread turn. Otherwise, the text is validated
+   * immediately.
+   */
+  private void zEventTextFieldDocumentChanged() {
+    if (skipTextFieldChangedFunctionWhileTrue) {
+      return;
+    }
+    if (settings == null || !settings.getCoalesceTextFieldValidation()) {
+      zEventTextFieldChanged();
+      return;
+    }
+    if (!textFieldValidationIsPending) {
+      textFieldValidationIsPending = true;
+      SwingUtilities.invokeLater(this::zPerformPendingTextFieldValidation);
+    }
+  }
+
+  /**
+   * zPerformPendingTextFieldValidation, This validates the time text field, if a coalesced
+   * validation is pending. Otherwise, this does nothing.
+   */
+  private void zPerformPendingTextFieldValidation() {
+    if (textFieldValidationIsPending) {
+      zEventTextFieldChanged();
+    }
+  }
+
   /**
    * zEventTextFieldChanged, This is called whenever the text in the time picker text field has
    * changed, whether programmatically or by the user.
@@ -1100,6 +1161,8 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
     if (skipTextFieldChangedFunctionWhileTrue) {
       return;
     }
+    // Any pending coalesced validation is replaced by this validation.
+    textFieldValidationIsPending = false;
     // Gather some variables that we will need.
     String timeText = timeTextField.getText();
     boolean textIsEmpty = timeText.trim().isEmpty();
@@ -1108,13 +1171,7 @@ public class TimePicker extends JPanel implements CustomPopup.CustomPopupCloseLi
     // If the text is not empty, then try to parse the time.
     LocalTime parsedTime = null;
     if (!textIsEmpty) {
-      parsedTime =
-          InternalUtilities.getParsedTimeOrNull(
-              timeText,
-              settings.getFormatForDisplayTime(),
-              settings.getFormatForMenuTimes(),
-              settings.formatsForParsing,
-              settings.getLocale());
+      parsedTime = zGetParsedTimeOrNull(timeText);
     }
     // If the time was parsed successfully, then check it against the veto policy.
     boolean timeIsVetoed = false;
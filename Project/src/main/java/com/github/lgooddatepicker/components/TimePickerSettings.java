@@ -27,6 +27,7 @@ import com.github.lgooddatepicker.optionalusertools.TimeVetoPolicy;
 import com.github.lgooddatepicker.zinternaltools.ExtraTimeStrings;
 import com.github.lgooddatepicker.zinternaltools.InternalConstants;
 import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.NumericTimeScanner;
 import com.privatejgoodies.forms.layout.ColumnSpec;
 import com.privatejgoodies.forms.layout.ConstantSize;
 import com.privatejgoodies.forms.layout.FormLayout;
@@ -36,6 +37,7 @@ import java.awt.Font;
 import java.awt.font.TextAttribute;
 import java.time.Clock;
 import java.time.LocalTime;
+import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
@@ -132,6 +134,22 @@ public class TimePickerSettings {
    */
   private Clock clock = Clock.systemDefaultZone();
 
+  /**
+   * coalesceTextFieldValidation, This indicates whether text field changes that are made by the
+   * user (or by direct changes to the text field document) are validated once per event loop turn,
+   * instead of once per document event. Replacing the text of a text field produces a "remove"
+   * event and an "insert" event, and each event would otherwise parse and validate the text, notify
+   * the listeners, and fire a "text" property change. When this is true, all the document events
+   * of one event dispatch thread turn are collapsed into a single validation, which is performed
+   * later on the event dispatch thread. The default value is false.
+   *
+   * <p>Text that is set with the TimePicker.setText() function, or with the setTime() function, is
+   * always validated immediately, and any pending validation is then skipped. Calling
+   * TimePicker.getTime() also performs any pending validation first, so the returned value always
+   * matches the current text.
+   */
+  private boolean coalesceTextFieldValidation = false;
+
   /**
    * colors, This hash map holds the current color settings for different areas of the TimePicker.
    * These colors can be set with the setColor() function, or retrieved with the getColor()
@@ -324,6 +342,23 @@ public class TimePickerSettings {
    */
   public Integer zDateTimePicker_GapBeforeTimePickerPixels = null;
 
+  /**
+   * zParsingVersion, This is incremented whenever a setting that affects the parsing of time text
+   * is changed. The parent time picker uses this to decide whether a previous parse of the same
+   * text can be reused.
+   */
+  private int zParsingVersion = 0;
+
+  /**
+   * zParsingVersionFormatsList and zParsingVersionFormatsSnapshot, These hold the formatsForParsing
+   * list and a copy of its contents, as they were last seen by zGetParsingVersion(). The
+   * formatsForParsing field is public, so it can be replaced or modified without calling a setter.
+   * Formatters are immutable, so comparing the contents with the copy detects any modification.
+   */
+  private ArrayList<DateTimeFormatter> zParsingVersionFormatsList = null;
+
+  private ArrayList<DateTimeFormatter> zParsingVersionFormatsSnapshot = null;
+
   /**
    * Constructor with Default Locale, This constructs a time picker settings instance using the
    * system default locale and language. The constructor populates all the settings with default
@@ -366,6 +401,10 @@ public class TimePickerSettings {
               .parseCaseInsensitive()
               .appendLocalized(null, formatStyle)
               .toFormatter(timeLocale);
+      NumericTimeScanner.registerPatternForFormatter(
+          parseFormat,
+          DateTimeFormatterBuilder.getLocalizedDateTimePattern(
+              null, formatStyle, IsoChronology.INSTANCE, timeLocale));
       formatsForParsing.add(parseFormat);
     }
 
@@ -471,6 +510,14 @@ public class TimePickerSettings {
     return clock;
   }
 
+  /**
+   * getCoalesceTextFieldValidation, Returns the value of this setting. See the "set" function for
+   * setting information.
+   */
+  public boolean getCoalesceTextFieldValidation() {
+    return coalesceTextFieldValidation;
+  }
+
   /** getColor, This returns the currently set color for the specified area. */
   public Color getColor(TimeArea area) {
     return colors.get(area);
@@ -637,6 +684,17 @@ public class TimePickerSettings {
     this.clock = clock;
   }
 
+  /**
+   * setCoalesceTextFieldValidation, This sets whether text field changes that are made by the user
+   * (or by direct changes to the text field document) are validated once per event loop turn,
+   * instead of once per document event. The default value is false. When this is true, the
+   * document events of one event dispatch thread turn are collapsed into a single validation. Text
+   * that is set with TimePicker.setText() or setTime() is still validated immediately.
+   */
+  public void setCoalesceTextFieldValidation(boolean coalesceTextFieldValidation) {
+    this.coalesceTextFieldValidation = coalesceTextFieldValidation;
+  }
+
   /**
    * setColor, This sets a color for the specified area. Setting an area to null will restore the
    * default color for that area.
@@ -691,6 +749,7 @@ public class TimePickerSettings {
    */
   public void setFormatForDisplayTime(DateTimeFormatter formatForDisplayTime) {
     this.formatForDisplayTime = formatForDisplayTime;
+    ++zParsingVersion;
     if (parent != null) {
       parent.setTextFieldToValidStateIfNeeded();
     }
@@ -727,6 +786,7 @@ public class TimePickerSettings {
    */
   public void setFormatForMenuTimes(DateTimeFormatter formatForMenuTimes) {
     this.formatForMenuTimes = formatForMenuTimes;
+    ++zParsingVersion;
     if (parent != null) {
       parent.setTextFieldToValidStateIfNeeded();
     }
@@ -876,6 +936,7 @@ public class TimePickerSettings {
   public void use24HourClockFormat() {
     formatForDisplayTime = PickerUtilities.createFormatterFromPatternString("HH:mm", locale);
     formatForMenuTimes = formatForDisplayTime;
+    ++zParsingVersion;
   }
 
   /**
@@ -1041,6 +1102,23 @@ public class TimePickerSettings {
         .setDisabledTextColor(getColor(TimeArea.TimePickerTextDisabled));
   }
 
+  /**
+   * zGetParsingVersion, This returns a number that changes whenever the settings that affect the
+   * parsing of time text are changed. Those settings are formatForDisplayTime, formatForMenuTimes,
+   * and formatsForParsing (including any change to the contents of the formatsForParsing list).
+   */
+  int zGetParsingVersion() {
+    if ((formatsForParsing != zParsingVersionFormatsList)
+        || ((formatsForParsing != null)
+            && (!formatsForParsing.equals(zParsingVersionFormatsSnapshot)))) {
+      zParsingVersionFormatsList = formatsForParsing;
+      zParsingVersionFormatsSnapshot =
+          (formatsForParsing == null) ? null : new ArrayList<>(formatsForParsing);
+      ++zParsingVersion;
+    }
+    return zParsingVersion;
+  }
+
   /**
    * TimeIncrement, This is a list of increments that can be used with the generateMenuTimes()
    * function.
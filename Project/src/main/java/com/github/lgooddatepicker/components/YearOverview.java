@@ -0,0 +1,533 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.components;
+
+import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
+import com.github.lgooddatepicker.zinternaltools.CalendarDateGrid;
+import com.github.lgooddatepicker.zinternaltools.CalendarLabelState;
+import com.github.lgooddatepicker.zinternaltools.MonthGrid;
+import com.github.lgooddatepicker.zinternaltools.MouseLiberalAdapter;
+import com.github.lgooddatepicker.zinternaltools.TextMetricsCache;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.text.DateFormatSymbols;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import javax.swing.JComponent;
+import javax.swing.ToolTipManager;
+
+/**
+ * YearOverview, This is a lightweight component that displays all twelve months of one year, such
+ * as for a full year availability view. Each month is drawn like the date area of a CalendarPanel:
+ * a month name, a row of weekday names, and six rows of date cells.
+ *
+ * <p>Displaying twelve CalendarPanel instances requires twelve settings instances, about ninety
+ * child components for each calendar, and twelve separate redraws. The year overview instead uses
+ * a single settings instance, and a single component. The date layout of each month is taken from
+ * the shared MonthGrid cache, the veto policy and highlight policy results are retrieved once per
+ * date through the settings, and all months are painted in one paint pass. One mouse listener
+ * handles the date selection for all months.
+ *
+ * <p>The policy results of every date are retrieved again only when the whole year overview is
+ * redrawn, such as when the displayed year or the settings are changed. Changing the selected date
+ * only refills and repaints the cells of the old and the new selected date, and loading the results
+ * of an asynchronous date policy only refills and repaints the loaded month.
+ *
+ * <p>The year overview uses the colors, fonts, first day of the week, locale, and policies of its
+ * DatePickerSettings instance, and draws each date cell the same way as a CalendarPanel. Week
+ * numbers and the calendar control buttons are not displayed. The displayed year is changed with
+ * setDisplayedYear().
+ *
+ * <p>Clicking on a date that is not vetoed (and not loading) will select that date. Any change to
+ * the selected date fires a "selectedDate" property change event.
+ */
+public class YearOverview extends JComponent {
+
+  /** COLUMN_COUNT, This is the number of date columns in each month. */
+  private static final int COLUMN_COUNT = 7;
+
+  /**
+   * ROWS_PER_MONTH, This is the number of rows in each month: The month name row, the weekday
+   * name row, and the six date rows.
+   */
+  private static final int ROWS_PER_MONTH = 2 + MonthGrid.ROW_COUNT;
+
+  /** constantMonthGap, This is the gap in pixels between neighboring months. */
+  private static final int constantMonthGap = 8;
+
+  /**
+   * dateCellStates, This holds the state of each date cell of each month. The first index is the
+   * zero based month index, and the second index is the cell index of the month grid.
+   */
+  private final CalendarLabelState[][] dateCellStates =
+      new CalendarLabelState[12][MonthGrid.CELL_COUNT];
+
+  /** displayedYear, This is the year that is currently displayed. */
+  private int displayedYear;
+
+  /**
+   * lastPreferredCellSize, This holds the preferred cell size from the last time that the year
+   * overview was drawn. The year overview is only revalidated when the preferred cell size changes.
+   */
+  private Dimension lastPreferredCellSize = null;
+
+  /** monthColumnCount, This is the number of months that are displayed in each row of months. */
+  private int monthColumnCount = 4;
+
+  /**
+   * monthGrids, This holds the date grid of each displayed month. The grids are shared with all
+   * calendar components through the MonthGrid cache.
+   */
+  private final MonthGrid[] monthGrids = new MonthGrid[12];
+
+  /** monthNameStates, This holds the state of the month name cell of each month. */
+  private final CalendarLabelState[] monthNameStates = new CalendarLabelState[12];
+
+  /** selectedDate, This is the selected date, or null if no date is selected. */
+  private LocalDate selectedDate = null;
+
+  /** settings, This holds the date picker settings for this year overview. This is never null. */
+  private DatePickerSettings settings;
+
+  /**
+   * weekdayStates, This holds the state of the seven weekday name cells, which are shared by every
+   * month.
+   */
+  private final CalendarLabelState[] weekdayStates = new CalendarLabelState[COLUMN_COUNT];
+
+  /**
+   * Constructor, Year overview with default settings. This creates a year overview with a default
+   * set of DatePickerSettings. The year overview will use the default operating system locale and
+   * language.
+   */
+  public YearOverview() {
+    this(null);
+  }
+
+  /**
+   * Constructor, Year overview with supplied settings. This creates a year overview with the
+   * supplied date picker settings. If the settings are null, then a default settings instance will
+   * be created. The settings instance may not be used by any other component.
+   */
+  public YearOverview(DatePickerSettings settings) {
+    if (settings == null) {
+      settings = new DatePickerSettings();
+    }
+    this.settings = settings;
+    settings.zSetParentYearOverview(this);
+    for (int monthIndex = 0; monthIndex < 12; ++monthIndex) {
+      monthNameStates[monthIndex] = new CalendarLabelState();
+      for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; ++cellIndex) {
+        dateCellStates[monthIndex][cellIndex] = new CalendarLabelState();
+      }
+    }
+    for (int column = 0; column < COLUMN_COUNT; ++column) {
+      weekdayStates[column] = new CalendarLabelState();
+    }
+    displayedYear = settings.zGetDefaultYearMonthAsUsed().getYear();
+    setOpaque(true);
+    addMouseListener(
+        new MouseLiberalAdapter() {
+          @Override
+          public void mouseLiberalClick(MouseEvent e) {
+            userSelectedADate(getDateAt(e.getPoint()));
+          }
+        });
+    ToolTipManager.sharedInstance().registerComponent(this);
+    settings.zApplyAllowEmptyDates();
+    drawYearOverview();
+  }
+
+  /**
+   * drawYearOverview, This updates the displayed months from the current settings, and repaints
+   * the year overview. This function should not normally need to be called by the programmer,
+   * because the year overview will automatically redraw itself as needed.
+   */
+  public void drawYearOverview() {
+    // Make sure that the asynchronous date policy results of the displayed year are loading.
+    ArrayList<YearMonth> displayedMonths = new ArrayList<>();
+    for (Month month : Month.values()) {
+      displayedMonths.add(YearMonth.of(displayedYear, month));
+    }
+    settings.zLoadAsyncPolicyMonths(displayedMonths, this::zAsyncPolicyMonthLoaded);
+    // Set the weekday names.
+    DayOfWeek firstDayOfWeek = settings.getFirstDayOfWeekDisplayedOnCalendar();
+    String[] localShortDaysOfWeek =
+        DateFormatSymbols.getInstance(settings.getLocale()).getShortWeekdays();
+    for (int column = 0; column < COLUMN_COUNT; ++column) {
+      CalendarLabelState weekdayState = weekdayStates[column];
+      // The weekday array of DateFormatSymbols starts with Sunday at index 1.
+      int isoDayOfWeek = firstDayOfWeek.plus(column).getValue();
+      weekdayState.text = localShortDaysOfWeek[(isoDayOfWeek % 7) + 1];
+      weekdayState.colorBackground = settings.getColorBackgroundWeekdayLabels();
+      weekdayState.colorText = settings.getColor(DateArea.CalendarTextWeekdays);
+      weekdayState.font = settings.getFontCalendarWeekdayLabels();
+    }
+    // Set the month names and the date cells of each month.
+    for (int monthIndex = 0; monthIndex < 12; ++monthIndex) {
+      YearMonth yearMonth = displayedMonths.get(monthIndex);
+      CalendarLabelState monthNameState = monthNameStates[monthIndex];
+      monthNameState.text = settings.getTranslationArrayStandaloneLongMonthNames()[monthIndex];
+      monthNameState.colorBackground = settings.getColor(DateArea.BackgroundMonthAndYearMenuLabels);
+      monthNameState.colorText = settings.getColor(DateArea.TextMonthAndYearMenuLabels);
+      monthNameState.font = settings.getFontMonthAndYearMenuLabels();
+      monthGrids[monthIndex] = MonthGrid.getGrid(yearMonth, firstDayOfWeek, null);
+      zFillMonthDateCells(monthIndex);
+    }
+    setBackground(settings.getColor(DateArea.BackgroundOverallCalendarPanel));
+    // The preferred size depends on the fonts, the month names, and the weekday names.
+    Dimension preferredCellSize = getPreferredCellSize();
+    if (!preferredCellSize.equals(lastPreferredCellSize)) {
+      lastPreferredCellSize = preferredCellSize;
+      revalidate();
+    }
+    repaint();
+  }
+
+  /**
+   * getDateAt, This returns the date of the date cell that contains the supplied point, or null if
+   * the point is not inside of a date cell that holds a date.
+   */
+  public LocalDate getDateAt(Point point) {
+    int monthIndex = getMonthIndexAt(point);
+    if (monthIndex < 0) {
+      return null;
+    }
+    // The rows and columns are found the same way as CalendarDateGrid.getCellIndexAt().
+    Rectangle monthBounds = getMonthBounds(monthIndex);
+    int row = ((point.y - monthBounds.y + 1) * ROWS_PER_MONTH - 1) / monthBounds.height;
+    int column = ((point.x - monthBounds.x + 1) * COLUMN_COUNT - 1) / monthBounds.width;
+    if (row < 2) {
+      return null;
+    }
+    return monthGrids[monthIndex].getCellDateOrNull(((row - 2) * COLUMN_COUNT) + column);
+  }
+
+  /** getDisplayedYear, This returns the year that is currently displayed. */
+  public int getDisplayedYear() {
+    return displayedYear;
+  }
+
+  /**
+   * getMonthColumnCount, Returns the value of this setting. See the "set" function for setting
+   * information.
+   */
+  public int getMonthColumnCount() {
+    return monthColumnCount;
+  }
+
+  /**
+   * getPreferredSize, This returns the size that fits the preferred size of all the cells of all
+   * the months.
+   */
+  @Override
+  public Dimension getPreferredSize() {
+    if (isPreferredSizeSet()) {
+      return super.getPreferredSize();
+    }
+    Dimension cellSize = getPreferredCellSize();
+    int monthRowCount = (12 + monthColumnCount - 1) / monthColumnCount;
+    int width = (monthColumnCount * (COLUMN_COUNT * cellSize.width + constantMonthGap));
+    int height = (monthRowCount * (ROWS_PER_MONTH * cellSize.height + constantMonthGap));
+    return new Dimension(width - constantMonthGap, height - constantMonthGap);
+  }
+
+  /** getSelectedDate, This returns the selected date, or null if no date is selected. */
+  public LocalDate getSelectedDate() {
+    return selectedDate;
+  }
+
+  /** getSettings, This returns the year overview settings instance. */
+  public DatePickerSettings getSettings() {
+    return settings;
+  }
+
+  /**
+   * getToolTipText, This returns the tooltip text of the date cell under the mouse pointer, or null
+   * if that cell has no tooltip.
+   */
+  @Override
+  public String getToolTipText(MouseEvent event) {
+    LocalDate date = getDateAt(event.getPoint());
+    if (date == null) {
+      return null;
+    }
+    int monthIndex = date.getMonthValue() - 1;
+    int cellIndex = monthGrids[monthIndex].getCellIndexOfDate(date);
+    return dateCellStates[monthIndex][cellIndex].tooltipText;
+  }
+
+  /** setDisplayedYear, This sets the year that is displayed, and redraws the year overview. */
+  public void setDisplayedYear(int year) {
+    // Make sure that the year can be represented.
+    YearMonth.of(year, Month.JANUARY);
+    displayedYear = year;
+    drawYearOverview();
+  }
+
+  /**
+   * setMonthColumnCount, This sets the number of months that are displayed in each row of months.
+   * The value must be between 1 and 12. The default value is 4, which displays the year in three
+   * rows of four months.
+   */
+  public void setMonthColumnCount(int monthColumnCount) {
+    if (monthColumnCount < 1 || monthColumnCount > 12) {
+      throw new RuntimeException(
+          "YearOverview.setMonthColumnCount(), The month column count must be between 1 and 12.");
+    }
+    this.monthColumnCount = monthColumnCount;
+    revalidate();
+    repaint();
+  }
+
+  /**
+   * setSelectedDate, This sets the selected date. If the date is not null, then the year of that
+   * date will be displayed. This does not check the date against the veto policy.
+   */
+  public void setSelectedDate(LocalDate selectedDate) {
+    LocalDate oldDate = this.selectedDate;
+    this.selectedDate = selectedDate;
+    if (selectedDate == null || selectedDate.getYear() == displayedYear) {
+      // Only the cells of the old and the new selected date need to change.
+      zRefillDateCell(oldDate);
+      zRefillDateCell(selectedDate);
+    } else {
+      displayedYear = selectedDate.getYear();
+      drawYearOverview();
+    }
+    // Fire a change event for beans binding.
+    firePropertyChange("selectedDate", oldDate, selectedDate);
+  }
+
+  /** paintComponent, This paints all the months that intersect the clip bounds. */
+  @Override
+  protected void paintComponent(Graphics g) {
+    Graphics2D g2 = (Graphics2D) g.create();
+    try {
+      CalendarDateGrid.applyTextRenderingHints(g2);
+      Rectangle clip = g2.getClipBounds();
+      if (isOpaque()) {
+        g2.setColor(getBackground());
+        g2.fillRect(0, 0, getWidth(), getHeight());
+      }
+      Color disabledTextColor = CalendarDateGrid.getDisabledTextColor();
+      for (int monthIndex = 0; monthIndex < 12; ++monthIndex) {
+        Rectangle monthBounds = getMonthBounds(monthIndex);
+        if (clip != null && !clip.intersects(monthBounds)) {
+          continue;
+        }
+        CalendarDateGrid.paintCell(
+            g2,
+            monthNameStates[monthIndex],
+            getCellBounds(monthBounds, 0, 0, COLUMN_COUNT),
+            this,
+            disabledTextColor);
+        for (int column = 0; column < COLUMN_COUNT; ++column) {
+          CalendarDateGrid.paintCell(
+              g2,
+              weekdayStates[column],
+              getCellBounds(monthBounds, 1, column, 1),
+              this,
+              disabledTextColor);
+        }
+        for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; ++cellIndex) {
+          Rectangle cellBounds =
+              getCellBounds(
+                  monthBounds, 2 + (cellIndex / COLUMN_COUNT), cellIndex % COLUMN_COUNT, 1);
+          CalendarDateGrid.paintCell(
+              g2, dateCellStates[monthIndex][cellIndex], cellBounds, this, disabledTextColor);
+        }
+      }
+    } finally {
+      g2.dispose();
+    }
+  }
+
+  /**
+   * getCellBounds, This returns the bounds of a cell of a month, in the coordinates of this
+   * component. The cell starts at the supplied row and column, and spans the supplied number of
+   * columns. The month width and height are divided as evenly as possible between the columns and
+   * rows.
+   */
+  private static Rectangle getCellBounds(
+      Rectangle monthBounds, int row, int column, int columnSpan) {
+    int x = monthBounds.x + (monthBounds.width * column) / COLUMN_COUNT;
+    int y = monthBounds.y + (monthBounds.height * row) / ROWS_PER_MONTH;
+    int nextX = monthBounds.x + (monthBounds.width * (column + columnSpan)) / COLUMN_COUNT;
+    int nextY = monthBounds.y + (monthBounds.height * (row + 1)) / ROWS_PER_MONTH;
+    return new Rectangle(x, y, nextX - x, nextY - y);
+  }
+
+  /**
+   * getMonthBounds, This returns the bounds of the month with the supplied zero based month index,
+   * in the coordinates of this component. The component width and height (without the gaps) are
+   * divided as evenly as possible between the months.
+   */
+  private Rectangle getMonthBounds(int monthIndex) {
+    int monthRowCount = (12 + monthColumnCount - 1) / monthColumnCount;
+    int column = monthIndex % monthColumnCount;
+    int row = monthIndex / monthColumnCount;
+    int widthWithGap = getWidth() + constantMonthGap;
+    int heightWithGap = getHeight() + constantMonthGap;
+    int x = (widthWithGap * column) / monthColumnCount;
+    int y = (heightWithGap * row) / monthRowCount;
+    int nextX = (widthWithGap * (column + 1)) / monthColumnCount;
+    int nextY = (heightWithGap * (row + 1)) / monthRowCount;
+    return new Rectangle(x, y, nextX - x - constantMonthGap, nextY - y - constantMonthGap);
+  }
+
+  /**
+   * getMonthIndexAt, This returns the zero based index of the month that contains the supplied
+   * point, or -1 if the point is not inside of a month. The month row and column are calculated
+   * from the point, rather than by testing the bounds of each month.
+   */
+  private int getMonthIndexAt(Point point) {
+    if (point.x < 0 || point.y < 0 || point.x >= getWidth() || point.y >= getHeight()) {
+      return -1;
+    }
+    int monthRowCount = (12 + monthColumnCount - 1) / monthColumnCount;
+    int widthWithGap = getWidth() + constantMonthGap;
+    int heightWithGap = getHeight() + constantMonthGap;
+    int column = ((point.x + 1) * monthColumnCount - 1) / widthWithGap;
+    int row = ((point.y + 1) * monthRowCount - 1) / heightWithGap;
+    int monthIndex = (row * monthColumnCount) + column;
+    if (monthIndex >= 12) {
+      return -1;
+    }
+    // The point can be in the gap after the month.
+    return (getMonthBounds(monthIndex).contains(point)) ? monthIndex : -1;
+  }
+
+  /**
+   * getPreferredCellSize, This returns the preferred size of one cell. The cell size is large
+   * enough for the longest day number, the longest weekday name, and one seventh of the longest
+   * month name, in the fonts from the settings.
+   */
+  private Dimension getPreferredCellSize() {
+    Font dateFont = settings.getFontCalendarDateLabels();
+    Font weekdayFont = settings.getFontCalendarWeekdayLabels();
+    Font monthFont = settings.getFontMonthAndYearMenuLabels();
+    int width = TextMetricsCache.getStringWidth(dateFont, "30");
+    for (CalendarLabelState weekdayState : weekdayStates) {
+      int weekdayWidth = TextMetricsCache.getStringWidth(weekdayFont, weekdayState.text);
+      width = Math.max(width, weekdayWidth);
+    }
+    int longestMonthWidth = 0;
+    for (CalendarLabelState monthNameState : monthNameStates) {
+      longestMonthWidth =
+          Math.max(
+              longestMonthWidth,
+              TextMetricsCache.getStringWidth(monthFont, monthNameState.text));
+    }
+    width = Math.max(width, (longestMonthWidth + COLUMN_COUNT - 1) / COLUMN_COUNT);
+    int height = TextMetricsCache.getFontHeight(dateFont);
+    height = Math.max(height, TextMetricsCache.getFontHeight(weekdayFont));
+    height = Math.max(height, TextMetricsCache.getFontHeight(monthFont));
+    // Add the width and height of the one pixel border on each side, and some padding.
+    return new Dimension(width + 6, height + 4);
+  }
+
+  /**
+   * userSelectedADate, This is called when the user clicks on a date cell. If the date is not null,
+   * not vetoed, and not loading, then the date will be selected.
+   */
+  private void userSelectedADate(LocalDate date) {
+    if (date == null) {
+      return;
+    }
+    boolean isMonthLoading = settings.zIsMonthLoadingForCalendar(YearMonth.from(date));
+    if (isMonthLoading || settings.zIsDateVetoedForCalendar(date)) {
+      return;
+    }
+    setSelectedDate(date);
+  }
+
+  /**
+   * zAsyncPolicyMonthLoaded, This is called on the event dispatch thread when the asynchronous date
+   * policy results of a month have been loaded. Only the date cells of the loaded month are
+   * refilled and repainted. Months that are not displayed are ignored.
+   */
+  private void zAsyncPolicyMonthLoaded(YearMonth loadedMonth) {
+    if (loadedMonth.getYear() != displayedYear) {
+      return;
+    }
+    int monthIndex = loadedMonth.getMonthValue() - 1;
+    zFillMonthDateCells(monthIndex);
+    repaint(getMonthBounds(monthIndex));
+  }
+
+  /**
+   * zFillMonthDateCells, This fills the state of each date cell of the month with the supplied zero
+   * based month index, from the month grid and the settings. This retrieves the policy results of
+   * each date in the month.
+   */
+  private void zFillMonthDateCells(int monthIndex) {
+    MonthGrid monthGrid = monthGrids[monthIndex];
+    boolean isMonthLoading = settings.zIsMonthLoadingForCalendar(monthGrid.getYearMonth());
+    int selectedCellIndex =
+        (selectedDate == null) ? -1 : monthGrid.getCellIndexOfDate(selectedDate);
+    for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; ++cellIndex) {
+      CalendarLabelState cellState = dateCellStates[monthIndex][cellIndex];
+      CalendarPanel.zFillDateCellState(
+          settings,
+          cellState,
+          monthGrid.getCellDateOrNull(cellIndex),
+          isMonthLoading,
+          (cellIndex == selectedCellIndex));
+      cellState.text = monthGrid.getCellText(cellIndex);
+    }
+  }
+
+  /**
+   * zRefillDateCell, This refills and repaints the date cell of the supplied date, if the date is
+   * in the displayed year. This is used when the selected state of a single date changes. Nothing
+   * is done if the date is null.
+   */
+  private void zRefillDateCell(LocalDate date) {
+    if (date == null || date.getYear() != displayedYear) {
+      return;
+    }
+    int monthIndex = date.getMonthValue() - 1;
+    MonthGrid monthGrid = monthGrids[monthIndex];
+    int cellIndex = monthGrid.getCellIndexOfDate(date);
+    CalendarLabelState cellState = dateCellStates[monthIndex][cellIndex];
+    CalendarPanel.zFillDateCellState(
+        settings,
+        cellState,
+        date,
+        settings.zIsMonthLoadingForCalendar(monthGrid.getYearMonth()),
+        date.equals(selectedDate));
+    cellState.text = monthGrid.getCellText(cellIndex);
+    int row = 2 + (cellIndex / COLUMN_COUNT);
+    repaint(getCellBounds(getMonthBounds(monthIndex), row, cellIndex % COLUMN_COUNT, 1));
+  }
+}
@@ -22,18 +22,66 @@
  */
 package com.github.lgooddatepicker.durationpicker_underconstruction;
 
-import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
 import java.math.BigDecimal;
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 
 /** */
 public class DurationConverter {
 
+  /**
+   * MAXIMUM_FIXED_POINT_INTEGER_PART, This is the largest integer part of a value that is converted
+   * with long arithmetic. The integer part multiplied by the seconds in a year still fits in a
+   * long. Larger values are converted with BigDecimal.
+   */
+  private static final long MAXIMUM_FIXED_POINT_INTEGER_PART = 99_999_999_999L;
+
+  /**
+   * MAXIMUM_FIXED_POINT_FRACTION_DIGITS, This is the largest number of fraction digits of a value
+   * that is converted with long arithmetic. Nine digits is the precision of a Duration.
+   */
+  private static final int MAXIMUM_FIXED_POINT_FRACTION_DIGITS = 9;
+
+  /** powersOfTen, This holds the powers of ten from 10^0 to 10^9. */
+  private static final long[] powersOfTen = {
+    1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+  };
+
   /** Note: This function will return null if the string cannot be parsed for any reason. */
   public static Duration convertStringToDuration(String text, DurationConverterSettings settings) {
+    return convertStringToDuration(text, settings.getCompiledParsingPrefixes());
+  }
+
+  /**
+   * convertStringsToDurations, This converts each of the supplied strings to a duration, and
+   * returns an array with one entry for each string. An entry is null if its string cannot be
+   * parsed. (See convertStringToDuration().) The parsing prefixes of the settings are compiled only
+   * once for the whole array, and large arrays are converted in parallel. The settings should not
+   * be changed while this function is running.
+   */
+  public static Duration[] convertStringsToDurations(
+      String[] texts, DurationConverterSettings settings) {
+    DurationUnitPrefixIndex prefixIndex = settings.getCompiledParsingPrefixes();
+    Duration[] result = new Duration[texts.length];
+    Arrays.parallelSetAll(result, i -> convertStringToDuration(texts[i], prefixIndex));
+    return result;
+  }
+
+  /**
+   * convertStringToDuration, This converts a string to a duration with the supplied prefix index.
+   * A string is made of a value and a units text, which are separated by a single space. The space
+   * can be left out if the value only contains digits and decimal points. The units text is matched
+   * by its prefix, so "5 hours", "5 h" and "5h" are all parsed as five hours.
+   *
+   * <p>Common values (plain decimals with up to nine fraction digits) are converted with long
+   * arithmetic. Any other value is converted with BigDecimal, so the two paths give the same
+   * results. The whole conversion does not create any objects other than the result, unless the
+   * value requires BigDecimal or the text needs to be trimmed or made lower case.
+   */
+  private static Duration convertStringToDuration(
+      String text, DurationUnitPrefixIndex prefixIndex) {
     if (text == null) {
       return null;
     }
@@ -41,81 +89,127 @@ public class DurationConverter {
     if (text.isEmpty()) {
       return null;
     }
-    if (!text.contains(" ")) {
-      for (int i = 0; i < text.length(); ++i) {
-        char currentChar = text.charAt(i);
-        if (!((Character.isDigit(currentChar)) || (currentChar == '.'))) {
-          text =
-              InternalUtilities.safeSubstring(text, 0, i)
-                  + ' '
-                  + InternalUtilities.safeSubstring(text, i, text.length());
-          break;
-        }
+    // Find the end of the value text, and the start of the units text.
+    int valueEnd = text.indexOf(' ');
+    int unitsStart;
+    if (valueEnd >= 0) {
+      // The value and the units must be separated by exactly one space.
+      if (text.indexOf(' ', valueEnd + 1) >= 0) {
+        return null;
+      }
+      unitsStart = valueEnd + 1;
+    } else {
+      valueEnd = 0;
+      while (valueEnd < text.length()
+          && (Character.isDigit(text.charAt(valueEnd)) || text.charAt(valueEnd) == '.')) {
+        ++valueEnd;
       }
+      if (valueEnd == text.length()) {
+        return null;
+      }
+      unitsStart = valueEnd;
+    }
+    if (valueEnd == 0) {
+      return null;
     }
-    String[] parts = text.split(" ");
-    if (parts.length != 2) {
+    DurationUnit unit = prefixIndex.getUnitOrNull(text, unitsStart);
+    if (unit == null) {
       return null;
     }
-    String valueText = parts[0];
-    String unitsText = parts[1];
+    Duration result = convertFixedPointValueOrNull(text, valueEnd, unit);
+    if (result != null) {
+      return result;
+    }
     BigDecimal value;
     try {
-      value = new BigDecimal(valueText);
+      value = new BigDecimal(text.substring(0, valueEnd));
     } catch (Exception e) {
       return null;
     }
-    HashMap<DurationUnit, ArrayList<String>> parsingPrefixes = settings.translationsParsingPrefixes;
+    return convertBigDecimalValueOrNull(value, unit);
+  }
 
-    for (String prefix : parsingPrefixes.get(DurationUnit.Year)) {
-      if (unitsText.startsWith(prefix)) {
-        value = value.multiply(new BigDecimal(DurationUnit.Year.inSeconds));
-        return Duration.ofSeconds(value.longValue());
-      }
+  /**
+   * convertFixedPointValueOrNull, This converts a value text that starts at the beginning of the
+   * text, using long arithmetic. The value text must be an optional sign, followed by ASCII digits
+   * with an optional decimal point. This returns null if the value text has any other form, or if
+   * the value is too large or too precise for long arithmetic. The value is truncated to whole
+   * seconds for all units except seconds, in the same way as convertBigDecimalValueOrNull().
+   */
+  private static Duration convertFixedPointValueOrNull(
+      String text, int valueEnd, DurationUnit unit) {
+    int index = 0;
+    boolean isNegative = false;
+    char first = text.charAt(0);
+    if (first == '-' || first == '+') {
+      isNegative = (first == '-');
+      ++index;
     }
-    // Note: Months must be parsed before minutes, otherwise the month prefixes will conflict
-    // with the minute prefixes.
-    for (String prefix : parsingPrefixes.get(DurationUnit.Month)) {
-      if (unitsText.startsWith(prefix)) {
-        value = value.multiply(new BigDecimal(DurationUnit.Month.inSeconds));
-        return Duration.ofSeconds(value.longValue());
+    long integerPart = 0;
+    int integerDigits = 0;
+    for (; index < valueEnd; ++index) {
+      char current = text.charAt(index);
+      if (current < '0' || current > '9') {
+        break;
       }
-    }
-    for (String prefix : parsingPrefixes.get(DurationUnit.Week)) {
-      if (unitsText.startsWith(prefix)) {
-        value = value.multiply(new BigDecimal(DurationUnit.Week.inSeconds));
-        return Duration.ofSeconds(value.longValue());
+      integerPart = (integerPart * 10) + (current - '0');
+      ++integerDigits;
+      if (integerPart > MAXIMUM_FIXED_POINT_INTEGER_PART) {
+        return null;
       }
     }
-    for (String prefix : parsingPrefixes.get(DurationUnit.Day)) {
-      if (unitsText.startsWith(prefix)) {
-        value = value.multiply(new BigDecimal(DurationUnit.Day.inSeconds));
-        return Duration.ofSeconds(value.longValue());
+    long fractionPart = 0;
+    int fractionDigits = 0;
+    if (index < valueEnd && text.charAt(index) == '.') {
+      for (++index; index < valueEnd; ++index) {
+        char current = text.charAt(index);
+        if (current < '0' || current > '9') {
+          break;
+        }
+        if (fractionDigits == MAXIMUM_FIXED_POINT_FRACTION_DIGITS) {
+          return null;
+        }
+        fractionPart = (fractionPart * 10) + (current - '0');
+        ++fractionDigits;
       }
     }
-    for (String prefix : parsingPrefixes.get(DurationUnit.Hour)) {
-      if (unitsText.startsWith(prefix)) {
-        value = value.multiply(new BigDecimal(DurationUnit.Hour.inSeconds));
-        return Duration.ofSeconds(value.longValue());
-      }
+    if (index != valueEnd || (integerDigits + fractionDigits) == 0) {
+      return null;
     }
-    for (String prefix : parsingPrefixes.get(DurationUnit.Minute)) {
-      if (unitsText.startsWith(prefix)) {
-        value = value.multiply(new BigDecimal(DurationUnit.Minute.inSeconds));
-        return Duration.ofSeconds(value.longValue());
+    long unitSeconds = unit.inSeconds;
+    long seconds =
+        (integerPart * unitSeconds) + ((fractionPart * unitSeconds) / powersOfTen[fractionDigits]);
+    long nanos =
+        (unit == DurationUnit.Second)
+            ? fractionPart * powersOfTen[MAXIMUM_FIXED_POINT_FRACTION_DIGITS - fractionDigits]
+            : 0;
+    return (isNegative) ? Duration.ofSeconds(-seconds, -nanos) : Duration.ofSeconds(seconds, nanos);
+  }
+
+  /**
+   * convertBigDecimalValueOrNull, This converts a value of the specified unit to a duration. The
+   * value is truncated to whole seconds for all units except seconds. This returns null if the
+   * number of seconds does not fit in a long, or if the value has an exponent that is too large to
+   * be calculated.
+   */
+  private static Duration convertBigDecimalValueOrNull(BigDecimal value, DurationUnit unit) {
+    try {
+      value = value.multiply(new BigDecimal(unit.inSeconds));
+      if (value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0
+          || value.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) {
+        return null;
       }
-    }
-    for (String prefix : parsingPrefixes.get(DurationUnit.Second)) {
-      if (unitsText.startsWith(prefix)) {
-        value = value.multiply(new BigDecimal(DurationUnit.Second.inSeconds));
-        BigDecimal fractionalPartInNanos = value.remainder(BigDecimal.ONE);
-        fractionalPartInNanos = fractionalPartInNanos.multiply(new BigDecimal(1000000000));
-        Duration result = Duration.ofSeconds(value.longValue());
-        result = result.plusNanos(fractionalPartInNanos.longValue());
-        return result;
+      if (unit != DurationUnit.Second) {
+        return Duration.ofSeconds(value.longValue());
       }
+      BigDecimal fractionalPartInNanos = value.remainder(BigDecimal.ONE);
+      fractionalPartInNanos = fractionalPartInNanos.multiply(new BigDecimal(1000000000));
+      Duration result = Duration.ofSeconds(value.longValue());
+      result = result.plusNanos(fractionalPartInNanos.longValue());
+      return result;
+    } catch (ArithmeticException e) {
+      return null;
     }
-    return null;
   }
 
   /**
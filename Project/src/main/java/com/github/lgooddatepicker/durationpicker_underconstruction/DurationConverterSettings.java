@@ -42,6 +42,18 @@ public class DurationConverterSettings {
   public HashMap<DurationUnit, ArrayList<String>> translationsParsingPrefixes;
   private Locale locale;
 
+  /**
+   * compiledParsingPrefixes, This is the prefix index that was compiled from the parsing prefixes,
+   * or null if no index has been compiled yet. See getCompiledParsingPrefixes().
+   */
+  private DurationUnitPrefixIndex compiledParsingPrefixes;
+
+  /**
+   * compiledParsingPrefixesSource, This is a copy of the parsing prefixes map, as it was when the
+   * prefix index was compiled.
+   */
+  private HashMap<DurationUnit, ArrayList<String>> compiledParsingPrefixesSource;
+
   public DurationConverterSettings() {
     this(Locale.getDefault());
   }
@@ -114,6 +126,26 @@ public class DurationConverterSettings {
     translationsParsingPrefixes.get(DurationUnit.Year).addAll(Arrays.asList(prefixArray));
   }
 
+  /**
+   * getCompiledParsingPrefixes, This returns a prefix index of the current parsing prefixes. The
+   * index is compiled the first time that it is needed. The translationsParsingPrefixes map is a
+   * public field, so the map is compared to a copy of the last compiled map, and the index is only
+   * compiled again if the contents of the map have been changed.
+   */
+  synchronized DurationUnitPrefixIndex getCompiledParsingPrefixes() {
+    if (compiledParsingPrefixes == null
+        || !compiledParsingPrefixesSource.equals(translationsParsingPrefixes)) {
+      HashMap<DurationUnit, ArrayList<String>> source = new HashMap<>();
+      for (DurationUnit unit : translationsParsingPrefixes.keySet()) {
+        ArrayList<String> prefixes = translationsParsingPrefixes.get(unit);
+        source.put(unit, (prefixes == null) ? null : new ArrayList<>(prefixes));
+      }
+      compiledParsingPrefixes = new DurationUnitPrefixIndex(source);
+      compiledParsingPrefixesSource = source;
+    }
+    return compiledParsingPrefixes;
+  }
+
   public HashMap<DurationUnit, Boolean> getSimplePluralUnitsMap(boolean settingForAllUnits) {
     HashMap<DurationUnit, Boolean> result = new HashMap<>();
     result.put(DurationUnit.Second, settingForAllUnits);
@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.durationpicker_underconstruction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * DurationUnitPrefixIndex, This is an immutable prefix tree (trie) of the parsing prefixes of all
+ * the duration units. It is compiled from the "translationsParsingPrefixes" map of a
+ * DurationConverterSettings instance. See DurationConverterSettings.getCompiledParsingPrefixes().
+ *
+ * <p>The index finds the unit of a units text in a single pass over the text, without creating any
+ * objects. It returns the same unit as testing the prefix lists with String.startsWith() in the
+ * order Year, Month, Week, Day, Hour, Minute, Second. That order is a priority, and it does not
+ * depend on the prefix length. For example, the month prefixes must win over the minute prefixes
+ * for the text "months".
+ */
+class DurationUnitPrefixIndex {
+
+  /**
+   * unitsInPriorityOrder, This lists the duration units in the order that their prefixes are
+   * tested. The index of a unit in this array is used as the rank of the unit.
+   */
+  private static final DurationUnit[] unitsInPriorityOrder = {
+    DurationUnit.Year,
+    DurationUnit.Month,
+    DurationUnit.Week,
+    DurationUnit.Day,
+    DurationUnit.Hour,
+    DurationUnit.Minute,
+    DurationUnit.Second
+  };
+
+  /** NO_UNIT_RANK, This is the rank of a node that is not the end of any prefix. */
+  private static final int NO_UNIT_RANK = Integer.MAX_VALUE;
+
+  /** root, This is the root node of the trie. The root node represents an empty prefix. */
+  private final Node root;
+
+  /**
+   * Node, This is a node of the trie. Child nodes are stored in arrays that are sorted by the child
+   * character, so a child can be found with a binary search. The unit rank is the rank of the
+   * highest priority unit that has a prefix which ends at this node.
+   */
+  private static class Node {
+    private char[] childCharacters = new char[0];
+    private Node[] children = new Node[0];
+    private int unitRank = NO_UNIT_RANK;
+
+    private Node getChildOrNull(char character) {
+      int index = Arrays.binarySearch(childCharacters, character);
+      return (index < 0) ? null : children[index];
+    }
+
+    private Node getOrCreateChild(char character) {
+      int index = Arrays.binarySearch(childCharacters, character);
+      if (index >= 0) {
+        return children[index];
+      }
+      int insertionIndex = -(index + 1);
+      Node child = new Node();
+      char[] newCharacters = new char[childCharacters.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(childCharacters, 0, newCharacters, 0, insertionIndex);
+      System.arraycopy(children, 0, newChildren, 0, insertionIndex);
+      newCharacters[insertionIndex] = character;
+      newChildren[insertionIndex] = child;
+      System.arraycopy(
+          childCharacters,
+          insertionIndex,
+          newCharacters,
+          insertionIndex + 1,
+          childCharacters.length - insertionIndex);
+      System.arraycopy(
+          children,
+          insertionIndex,
+          newChildren,
+          insertionIndex + 1,
+          children.length - insertionIndex);
+      childCharacters = newCharacters;
+      children = newChildren;
+      return child;
+    }
+  }
+
+  /**
+   * Constructor, This compiles the supplied parsing prefixes. Prefixes are matched exactly as they
+   * are stored, so they should be lower case. (The converter makes the text lower case before it
+   * is parsed.) A unit without a prefix list in the map will never be matched.
+   */
+  DurationUnitPrefixIndex(HashMap<DurationUnit, ArrayList<String>> parsingPrefixes) {
+    root = new Node();
+    for (int rank = 0; rank < unitsInPriorityOrder.length; ++rank) {
+      ArrayList<String> prefixes = parsingPrefixes.get(unitsInPriorityOrder[rank]);
+      if (prefixes == null) {
+        continue;
+      }
+      for (String prefix : prefixes) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); ++i) {
+          node = node.getOrCreateChild(prefix.charAt(i));
+        }
+        node.unitRank = Math.min(node.unitRank, rank);
+      }
+    }
+  }
+
+  /**
+   * getUnitOrNull, This returns the highest priority unit that has a prefix which matches the
+   * beginning of the text at the specified position. This returns null if no prefix matches.
+   */
+  DurationUnit getUnitOrNull(String text, int position) {
+    Node node = root;
+    int bestRank = node.unitRank;
+    for (int i = position; (i < text.length()) && (bestRank != 0); ++i) {
+      node = node.getChildOrNull(text.charAt(i));
+      if (node == null) {
+        break;
+      }
+      bestRank = Math.min(bestRank, node.unitRank);
+    }
+    return (bestRank == NO_UNIT_RANK) ? null : unitsInPriorityOrder[bestRank];
+  }
+}
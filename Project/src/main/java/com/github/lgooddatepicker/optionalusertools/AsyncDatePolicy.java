@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.optionalusertools;
+
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AsyncDatePolicy,
+ *
+ * <p>An AsyncDatePolicy can be implemented to supply the vetoed dates and the highlighted dates of
+ * a calendar panel without blocking the Swing event dispatch thread. This is useful when the
+ * policy results come from a slow source, such as a remote service. The calendar panel asks for
+ * the results of a whole month at a time, and displays the dates of that month in a "loading"
+ * state until the results are available. The loading state colors can be set with
+ * DatePickerSettings.setColor(), using DateArea.CalendarBackgroundLoadingDates and
+ * DateArea.CalendarTextLoadingDates. Loading dates can not be selected.
+ *
+ * <p>An asynchronous policy is used together with any veto policy and highlight policy that are
+ * set. A date is vetoed if either policy vetoes it. If both policies highlight a date, then the
+ * highlight information from the asynchronous policy is used.
+ *
+ * <p>The results of each month are remembered. If the results for any dates would change, then
+ * the programmer should call DatePickerSettings.invalidatePolicyCache(), which will load the
+ * affected months again.
+ *
+ * <p>Asynchronous policies only apply to the calendar panel. Text that is typed into a date picker
+ * is checked with the (synchronous) veto policy only. If typed dates must also be checked, then the
+ * programmer can set a veto policy that answers from the same source, when possible.
+ */
+public interface AsyncDatePolicy {
+
+  /**
+   * loadMonth, Implement this function to start loading the policy results for all the dates of
+   * the specified month. Return a future that will be completed with the results of the month. The
+   * future may be completed on any thread. A future that is already completed may be returned, if
+   * the results are available immediately.
+   *
+   * <p>This function is called on the Swing event dispatch thread, so it should not block. It is
+   * called at most once for each month, until the results of the month are invalidated.
+   *
+   * <p>If the user navigates to a different month before the results are available, then the
+   * future will be cancelled with cancel(false). An implementation can check isCancelled() to stop
+   * any work that is no longer needed. If the future completes exceptionally, then the month is
+   * displayed as if the asynchronous policy had not vetoed or highlighted any of its dates.
+   */
+  public CompletableFuture<DatePolicyMonthResults> loadMonth(YearMonth yearMonth);
+}
@@ -51,6 +51,11 @@ public interface CalendarListener {
    * redrawing the calendar, even if the same YearMonth value is displayed twice in a row. All
    * duplicate yearMonthChanged events are marked as duplicates in the event object.
    *
+   * <p>When the navigation buttons are pressed faster than the calendar is redrawn, the presses
+   * are combined into one redraw, and this is called once for that redraw. The old YearMonth is
+   * then the month that was displayed before the combined presses, and the new YearMonth is the
+   * month that is displayed after them. The months in between are not reported.
+   *
    * <p>Implementation Note: This is called each time the calendar is redrawn.
    */
   public void yearMonthChanged(YearMonthChangeEvent event);
@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.optionalusertools;
+
+import com.github.lgooddatepicker.zinternaltools.DateBitSet;
+import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
+import java.time.LocalDate;
+
+/**
+ * DatePolicyBitSet, This class implements a veto policy and a highlight policy from two sets of
+ * individually marked dates: The allowed dates, and the highlighted dates. This can be used for
+ * long range rosters, where any day over many decades can be marked as allowed or highlighted.
+ *
+ * <p>Dates are vetoed unless they are marked as allowed. Highlighted dates use the same highlight
+ * information, which can be changed with setHighlightInformation(). By default, highlighted dates
+ * use the default highlight colors, and have no tooltip.
+ *
+ * <p>Both sets are stored in a DateBitSet, which uses one bit per day for densely marked periods,
+ * and two bytes per date for sparsely marked periods. This uses much less memory than a set of
+ * LocalDate instances, and checking a date does not create or hash any objects. The sets can be
+ * changed with the functions of this class, or directly with getAllowedDates() and
+ * getHighlightedDates(), for example to add or remove a whole set of dates at once.
+ *
+ * <p>A single instance can be set as both the veto policy and the highlight policy of a
+ * DatePickerSettings instance. If the marked dates are changed after the policy has been set, then
+ * DatePickerSettings.invalidatePolicyCache() should be called, so that any cached policy results
+ * are discarded.
+ */
+public class DatePolicyBitSet implements DateVetoPolicy, DateHighlightPolicy {
+
+  /** allowedDates, This holds the dates that are allowed. All other dates are vetoed. */
+  private final DateBitSet allowedDates = new DateBitSet();
+
+  /** highlightedDates, This holds the dates that are highlighted. */
+  private final DateBitSet highlightedDates = new DateBitSet();
+
+  /**
+   * highlightInformation, This is the highlight information that is returned for every highlighted
+   * date. This will never be null.
+   */
+  private HighlightInformation highlightInformation = new HighlightInformation();
+
+  /**
+   * getAllowedDates, This returns the set of allowed dates. Changes to the returned set change this
+   * policy.
+   */
+  public DateBitSet getAllowedDates() {
+    return allowedDates;
+  }
+
+  /**
+   * getHighlightedDates, This returns the set of highlighted dates. Changes to the returned set
+   * change this policy.
+   */
+  public DateBitSet getHighlightedDates() {
+    return highlightedDates;
+  }
+
+  /**
+   * getHighlightInformation, This returns the highlight information that is used for every
+   * highlighted date.
+   */
+  public HighlightInformation getHighlightInformation() {
+    return highlightInformation;
+  }
+
+  /**
+   * getHighlightInformationOrNull, This implements the DateHighlightPolicy interface. This returns
+   * the highlight information if the date is highlighted, otherwise this returns null.
+   */
+  @Override
+  public HighlightInformation getHighlightInformationOrNull(LocalDate date) {
+    return (highlightedDates.contains(date)) ? highlightInformation : null;
+  }
+
+  /**
+   * isDateAllowed, This implements the DateVetoPolicy interface. This returns true if the date is
+   * marked as allowed, otherwise this returns false. The value of null will never be passed to this
+   * function, under any case.
+   */
+  @Override
+  public boolean isDateAllowed(LocalDate date) {
+    return allowedDates.contains(date);
+  }
+
+  /** isDateHighlighted, This returns true if the date is marked as highlighted. */
+  public boolean isDateHighlighted(LocalDate date) {
+    return highlightedDates.contains(date);
+  }
+
+  /** setDateAllowed, This marks the date as allowed, or as vetoed. */
+  public void setDateAllowed(LocalDate date, boolean isAllowed) {
+    setDateInSet(allowedDates, date, isAllowed);
+  }
+
+  /** setDateHighlighted, This marks the date as highlighted, or as not highlighted. */
+  public void setDateHighlighted(LocalDate date, boolean isHighlighted) {
+    setDateInSet(highlightedDates, date, isHighlighted);
+  }
+
+  /**
+   * setDatesAllowed, This marks every date from firstDate to lastDate (inclusive) as allowed, or as
+   * vetoed.
+   */
+  public void setDatesAllowed(LocalDate firstDate, LocalDate lastDate, boolean isAllowed) {
+    setDateRangeInSet(allowedDates, firstDate, lastDate, isAllowed);
+  }
+
+  /**
+   * setDatesHighlighted, This marks every date from firstDate to lastDate (inclusive) as
+   * highlighted, or as not highlighted.
+   */
+  public void setDatesHighlighted(LocalDate firstDate, LocalDate lastDate, boolean isHighlighted) {
+    setDateRangeInSet(highlightedDates, firstDate, lastDate, isHighlighted);
+  }
+
+  /**
+   * setHighlightInformation, This sets the highlight information that is used for every
+   * highlighted date. The highlight information cannot be null.
+   */
+  public void setHighlightInformation(HighlightInformation highlightInformation) {
+    if (highlightInformation == null) {
+      throw new RuntimeException(
+          "DatePolicyBitSet.setHighlightInformation(), "
+              + "The highlight information cannot be null.");
+    }
+    this.highlightInformation = highlightInformation;
+  }
+
+  /** setDateInSet, This adds the date to the set, or removes the date from the set. */
+  private static void setDateInSet(DateBitSet set, LocalDate date, boolean isInSet) {
+    if (isInSet) {
+      set.add(date);
+    } else {
+      set.remove(date);
+    }
+  }
+
+  /** setDateRangeInSet, This adds the date range to the set, or removes it from the set. */
+  private static void setDateRangeInSet(
+      DateBitSet set, LocalDate firstDate, LocalDate lastDate, boolean isInSet) {
+    if (isInSet) {
+      set.addRange(firstDate, lastDate);
+    } else {
+      set.removeRange(firstDate, lastDate);
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.optionalusertools;
+
+import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * DatePolicyMonthResults, This holds the vetoed dates and the highlighted dates of one month. This
+ * is used to supply the results of an AsyncDatePolicy. By default, no date is vetoed or
+ * highlighted.
+ *
+ * <p>An instance can be filled out on any thread, before it is used to complete the future that is
+ * returned from AsyncDatePolicy.loadMonth(). It must not be changed after that, because it is then
+ * read on the Swing event dispatch thread. The results are frozen when they are received, so any
+ * later change will throw an exception. See freeze().
+ */
+public class DatePolicyMonthResults {
+
+  /** yearMonth, This is the month of these results. */
+  private final YearMonth yearMonth;
+
+  /**
+   * vetoedDays, This indicates which days are vetoed. This is indexed by the day of the month minus
+   * one.
+   */
+  private final boolean[] vetoedDays = new boolean[31];
+
+  /**
+   * highlights, This holds the highlight information of each day, or null for days that are not
+   * highlighted. This is indexed by the day of the month minus one.
+   */
+  private final HighlightInformation[] highlights = new HighlightInformation[31];
+
+  /** isFrozen, This indicates whether these results can no longer be changed. See freeze(). */
+  private volatile boolean isFrozen = false;
+
+  /** Constructor, This creates empty results for the specified month. */
+  public DatePolicyMonthResults(YearMonth yearMonth) {
+    if (yearMonth == null) {
+      throw new RuntimeException(
+          "DatePolicyMonthResults(), The year and month cannot be null.");
+    }
+    this.yearMonth = yearMonth;
+  }
+
+  /**
+   * freeze, This prevents any further change to these results. Any later call to a "set" function
+   * will throw an exception. The date picker calls this when it receives the results from the
+   * completed future of AsyncDatePolicy.loadMonth().
+   */
+  public void freeze() {
+    isFrozen = true;
+  }
+
+  /**
+   * getHighlightInformationOrNull, This returns the highlight information of the specified date,
+   * or null if the date is not highlighted. This returns null for dates outside of the month.
+   */
+  public HighlightInformation getHighlightInformationOrNull(LocalDate date) {
+    return (isDateInMonth(date)) ? highlights[date.getDayOfMonth() - 1] : null;
+  }
+
+  /** getYearMonth, This returns the month of these results. */
+  public YearMonth getYearMonth() {
+    return yearMonth;
+  }
+
+  /**
+   * isFrozen, This returns true if these results have been frozen, and can no longer be changed.
+   */
+  public boolean isFrozen() {
+    return isFrozen;
+  }
+
+  /**
+   * isDateVetoed, This returns true if the specified date is vetoed. This returns false for dates
+   * outside of the month.
+   */
+  public boolean isDateVetoed(LocalDate date) {
+    return isDateInMonth(date) && vetoedDays[date.getDayOfMonth() - 1];
+  }
+
+  /**
+   * setDateVetoed, This sets whether the specified date is vetoed. The date must be inside the
+   * month of these results, and the results must not be frozen.
+   */
+  public void setDateVetoed(LocalDate date, boolean isVetoed) {
+    checkDateCanBeSet(date);
+    vetoedDays[date.getDayOfMonth() - 1] = isVetoed;
+  }
+
+  /**
+   * setHighlightInformation, This sets the highlight information of the specified date. Supply
+   * null to remove the highlight of the date. The date must be inside the month of these results,
+   * and the results must not be frozen.
+   */
+  public void setHighlightInformation(LocalDate date, HighlightInformation highlightInfoOrNull) {
+    checkDateCanBeSet(date);
+    highlights[date.getDayOfMonth() - 1] = highlightInfoOrNull;
+  }
+
+  /**
+   * checkDateCanBeSet, This throws an exception if the date is not inside the month, or if these
+   * results are frozen.
+   */
+  private void checkDateCanBeSet(LocalDate date) {
+    if (isFrozen) {
+      throw new RuntimeException(
+          "DatePolicyMonthResults, The results for " + yearMonth + " are frozen.");
+    }
+    if (!isDateInMonth(date)) {
+      throw new RuntimeException(
+          "DatePolicyMonthResults, The date must be inside the month " + yearMonth + ".");
+    }
+  }
+
+  /** isDateInMonth, This returns true if the date is not null, and is inside the month. */
+  private boolean isDateInMonth(LocalDate date) {
+    return (date != null)
+        && (date.getYear() == yearMonth.getYear())
+        && (date.getMonthValue() == yearMonth.getMonthValue());
+  }
+}
@@ -0,0 +1,301 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.optionalusertools;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * DateVetoPolicyIntervalSet, This class implements a veto policy that vetoes every date inside a
+ * set of date intervals. This can be used for blackout calendars that hold many date ranges, such
+ * as holidays, plant shutdowns, or freeze windows.
+ *
+ * <p>The vetoed intervals are stored as a sorted array of epoch day ranges. Overlapping and
+ * adjacent intervals are merged when they are loaded. Each call to isDateAllowed() uses a binary
+ * search, so the time of each call grows with the logarithm of the number of intervals. Intervals
+ * should be loaded in bulk with setVetoedIntervals() or addVetoedIntervals(), because each call to
+ * those functions sorts and merges all of the intervals again.
+ *
+ * <p>Each DateInterval includes its first and last date. If the first date of an interval is null,
+ * then the interval starts at LocalDate.MIN. If the last date is null, then the interval ends at
+ * LocalDate.MAX. Empty intervals (with both dates null) contain no dates, and are ignored.
+ *
+ * <p>Snapshots: The getSnapshot() function returns an immutable copy of this policy. A snapshot
+ * can be shared by any number of date pickers and calendar panels, and can be used on any thread.
+ * A snapshot does not need to copy the intervals, because the interval array is never changed
+ * after it is created. Any change to the vetoed intervals creates a new array.
+ *
+ * <p>If the vetoed intervals are changed after this policy has been set in a DatePickerSettings
+ * instance, then DatePickerSettings.invalidatePolicyCache() should be called, so that any cached
+ * policy results are discarded.
+ */
+public class DateVetoPolicyIntervalSet implements DateVetoPolicy {
+
+  /** MINIMUM_EPOCH_DAY, This is the epoch day of LocalDate.MIN. */
+  private static final long MINIMUM_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+
+  /** MAXIMUM_EPOCH_DAY, This is the epoch day of LocalDate.MAX. */
+  private static final long MAXIMUM_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+  /**
+   * isSnapshot, This is true if this instance is an immutable snapshot. The vetoed intervals of a
+   * snapshot can not be changed.
+   */
+  private final boolean isSnapshot;
+
+  /**
+   * vetoedEpochDays, This holds the first and last epoch day of each vetoed interval, as pairs of
+   * values. The interval at index i starts at [2 * i], and ends at [2 * i + 1] (inclusive). The
+   * intervals are sorted, and they never overlap or touch each other. The array is never changed
+   * after it is created, so it can be shared with snapshots.
+   */
+  private volatile long[] vetoedEpochDays;
+
+  /** Constructor (Empty), This creates a veto policy that does not veto any dates. */
+  public DateVetoPolicyIntervalSet() {
+    this.isSnapshot = false;
+    this.vetoedEpochDays = new long[0];
+  }
+
+  /** Constructor (Normal), This creates a veto policy that vetoes the supplied date intervals. */
+  public DateVetoPolicyIntervalSet(Collection<DateInterval> vetoedIntervals) {
+    this.isSnapshot = false;
+    this.vetoedEpochDays = createMergedIntervals(new long[0], vetoedIntervals);
+  }
+
+  /** Constructor (Private), This creates a snapshot that uses the supplied interval array. */
+  private DateVetoPolicyIntervalSet(long[] vetoedEpochDays) {
+    this.isSnapshot = true;
+    this.vetoedEpochDays = vetoedEpochDays;
+  }
+
+  /**
+   * addVetoedIntervals, This adds the supplied date intervals to the vetoed intervals. This throws
+   * an exception if this instance is a snapshot.
+   */
+  public void addVetoedIntervals(Collection<DateInterval> vetoedIntervals) {
+    throwIfSnapshot("addVetoedIntervals");
+    vetoedEpochDays = createMergedIntervals(vetoedEpochDays, vetoedIntervals);
+  }
+
+  /**
+   * getIntervalCount, This returns the number of vetoed intervals, after overlapping and adjacent
+   * intervals have been merged.
+   */
+  public int getIntervalCount() {
+    return vetoedEpochDays.length / 2;
+  }
+
+  /**
+   * getSnapshot, This returns an immutable snapshot of the current vetoed intervals. Later changes
+   * to this policy do not change the snapshot. If this instance is already a snapshot, then this
+   * returns this instance.
+   */
+  public DateVetoPolicyIntervalSet getSnapshot() {
+    return (isSnapshot) ? this : new DateVetoPolicyIntervalSet(vetoedEpochDays);
+  }
+
+  /**
+   * getVetoedIntervals, This returns a list of the vetoed intervals, in ascending order, after
+   * overlapping and adjacent intervals have been merged. An interval that starts at LocalDate.MIN
+   * is returned with a null first date, and an interval that ends at LocalDate.MAX is returned with
+   * a null last date. Changing the returned list does not change this policy.
+   */
+  public ArrayList<DateInterval> getVetoedIntervals() {
+    long[] epochDays = vetoedEpochDays;
+    ArrayList<DateInterval> result = new ArrayList<>(epochDays.length / 2);
+    for (int i = 0; i < epochDays.length; i += 2) {
+      LocalDate firstDate =
+          (epochDays[i] == MINIMUM_EPOCH_DAY) ? null : LocalDate.ofEpochDay(epochDays[i]);
+      LocalDate lastDate =
+          (epochDays[i + 1] == MAXIMUM_EPOCH_DAY) ? null : LocalDate.ofEpochDay(epochDays[i + 1]);
+      result.add(new DateInterval(firstDate, lastDate));
+    }
+    return result;
+  }
+
+  /**
+   * isDateAllowed, This implements the DateVetoPolicy interface. This returns false if the date is
+   * inside any vetoed interval, otherwise this returns true. The value of null will never be passed
+   * to this function, under any case.
+   */
+  @Override
+  public boolean isDateAllowed(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    long[] epochDays = vetoedEpochDays;
+    int intervalIndex = findLastIntervalStartingOnOrBefore(epochDays, epochDay);
+    return (intervalIndex < 0) || (epochDays[(2 * intervalIndex) + 1] < epochDay);
+  }
+
+  /** isSnapshot, This returns true if this instance is an immutable snapshot. */
+  public boolean isSnapshot() {
+    return isSnapshot;
+  }
+
+  /**
+   * nextAllowedDate, This returns the first allowed date that is on or after the supplied date. If
+   * the supplied date is allowed, then the supplied date is returned. This returns null if every
+   * date from the supplied date to LocalDate.MAX is vetoed.
+   */
+  public LocalDate nextAllowedDate(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    long[] epochDays = vetoedEpochDays;
+    int intervalIndex = findLastIntervalStartingOnOrBefore(epochDays, epochDay);
+    if (intervalIndex < 0 || epochDays[(2 * intervalIndex) + 1] < epochDay) {
+      return date;
+    }
+    // Intervals never touch each other, so the day after a vetoed interval is always allowed.
+    long intervalLastDay = epochDays[(2 * intervalIndex) + 1];
+    return (intervalLastDay == MAXIMUM_EPOCH_DAY)
+        ? null
+        : LocalDate.ofEpochDay(intervalLastDay + 1);
+  }
+
+  /**
+   * previousAllowedDate, This returns the last allowed date that is on or before the supplied date.
+   * If the supplied date is allowed, then the supplied date is returned. This returns null if
+   * every date from LocalDate.MIN to the supplied date is vetoed.
+   */
+  public LocalDate previousAllowedDate(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    long[] epochDays = vetoedEpochDays;
+    int intervalIndex = findLastIntervalStartingOnOrBefore(epochDays, epochDay);
+    if (intervalIndex < 0 || epochDays[(2 * intervalIndex) + 1] < epochDay) {
+      return date;
+    }
+    // Intervals never touch each other, so the day before a vetoed interval is always allowed.
+    long intervalFirstDay = epochDays[2 * intervalIndex];
+    return (intervalFirstDay == MINIMUM_EPOCH_DAY)
+        ? null
+        : LocalDate.ofEpochDay(intervalFirstDay - 1);
+  }
+
+  /**
+   * setVetoedIntervals, This replaces all of the vetoed intervals with the supplied date intervals.
+   * This throws an exception if this instance is a snapshot.
+   */
+  public void setVetoedIntervals(Collection<DateInterval> vetoedIntervals) {
+    throwIfSnapshot("setVetoedIntervals");
+    vetoedEpochDays = createMergedIntervals(new long[0], vetoedIntervals);
+  }
+
+  /**
+   * createMergedIntervals, This returns a new sorted and merged interval array that contains the
+   * intervals of the existing interval array, and the supplied date intervals. The existing array
+   * is not changed.
+   */
+  private static long[] createMergedIntervals(
+      long[] existingEpochDays, Collection<DateInterval> addedIntervals) {
+    if (addedIntervals == null) {
+      throw new RuntimeException(
+          "DateVetoPolicyIntervalSet, The collection of vetoed intervals cannot be null.");
+    }
+    // Gather the first and last epoch day of every interval.
+    int existingCount = existingEpochDays.length / 2;
+    int maximumCount = existingCount + addedIntervals.size();
+    long[] firstDays = new long[maximumCount];
+    long[] lastDays = new long[maximumCount];
+    int count = 0;
+    for (; count < existingCount; ++count) {
+      firstDays[count] = existingEpochDays[2 * count];
+      lastDays[count] = existingEpochDays[(2 * count) + 1];
+    }
+    for (DateInterval interval : addedIntervals) {
+      if (interval == null) {
+        throw new RuntimeException(
+            "DateVetoPolicyIntervalSet, The vetoed intervals cannot contain a null interval.");
+      }
+      if (interval.isEmpty()) {
+        continue;
+      }
+      long firstDay =
+          (interval.firstDate == null) ? MINIMUM_EPOCH_DAY : interval.firstDate.toEpochDay();
+      long lastDay =
+          (interval.lastDate == null) ? MAXIMUM_EPOCH_DAY : interval.lastDate.toEpochDay();
+      if (lastDay < firstDay) {
+        throw new RuntimeException(
+            "DateVetoPolicyIntervalSet, The last date of a vetoed interval must be greater than"
+                + " or equal to the first date. Interval: "
+                + interval.firstDate
+                + " to "
+                + interval.lastDate);
+      }
+      firstDays[count] = firstDay;
+      lastDays[count] = lastDay;
+      ++count;
+    }
+    // Sort the intervals by their first day.
+    Integer[] order = new Integer[count];
+    for (int i = 0; i < count; ++i) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingLong(i -> firstDays[i]));
+    // Merge the intervals that overlap or touch each other.
+    long[] merged = new long[2 * count];
+    int mergedCount = 0;
+    for (int i = 0; i < count; ++i) {
+      long firstDay = firstDays[order[i]];
+      long lastDay = lastDays[order[i]];
+      if (mergedCount > 0 && firstDay <= merged[(2 * mergedCount) - 1] + 1) {
+        merged[(2 * mergedCount) - 1] = Math.max(merged[(2 * mergedCount) - 1], lastDay);
+      } else {
+        merged[2 * mergedCount] = firstDay;
+        merged[(2 * mergedCount) + 1] = lastDay;
+        ++mergedCount;
+      }
+    }
+    return Arrays.copyOf(merged, 2 * mergedCount);
+  }
+
+  /**
+   * findLastIntervalStartingOnOrBefore, This returns the index of the last interval in the
+   * supplied interval array that starts on or before the supplied epoch day, or -1 if every
+   * interval starts after that day. This uses a binary search.
+   */
+  private static int findLastIntervalStartingOnOrBefore(long[] epochDays, long epochDay) {
+    int low = 0;
+    int high = (epochDays.length / 2) - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      if (epochDays[2 * middle] <= epochDay) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return high;
+  }
+
+  /** throwIfSnapshot, This throws an exception if this instance is an immutable snapshot. */
+  private void throwIfSnapshot(String functionName) {
+    if (isSnapshot) {
+      throw new RuntimeException(
+          "DateVetoPolicyIntervalSet."
+              + functionName
+              + "(), The vetoed intervals of a snapshot cannot be changed.");
+    }
+  }
+}
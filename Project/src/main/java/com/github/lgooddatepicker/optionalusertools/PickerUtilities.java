@@ -22,6 +22,8 @@
  */
 package com.github.lgooddatepicker.optionalusertools;
 
+import com.github.lgooddatepicker.zinternaltools.NumericDateScanner;
+import com.github.lgooddatepicker.zinternaltools.NumericTimeScanner;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -59,6 +61,8 @@ public class PickerUtilities {
             .parseCaseInsensitive()
             .appendPattern(formatPattern)
             .toFormatter(locale);
+    NumericDateScanner.registerPatternForFormatter(formatter, formatPattern);
+    NumericTimeScanner.registerPatternForFormatter(formatter, formatPattern);
     return formatter;
   }
 
@@ -0,0 +1,253 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import com.github.lgooddatepicker.optionalusertools.AsyncDatePolicy;
+import com.github.lgooddatepicker.optionalusertools.DatePolicyMonthResults;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * AsyncPolicyResultLoader, This loads and remembers the month results of an AsyncDatePolicy. Each
+ * month is requested from the policy once, and the loaded results are kept until they are cleared.
+ * A bounded number of months are kept, and the least recently used month is removed when the limit
+ * is reached.
+ *
+ * <p>The owner tells the loader which months are currently needed, by calling loadMonths(). Any
+ * needed month that is not loaded or loading is requested from the policy. Any month that is still
+ * loading, but is no longer needed, is cancelled. The results of a cancelled or cleared request are
+ * ignored, even if they arrive later.
+ *
+ * <p>Finished requests are applied on the Swing event dispatch thread. The month loaded listener is
+ * then notified once for each loaded month, with that month, so that the owner can redraw.
+ *
+ * <p>This class is not thread safe. It is expected to be used on the Swing event dispatch thread.
+ */
+public class AsyncPolicyResultLoader {
+
+  /** MAXIMUM_LOADED_MONTHS, This is the largest number of months that are kept. */
+  private static final int MAXIMUM_LOADED_MONTHS = 120;
+
+  /**
+   * loadedMonths, This holds the results of each loaded month. The linked hash map is created in
+   * access order, so the eldest entry is always the least recently used month.
+   */
+  private final LinkedHashMap<YearMonth, DatePolicyMonthResults> loadedMonths =
+      new LinkedHashMap<YearMonth, DatePolicyMonthResults>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<YearMonth, DatePolicyMonthResults> eldest) {
+          return size() > MAXIMUM_LOADED_MONTHS;
+        }
+      };
+
+  /** pendingMonths, This holds the request future of each month that is currently loading. */
+  private final HashMap<YearMonth, CompletableFuture<DatePolicyMonthResults>> pendingMonths =
+      new HashMap<>();
+
+  /**
+   * lastUsedResults, This is the most recently used loaded month, or null. Consecutive lookups are
+   * usually for the same month, so this avoids creating a YearMonth key for each lookup.
+   */
+  private DatePolicyMonthResults lastUsedResults = null;
+
+  /**
+   * monthLoadedListener, This is notified with the loaded month each time that a month has been
+   * loaded. This is supplied with the most recent call to loadMonths(). This may be null.
+   */
+  private Consumer<YearMonth> monthLoadedListener = null;
+
+  /**
+   * loadMonths, This makes sure that the needed months are loaded or loading, and cancels any
+   * loading month that is not needed. Months are requested from the supplied policy. The supplied
+   * listener replaces any previous listener, and will be notified on the Swing event dispatch
+   * thread with the loaded month, each time that a month has been loaded.
+   */
+  public void loadMonths(
+      AsyncDatePolicy policy,
+      Collection<YearMonth> neededMonths,
+      Consumer<YearMonth> monthLoadedListener) {
+    this.monthLoadedListener = monthLoadedListener;
+    // Cancel the loading months that are no longer needed.
+    Iterator<Map.Entry<YearMonth, CompletableFuture<DatePolicyMonthResults>>> iterator =
+        pendingMonths.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<YearMonth, CompletableFuture<DatePolicyMonthResults>> entry = iterator.next();
+      if (!neededMonths.contains(entry.getKey())) {
+        entry.getValue().cancel(false);
+        iterator.remove();
+      }
+    }
+    // Request the needed months that are not loaded or loading.
+    for (YearMonth yearMonth : neededMonths) {
+      if (!loadedMonths.containsKey(yearMonth) && !pendingMonths.containsKey(yearMonth)) {
+        requestMonth(policy, yearMonth);
+      }
+    }
+  }
+
+  /**
+   * isMonthLoaded, This returns true if the results of the specified month have been loaded. Note
+   * that a month that failed to load counts as loaded, with no vetoed or highlighted dates.
+   */
+  public boolean isMonthLoaded(YearMonth yearMonth) {
+    return getLoadedResultsOrNull(yearMonth.atDay(1)) != null;
+  }
+
+  /**
+   * isDateVetoed, This returns true if the specified date is vetoed by the loaded results of its
+   * month. This returns false if the month has not been loaded.
+   */
+  public boolean isDateVetoed(LocalDate date) {
+    DatePolicyMonthResults results = getLoadedResultsOrNull(date);
+    return (results != null) && results.isDateVetoed(date);
+  }
+
+  /**
+   * getHighlightInformationOrNull, This returns the highlight information of the specified date
+   * from the loaded results of its month. This returns null if the month has not been loaded.
+   */
+  public HighlightInformation getHighlightInformationOrNull(LocalDate date) {
+    DatePolicyMonthResults results = getLoadedResultsOrNull(date);
+    return (results == null) ? null : results.getHighlightInformationOrNull(date);
+  }
+
+  /** cancelLoading, This cancels all the months that are currently loading. */
+  public void cancelLoading() {
+    for (CompletableFuture<DatePolicyMonthResults> future : pendingMonths.values()) {
+      future.cancel(false);
+    }
+    pendingMonths.clear();
+  }
+
+  /** clear, This cancels all the loading months, and removes all the loaded results. */
+  public void clear() {
+    cancelLoading();
+    loadedMonths.clear();
+    lastUsedResults = null;
+  }
+
+  /**
+   * clear, This removes the loaded results of every month that contains any of the dates from
+   * firstDate to lastDate (inclusive), and cancels the loading of those months. If either date is
+   * null, then the range is open on that side. The removed months will be requested again the next
+   * time they are needed.
+   */
+  public void clear(LocalDate firstDate, LocalDate lastDate) {
+    YearMonth firstMonth = (firstDate == null) ? null : YearMonth.from(firstDate);
+    YearMonth lastMonth = (lastDate == null) ? null : YearMonth.from(lastDate);
+    lastUsedResults = null;
+    loadedMonths.keySet().removeIf(yearMonth -> isInRange(yearMonth, firstMonth, lastMonth));
+    Iterator<Map.Entry<YearMonth, CompletableFuture<DatePolicyMonthResults>>> iterator =
+        pendingMonths.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<YearMonth, CompletableFuture<DatePolicyMonthResults>> entry = iterator.next();
+      if (isInRange(entry.getKey(), firstMonth, lastMonth)) {
+        entry.getValue().cancel(false);
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * isInRange, This returns true if the month is inside the month range. A null range bound is
+   * open.
+   */
+  private static boolean isInRange(YearMonth yearMonth, YearMonth firstMonth, YearMonth lastMonth) {
+    return (firstMonth == null || !yearMonth.isBefore(firstMonth))
+        && (lastMonth == null || !yearMonth.isAfter(lastMonth));
+  }
+
+  /**
+   * getLoadedResultsOrNull, This returns the loaded results of the month of the supplied date, or
+   * null if that month has not been loaded.
+   */
+  private DatePolicyMonthResults getLoadedResultsOrNull(LocalDate date) {
+    if (lastUsedResults != null
+        && lastUsedResults.getYearMonth().getYear() == date.getYear()
+        && lastUsedResults.getYearMonth().getMonthValue() == date.getMonthValue()) {
+      return lastUsedResults;
+    }
+    DatePolicyMonthResults results = loadedMonths.get(YearMonth.from(date));
+    if (results != null) {
+      lastUsedResults = results;
+    }
+    return results;
+  }
+
+  /**
+   * requestMonth, This requests the results of one month from the policy. When the request is
+   * finished, the results are applied on the Swing event dispatch thread.
+   */
+  private void requestMonth(AsyncDatePolicy policy, YearMonth yearMonth) {
+    CompletableFuture<DatePolicyMonthResults> future;
+    try {
+      future = policy.loadMonth(yearMonth);
+    } catch (RuntimeException ex) {
+      future = new CompletableFuture<>();
+      future.completeExceptionally(ex);
+    }
+    if (future == null) {
+      future = CompletableFuture.completedFuture(null);
+    }
+    final CompletableFuture<DatePolicyMonthResults> requestFuture = future;
+    pendingMonths.put(yearMonth, requestFuture);
+    requestFuture.whenComplete(
+        (results, error) ->
+            SwingUtilities.invokeLater(
+                () -> zRequestFinished(yearMonth, requestFuture, results, error)));
+  }
+
+  /**
+   * zRequestFinished, This is called on the Swing event dispatch thread when a month request is
+   * finished. The results are ignored if the request was cancelled or cleared. Results that are
+   * missing, failed, or for a different month, are replaced with empty results.
+   */
+  private void zRequestFinished(
+      YearMonth yearMonth,
+      CompletableFuture<DatePolicyMonthResults> requestFuture,
+      DatePolicyMonthResults results,
+      Throwable error) {
+    if (pendingMonths.get(yearMonth) != requestFuture) {
+      return;
+    }
+    pendingMonths.remove(yearMonth);
+    boolean isUsable =
+        (error == null) && (results != null) && yearMonth.equals(results.getYearMonth());
+    DatePolicyMonthResults loadedResults =
+        (isUsable) ? results : new DatePolicyMonthResults(yearMonth);
+    // The results are read on this thread from now on, so the policy may not change them anymore.
+    loadedResults.freeze();
+    loadedMonths.put(yearMonth, loadedResults);
+    if (monthLoadedListener != null) {
+      monthLoadedListener.accept(yearMonth);
+    }
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.event.MouseEvent;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import javax.swing.JComponent;
+import javax.swing.ToolTipManager;
+import javax.swing.UIManager;
+
+/**
+ * CalendarDateGrid, This is a lightweight component that paints all the date cells of a calendar
+ * panel, as an alternative to using one JLabel for each date cell. The grid has six rows of seven
+ * cells. Each cell is painted from a CalendarLabelState, so a cell looks the same as a date label
+ * with that state: an opaque background, an optional one pixel line border, and centered text.
+ *
+ * <p>Mouse clicks and tooltips are handled by the grid itself. The grid finds the cell under the
+ * mouse pointer with getCellIndexAt(), and reports clicks on a cell to the cell click listener.
+ *
+ * <p>Using a single component for all cells reduces the number of components in a calendar panel
+ * by 41, and removes the 42 date label mouse listeners. This reduces the cost of laying out and
+ * repainting calendar panels, which matters when many calendar panels are displayed at once. When
+ * a cell state is changed, only that cell is repainted.
+ */
+public class CalendarDateGrid extends JComponent {
+
+  /** COLUMN_COUNT, This is the number of cell columns in the grid. */
+  private static final int COLUMN_COUNT = 7;
+
+  /**
+   * cellClickListener, This is notified with the cell index whenever the user clicks on a cell.
+   * Clicks on blank cells are reported too.
+   */
+  private final IntConsumer cellClickListener;
+
+  /** cells, This holds the state of each cell. The first cell is at index zero. */
+  private final CalendarLabelState[] cells = new CalendarLabelState[MonthGrid.CELL_COUNT];
+
+  /**
+   * Constructor, This creates a date grid with blank cells. The cell click listener will be
+   * notified with the cell index whenever the user clicks on a cell.
+   */
+  public CalendarDateGrid(IntConsumer cellClickListener) {
+    this.cellClickListener = cellClickListener;
+    for (int i = 0; i < cells.length; ++i) {
+      cells[i] = new CalendarLabelState();
+    }
+    setOpaque(true);
+    addMouseListener(
+        new MouseLiberalAdapter() {
+          @Override
+          public void mouseLiberalClick(MouseEvent e) {
+            int cellIndex = getCellIndexAt(e.getPoint());
+            if (cellIndex >= 0) {
+              CalendarDateGrid.this.cellClickListener.accept(cellIndex);
+            }
+          }
+        });
+    ToolTipManager.sharedInstance().registerComponent(this);
+  }
+
+  /**
+   * getCellBounds, This returns the bounds of the cell with the supplied index, in the coordinates
+   * of this component. The component width and height are divided as evenly as possible between
+   * the columns and rows.
+   */
+  public Rectangle getCellBounds(int cellIndex) {
+    int column = cellIndex % COLUMN_COUNT;
+    int row = cellIndex / COLUMN_COUNT;
+    int x = (getWidth() * column) / COLUMN_COUNT;
+    int y = (getHeight() * row) / MonthGrid.ROW_COUNT;
+    int nextX = (getWidth() * (column + 1)) / COLUMN_COUNT;
+    int nextY = (getHeight() * (row + 1)) / MonthGrid.ROW_COUNT;
+    return new Rectangle(x, y, nextX - x, nextY - y);
+  }
+
+  /**
+   * getCellIndexAt, This returns the index of the cell that contains the supplied point, or -1 if
+   * the point is outside of this component.
+   */
+  public int getCellIndexAt(Point point) {
+    if (point.x < 0 || point.y < 0 || point.x >= getWidth() || point.y >= getHeight()) {
+      return -1;
+    }
+    int column = ((point.x + 1) * COLUMN_COUNT - 1) / getWidth();
+    int row = ((point.y + 1) * MonthGrid.ROW_COUNT - 1) / getHeight();
+    return (row * COLUMN_COUNT) + column;
+  }
+
+  /** getCellText, This returns the text of the cell with the supplied index. */
+  public String getCellText(int cellIndex) {
+    return cells[cellIndex].text;
+  }
+
+  /**
+   * getCellStateCopy, This returns a copy of the state of the cell with the supplied index.
+   * Changing the copy does not change the cell.
+   */
+  public CalendarLabelState getCellStateCopy(int cellIndex) {
+    CalendarLabelState copy = new CalendarLabelState();
+    copyState(cells[cellIndex], copy);
+    return copy;
+  }
+
+  /**
+   * getPreferredCellSize, This returns the size that a date label would prefer for the longest day
+   * number text, in the font of the supplied cell.
+   */
+  public Dimension getPreferredCellSize(int cellIndex) {
+    Font font = (cells[cellIndex].font == null) ? getFont() : cells[cellIndex].font;
+    int width = TextMetricsCache.getStringWidth(font, "30");
+    int height = TextMetricsCache.getFontHeight(font);
+    // Add the width and height of the one pixel border on each side.
+    return new Dimension(width + 2, height + 2);
+  }
+
+  /** getPreferredSize, This returns the size that fits the preferred size of all cells. */
+  @Override
+  public Dimension getPreferredSize() {
+    if (isPreferredSizeSet()) {
+      return super.getPreferredSize();
+    }
+    Dimension cellSize = getPreferredCellSize(0);
+    return new Dimension(cellSize.width * COLUMN_COUNT, cellSize.height * MonthGrid.ROW_COUNT);
+  }
+
+  /**
+   * getToolTipText, This returns the tooltip text of the cell under the mouse pointer, or null if
+   * that cell has no tooltip.
+   */
+  @Override
+  public String getToolTipText(MouseEvent event) {
+    int cellIndex = getCellIndexAt(event.getPoint());
+    return (cellIndex < 0) ? null : cells[cellIndex].tooltipText;
+  }
+
+  /**
+   * setCellState, This sets the state of the cell with the supplied index. The state is copied, so
+   * the supplied instance can be reused by the caller. The cell is only repainted if the new state
+   * differs from the current state.
+   */
+  public void setCellState(int cellIndex, CalendarLabelState state) {
+    CalendarLabelState cell = cells[cellIndex];
+    if (isSameState(cell, state)) {
+      return;
+    }
+    copyState(state, cell);
+    repaint(getCellBounds(cellIndex));
+  }
+
+  /** paintComponent, This paints all the cells that intersect the clip bounds. */
+  @Override
+  protected void paintComponent(Graphics g) {
+    Graphics2D g2 = (Graphics2D) g.create();
+    try {
+      applyTextRenderingHints(g2);
+      Rectangle clip = g2.getClipBounds();
+      Color disabledTextColor = getDisabledTextColor();
+      for (int cellIndex = 0; cellIndex < cells.length; ++cellIndex) {
+        Rectangle bounds = getCellBounds(cellIndex);
+        if (clip != null && !clip.intersects(bounds)) {
+          continue;
+        }
+        paintCell(g2, cells[cellIndex], bounds, this, disabledTextColor);
+      }
+    } finally {
+      g2.dispose();
+    }
+  }
+
+  /**
+   * applyTextRenderingHints, This applies the same text antialiasing to the supplied graphics, as
+   * the look and feel uses for labels.
+   */
+  public static void applyTextRenderingHints(Graphics2D g2) {
+    Map<?, ?> desktopHints =
+        (Map<?, ?>) Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+    if (desktopHints != null) {
+      g2.addRenderingHints(desktopHints);
+    } else {
+      g2.setRenderingHint(
+          RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    }
+  }
+
+  /**
+   * getDisabledTextColor, This returns the text color that the look and feel uses for disabled
+   * labels.
+   */
+  public static Color getDisabledTextColor() {
+    Color disabledTextColor = UIManager.getColor("Label.disabledForeground");
+    return (disabledTextColor == null) ? Color.gray : disabledTextColor;
+  }
+
+  /**
+   * paintCell, This paints a single cell in the supplied bounds. Any null colors or font in the
+   * cell state are replaced with the colors or font of the supplied component.
+   */
+  public static void paintCell(
+      Graphics2D g2,
+      CalendarLabelState cell,
+      Rectangle bounds,
+      JComponent component,
+      Color disabledTextColor) {
+    Color background =
+        (cell.colorBackground == null) ? component.getBackground() : cell.colorBackground;
+    if (background != null) {
+      g2.setColor(background);
+      g2.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+    if (cell.colorLineBorder != null) {
+      g2.setColor(cell.colorLineBorder);
+      g2.drawRect(bounds.x, bounds.y, bounds.width - 1, bounds.height - 1);
+    }
+    if (cell.text == null || cell.text.isEmpty()) {
+      return;
+    }
+    Font font = (cell.font == null) ? component.getFont() : cell.font;
+    if (font == null) {
+      return;
+    }
+    g2.setFont(font);
+    FontMetrics metrics = g2.getFontMetrics(font);
+    int textX = bounds.x + ((bounds.width - metrics.stringWidth(cell.text)) / 2);
+    int textY = bounds.y + ((bounds.height - metrics.getHeight()) / 2) + metrics.getAscent();
+    Color foreground = (cell.colorText == null) ? component.getForeground() : cell.colorText;
+    g2.setColor((cell.enabled) ? foreground : disabledTextColor);
+    g2.drawString(cell.text, textX, textY);
+  }
+
+  /** copyState, This copies all the fields of the source state to the target state. */
+  private static void copyState(CalendarLabelState source, CalendarLabelState target) {
+    target.text = source.text;
+    target.colorBackground = source.colorBackground;
+    target.colorText = source.colorText;
+    target.font = source.font;
+    target.colorLineBorder = source.colorLineBorder;
+    target.enabled = source.enabled;
+    target.tooltipText = source.tooltipText;
+  }
+
+  /** isSameState, This returns true if all the fields of the two states are equal. */
+  private static boolean isSameState(CalendarLabelState first, CalendarLabelState second) {
+    return InternalUtilities.areObjectsEqual(first.text, second.text)
+        && InternalUtilities.areObjectsEqual(first.colorBackground, second.colorBackground)
+        && InternalUtilities.areObjectsEqual(first.colorText, second.colorText)
+        && InternalUtilities.areObjectsEqual(first.font, second.font)
+        && InternalUtilities.areObjectsEqual(first.colorLineBorder, second.colorLineBorder)
+        && first.enabled == second.enabled
+        && InternalUtilities.areObjectsEqual(first.tooltipText, second.tooltipText);
+  }
+}
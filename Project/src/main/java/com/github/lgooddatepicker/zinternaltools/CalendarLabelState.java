@@ -0,0 +1,182 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.awt.Color;
+import java.awt.Font;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.border.Border;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import javax.swing.plaf.UIResource;
+
+/**
+ * CalendarLabelState, This holds the visual state of a label in a calendar panel: the text, the
+ * colors, the font, the border, the enabled state, and the tooltip. The calendar panel fills out a
+ * state for each label while drawing, and then applies it to the label.
+ *
+ * <p>Applying a state only calls the Swing setters for the properties that differ from the current
+ * properties of the label. Each Swing setter can fire a property change event, revalidate the
+ * label, and schedule a repaint, even when the new value equals the old value. (For example, a new
+ * border instance always revalidates the label, and a tooltip is always registered again with the
+ * tooltip manager.) Skipping unchanged properties makes redrawing cheap when only a few labels
+ * have changed, such as when the selected date is moved.
+ *
+ * <p>The previous state of a label is read from the label itself, rather than from a saved copy.
+ * This keeps the comparison correct when other code has changed a label, such as the hover
+ * indicators of the calendar panel.
+ *
+ * <p>The static functions of this class apply the same comparison to single properties of any
+ * component.
+ */
+public class CalendarLabelState {
+
+  /**
+   * plainDateBorder, This is the border that is used for any date label that does not have a line
+   * border. Borders are immutable, so one instance can be shared by all labels.
+   */
+  private static final Border plainDateBorder = new EmptyBorder(1, 1, 1, 1);
+
+  /** text, This is the text of the label. */
+  public String text = "";
+
+  /** colorBackground, This is the background color of the label. */
+  public Color colorBackground = null;
+
+  /** colorText, This is the foreground (text) color of the label. */
+  public Color colorText = null;
+
+  /** font, This is the font of the label. */
+  public Font font = null;
+
+  /**
+   * colorLineBorder, This is the color of a one pixel line border around the label. If this is
+   * null, the label will have an empty one pixel border.
+   */
+  public Color colorLineBorder = null;
+
+  /** enabled, This indicates if the label is enabled. */
+  public boolean enabled = true;
+
+  /** tooltipText, This is the tooltip text of the label. If this is null, there is no tooltip. */
+  public String tooltipText = null;
+
+  /**
+   * applyTo, This applies this state to the supplied label. Only the properties that differ from
+   * the current properties of the label will be set.
+   */
+  public void applyTo(JLabel label) {
+    setTextIfChanged(label, text);
+    setBackgroundIfChanged(label, colorBackground);
+    setForegroundIfChanged(label, colorText);
+    setFontIfChanged(label, font);
+    Border currentBorder = label.getBorder();
+    if (colorLineBorder == null) {
+      if (currentBorder != plainDateBorder) {
+        label.setBorder(plainDateBorder);
+      }
+    } else if (!isOnePixelLineBorder(currentBorder, colorLineBorder)) {
+      label.setBorder(new LineBorder(colorLineBorder));
+    }
+    if (label.isEnabled() != enabled) {
+      label.setEnabled(enabled);
+    }
+    if (!InternalUtilities.areObjectsEqual(label.getToolTipText(), tooltipText)) {
+      label.setToolTipText(tooltipText);
+    }
+  }
+
+  /**
+   * isOnePixelLineBorder, This returns true if the supplied border is a square, one pixel line
+   * border of the supplied color.
+   */
+  private static boolean isOnePixelLineBorder(Border border, Color color) {
+    if (border == null || border.getClass() != LineBorder.class) {
+      return false;
+    }
+    LineBorder lineBorder = (LineBorder) border;
+    return lineBorder.getThickness() == 1
+        && !lineBorder.getRoundedCorners()
+        && color.equals(lineBorder.getLineColor());
+  }
+
+  /**
+   * isSameExplicitValue, This returns true if the current value of a color or font property equals
+   * the new value, and the current value was not installed by the look and feel. Values from the
+   * look and feel are replaced when the look and feel is changed, so they are always overwritten.
+   */
+  private static boolean isSameExplicitValue(Object currentValue, Object newValue) {
+    return InternalUtilities.areObjectsEqual(currentValue, newValue)
+        && !(currentValue instanceof UIResource);
+  }
+
+  /**
+   * setBackgroundIfChanged, This sets the background color of a component, unless the component
+   * already has that background color. A background color that is inherited from the parent
+   * component does not count as the current color.
+   */
+  public static void setBackgroundIfChanged(JComponent component, Color color) {
+    if (!component.isBackgroundSet() || !isSameExplicitValue(component.getBackground(), color)) {
+      component.setBackground(color);
+    }
+  }
+
+  /**
+   * setForegroundIfChanged, This sets the foreground color of a component, unless the component
+   * already has that foreground color. A foreground color that is inherited from the parent
+   * component does not count as the current color.
+   */
+  public static void setForegroundIfChanged(JComponent component, Color color) {
+    if (!component.isForegroundSet() || !isSameExplicitValue(component.getForeground(), color)) {
+      component.setForeground(color);
+    }
+  }
+
+  /**
+   * setFontIfChanged, This sets the font of a component, unless the component already has an equal
+   * font. A font that is inherited from the parent component does not count as the current font.
+   */
+  public static void setFontIfChanged(JComponent component, Font font) {
+    if (!component.isFontSet() || !isSameExplicitValue(component.getFont(), font)) {
+      component.setFont(font);
+    }
+  }
+
+  /** setTextIfChanged, This sets the text of a label, unless the label already has that text. */
+  public static void setTextIfChanged(JLabel label, String text) {
+    if (!InternalUtilities.areObjectsEqual(label.getText(), text)) {
+      label.setText(text);
+    }
+  }
+
+  /**
+   * setVisibleIfChanged, This sets the visibility of a component, unless the component already has
+   * that visibility.
+   */
+  public static void setVisibleIfChanged(JComponent component, boolean visible) {
+    if (component.isVisible() != visible) {
+      component.setVisible(visible);
+    }
+  }
+}
@@ -0,0 +1,538 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * DateBitSet, This is a compact set of dates. Each date is stored as one bit, at the index of its
+ * epoch day. This is used by DatePolicyBitSet to store the allowed dates and the highlighted dates.
+ *
+ * <p>The epoch days are divided into chunks of 4096 days (about 11 years). Only the chunks that
+ * contain dates are stored. Each chunk uses the smallest of three forms, similar to a "roaring"
+ * bitmap:
+ *
+ * <p>1) Array chunks hold a sorted array of the day offsets in the chunk. These are used for chunks
+ * with few dates, and use two bytes per date. 2) Bitmap chunks hold one bit for every day in the
+ * chunk, using 512 bytes. 3) Full chunks contain every day of the chunk, and do not store any
+ * array.
+ *
+ * <p>Finding the chunk of a date uses a binary search over the chunk keys, after checking the most
+ * recently used chunk. A century of dates fits in ten chunks, so lookups take nearly constant
+ * time. Ranges and whole sets are added or removed one chunk at a time.
+ *
+ * <p>This class is not thread safe. Any number of threads can read from a set, as long as the set
+ * is not changed at the same time.
+ */
+public class DateBitSet {
+
+  /** CHUNK_BITS, This is the number of low bits of an epoch day that select a day in a chunk. */
+  private static final int CHUNK_BITS = 12;
+
+  /** CHUNK_SIZE, This is the number of days in each chunk. */
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+  /** WORD_COUNT, This is the number of long words in a bitmap chunk. */
+  private static final int WORD_COUNT = CHUNK_SIZE / 64;
+
+  /**
+   * ARRAY_LIMIT, This is the largest number of dates in an array chunk. At this size, the array
+   * uses the same memory as a bitmap. Bitmap chunks are converted back to array chunks when they
+   * shrink to half of this size, so that a chunk does not switch forms on every change.
+   */
+  private static final int ARRAY_LIMIT = WORD_COUNT * 4;
+
+  /**
+   * MAXIMUM_RANGE_DAYS, This is the largest number of days that can be added with one call to
+   * addRange(). This is about 45,000 years. This limit keeps the number of chunks reasonable.
+   */
+  public static final long MAXIMUM_RANGE_DAYS = 1L << 24;
+
+  /** chunkCount, This is the number of stored chunks. */
+  private int chunkCount = 0;
+
+  /** chunkKeys, This holds the key (the epoch day divided by CHUNK_SIZE) of each stored chunk. */
+  private long[] chunkKeys = new long[4];
+
+  /** chunks, This holds each stored chunk, in the same order as the sorted chunk keys. */
+  private Chunk[] chunks = new Chunk[4];
+
+  /** lastUsedChunkIndex, This is the index of the most recently found chunk, or -1. */
+  private int lastUsedChunkIndex = -1;
+
+  /** size, This is the number of dates in the set. */
+  private long size = 0;
+
+  /** add, This adds the date to the set. This returns true if the set did not contain the date. */
+  public boolean add(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    int added = getOrCreateChunk(getChunkKey(epochDay)).add(getDayOffset(epochDay));
+    size += added;
+    return added != 0;
+  }
+
+  /** addAll, This adds every date of the supplied set to this set. */
+  public void addAll(DateBitSet other) {
+    if (other == this) {
+      return;
+    }
+    for (int i = 0; i < other.chunkCount; ++i) {
+      size += getOrCreateChunk(other.chunkKeys[i]).addAll(other.chunks[i]);
+    }
+  }
+
+  /**
+   * addRange, This adds every date from firstDate to lastDate (inclusive) to the set. The range can
+   * hold at most MAXIMUM_RANGE_DAYS days.
+   */
+  public void addRange(LocalDate firstDate, LocalDate lastDate) {
+    long firstDay = firstDate.toEpochDay();
+    long lastDay = lastDate.toEpochDay();
+    if (lastDay < firstDay) {
+      throw new RuntimeException(
+          "DateBitSet.addRange(), The lastDate must be greater than or equal to the firstDate.");
+    }
+    if (lastDay - firstDay + 1 > MAXIMUM_RANGE_DAYS) {
+      throw new RuntimeException(
+          "DateBitSet.addRange(), The range cannot hold more than "
+              + MAXIMUM_RANGE_DAYS
+              + " days.");
+    }
+    for (long key = getChunkKey(firstDay); key <= getChunkKey(lastDay); ++key) {
+      int fromOffset = (key == getChunkKey(firstDay)) ? getDayOffset(firstDay) : 0;
+      int toOffset = (key == getChunkKey(lastDay)) ? getDayOffset(lastDay) : CHUNK_SIZE - 1;
+      size += getOrCreateChunk(key).addRange(fromOffset, toOffset);
+    }
+  }
+
+  /** clear, This removes all the dates from the set. */
+  public void clear() {
+    Arrays.fill(chunks, 0, chunkCount, null);
+    chunkCount = 0;
+    lastUsedChunkIndex = -1;
+    size = 0;
+  }
+
+  /** contains, This returns true if the set contains the date. */
+  public boolean contains(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    int chunkIndex = findChunkIndex(getChunkKey(epochDay));
+    return (chunkIndex >= 0) && chunks[chunkIndex].contains(getDayOffset(epochDay));
+  }
+
+  /** isEmpty, This returns true if the set contains no dates. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * remove, This removes the date from the set. This returns true if the set contained the date.
+   */
+  public boolean remove(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    int chunkIndex = findChunkIndex(getChunkKey(epochDay));
+    if (chunkIndex < 0) {
+      return false;
+    }
+    int removed = chunks[chunkIndex].remove(getDayOffset(epochDay));
+    size -= removed;
+    removeChunkIfEmpty(chunkIndex);
+    return removed != 0;
+  }
+
+  /** removeAll, This removes every date of the supplied set from this set. */
+  public void removeAll(DateBitSet other) {
+    if (other == this) {
+      clear();
+      return;
+    }
+    for (int i = 0; i < other.chunkCount; ++i) {
+      int chunkIndex = findChunkIndex(other.chunkKeys[i]);
+      if (chunkIndex >= 0) {
+        size -= chunks[chunkIndex].removeAll(other.chunks[i]);
+        removeChunkIfEmpty(chunkIndex);
+      }
+    }
+  }
+
+  /**
+   * removeRange, This removes every date from firstDate to lastDate (inclusive) from the set. The
+   * range can have any length, because only the stored chunks in the range are visited.
+   */
+  public void removeRange(LocalDate firstDate, LocalDate lastDate) {
+    long firstDay = firstDate.toEpochDay();
+    long lastDay = lastDate.toEpochDay();
+    if (lastDay < firstDay) {
+      throw new RuntimeException(
+          "DateBitSet.removeRange(), The lastDate must be greater than or equal to the firstDate.");
+    }
+    long firstKey = getChunkKey(firstDay);
+    long lastKey = getChunkKey(lastDay);
+    int chunkIndex = Arrays.binarySearch(chunkKeys, 0, chunkCount, firstKey);
+    chunkIndex = (chunkIndex >= 0) ? chunkIndex : (-chunkIndex - 1);
+    while (chunkIndex < chunkCount && chunkKeys[chunkIndex] <= lastKey) {
+      long key = chunkKeys[chunkIndex];
+      int fromOffset = (key == firstKey) ? getDayOffset(firstDay) : 0;
+      int toOffset = (key == lastKey) ? getDayOffset(lastDay) : CHUNK_SIZE - 1;
+      size -= chunks[chunkIndex].removeRange(fromOffset, toOffset);
+      if (!removeChunkIfEmpty(chunkIndex)) {
+        ++chunkIndex;
+      }
+    }
+  }
+
+  /** size, This returns the number of dates in the set. */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * findChunkIndex, This returns the index of the chunk with the supplied key, or -1 if that chunk
+   * is not stored.
+   */
+  private int findChunkIndex(long key) {
+    int lastIndex = lastUsedChunkIndex;
+    if (lastIndex >= 0 && lastIndex < chunkCount && chunkKeys[lastIndex] == key) {
+      return lastIndex;
+    }
+    int chunkIndex = Arrays.binarySearch(chunkKeys, 0, chunkCount, key);
+    if (chunkIndex < 0) {
+      return -1;
+    }
+    lastUsedChunkIndex = chunkIndex;
+    return chunkIndex;
+  }
+
+  /**
+   * getChunkKey, This returns the key of the chunk that holds the epoch day. The arithmetic shift
+   * rounds negative epoch days down, so that every chunk holds CHUNK_SIZE days.
+   */
+  private static long getChunkKey(long epochDay) {
+    return epochDay >> CHUNK_BITS;
+  }
+
+  /** getDayOffset, This returns the offset of the epoch day inside of its chunk. */
+  private static int getDayOffset(long epochDay) {
+    return (int) (epochDay & (CHUNK_SIZE - 1));
+  }
+
+  /** getOrCreateChunk, This returns the chunk with the supplied key, creating it if needed. */
+  private Chunk getOrCreateChunk(long key) {
+    int chunkIndex = findChunkIndex(key);
+    if (chunkIndex >= 0) {
+      return chunks[chunkIndex];
+    }
+    int insertIndex = -Arrays.binarySearch(chunkKeys, 0, chunkCount, key) - 1;
+    if (chunkCount == chunkKeys.length) {
+      chunkKeys = Arrays.copyOf(chunkKeys, chunkCount * 2);
+      chunks = Arrays.copyOf(chunks, chunkCount * 2);
+    }
+    System.arraycopy(chunkKeys, insertIndex, chunkKeys, insertIndex + 1, chunkCount - insertIndex);
+    System.arraycopy(chunks, insertIndex, chunks, insertIndex + 1, chunkCount - insertIndex);
+    Chunk chunk = new Chunk();
+    chunkKeys[insertIndex] = key;
+    chunks[insertIndex] = chunk;
+    ++chunkCount;
+    lastUsedChunkIndex = insertIndex;
+    return chunk;
+  }
+
+  /**
+   * removeChunkIfEmpty, This removes the chunk at the supplied index if it holds no dates. This
+   * returns true if the chunk was removed.
+   */
+  private boolean removeChunkIfEmpty(int chunkIndex) {
+    if (chunks[chunkIndex].cardinality != 0) {
+      return false;
+    }
+    int movedCount = chunkCount - chunkIndex - 1;
+    System.arraycopy(chunkKeys, chunkIndex + 1, chunkKeys, chunkIndex, movedCount);
+    System.arraycopy(chunks, chunkIndex + 1, chunks, chunkIndex, movedCount);
+    --chunkCount;
+    chunks[chunkCount] = null;
+    lastUsedChunkIndex = -1;
+    return true;
+  }
+
+  /**
+   * Chunk, This holds the dates of one chunk of CHUNK_SIZE days. A chunk is an array chunk when
+   * "offsets" is not null, a bitmap chunk when "words" is not null, or a full chunk when both are
+   * null. The functions that change a chunk return the number of dates that were added or removed.
+   */
+  private static final class Chunk {
+
+    /** offsets, This holds the sorted day offsets of an array chunk, or null. */
+    private char[] offsets = new char[4];
+
+    /** words, This holds the day bits of a bitmap chunk, or null. */
+    private long[] words = null;
+
+    /** cardinality, This is the number of dates in the chunk. */
+    private int cardinality = 0;
+
+    /** add, This adds the day offset to the chunk. */
+    private int add(int offset) {
+      if (words != null) {
+        long mask = 1L << offset;
+        if ((words[offset >>> 6] & mask) != 0) {
+          return 0;
+        }
+        words[offset >>> 6] |= mask;
+        ++cardinality;
+        normalize();
+        return 1;
+      }
+      if (offsets == null) {
+        return 0;
+      }
+      int index = Arrays.binarySearch(offsets, 0, cardinality, (char) offset);
+      if (index >= 0) {
+        return 0;
+      }
+      if (cardinality >= ARRAY_LIMIT) {
+        convertToBitmap();
+        return add(offset);
+      }
+      index = -index - 1;
+      if (cardinality == offsets.length) {
+        offsets = Arrays.copyOf(offsets, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+      }
+      System.arraycopy(offsets, index, offsets, index + 1, cardinality - index);
+      offsets[index] = (char) offset;
+      ++cardinality;
+      return 1;
+    }
+
+    /** addAll, This adds every day of the other chunk to this chunk. */
+    private int addAll(Chunk other) {
+      int oldCardinality = cardinality;
+      if (other.offsets != null) {
+        for (int i = 0; i < other.cardinality; ++i) {
+          add(other.offsets[i]);
+        }
+      } else if (other.words != null) {
+        if (words == null) {
+          convertToBitmap();
+        }
+        for (int i = 0; i < WORD_COUNT; ++i) {
+          words[i] |= other.words[i];
+        }
+        countWordsAndNormalize();
+      } else {
+        setFull();
+      }
+      return cardinality - oldCardinality;
+    }
+
+    /** addRange, This adds the day offsets from fromOffset to toOffset (inclusive). */
+    private int addRange(int fromOffset, int toOffset) {
+      int oldCardinality = cardinality;
+      if (offsets != null && cardinality + (toOffset - fromOffset + 1) <= ARRAY_LIMIT) {
+        for (int offset = fromOffset; offset <= toOffset; ++offset) {
+          add(offset);
+        }
+        return cardinality - oldCardinality;
+      }
+      if (offsets == null && words == null) {
+        return 0;
+      }
+      if (words == null) {
+        convertToBitmap();
+      }
+      setWordRange(fromOffset, toOffset, true);
+      normalize();
+      return cardinality - oldCardinality;
+    }
+
+    /** contains, This returns true if the chunk contains the day offset. */
+    private boolean contains(int offset) {
+      if (words != null) {
+        return (words[offset >>> 6] & (1L << offset)) != 0;
+      }
+      if (offsets != null) {
+        return Arrays.binarySearch(offsets, 0, cardinality, (char) offset) >= 0;
+      }
+      return true;
+    }
+
+    /** remove, This removes the day offset from the chunk. */
+    private int remove(int offset) {
+      if (offsets != null) {
+        int index = Arrays.binarySearch(offsets, 0, cardinality, (char) offset);
+        if (index < 0) {
+          return 0;
+        }
+        System.arraycopy(offsets, index + 1, offsets, index, cardinality - index - 1);
+        --cardinality;
+        return 1;
+      }
+      if (words == null) {
+        convertToBitmap();
+      }
+      long mask = 1L << offset;
+      if ((words[offset >>> 6] & mask) == 0) {
+        return 0;
+      }
+      words[offset >>> 6] &= ~mask;
+      --cardinality;
+      normalize();
+      return 1;
+    }
+
+    /** removeAll, This removes every day of the other chunk from this chunk. */
+    private int removeAll(Chunk other) {
+      int oldCardinality = cardinality;
+      if (offsets != null) {
+        int keptCount = 0;
+        for (int i = 0; i < cardinality; ++i) {
+          if (!other.contains(offsets[i])) {
+            offsets[keptCount++] = offsets[i];
+          }
+        }
+        cardinality = keptCount;
+        return oldCardinality - cardinality;
+      }
+      if (words == null) {
+        convertToBitmap();
+      }
+      if (other.offsets != null) {
+        for (int i = 0; i < other.cardinality; ++i) {
+          words[other.offsets[i] >>> 6] &= ~(1L << other.offsets[i]);
+        }
+      } else if (other.words != null) {
+        for (int i = 0; i < WORD_COUNT; ++i) {
+          words[i] &= ~other.words[i];
+        }
+      } else {
+        Arrays.fill(words, 0L);
+      }
+      countWordsAndNormalize();
+      return oldCardinality - cardinality;
+    }
+
+    /** removeRange, This removes the day offsets from fromOffset to toOffset (inclusive). */
+    private int removeRange(int fromOffset, int toOffset) {
+      int oldCardinality = cardinality;
+      if (offsets != null) {
+        int firstIndex = findInsertionIndex(fromOffset);
+        int endIndex = findInsertionIndex(toOffset + 1);
+        System.arraycopy(offsets, endIndex, offsets, firstIndex, cardinality - endIndex);
+        cardinality -= endIndex - firstIndex;
+        return oldCardinality - cardinality;
+      }
+      if (words == null) {
+        convertToBitmap();
+      }
+      setWordRange(fromOffset, toOffset, false);
+      normalize();
+      return oldCardinality - cardinality;
+    }
+
+    /** convertToBitmap, This converts an array chunk or a full chunk into a bitmap chunk. */
+    private void convertToBitmap() {
+      long[] newWords = new long[WORD_COUNT];
+      if (offsets != null) {
+        for (int i = 0; i < cardinality; ++i) {
+          newWords[offsets[i] >>> 6] |= 1L << offsets[i];
+        }
+      } else {
+        Arrays.fill(newWords, -1L);
+      }
+      words = newWords;
+      offsets = null;
+    }
+
+    /** countWordsAndNormalize, This recounts the dates of a bitmap chunk, and normalizes it. */
+    private void countWordsAndNormalize() {
+      int count = 0;
+      for (long word : words) {
+        count += Long.bitCount(word);
+      }
+      cardinality = count;
+      normalize();
+    }
+
+    /**
+     * findInsertionIndex, This returns the index of the first offset in an array chunk that is
+     * greater than or equal to the supplied offset.
+     */
+    private int findInsertionIndex(int offset) {
+      int index = Arrays.binarySearch(offsets, 0, cardinality, (char) offset);
+      return (index >= 0) ? index : (-index - 1);
+    }
+
+    /**
+     * normalize, This converts a bitmap chunk into a full chunk if it holds every day, or into an
+     * array chunk if it holds few enough dates.
+     */
+    private void normalize() {
+      if (cardinality == CHUNK_SIZE) {
+        setFull();
+        return;
+      }
+      if (words == null || cardinality > ARRAY_LIMIT / 2) {
+        return;
+      }
+      char[] newOffsets = new char[Math.max(4, cardinality)];
+      int index = 0;
+      for (int i = 0; i < WORD_COUNT; ++i) {
+        long word = words[i];
+        while (word != 0) {
+          newOffsets[index++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+      offsets = newOffsets;
+      words = null;
+    }
+
+    /** setFull, This converts the chunk into a full chunk. */
+    private void setFull() {
+      offsets = null;
+      words = null;
+      cardinality = CHUNK_SIZE;
+    }
+
+    /**
+     * setWordRange, This sets or clears the bits from fromOffset to toOffset (inclusive) of a
+     * bitmap chunk, and updates the cardinality.
+     */
+    private void setWordRange(int fromOffset, int toOffset, boolean isSet) {
+      int firstWord = fromOffset >>> 6;
+      int lastWord = toOffset >>> 6;
+      for (int i = firstWord; i <= lastWord; ++i) {
+        long mask = -1L;
+        if (i == firstWord) {
+          mask &= -1L << (fromOffset & 63);
+        }
+        if (i == lastWord) {
+          mask &= -1L >>> (63 - (toOffset & 63));
+        }
+        int oldCount = Long.bitCount(words[i]);
+        words[i] = (isSet) ? (words[i] | mask) : (words[i] & ~mask);
+        cardinality += Long.bitCount(words[i]) - oldCount;
+      }
+    }
+  }
+}
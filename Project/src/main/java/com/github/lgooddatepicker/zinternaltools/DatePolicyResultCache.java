@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import com.github.lgooddatepicker.optionalusertools.DateHighlightPolicy;
+import com.github.lgooddatepicker.optionalusertools.DateVetoPolicy;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DatePolicyResultCache, This remembers the results of a veto policy and a highlight policy for
+ * individual dates, so that each policy is called only once for each date. Results are stored in
+ * blocks of one month. A bounded number of months are kept, and the least recently used month is
+ * removed when the limit is reached.
+ *
+ * <p>The cache can not detect when a policy would return a different result for a date. The owner
+ * of the cache must clear the cache (or a date range of the cache) whenever the policies change.
+ * The policies are not stored in the cache, so the owner must also clear the cache when a
+ * different policy instance is used.
+ *
+ * <p>This class is not thread safe. It is expected to be used on the Swing event dispatch thread.
+ */
+public class DatePolicyResultCache {
+
+  /** MAXIMUM_CACHED_MONTHS, This is the largest number of months that are kept in the cache. */
+  private static final int MAXIMUM_CACHED_MONTHS = 120;
+
+  /** VETO_UNKNOWN, This veto state indicates that the veto policy has not been called. */
+  private static final byte VETO_UNKNOWN = 0;
+
+  /** VETO_ALLOWED, This veto state indicates that the veto policy allowed the date. */
+  private static final byte VETO_ALLOWED = 1;
+
+  /** VETO_VETOED, This veto state indicates that the veto policy vetoed the date. */
+  private static final byte VETO_VETOED = 2;
+
+  /**
+   * monthResults, This holds the results of each cached month. The linked hash map is created in
+   * access order, so the eldest entry is always the least recently used month.
+   */
+  private final LinkedHashMap<YearMonth, MonthResults> monthResults =
+      new LinkedHashMap<YearMonth, MonthResults>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<YearMonth, MonthResults> eldest) {
+          return size() > MAXIMUM_CACHED_MONTHS;
+        }
+      };
+
+  /**
+   * lastUsedMonthResults, This is the most recently used month, or null. Consecutive calls are
+   * usually for the same month, so this avoids creating a YearMonth key for each call.
+   */
+  private MonthResults lastUsedMonthResults = null;
+
+  /**
+   * MonthResults, This holds the policy results for the days of one month. Each array is indexed by
+   * the day of the month minus one.
+   */
+  private static class MonthResults {
+    private final int year;
+    private final int month;
+    private final byte[] vetoStates = new byte[31];
+    private final boolean[] isHighlightKnown = new boolean[31];
+    private final HighlightInformation[] highlights = new HighlightInformation[31];
+
+    private MonthResults(int year, int month) {
+      this.year = year;
+      this.month = month;
+    }
+
+    private boolean isMonthOf(LocalDate date) {
+      return (date.getYear() == year) && (date.getMonthValue() == month);
+    }
+
+    private void clearDay(int dayOfMonth) {
+      vetoStates[dayOfMonth - 1] = VETO_UNKNOWN;
+      isHighlightKnown[dayOfMonth - 1] = false;
+      highlights[dayOfMonth - 1] = null;
+    }
+  }
+
+  /**
+   * isDateVetoed, This returns true if the date is vetoed by the supplied veto policy. The policy
+   * is only called if the result for the date is not already in the cache. If the policy is null,
+   * then this returns false, and nothing is stored in the cache.
+   */
+  public boolean isDateVetoed(DateVetoPolicy policy, LocalDate date) {
+    if (policy == null || date == null) {
+      return InternalUtilities.isDateVetoed(policy, date);
+    }
+    MonthResults results = getMonthResults(date);
+    int dayIndex = date.getDayOfMonth() - 1;
+    if (results.vetoStates[dayIndex] == VETO_UNKNOWN) {
+      boolean isVetoed = InternalUtilities.isDateVetoed(policy, date);
+      results.vetoStates[dayIndex] = (isVetoed) ? VETO_VETOED : VETO_ALLOWED;
+    }
+    return results.vetoStates[dayIndex] == VETO_VETOED;
+  }
+
+  /**
+   * getHighlightInformationOrNull, This returns the highlight information that the supplied
+   * highlight policy returns for the date. The policy is only called if the result for the date is
+   * not already in the cache. If the policy is null, then this returns null, and nothing is stored
+   * in the cache.
+   */
+  public HighlightInformation getHighlightInformationOrNull(
+      DateHighlightPolicy policy, LocalDate date) {
+    if (policy == null || date == null) {
+      return null;
+    }
+    MonthResults results = getMonthResults(date);
+    int dayIndex = date.getDayOfMonth() - 1;
+    if (!results.isHighlightKnown[dayIndex]) {
+      results.highlights[dayIndex] = policy.getHighlightInformationOrNull(date);
+      results.isHighlightKnown[dayIndex] = true;
+    }
+    return results.highlights[dayIndex];
+  }
+
+  /** clear, This removes all the results from the cache. */
+  public void clear() {
+    monthResults.clear();
+    lastUsedMonthResults = null;
+  }
+
+  /**
+   * clear, This removes the results of all the dates from firstDate to lastDate (inclusive) from
+   * the cache. If either date is null, then the range is open on that side.
+   */
+  public void clear(LocalDate firstDate, LocalDate lastDate) {
+    LocalDate rangeStart = (firstDate == null) ? LocalDate.MIN : firstDate;
+    LocalDate rangeEnd = (lastDate == null) ? LocalDate.MAX : lastDate;
+    // The last used month may have been removed from the map, so it is always forgotten.
+    lastUsedMonthResults = null;
+    Iterator<Map.Entry<YearMonth, MonthResults>> iterator = monthResults.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<YearMonth, MonthResults> entry = iterator.next();
+      YearMonth yearMonth = entry.getKey();
+      LocalDate firstDayOfMonth = yearMonth.atDay(1);
+      LocalDate lastDayOfMonth = yearMonth.atEndOfMonth();
+      if (lastDayOfMonth.isBefore(rangeStart) || firstDayOfMonth.isAfter(rangeEnd)) {
+        continue;
+      }
+      if (!firstDayOfMonth.isBefore(rangeStart) && !lastDayOfMonth.isAfter(rangeEnd)) {
+        iterator.remove();
+        continue;
+      }
+      int firstClearedDay =
+          (firstDayOfMonth.isBefore(rangeStart)) ? rangeStart.getDayOfMonth() : 1;
+      int lastClearedDay =
+          (lastDayOfMonth.isAfter(rangeEnd))
+              ? rangeEnd.getDayOfMonth()
+              : lastDayOfMonth.getDayOfMonth();
+      for (int day = firstClearedDay; day <= lastClearedDay; ++day) {
+        entry.getValue().clearDay(day);
+      }
+    }
+  }
+
+  /**
+   * getMonthResults, This returns the results of the month of the supplied date. The month results
+   * are created if they are not in the cache.
+   */
+  private MonthResults getMonthResults(LocalDate date) {
+    if (lastUsedMonthResults != null && lastUsedMonthResults.isMonthOf(date)) {
+      return lastUsedMonthResults;
+    }
+    YearMonth yearMonth = YearMonth.from(date);
+    MonthResults results = monthResults.get(yearMonth);
+    if (results == null) {
+      results = new MonthResults(date.getYear(), date.getMonthValue());
+      monthResults.put(yearMonth, results);
+    }
+    lastUsedMonthResults = results;
+    return results;
+  }
+}
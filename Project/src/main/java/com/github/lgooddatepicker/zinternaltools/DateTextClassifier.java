@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+
+/**
+ * DateTextClassifier, This classifies the text of a date picker text field while the user is
+ * typing. Text is either a valid date, a "viable prefix" of a date (text that could still become a
+ * valid date if the user types more characters), or "dead" text that can never become a valid date
+ * by typing at the end of the text.
+ *
+ * <p>Viable prefixes are detected with the prefix matchers of the NumericDateScanner instances that
+ * were registered for the parsing formatters. Formatters without a registered scanner (such as
+ * formatters with era or weekday fields) are not used for detecting viable prefixes. Each
+ * classifier carries the state of its prefix matchers from one text to the next, so that typing or
+ * deleting a character at the end of the text only requires a small constant amount of work.
+ *
+ * <p>Instances of this class are not thread safe. Each classifier should only be used by a single
+ * component.
+ */
+public class DateTextClassifier {
+
+  /**
+   * TextStatus, These are the possible classifications of the text in a date picker text field.
+   * "Valid" indicates that the text contains a parsable date (which may still be vetoed).
+   * "ViablePrefix" indicates that the text is empty, or that the text could become a parsable date
+   * if more characters are typed at the end of the text. "Dead" indicates that the text cannot
+   * become a parsable date by typing more characters.
+   */
+  public enum TextStatus {
+    Valid,
+    ViablePrefix,
+    Dead;
+  }
+
+  /** prefixMatchers, These are the prefix matchers of all the formatters that have scanners. */
+  private final ArrayList<NumericDateScanner.PrefixMatcher> prefixMatchers = new ArrayList<>();
+
+  /** previousText, This is the trimmed text of the most recent classification. */
+  private String previousText = "";
+
+  /**
+   * Constructor, This creates a classifier for the supplied display formatters and parsing
+   * formatters. The formatters should be supplied in the same way as they would be supplied to
+   * InternalUtilities.getParsedDateOrNull().
+   */
+  public DateTextClassifier(
+      DateTimeFormatter displayFormatterAD,
+      DateTimeFormatter displayFormatterBC,
+      ArrayList<DateTimeFormatter> parsingFormatters) {
+    addPrefixMatcherIfAvailable(displayFormatterAD);
+    addPrefixMatcherIfAvailable(displayFormatterBC);
+    for (DateTimeFormatter formatter : parsingFormatters) {
+      addPrefixMatcherIfAvailable(formatter);
+    }
+  }
+
+  /**
+   * classify, This returns the status of the supplied text. The parsedDateOrNull should be the
+   * result of parsing the supplied text with the formatters of this classifier. (The parse result
+   * is supplied by the caller, so that each text only needs to be parsed once.) Leading and
+   * trailing whitespace is ignored.
+   */
+  public TextStatus classify(String text, LocalDate parsedDateOrNull) {
+    if (parsedDateOrNull != null) {
+      return TextStatus.Valid;
+    }
+    text = (text == null) ? "" : text.trim();
+    int unchangedLength = 0;
+    int maximumUnchangedLength = Math.min(text.length(), previousText.length());
+    while (unchangedLength < maximumUnchangedLength
+        && text.charAt(unchangedLength) == previousText.charAt(unchangedLength)) {
+      ++unchangedLength;
+    }
+    previousText = text;
+    if (text.isEmpty()) {
+      return TextStatus.ViablePrefix;
+    }
+    // Every prefix matcher is updated, so that all the matchers stay in sync with the text.
+    boolean isViable = false;
+    for (NumericDateScanner.PrefixMatcher prefixMatcher : prefixMatchers) {
+      isViable |= prefixMatcher.isViablePrefix(text, unchangedLength);
+    }
+    return (isViable) ? TextStatus.ViablePrefix : TextStatus.Dead;
+  }
+
+  /**
+   * addPrefixMatcherIfAvailable, This adds a prefix matcher for the supplied formatter, if a
+   * scanner was registered for that formatter.
+   */
+  private void addPrefixMatcherIfAvailable(DateTimeFormatter formatter) {
+    NumericDateScanner scanner = NumericDateScanner.getScannerForFormatterOrNull(formatter);
+    if (scanner != null) {
+      prefixMatchers.add(scanner.createPrefixMatcher());
+    }
+  }
+}
@@ -106,6 +106,7 @@ public class ExtraDateStrings {
               .parseCaseInsensitive()
               .appendPattern(formatString)
               .toFormatter(locale);
+      NumericDateScanner.registerPatternForFormatter(formatter, formatString);
       extraParsingFormatters.add(formatter);
     }
 
@@ -22,6 +22,7 @@
  */
 package com.github.lgooddatepicker.zinternaltools;
 
+import java.time.chrono.IsoChronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
@@ -70,6 +71,7 @@ public class ExtraTimeStrings {
               .parseCaseInsensitive()
               .appendPattern(formatString)
               .toFormatter(locale);
+      NumericTimeScanner.registerPatternForFormatter(formatter, formatString);
       extraParsingFormatters.add(formatter);
     }
 
@@ -84,6 +86,10 @@ public class ExtraTimeStrings {
             .parseCaseInsensitive()
             .appendLocalized(null, FormatStyle.SHORT)
             .toFormatter(locale);
+    NumericTimeScanner.registerPatternForFormatter(
+        format,
+        DateTimeFormatterBuilder.getLocalizedDateTimePattern(
+            null, FormatStyle.SHORT, IsoChronology.INSTANCE, locale));
     String language = locale.getLanguage();
     if ("en".equals(language)) {
       format =
@@ -92,6 +98,7 @@ public class ExtraTimeStrings {
               .parseCaseInsensitive()
               .appendPattern("h:mma")
               .toFormatter(locale);
+      NumericTimeScanner.registerPatternForFormatter(format, "h:mma");
     }
     return format;
   }
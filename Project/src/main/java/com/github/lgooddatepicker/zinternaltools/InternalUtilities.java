@@ -46,6 +46,7 @@ import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -271,6 +272,10 @@ public class InternalUtilities {
             .parseCaseInsensitive()
             .appendLocalized(FormatStyle.LONG, null)
             .toFormatter(pickerLocale);
+    NumericDateScanner.registerPatternForFormatter(
+        formatCE,
+        DateTimeFormatterBuilder.getLocalizedDateTimePattern(
+            FormatStyle.LONG, null, IsoChronology.INSTANCE, pickerLocale));
     // Get the local language as a string.
     String language = pickerLocale.getLanguage();
     // Override the format for the turkish locale to remove the name of the weekday.
@@ -303,6 +308,7 @@ public class InternalUtilities {
             .parseCaseInsensitive()
             .appendPattern(displayFormatterBCPattern)
             .toFormatter(pickerLocale);
+    NumericDateScanner.registerPatternForFormatter(displayFormatterBC, displayFormatterBCPattern);
     // Get the local language as a string.
     String language = pickerLocale.getLanguage();
     // Override the format for the turkish locale to remove the name of the weekday.
@@ -330,74 +336,251 @@ public class InternalUtilities {
       DateTimeFormatter displayFormatterAD,
       DateTimeFormatter displayFormatterBC,
       ArrayList<DateTimeFormatter> parsingFormatters) {
+    return getParsedDateOrNull(
+        text, displayFormatterAD, displayFormatterBC, parsingFormatters, null);
+  }
+
+  /**
+   * getParsedDateOrNull, This is identical to the other version of this function, except that this
+   * version will also record any successful parse by one of the parsingFormatters in the supplied
+   * statistics instance. Successful parses by the display formatters are not recorded, because the
+   * display formatters are always tried first. If the statistics instance is null, then nothing is
+   * recorded.
+   */
+  public static LocalDate getParsedDateOrNull(
+      String text,
+      DateTimeFormatter displayFormatterAD,
+      DateTimeFormatter displayFormatterBC,
+      ArrayList<DateTimeFormatter> parsingFormatters,
+      ParsingFormatStatistics statisticsOrNull) {
     if (text == null || text.trim().isEmpty()) {
       return null;
     }
     text = text.trim();
-    DateTimeFormatter usedFormatter = null;
-    LocalDate parsedDate = null;
-    if (parsedDate == null) {
-      try {
-        parsedDate = LocalDate.parse(text, displayFormatterAD);
-        usedFormatter = displayFormatterAD;
-      } catch (Exception ex) {
+    // Note: The formatters are tried in order, and only the first formatter that produces a date
+    // is checked against the text. This ordering must match the ordering used by the date picker.
+    long parseResult = getPackedParseResult(text, displayFormatterAD);
+    if (parseResult == NumericDateScanner.NO_MATCH) {
+      parseResult = getPackedParseResult(text, displayFormatterBC);
+    }
+    DateTimeFormatter usedParsingFormatter = null;
+    for (int i = 0;
+        ((parseResult == NumericDateScanner.NO_MATCH) && (i < parsingFormatters.size()));
+        ++i) {
+      usedParsingFormatter = parsingFormatters.get(i);
+      parseResult = getPackedParseResult(text, usedParsingFormatter);
+    }
+    LocalDate parsedDate = NumericDateScanner.unpackDateOrNull(parseResult);
+    if ((parsedDate != null) && (usedParsingFormatter != null) && (statisticsOrNull != null)) {
+      statisticsOrNull.recordSuccess(usedParsingFormatter);
+    }
+    return parsedDate;
+  }
+
+  /**
+   * getParsedDateOrNull, This returns the same result as the first version of this function, for
+   * formatters whose numeric scanners have already been resolved. The formatters are supplied in
+   * the order in which they are tried: the common era display format, the before common era
+   * display format, and then each of the parsing formats. Each scanner is the scanner of the
+   * formatter at the same index (or null), as returned by getDateScanners(). This version does not
+   * use the scanner registry, so it is suitable for parsing large amounts of text with the same
+   * formatters.
+   */
+  public static LocalDate getParsedDateOrNull(
+      String text, DateTimeFormatter[] formattersInOrder, NumericDateScanner[] scannersInOrder) {
+    if (text == null || text.trim().isEmpty()) {
+      return null;
+    }
+    text = text.trim();
+    long parseResult = NumericDateScanner.NO_MATCH;
+    for (int i = 0;
+        ((parseResult == NumericDateScanner.NO_MATCH) && (i < formattersInOrder.length));
+        ++i) {
+      parseResult = getPackedParseResult(text, formattersInOrder[i], scannersInOrder[i]);
+    }
+    return NumericDateScanner.unpackDateOrNull(parseResult);
+  }
+
+  /**
+   * getPackedParseResult, This parses the supplied text with a single date formatter, using the
+   * numeric scanner (if any) that was registered for the formatter.
+   */
+  private static long getPackedParseResult(String text, DateTimeFormatter formatter) {
+    return getPackedParseResult(
+        text, formatter, NumericDateScanner.getScannerForFormatterOrNull(formatter));
+  }
+
+  /**
+   * getPackedParseResult, This parses the supplied text with a single date formatter, and returns
+   * the result in the packed form that is used by the NumericDateScanner class. If the supplied
+   * numeric scanner is not null, then the scanner is used instead of the formatter. Otherwise (or
+   * if the scanner cannot decide the result) the text is parsed with the formatter, and then any
+   * "successfully" parsed but nonexistent dates like Feb 31 are detected with
+   * doesParsedDateMatchText(). (Note, that function has been thoroughly tested. See the function
+   * docs for details.)
+   */
+  private static long getPackedParseResult(
+      String text, DateTimeFormatter formatter, NumericDateScanner scanner) {
+    if (scanner != null) {
+      long scanResult = scanner.scan(text);
+      if (scanResult != NumericDateScanner.UNDECIDED) {
+        return scanResult;
       }
     }
+    LocalDate parsedDate = getParsedTemporalOrNull(text, formatter, LocalDate::from);
     if (parsedDate == null) {
-      try {
-        // Note: each parse attempt must have its own try/catch block.
-        parsedDate = LocalDate.parse(text, displayFormatterBC);
-        usedFormatter = displayFormatterBC;
-      } catch (Exception ex) {
-      }
+      return NumericDateScanner.NO_MATCH;
     }
-    for (int i = 0; ((parsedDate == null) && (i < parsingFormatters.size())); ++i) {
-      try {
-        parsedDate = LocalDate.parse(text, parsingFormatters.get(i));
-        usedFormatter = parsingFormatters.get(i);
-      } catch (Exception ex) {
-      }
+    if (!doesParsedDateMatchText(parsedDate, text, formatter)) {
+      return NumericDateScanner.NONEXISTENT_DATE;
+    }
+    return NumericDateScanner.packDate(
+        parsedDate.getYear(), parsedDate.getMonthValue(), parsedDate.getDayOfMonth());
+  }
+
+  /**
+   * getParsedTemporalOrNull, This parses the supplied text with the supplied formatter, and returns
+   * the result of the supplied query. If the text cannot be parsed, this will return null. The
+   * result is always identical to calling formatter.parse(text, query) and catching any exception.
+   *
+   * <p>Implementation note: Constructing a DateTimeParseException (and its stack trace) is
+   * expensive, and most of the parse attempts made while the user is typing will fail. To avoid
+   * that cost, the text is first probed with parseUnresolved(), which reports syntax errors through
+   * the ParsePosition instead of throwing. The text is only fully parsed and resolved if the probe
+   * consumed the entire text. At that point, an exception can only occur if the parsed fields can
+   * not be resolved to a valid temporal, which is comparatively rare. (A few parsers, such as the
+   * zone offset parser, can also throw from parseUnresolved(), so the probe is guarded as well.)
+   */
+  static <T> T getParsedTemporalOrNull(
+      String text, DateTimeFormatter formatter, TemporalQuery<T> query) {
+    if (text == null || formatter == null) {
+      return null;
     }
-    // Check for any "successfully" parsed but nonexistent dates like Feb 31.
-    // Note, this function has been thoroughly tested. See the function docs for details.
-    if ((parsedDate != null)
-        && (!InternalUtilities.doesParsedDateMatchText(parsedDate, text, usedFormatter))) {
+    try {
+      ParsePosition position = new ParsePosition(0);
+      TemporalAccessor unresolved = formatter.parseUnresolved(text, position);
+      if (unresolved == null
+          || position.getErrorIndex() >= 0
+          || position.getIndex() < text.length()) {
+        return null;
+      }
+      return formatter.parse(text, query);
+    } catch (Exception ex) {
       return null;
     }
-    return parsedDate;
   }
 
+  /**
+   * getParsedTimeOrNull, This returns a parsed time from the supplied text, or null if the text
+   * could not be parsed by any of the supplied formatters. Leading and trailing whitespace is
+   * ignored. The formatters are tried in this order: formatForDisplayTime, formatForMenuTimes, and
+   * then each of the formatsForParsing.
+   *
+   * <p>Any formatter that has a registered NumericTimeScanner is replaced by that scanner, so that
+   * the common time formats are parsed in a single pass over the text, without creating objects or
+   * throwing exceptions. Other formatters are parsed with the lowercase text (as they always have
+   * been), without throwing exceptions. See also: getTimeScanText().
+   */
   public static LocalTime getParsedTimeOrNull(
       String timeText,
       DateTimeFormatter formatForDisplayTime,
       DateTimeFormatter formatForMenuTimes,
       ArrayList<DateTimeFormatter> formatsForParsing,
       Locale timePickerLocale) {
+    DateTimeFormatter[] formattersInOrder = new DateTimeFormatter[formatsForParsing.size() + 2];
+    formattersInOrder[0] = formatForDisplayTime;
+    formattersInOrder[1] = formatForMenuTimes;
+    for (int i = 0; i < formatsForParsing.size(); ++i) {
+      formattersInOrder[i + 2] = formatsForParsing.get(i);
+    }
+    return getParsedTimeOrNull(timeText, formattersInOrder, getTimeScanners(formattersInOrder));
+  }
+
+  /**
+   * getParsedTimeOrNull, This returns the same result as the first version of this function, for
+   * formatters whose numeric scanners have already been resolved. The formatters are supplied in
+   * the order in which they are tried: formatForDisplayTime, formatForMenuTimes, and then each of
+   * the formatsForParsing. Each scanner is the scanner of the formatter at the same index (or
+   * null), as returned by getTimeScanners(). This version does not use the scanner registry, so it
+   * is suitable for parsing large amounts of text with the same formatters.
+   */
+  public static LocalTime getParsedTimeOrNull(
+      String timeText,
+      DateTimeFormatter[] formattersInOrder,
+      NumericTimeScanner[] scannersInOrder) {
     if (timeText == null || timeText.trim().isEmpty()) {
       return null;
     }
-    timeText = timeText.trim().toLowerCase();
-    LocalTime parsedTime = null;
-    if (parsedTime == null) {
-      try {
-        parsedTime = LocalTime.parse(timeText, formatForDisplayTime);
-      } catch (Exception ex) {
+    timeText = timeText.trim();
+    String scanText = getTimeScanText(timeText);
+    // The lowercase text is only created if a formatter without a scanner is used.
+    String lowercaseText = null;
+    long parseResult = NumericTimeScanner.NO_MATCH;
+    for (int i = 0;
+        ((parseResult == NumericTimeScanner.NO_MATCH) && (i < formattersInOrder.length));
+        ++i) {
+      DateTimeFormatter formatter = formattersInOrder[i];
+      NumericTimeScanner scanner = scannersInOrder[i];
+      if (scanner != null) {
+        parseResult = scanner.scan(scanText);
+        if (parseResult != NumericTimeScanner.UNDECIDED) {
+          continue;
+        }
       }
-    }
-    if (parsedTime == null) {
-      try {
-        // Note: each parse attempt must have its own try/catch block.
-        parsedTime = LocalTime.parse(timeText, formatForMenuTimes);
-      } catch (Exception ex) {
+      if (lowercaseText == null) {
+        lowercaseText = timeText.toLowerCase();
       }
+      LocalTime parsedTime = getParsedTemporalOrNull(lowercaseText, formatter, LocalTime::from);
+      parseResult = (parsedTime == null) ? NumericTimeScanner.NO_MATCH : parsedTime.toNanoOfDay();
     }
-    for (int i = 0; ((parsedTime == null) && (i < formatsForParsing.size())); ++i) {
-      try {
-        parsedTime = LocalTime.parse(timeText, formatsForParsing.get(i));
-      } catch (Exception ex) {
+    return NumericTimeScanner.unpackTimeOrNull(parseResult);
+  }
+
+  /**
+   * getDateScanners, This returns an array with the registered numeric scanner (or null) of each
+   * of the supplied date formatters, at the same indexes.
+   */
+  public static NumericDateScanner[] getDateScanners(DateTimeFormatter[] formatters) {
+    NumericDateScanner[] scanners = new NumericDateScanner[formatters.length];
+    for (int i = 0; i < formatters.length; ++i) {
+      scanners[i] = NumericDateScanner.getScannerForFormatterOrNull(formatters[i]);
+    }
+    return scanners;
+  }
+
+  /**
+   * getTimeScanners, This returns an array with the numeric scanner (or null) of each of the
+   * supplied time formatters, at the same indexes.
+   */
+  public static NumericTimeScanner[] getTimeScanners(DateTimeFormatter[] formatters) {
+    NumericTimeScanner[] scanners = new NumericTimeScanner[formatters.length];
+    for (int i = 0; i < formatters.length; ++i) {
+      scanners[i] = NumericTimeScanner.getScannerForFormatterOrNull(formatters[i]);
+    }
+    return scanners;
+  }
+
+  /**
+   * getTimeScanText, This returns the text that should be scanned by a NumericTimeScanner, to get
+   * the same result as parsing the lowercase text with the replicated formatter. Scanners compare
+   * characters without regard to case, so lowercasing only matters when it changes a character in
+   * a way that is not a simple case change. This is possible for non-ASCII characters, and for
+   * the letter "I" in languages with special casing rules. Only in those cases, the lowercase text
+   * is returned. Otherwise the supplied text is returned, and no copy is created.
+   */
+  private static String getTimeScanText(String text) {
+    String language = Locale.getDefault().getLanguage();
+    boolean hasSpecialCasing =
+        "tr".equals(language) || "az".equals(language) || "lt".equals(language);
+    for (int i = 0; i < text.length(); ++i) {
+      char current = text.charAt(i);
+      boolean isChangedByLowercase = (Character.toLowerCase(current) != current);
+      if (Character.isSurrogate(current)
+          || (isChangedByLowercase && (current >= 0x80 || hasSpecialCasing))) {
+        return text.toLowerCase();
       }
     }
-    return parsedTime;
+    return text;
   }
 
   /**
@@ -0,0 +1,418 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * MonthGrid, This is an immutable model of the date grid that a calendar panel displays for one
+ * month. The grid has six rows of seven cells. It maps each cell to a date, and it holds the day
+ * number text of each cell and the week number of each used row.
+ *
+ * <p>A grid only depends on the year and month, the first day of the week that is displayed on
+ * the calendar, and the week number rules. Grids are created once and kept in a bounded, least
+ * recently used cache that is shared by all calendar panels. See getGrid().
+ *
+ * <p>The grid is computed with the java.time classes, so it is correct for negative years (as
+ * defined in the ISO 8601 format that is used by java.time.YearMonth). For example, the year
+ * "-0004" is a leap year, so February of that year has 29 days.
+ */
+public class MonthGrid {
+
+  /** CELL_COUNT, This is the number of cells in a grid. */
+  public static final int CELL_COUNT = 42;
+
+  /** ROW_COUNT, This is the number of rows in a grid. */
+  public static final int ROW_COUNT = 6;
+
+  /** MAXIMUM_CACHED_GRIDS, This is the largest number of grids that are kept in the cache. */
+  private static final int MAXIMUM_CACHED_GRIDS = 64;
+
+  /** dayOfMonthTexts, This holds the text of each day of the month, at the index of the day. */
+  private static final String[] dayOfMonthTexts = new String[32];
+
+  static {
+    for (int day = 1; day < dayOfMonthTexts.length; ++day) {
+      dayOfMonthTexts[day] = String.valueOf(day);
+    }
+  }
+
+  /**
+   * gridCache, This holds the most recently used grids. The linked hash map is created in access
+   * order, so the eldest entry is always the least recently used grid.
+   */
+  private static final LinkedHashMap<Key, MonthGrid> gridCache =
+      new LinkedHashMap<Key, MonthGrid>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, MonthGrid> eldest) {
+          return size() > MAXIMUM_CACHED_GRIDS;
+        }
+      };
+
+  /** yearMonth, This is the year and month of the grid. */
+  private final YearMonth yearMonth;
+
+  /** firstDayOfWeek, This is the day of the week that is displayed in the first column. */
+  private final DayOfWeek firstDayOfWeek;
+
+  /** weekNumberRules, These are the week number rules of the grid. This may be null. */
+  private final WeekFields weekNumberRules;
+
+  /** firstDayCellIndex, This is the index of the cell that holds the first day of the month. */
+  private final int firstDayCellIndex;
+
+  /** firstDayEpochDay, This is the epoch day of the first day of the month. */
+  private final long firstDayEpochDay;
+
+  /**
+   * cellDates, This holds the date of each cell that is inside the month. The entries of the cells
+   * before and after the month are null.
+   */
+  private final LocalDate[] cellDates = new LocalDate[CELL_COUNT];
+
+  /** usedRowCount, This is the number of rows that hold at least one day of the month. */
+  private final int usedRowCount;
+
+  /**
+   * weekNumberTexts, This holds the week number text of each row. The text is empty for unused
+   * rows, and for all rows if the grid has no week number rules.
+   */
+  private final String[] weekNumberTexts = new String[ROW_COUNT];
+
+  /**
+   * Key, This is the cache key of a grid. Grids are equal if they have the same year and month,
+   * first day of the week, and week number rules.
+   */
+  private static class Key {
+    private final YearMonth yearMonth;
+    private final DayOfWeek firstDayOfWeek;
+    private final WeekFields weekNumberRules;
+
+    private Key(YearMonth yearMonth, DayOfWeek firstDayOfWeek, WeekFields weekNumberRules) {
+      this.yearMonth = yearMonth;
+      this.firstDayOfWeek = firstDayOfWeek;
+      this.weekNumberRules = weekNumberRules;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key otherKey = (Key) other;
+      return yearMonth.equals(otherKey.yearMonth)
+          && firstDayOfWeek == otherKey.firstDayOfWeek
+          && Objects.equals(weekNumberRules, otherKey.weekNumberRules);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(yearMonth, firstDayOfWeek, weekNumberRules);
+    }
+  }
+
+  /** Constructor, This is private. Use getGrid() to get a cached grid. */
+  private MonthGrid(YearMonth yearMonth, DayOfWeek firstDayOfWeek, WeekFields weekNumberRules) {
+    this.yearMonth = yearMonth;
+    this.firstDayOfWeek = firstDayOfWeek;
+    this.weekNumberRules = weekNumberRules;
+    LocalDate firstDayOfMonth = yearMonth.atDay(1);
+    firstDayEpochDay = firstDayOfMonth.toEpochDay();
+    firstDayCellIndex =
+        Math.floorMod(firstDayOfMonth.getDayOfWeek().getValue() - firstDayOfWeek.getValue(), 7);
+    int lengthOfMonth = yearMonth.lengthOfMonth();
+    for (int day = 1; day <= lengthOfMonth; ++day) {
+      cellDates[firstDayCellIndex + day - 1] = yearMonth.atDay(day);
+    }
+    int lastDayCellIndex = firstDayCellIndex + lengthOfMonth - 1;
+    usedRowCount = (lastDayCellIndex / 7) + 1;
+    for (int row = 0; row < ROW_COUNT; ++row) {
+      weekNumberTexts[row] = "";
+      if (weekNumberRules == null || row >= usedRowCount) {
+        continue;
+      }
+      // The first date of the first row will often be a date from the previous month.
+      // We encompass this in a try block, so that LocalDate.MIN will not throw an exception here.
+      LocalDate firstDateInRow;
+      if (row == 0) {
+        try {
+          firstDateInRow = firstDayOfMonth.minusDays(firstDayCellIndex);
+        } catch (Exception e) {
+          firstDateInRow = LocalDate.MIN;
+        }
+      } else {
+        firstDateInRow = cellDates[row * 7];
+      }
+      int weekNumber = getWeekNumberForASevenDayRange(firstDateInRow, weekNumberRules, false);
+      weekNumberTexts[row] = String.valueOf(weekNumber);
+    }
+  }
+
+  /**
+   * getGrid, This returns the grid for the specified year and month, first day of the week, and
+   * week number rules. The week number rules may be null, in which case the grid will not have week
+   * numbers. The grid is taken from the shared cache when possible. This will never return null.
+   */
+  public static MonthGrid getGrid(
+      YearMonth yearMonth, DayOfWeek firstDayOfWeek, WeekFields weekNumberRulesOrNull) {
+    Key key = new Key(yearMonth, firstDayOfWeek, weekNumberRulesOrNull);
+    synchronized (gridCache) {
+      MonthGrid grid = gridCache.get(key);
+      if (grid == null) {
+        grid = new MonthGrid(yearMonth, firstDayOfWeek, weekNumberRulesOrNull);
+        gridCache.put(key, grid);
+      }
+      return grid;
+    }
+  }
+
+  /** getYearMonth, This returns the year and month of the grid. */
+  public YearMonth getYearMonth() {
+    return yearMonth;
+  }
+
+  /** getFirstDayOfWeek, This returns the day of the week that is displayed in the first column. */
+  public DayOfWeek getFirstDayOfWeek() {
+    return firstDayOfWeek;
+  }
+
+  /** getWeekNumberRules, This returns the week number rules of the grid. This may be null. */
+  public WeekFields getWeekNumberRules() {
+    return weekNumberRules;
+  }
+
+  /**
+   * getCellDateOrNull, This returns the date of the specified cell, or null if the cell is before
+   * or after the days of the month.
+   */
+  public LocalDate getCellDateOrNull(int cellIndex) {
+    return cellDates[cellIndex];
+  }
+
+  /**
+   * getCellEpochDay, This returns the epoch day of the date that falls on the specified cell. This
+   * is also defined for the cells that are before or after the days of the month.
+   */
+  public long getCellEpochDay(int cellIndex) {
+    return firstDayEpochDay + (cellIndex - firstDayCellIndex);
+  }
+
+  /**
+   * getCellText, This returns the day number text of the specified cell. The text is empty for the
+   * cells that are before or after the days of the month.
+   */
+  public String getCellText(int cellIndex) {
+    LocalDate date = cellDates[cellIndex];
+    return (date == null) ? "" : dayOfMonthTexts[date.getDayOfMonth()];
+  }
+
+  /**
+   * getCellIndexOfDate, This returns the index of the cell that holds the specified date, or -1 if
+   * the date is null or is not inside the month of the grid.
+   */
+  public int getCellIndexOfDate(LocalDate date) {
+    if (date == null
+        || date.getYear() != yearMonth.getYear()
+        || date.getMonth() != yearMonth.getMonth()) {
+      return -1;
+    }
+    return firstDayCellIndex + date.getDayOfMonth() - 1;
+  }
+
+  /** getUsedRowCount, This returns the number of rows that hold at least one day of the month. */
+  public int getUsedRowCount() {
+    return usedRowCount;
+  }
+
+  /**
+   * getWeekNumberText, This returns the week number text of the specified row. The text is empty
+   * for unused rows, and for all rows if the grid has no week number rules.
+   */
+  public String getWeekNumberText(int row) {
+    return weekNumberTexts[row];
+  }
+
+  /**
+   * getWeekNumberForASevenDayRange, This returns a week number for the specified seven day range,
+   * according to the supplied weekFieldRules.
+   *
+   * <p>If all seven days fall on the same week number, then that week number will be returned.
+   *
+   * <p>If "requireUnanimousWeekNumber" is true and the supplied range falls across two week
+   * numbers, then null is returned.
+   *
+   * <p>If "requireUnanimousWeekNumber" is false and the supplied range falls across two week
+   * numbers, then the "majority rules" system is used for determining the returned week number.
+   *
+   * <p>The majority rules system means that the most common week number in the seven day range will
+   * be returned. For example: If days 1 and 2 are in week 30, and days 3 through 7 are in week 31,
+   * then the week number 31 will be returned. There is no possibility of a "tie" week number,
+   * because the number of days in the range is seven (an odd number). Additionally, the returned
+   * week number will always be the correct week number for a minimum of four days out of the seven
+   * day range.
+   *
+   * <p>To make sure that all seven days in the range -can- fall on the same week number, the caller
+   * of the function would need to supply a seven day range that starts on the same "first day of
+   * the week" that is used by the supplied weekFieldRules. I don't know if there are any special
+   * cases where these matching parameters are supplied, but the result is still not a unanimous
+   * week number.
+   *
+   * <p>The week fields object can be created from a specific locale, (including Locale.ISO if
+   * desired), or the week fields can be configured to match any desired week field rules.
+   *
+   * <p>Examples of creating week field instances: WeekFields weekFields = WeekFields.of(Locale
+   * locale); WeekFields weekFields = WeekFields.of(DayOfWeek firstDayOfWeek, int
+   * minimalDaysInFirstWeek);
+   */
+  public static Integer getWeekNumberForASevenDayRange(
+      LocalDate firstDateInRange, WeekFields weekFieldRules, boolean requireUnanimousWeekNumber) {
+    int year = firstDateInRange.getYear();
+    // Near the limits of LocalDate, the range or the neighboring week based years can not always
+    // be represented. These rare ranges are calculated from the individual dates.
+    if (year <= Year.MIN_VALUE + 1 || year >= Year.MAX_VALUE - 1) {
+      return getWeekNumberForASevenDayRangeNearDateLimits(
+          firstDateInRange, weekFieldRules, requireUnanimousWeekNumber);
+    }
+    int firstDayOfWeek = weekFieldRules.getFirstDayOfWeek().getValue();
+    int minimalDays = weekFieldRules.getMinimalDaysInFirstWeek();
+    // The weeks of a week based year always have seven days, and always start on the first day of
+    // the week. So the range holds the remaining days of the week of the first date, followed by
+    // the first days of the next week. The range can never fall across more than two weeks, and
+    // there can never be a "tie" between the two week numbers.
+    int daysBeforeRangeInFirstWeek =
+        Math.floorMod(firstDateInRange.getDayOfWeek().getValue() - firstDayOfWeek, 7);
+    int rangeDaysInFirstWeek = 7 - daysBeforeRangeInFirstWeek;
+    long firstEpochDay = firstDateInRange.toEpochDay();
+    // If all seven days are in the same week, then return the unanimous week number.
+    if (rangeDaysInFirstWeek == 7) {
+      return getWeekOfWeekBasedYear(firstEpochDay, year, firstDayOfWeek, minimalDays);
+    }
+    // The week number is not unanimous.
+    // If unanimous week numbers are required, then return null.
+    if (requireUnanimousWeekNumber) {
+      return null;
+    }
+    // Otherwise, return the week number of the week that holds the majority of the days.
+    if (rangeDaysInFirstWeek >= 4) {
+      return getWeekOfWeekBasedYear(firstEpochDay, year, firstDayOfWeek, minimalDays);
+    }
+    long lastEpochDay = firstEpochDay + 6;
+    int lastYear = (lastEpochDay >= getEpochDayOfFirstDayOfYear(year + 1)) ? (year + 1) : year;
+    return getWeekOfWeekBasedYear(lastEpochDay, lastYear, firstDayOfWeek, minimalDays);
+  }
+
+  /**
+   * getWeekNumberForASevenDayRangeNearDateLimits, This returns the same result as
+   * getWeekNumberForASevenDayRange(), by asking java.time for the week number of each date in the
+   * range. This is only used for ranges that are close to LocalDate.MIN or LocalDate.MAX. If any
+   * date of the range can not be represented, or has no week number, then this returns 1.
+   */
+  private static Integer getWeekNumberForASevenDayRangeNearDateLimits(
+      LocalDate firstDateInRange, WeekFields weekFieldRules, boolean requireUnanimousWeekNumber) {
+    int firstWeekNumber = 0;
+    int lastWeekNumber = 0;
+    int firstWeekNumberCount = 0;
+    for (int daysIntoTheFuture = 0; daysIntoTheFuture <= 6; ++daysIntoTheFuture) {
+      int currentWeekNumber;
+      // This try block handles an exception that can occur at LocalDate.MAX
+      try {
+        LocalDate currentDateInRange = firstDateInRange.plusDays(daysIntoTheFuture);
+        currentWeekNumber = currentDateInRange.get(weekFieldRules.weekOfWeekBasedYear());
+      } catch (Exception ex) {
+        return 1;
+      }
+      if (daysIntoTheFuture == 0) {
+        firstWeekNumber = currentWeekNumber;
+      }
+      if (currentWeekNumber == firstWeekNumber) {
+        ++firstWeekNumberCount;
+      }
+      lastWeekNumber = currentWeekNumber;
+    }
+    if (firstWeekNumber == lastWeekNumber) {
+      return firstWeekNumber;
+    }
+    if (requireUnanimousWeekNumber) {
+      return null;
+    }
+    return (firstWeekNumberCount >= 4) ? firstWeekNumber : lastWeekNumber;
+  }
+
+  /**
+   * getWeekOfWeekBasedYear, This returns the week of the week based year of the date with the
+   * supplied epoch day and year, for the supplied first day of the week (as an ISO day of week
+   * value) and minimal number of days in the first week. This gives the same result as
+   * LocalDate.get(WeekFields.weekOfWeekBasedYear()), without creating any objects.
+   */
+  private static int getWeekOfWeekBasedYear(
+      long epochDay, int year, int firstDayOfWeek, int minimalDays) {
+    long firstWeekStart = getEpochDayOfFirstWeekStart(year, firstDayOfWeek, minimalDays);
+    if (epochDay < firstWeekStart) {
+      // The date is in the last week of the previous week based year.
+      firstWeekStart = getEpochDayOfFirstWeekStart(year - 1, firstDayOfWeek, minimalDays);
+    } else {
+      // The date may be in the first week of the next week based year.
+      long nextFirstWeekStart = getEpochDayOfFirstWeekStart(year + 1, firstDayOfWeek, minimalDays);
+      if (epochDay >= nextFirstWeekStart) {
+        firstWeekStart = nextFirstWeekStart;
+      }
+    }
+    return (int) ((epochDay - firstWeekStart) / 7) + 1;
+  }
+
+  /**
+   * getEpochDayOfFirstWeekStart, This returns the epoch day of the first day of week 1 of the
+   * supplied week based year. Week 1 is the first week that has at least the minimal number of days
+   * inside the year. This may be a day of the previous year.
+   */
+  private static long getEpochDayOfFirstWeekStart(long year, int firstDayOfWeek, int minimalDays) {
+    long firstDayOfYear = getEpochDayOfFirstDayOfYear(year);
+    // The epoch day zero (1970-01-01) was a Thursday, which has the ISO day of week value 4.
+    int isoDayOfWeek = (int) Math.floorMod(firstDayOfYear + 3, 7L) + 1;
+    int daysBeforeYearInWeek = Math.floorMod(isoDayOfWeek - firstDayOfWeek, 7);
+    long weekStart = firstDayOfYear - daysBeforeYearInWeek;
+    return ((7 - daysBeforeYearInWeek) >= minimalDays) ? weekStart : (weekStart + 7);
+  }
+
+  /**
+   * getEpochDayOfFirstDayOfYear, This returns the epoch day of January 1 of the supplied proleptic
+   * year. This uses the same calculation as LocalDate.toEpochDay().
+   */
+  private static long getEpochDayOfFirstDayOfYear(long year) {
+    long total = 365 * year;
+    if (year >= 0) {
+      total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    } else {
+      total -= year / -4 - year / -100 + year / -400;
+    }
+    // This is the number of days from 0000-01-01 to 1970-01-01.
+    return total - 719528;
+  }
+}
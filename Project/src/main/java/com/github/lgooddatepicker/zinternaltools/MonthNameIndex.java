@@ -0,0 +1,398 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * MonthNameIndex, This is an immutable prefix tree (trie) of all the month names of a locale. The
+ * index contains the full, short, and narrow month names, in both the formatting form and the
+ * standalone form. (In languages like Russian or Czech, the formatting form is the genitive case
+ * and the standalone form is the nominative case, so both forms can be typed by a user.) These are
+ * exactly the names that a lenient DateTimeFormatter will accept for a month text field.
+ *
+ * <p>Indexes are built once per locale and shared. See getIndexForLocale().
+ *
+ * <p>The index can find the month name at a given position of a text, in time proportional to the
+ * length of the name, and without creating any objects. The index can also list the month names
+ * that complete a partially typed month name.
+ *
+ * <p>Matching rules: Names are compared in the same case insensitive manner as a DateTimeFormatter.
+ * When more than one name matches the text, the longest name is used. (This is also the rule used
+ * by a lenient DateTimeFormatter.) If the longest matching names belong to different months, such
+ * as the narrow names of January, June and July in English ("J"), then the result is reported as
+ * ambiguous. The DateTimeFormatter result for ambiguous names depends on hash table ordering, so
+ * ambiguous results should be resolved by parsing the text with a formatter.
+ */
+public class MonthNameIndex {
+
+  /** NO_MATCH, This result indicates that no month name matches the text. */
+  public static final long NO_MATCH = -1;
+
+  /**
+   * AMBIGUOUS_MATCH, This result indicates that the longest matching month names belong to more
+   * than one month.
+   */
+  public static final long AMBIGUOUS_MATCH = -2;
+
+  /**
+   * monthTextStyles, These are all the text styles which are used by a lenient DateTimeFormatter to
+   * parse a month text field.
+   */
+  private static final TextStyle[] monthTextStyles = {
+    TextStyle.FULL,
+    TextStyle.FULL_STANDALONE,
+    TextStyle.SHORT,
+    TextStyle.SHORT_STANDALONE,
+    TextStyle.NARROW,
+    TextStyle.NARROW_STANDALONE
+  };
+
+  /** indexesByLocale, This holds the shared index of each locale, once it has been created. */
+  private static final HashMap<Locale, MonthNameIndex> indexesByLocale = new HashMap<>();
+
+  /** root, This is the root node of the trie. The root node represents an empty name. */
+  private final Node root;
+
+  /** maximumNameLength, This is the length of the longest month name in the index. */
+  private final int maximumNameLength;
+
+  /**
+   * hasNumericNames, This is true if any month name of the locale consists only of digits. See
+   * isExactForParsing() for details.
+   */
+  private final boolean hasNumericNames;
+
+  /**
+   * Node, This is a node of the trie. Child nodes are stored in arrays that are sorted by the
+   * (case folded) child character, so a child can be found with a binary search. Each node also
+   * stores the original month names that end at the node, and the month number of each name.
+   */
+  private static class Node {
+    private final Node parent;
+    private final int depth;
+    private char[] childCharacters = new char[0];
+    private Node[] children = new Node[0];
+    private String[] names = new String[0];
+    private int[] nameMonths = new int[0];
+
+    private Node(Node parent, int depth) {
+      this.parent = parent;
+      this.depth = depth;
+    }
+
+    private Node getChildOrNull(char foldedCharacter) {
+      int index = Arrays.binarySearch(childCharacters, foldedCharacter);
+      return (index < 0) ? null : children[index];
+    }
+
+    private Node getOrCreateChild(char foldedCharacter) {
+      int index = Arrays.binarySearch(childCharacters, foldedCharacter);
+      if (index >= 0) {
+        return children[index];
+      }
+      int insertionIndex = -(index + 1);
+      Node child = new Node(this, depth + 1);
+      char[] newCharacters = new char[childCharacters.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(childCharacters, 0, newCharacters, 0, insertionIndex);
+      System.arraycopy(children, 0, newChildren, 0, insertionIndex);
+      newCharacters[insertionIndex] = foldedCharacter;
+      newChildren[insertionIndex] = child;
+      System.arraycopy(
+          childCharacters,
+          insertionIndex,
+          newCharacters,
+          insertionIndex + 1,
+          childCharacters.length - insertionIndex);
+      System.arraycopy(
+          children, insertionIndex, newChildren, insertionIndex + 1, children.length - insertionIndex);
+      childCharacters = newCharacters;
+      children = newChildren;
+      return child;
+    }
+
+    private void addName(String name, int month) {
+      for (int i = 0; i < names.length; ++i) {
+        if (names[i].equals(name) && nameMonths[i] == month) {
+          return;
+        }
+      }
+      names = Arrays.copyOf(names, names.length + 1);
+      nameMonths = Arrays.copyOf(nameMonths, nameMonths.length + 1);
+      names[names.length - 1] = name;
+      nameMonths[nameMonths.length - 1] = month;
+    }
+  }
+
+  /**
+   * Constructor, This is private. Use getIndexForLocale() to get the shared index for a locale.
+   * The month names are retrieved by formatting the month of a date with a text field of each
+   * style. This returns the same names that are used by the DateTimeFormatter for parsing.
+   */
+  private MonthNameIndex(Locale locale) {
+    root = new Node(null, 0);
+    boolean numericNameFound = false;
+    int longestNameLength = 0;
+    for (TextStyle textStyle : monthTextStyles) {
+      DateTimeFormatter formatter =
+          new DateTimeFormatterBuilder()
+              .appendText(ChronoField.MONTH_OF_YEAR, textStyle)
+              .toFormatter(locale);
+      for (int month = 1; month <= 12; ++month) {
+        String name = formatter.format(LocalDate.of(2000, month, 1));
+        if (name.isEmpty()) {
+          continue;
+        }
+        // The formatter prints the month number if the locale has no names for a text style.
+        // Month numbers cannot be told apart from any real names that consist only of digits.
+        numericNameFound |= isNumeric(name);
+        longestNameLength = Math.max(longestNameLength, name.length());
+        Node node = root;
+        for (int i = 0; i < name.length(); ++i) {
+          node = node.getOrCreateChild(foldCase(name.charAt(i)));
+        }
+        node.addName(name, month);
+      }
+    }
+    hasNumericNames = numericNameFound;
+    maximumNameLength = longestNameLength;
+  }
+
+  /**
+   * getIndexForLocale, This returns the shared month name index for the specified locale. The
+   * index is created the first time that it is requested. This will never return null.
+   */
+  public static MonthNameIndex getIndexForLocale(Locale locale) {
+    synchronized (indexesByLocale) {
+      MonthNameIndex index = indexesByLocale.get(locale);
+      if (index == null) {
+        index = new MonthNameIndex(locale);
+        indexesByLocale.put(locale, index);
+      }
+      return index;
+    }
+  }
+
+  /**
+   * getMonth and getEndPosition, These return the parts of a successful result from
+   * matchMonthName().
+   */
+  public static int getMonth(long matchResult) {
+    return (int) (matchResult >>> 32);
+  }
+
+  public static int getEndPosition(long matchResult) {
+    return (int) matchResult;
+  }
+
+  /**
+   * getCompletions, This returns all the month names that start with the supplied prefix, compared
+   * case insensitively. The names are sorted by month, and then by name. The month names of all the
+   * text styles are included, but each name is only listed once. If the prefix is empty, then all
+   * the month names are returned.
+   */
+  public ArrayList<String> getCompletions(CharSequence prefix) {
+    Node node = root;
+    for (int i = 0; (node != null) && (i < prefix.length()); ++i) {
+      node = node.getChildOrNull(foldCase(prefix.charAt(i)));
+    }
+    TreeMap<String, Integer> completions = new TreeMap<>();
+    if (node != null) {
+      collectNames(node, prefix, completions);
+    }
+    ArrayList<String> result = new ArrayList<>(completions.keySet());
+    result.sort((first, second) -> completions.get(first) - completions.get(second));
+    return result;
+  }
+
+  /** getMaximumNameLength, This returns the length of the longest month name in the index. */
+  public int getMaximumNameLength() {
+    return maximumNameLength;
+  }
+
+  /**
+   * isExactForParsing, This returns true if the results of matchMonthName() are always identical
+   * to the results of a lenient DateTimeFormatter, for text that is not reported as ambiguous. This
+   * is false if any month name consists only of digits, because the formatter might treat those
+   * names as month numbers.
+   */
+  public boolean isExactForParsing() {
+    return !hasNumericNames;
+  }
+
+  /**
+   * isMonthNamePrefix, This returns true if the specified range of the text is the beginning of (or
+   * all of) at least one month name. An empty range is always a month name prefix. This does not
+   * create any objects.
+   */
+  public boolean isMonthNamePrefix(CharSequence text, int start, int end) {
+    Node node = root;
+    for (int i = start; (node != null) && (i < end); ++i) {
+      node = node.getChildOrNull(foldCase(text.charAt(i)));
+    }
+    if (node == null) {
+      return false;
+    }
+    // The folded path may contain characters that are not equal to the month name characters, so
+    // at least one name below the node must match the text.
+    return hasMatchingNameBelow(node, text, start, end);
+  }
+
+  /**
+   * matchMonthName, This finds the longest month name that appears in the text at the specified
+   * position. If a name is found, this returns a value that contains the month number and the end
+   * position of the name. Use getMonth() and getEndPosition() to retrieve those values. Otherwise
+   * this returns NO_MATCH or AMBIGUOUS_MATCH. This does not create any objects.
+   */
+  public long matchMonthName(CharSequence text, int position) {
+    // Find the deepest node along the text.
+    Node node = root;
+    for (int i = position; i < text.length(); ++i) {
+      Node child = node.getChildOrNull(foldCase(text.charAt(i)));
+      if (child == null) {
+        break;
+      }
+      node = child;
+    }
+    // Check the names of each node, from the longest names to the shortest names.
+    for (; node != root; node = node.parent) {
+      int month = 0;
+      for (int i = 0; i < node.names.length; ++i) {
+        if (regionEqualsIgnoreCase(text, position, node.names[i])) {
+          if (month != 0 && month != node.nameMonths[i]) {
+            return AMBIGUOUS_MATCH;
+          }
+          month = node.nameMonths[i];
+        }
+      }
+      if (month != 0) {
+        return (((long) month) << 32) | (position + node.depth);
+      }
+    }
+    return NO_MATCH;
+  }
+
+  /**
+   * collectNames, This adds the names of the supplied node and all of its descendants to the
+   * supplied map, if the names start with the supplied prefix. The map values are month numbers.
+   */
+  private static void collectNames(Node node, CharSequence prefix, TreeMap<String, Integer> map) {
+    for (int i = 0; i < node.names.length; ++i) {
+      if (regionEqualsIgnoreCase(node.names[i], 0, prefix)) {
+        map.putIfAbsent(node.names[i], node.nameMonths[i]);
+      }
+    }
+    for (Node child : node.children) {
+      collectNames(child, prefix, map);
+    }
+  }
+
+  /**
+   * hasMatchingNameBelow, This returns true if the supplied node or any of its descendants has a
+   * name that starts with the specified range of the text.
+   */
+  private static boolean hasMatchingNameBelow(Node node, CharSequence text, int start, int end) {
+    for (String name : node.names) {
+      if (rangeIsNamePrefix(text, start, end, name)) {
+        return true;
+      }
+    }
+    for (Node child : node.children) {
+      if (hasMatchingNameBelow(child, text, start, end)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * foldCase, This returns a single case folded form of a character. Any two characters which are
+   * considered equal by charEqualsIgnoreCase() will have the same folded form. (The reverse is not
+   * always true, so matches found with folded characters are verified.)
+   */
+  private static char foldCase(char character) {
+    return Character.toLowerCase(Character.toUpperCase(character));
+  }
+
+  /**
+   * charEqualsIgnoreCase, This compares two characters in the same way as a case insensitive
+   * DateTimeFormatter.
+   */
+  private static boolean charEqualsIgnoreCase(char first, char second) {
+    return first == second
+        || Character.toUpperCase(first) == Character.toUpperCase(second)
+        || Character.toLowerCase(first) == Character.toLowerCase(second);
+  }
+
+  /** isNumeric, This returns true if the supplied (non empty) text consists only of digits. */
+  private static boolean isNumeric(String text) {
+    for (int i = 0; i < text.length(); ++i) {
+      if (!Character.isDigit(text.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * rangeIsNamePrefix, This returns true if the specified range of the text is equal to the start
+   * of the supplied name, compared case insensitively.
+   */
+  private static boolean rangeIsNamePrefix(CharSequence text, int start, int end, String name) {
+    if ((end - start) > name.length()) {
+      return false;
+    }
+    for (int i = start; i < end; ++i) {
+      if (!charEqualsIgnoreCase(text.charAt(i), name.charAt(i - start))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * regionEqualsIgnoreCase, This returns true if the text contains the entire supplied name at the
+   * specified position, compared case insensitively.
+   */
+  private static boolean regionEqualsIgnoreCase(CharSequence text, int position, CharSequence name) {
+    if ((position + name.length()) > text.length()) {
+      return false;
+    }
+    for (int i = 0; i < name.length(); ++i) {
+      if (!charEqualsIgnoreCase(text.charAt(position + i), name.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
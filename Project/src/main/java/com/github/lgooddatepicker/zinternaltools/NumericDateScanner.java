@@ -0,0 +1,691 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * NumericDateScanner, This is a compiled scanner for date patterns that contain only numeric date
+ * fields (day of month, month number, and year) and literal characters, such as "M/d/yy",
+ * "dd.MM.uuuu" or "y-MM-dd". Patterns may also use a month name field instead of a month number,
+ * such as "MMM d, y", if a locale is supplied. Month names are found with the shared MonthNameIndex
+ * of the locale. The scanner recognizes text in a single pass over the characters,
+ * without creating any objects, and produces exactly the same result as parsing the text with a
+ * lenient, case insensitive DateTimeFormatter that was created from the same pattern. (This is the
+ * type of formatter that is created by PickerUtilities.createFormatterFromPatternString() and by
+ * the default settings of the DatePickerSettings class.)
+ *
+ * <p>Scanners are associated with the formatters that they replicate, by calling
+ * registerPatternForFormatter(). The function InternalUtilities.getParsedDateOrNull() will use the
+ * scanner of any registered formatter in place of that formatter. Formatters with text fields
+ * (such as month names or eras), and formatters that were not registered, are always parsed with
+ * the DateTimeFormatter class.
+ *
+ * <p>Replicated parsing rules: In lenient mode, every numeric field accepts from 1 to 9 digits.
+ * A month name field accepts the longest matching month name of any text style, or a month number
+ * if no month name matches.
+ * Plus and minus signs are accepted before any field that is not a two letter field (such as "dd",
+ * "MM", or "yy"). A two digit value for a two letter year field is interpreted as a year from 2000
+ * to 2099. The parsed fields are then resolved with the "smart" resolver style, except that dates
+ * that do not exist in the parsed month (such as February 30th) are reported as nonexistent. (The
+ * smart resolver would have changed those dates to the last day of the month, and those dates are
+ * always rejected by InternalUtilities.doesParsedDateMatchText().)
+ */
+public class NumericDateScanner {
+
+  /**
+   * NO_MATCH, This result indicates that the scanned text does not match the pattern, or that the
+   * parsed fields could not be resolved into a date.
+   */
+  public static final long NO_MATCH = Long.MIN_VALUE;
+
+  /**
+   * NONEXISTENT_DATE, This result indicates that the scanned text matches the pattern, but the
+   * parsed day of the month does not exist in the parsed month. For example, February 30th.
+   */
+  public static final long NONEXISTENT_DATE = Long.MIN_VALUE + 1;
+
+  /**
+   * UNDECIDED, This result indicates that the scanner cannot determine the result that the
+   * formatter would produce for the scanned text. This happens when a month name in the text is
+   * ambiguous. The text should be parsed with the formatter instead.
+   */
+  public static final long UNDECIDED = Long.MIN_VALUE + 2;
+
+  /**
+   * Element kinds, These identify the type of each element in a compiled pattern. Year fields are
+   * either "year of era" fields (pattern letter "y"), or proleptic year fields (pattern letter
+   * "u").
+   */
+  private static final int KIND_LITERAL = 0;
+
+  private static final int KIND_DAY_OF_MONTH = 1;
+  private static final int KIND_MONTH_OF_YEAR = 2;
+  private static final int KIND_YEAR_OF_ERA = 3;
+  private static final int KIND_YEAR = 4;
+  private static final int KIND_MONTH_NAME = 5;
+
+  /**
+   * maximumLenientDigits, This is the maximum number of digits that a lenient DateTimeFormatter
+   * will parse for a numeric field that is not adjacent to another numeric field.
+   */
+  private static final int maximumLenientDigits = 9;
+
+  /**
+   * reducedYearBase, This is the base year that is used to interpret two digit values for two
+   * letter year fields. This matches the base date that is used by the DateTimeFormatterBuilder.
+   */
+  private static final int reducedYearBase = 2000;
+
+  /**
+   * scannersByFormatter, This associates registered formatters with their scanners. The keys are
+   * weakly referenced, and DateTimeFormatter does not override equals(), so each formatter instance
+   * is matched by identity.
+   */
+  private static final Map<DateTimeFormatter, NumericDateScanner> scannersByFormatter =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  /**
+   * patternsByFormatter, This associates registered formatters with the patterns that they were
+   * created from. Unlike scannersByFormatter, this also holds the formatters whose patterns could
+   * not be compiled into a scanner. The keys are weakly referenced, and matched by identity.
+   */
+  private static final Map<DateTimeFormatter, String> patternsByFormatter =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  /**
+   * elementKinds, elementLiterals, elementAllowsSign, elementIsTwoDigitYear, These arrays describe
+   * each element of the compiled pattern, in order. All the arrays have the same length.
+   */
+  private final int[] elementKinds;
+
+  private final char[] elementLiterals;
+  private final boolean[] elementAllowsSign;
+  private final boolean[] elementIsTwoDigitYear;
+
+  /** yearIsYearOfEra, This indicates if the year field of the pattern is a "year of era" field. */
+  private final boolean yearIsYearOfEra;
+
+  /**
+   * monthNameIndex, This is the month name index that is used for a month name field. This is null
+   * if the pattern does not contain a month name field.
+   */
+  private final MonthNameIndex monthNameIndex;
+
+  /** Constructor, This is private. Use compileOrNull() to create scanner instances. */
+  private NumericDateScanner(
+      int[] elementKinds,
+      char[] elementLiterals,
+      boolean[] elementAllowsSign,
+      boolean[] elementIsTwoDigitYear,
+      boolean yearIsYearOfEra,
+      MonthNameIndex monthNameIndex) {
+    this.elementKinds = elementKinds;
+    this.elementLiterals = elementLiterals;
+    this.elementAllowsSign = elementAllowsSign;
+    this.elementIsTwoDigitYear = elementIsTwoDigitYear;
+    this.yearIsYearOfEra = yearIsYearOfEra;
+    this.monthNameIndex = monthNameIndex;
+  }
+
+  /**
+   * compileOrNull, This compiles the supplied DateTimeFormatter pattern string into a scanner. This
+   * returns null if the pattern cannot be replicated by a scanner. That is the case if the pattern
+   * contains any text fields or any fields other than the day of the month, the month number, and
+   * the year. It is also the case if the pattern is missing any of those three fields, contains any
+   * field more than once, contains optional sections, or contains two numeric fields without a
+   * literal between them. (Adjacent numeric fields use a different width rule.)
+   *
+   * <p>Month name fields are only supported if a locale is supplied, and if the month name index of
+   * that locale is exact for parsing. The locale must be the locale of the replicated formatter.
+   */
+  public static NumericDateScanner compileOrNull(String pattern, Locale localeOrNull) {
+    if (pattern == null) {
+      return null;
+    }
+    MonthNameIndex monthNameIndex = null;
+    ArrayList<Integer> kinds = new ArrayList<>();
+    ArrayList<Character> literals = new ArrayList<>();
+    ArrayList<Boolean> allowsSign = new ArrayList<>();
+    ArrayList<Boolean> isTwoDigitYear = new ArrayList<>();
+    boolean hasDay = false;
+    boolean hasMonth = false;
+    boolean hasYear = false;
+    boolean yearIsYearOfEra = false;
+    int position = 0;
+    while (position < pattern.length()) {
+      char current = pattern.charAt(position);
+      if ((current >= 'A' && current <= 'Z') || (current >= 'a' && current <= 'z')) {
+        int count = 1;
+        while (((position + count) < pattern.length())
+            && (pattern.charAt(position + count) == current)) {
+          ++count;
+        }
+        position += count;
+        int kind;
+        if (current == 'd' && count <= 2 && !hasDay) {
+          kind = KIND_DAY_OF_MONTH;
+          hasDay = true;
+        } else if ((current == 'M' || current == 'L') && count <= 2 && !hasMonth) {
+          kind = KIND_MONTH_OF_YEAR;
+          hasMonth = true;
+        } else if ((current == 'M' || current == 'L') && count <= 5 && !hasMonth) {
+          if (localeOrNull == null) {
+            return null;
+          }
+          monthNameIndex = MonthNameIndex.getIndexForLocale(localeOrNull);
+          if (!monthNameIndex.isExactForParsing()) {
+            return null;
+          }
+          kind = KIND_MONTH_NAME;
+          hasMonth = true;
+        } else if ((current == 'y' || current == 'u') && !hasYear) {
+          kind = (current == 'y') ? KIND_YEAR_OF_ERA : KIND_YEAR;
+          yearIsYearOfEra = (current == 'y');
+          hasYear = true;
+        } else {
+          return null;
+        }
+        // Any numeric field that directly follows another numeric field would be parsed with the
+        // "adjacent value" rules of the DateTimeFormatterBuilder. These are not replicated.
+        if (kind != KIND_MONTH_NAME
+            && !kinds.isEmpty()
+            && kinds.get(kinds.size() - 1) != KIND_LITERAL
+            && kinds.get(kinds.size() - 1) != KIND_MONTH_NAME) {
+          return null;
+        }
+        kinds.add(kind);
+        literals.add(' ');
+        // Two letter fields are fixed width fields with the "not negative" sign style. These never
+        // accept a sign. All other numeric fields (including the month number that can be parsed
+        // in place of a month name) accept a sign when parsing leniently.
+        allowsSign.add(count != 2);
+        isTwoDigitYear.add(count == 2 && (kind == KIND_YEAR_OF_ERA || kind == KIND_YEAR));
+      } else if (current == '\'') {
+        // Find the end of the quoted literal. Two single quotes represent one single quote.
+        int end = position + 1;
+        while (true) {
+          if (end >= pattern.length()) {
+            return null;
+          }
+          if (pattern.charAt(end) == '\'') {
+            if (((end + 1) < pattern.length()) && (pattern.charAt(end + 1) == '\'')) {
+              ++end;
+            } else {
+              break;
+            }
+          }
+          ++end;
+        }
+        String literal = pattern.substring(position + 1, end);
+        literal = (literal.isEmpty()) ? "'" : literal.replace("''", "'");
+        for (int i = 0; i < literal.length(); ++i) {
+          kinds.add(KIND_LITERAL);
+          literals.add(literal.charAt(i));
+          allowsSign.add(false);
+          isTwoDigitYear.add(false);
+        }
+        position = end + 1;
+      } else if (current == '[' || current == ']' || current == '{' || current == '}'
+          || current == '#') {
+        return null;
+      } else {
+        kinds.add(KIND_LITERAL);
+        literals.add(current);
+        allowsSign.add(false);
+        isTwoDigitYear.add(false);
+        ++position;
+      }
+    }
+    if (!(hasDay && hasMonth && hasYear)) {
+      return null;
+    }
+    int elementCount = kinds.size();
+    int[] elementKinds = new int[elementCount];
+    char[] elementLiterals = new char[elementCount];
+    boolean[] elementAllowsSign = new boolean[elementCount];
+    boolean[] elementIsTwoDigitYear = new boolean[elementCount];
+    for (int i = 0; i < elementCount; ++i) {
+      elementKinds[i] = kinds.get(i);
+      elementLiterals[i] = literals.get(i);
+      elementAllowsSign[i] = allowsSign.get(i);
+      elementIsTwoDigitYear[i] = isTwoDigitYear.get(i);
+    }
+    return new NumericDateScanner(
+        elementKinds,
+        elementLiterals,
+        elementAllowsSign,
+        elementIsTwoDigitYear,
+        yearIsYearOfEra,
+        monthNameIndex);
+  }
+
+  /**
+   * getScannerForFormatterOrNull, This returns the scanner that was registered for the supplied
+   * formatter, or null if no scanner was registered for that formatter.
+   */
+  public static NumericDateScanner getScannerForFormatterOrNull(DateTimeFormatter formatter) {
+    if (formatter == null) {
+      return null;
+    }
+    return scannersByFormatter.get(formatter);
+  }
+
+  /**
+   * getPatternForFormatterOrNull, This returns the pattern that was registered for the supplied
+   * formatter, or null if no pattern was registered for that formatter. A pattern is returned even
+   * if it could not be compiled into a scanner.
+   */
+  public static String getPatternForFormatterOrNull(DateTimeFormatter formatter) {
+    if (formatter == null) {
+      return null;
+    }
+    return patternsByFormatter.get(formatter);
+  }
+
+  /**
+   * registerPatternForFormatter, This compiles the supplied pattern with the locale of the supplied
+   * formatter, and registers the resulting scanner (if any) as a replacement for the formatter. The
+   * pattern itself is also registered, and can be retrieved with getPatternForFormatterOrNull().
+   *
+   * <p>The formatter must have been created from the supplied pattern, with parseLenient() and
+   * parseCaseInsensitive(), and with all other formatter options left at their default values. This
+   * is true of any formatter that is created by PickerUtilities.createFormatterFromPatternString().
+   * For a formatter created with appendLocalized(style, null), the pattern must be the value that
+   * is returned by DateTimeFormatterBuilder.getLocalizedDateTimePattern() for the same style, the
+   * ISO chronology, and the locale of the formatter.
+   */
+  public static void registerPatternForFormatter(DateTimeFormatter formatter, String pattern) {
+    if (formatter == null || pattern == null) {
+      return;
+    }
+    patternsByFormatter.put(formatter, pattern);
+    NumericDateScanner scanner = compileOrNull(pattern, formatter.getLocale());
+    if (scanner != null) {
+      scannersByFormatter.put(formatter, scanner);
+    }
+  }
+
+  /**
+   * packDate, This packs the supplied (valid) date values into a single long value. Packed values
+   * can never be equal to NO_MATCH or NONEXISTENT_DATE.
+   */
+  public static long packDate(int year, int month, int dayOfMonth) {
+    return (((long) year) << 9) | (month << 5) | dayOfMonth;
+  }
+
+  /**
+   * unpackDateOrNull, This returns the date that is represented by the supplied packed value, or
+   * null if the supplied value is NO_MATCH, NONEXISTENT_DATE, or UNDECIDED.
+   */
+  public static LocalDate unpackDateOrNull(long packedDate) {
+    if (packedDate == NO_MATCH || packedDate == NONEXISTENT_DATE || packedDate == UNDECIDED) {
+      return null;
+    }
+    return LocalDate.of(
+        (int) (packedDate >> 9), (int) ((packedDate >> 5) & 0xF), (int) (packedDate & 0x1F));
+  }
+
+  /**
+   * scan, This scans the supplied text, and returns the packed date value that was parsed from the
+   * text. If the text does not match the pattern, this returns NO_MATCH. If the text matches the
+   * pattern but the date does not exist, this returns NONEXISTENT_DATE. If the text contains an
+   * ambiguous month name, this returns UNDECIDED. The entire text must match the pattern. This
+   * function does not create any objects.
+   */
+  public long scan(CharSequence text) {
+    int length = text.length();
+    int position = 0;
+    long day = 0;
+    long month = 0;
+    long year = 0;
+    for (int i = 0; i < elementKinds.length; ++i) {
+      if (position >= length) {
+        return NO_MATCH;
+      }
+      char current = text.charAt(position);
+      if (elementKinds[i] == KIND_LITERAL) {
+        if (!charEqualsIgnoreCase(current, elementLiterals[i])) {
+          return NO_MATCH;
+        }
+        ++position;
+        continue;
+      }
+      if (elementKinds[i] == KIND_MONTH_NAME) {
+        long matchResult = monthNameIndex.matchMonthName(text, position);
+        if (matchResult == MonthNameIndex.AMBIGUOUS_MATCH) {
+          return UNDECIDED;
+        }
+        if (matchResult != MonthNameIndex.NO_MATCH) {
+          month = MonthNameIndex.getMonth(matchResult);
+          position = MonthNameIndex.getEndPosition(matchResult);
+          continue;
+        }
+        // If no month name matches, then a lenient formatter will parse a month number.
+      }
+      boolean negative = false;
+      if (current == '+' || current == '-') {
+        if (!elementAllowsSign[i]) {
+          return NO_MATCH;
+        }
+        negative = (current == '-');
+        ++position;
+      }
+      int digitsStart = position;
+      int digitsEnd = Math.min(position + maximumLenientDigits, length);
+      long value = 0;
+      while (position < digitsEnd) {
+        int digit = text.charAt(position) - '0';
+        if (digit < 0 || digit > 9) {
+          break;
+        }
+        value = (value * 10) + digit;
+        ++position;
+      }
+      if (position == digitsStart) {
+        return NO_MATCH;
+      }
+      if (negative) {
+        value = -value;
+      }
+      if (elementIsTwoDigitYear[i] && ((position - digitsStart) == 2)) {
+        value += reducedYearBase;
+      }
+      if (elementKinds[i] == KIND_DAY_OF_MONTH) {
+        day = value;
+      } else if (elementKinds[i] == KIND_MONTH_OF_YEAR || elementKinds[i] == KIND_MONTH_NAME) {
+        month = value;
+      } else {
+        year = value;
+      }
+    }
+    if (position != length) {
+      return NO_MATCH;
+    }
+    // Resolve the fields. A year of era must be positive. Nine digits always fit in a valid year.
+    if ((yearIsYearOfEra && year < 1) || month < 1 || month > 12 || day < 1 || day > 31) {
+      return NO_MATCH;
+    }
+    if (day > Month.of((int) month).length(Year.isLeap(year))) {
+      return NONEXISTENT_DATE;
+    }
+    return packDate((int) year, (int) month, (int) day);
+  }
+
+  /**
+   * createPrefixMatcher, This creates a new prefix matcher for this scanner. See the PrefixMatcher
+   * class for details.
+   */
+  public PrefixMatcher createPrefixMatcher() {
+    return new PrefixMatcher();
+  }
+
+  /**
+   * charEqualsIgnoreCase, This compares two characters in the same way as a case insensitive
+   * DateTimeFormatter.
+   */
+  private static boolean charEqualsIgnoreCase(char first, char second) {
+    return first == second
+        || Character.toUpperCase(first) == Character.toUpperCase(second)
+        || Character.toLowerCase(first) == Character.toLowerCase(second);
+  }
+
+  /**
+   * getMaximumDayOfMonth, This returns the largest day of the month that can exist in the supplied
+   * month (in any year). If the month is not known, then this returns 31.
+   */
+  private static int getMaximumDayOfMonth(long month) {
+    if (month < 1 || month > 12) {
+      return 31;
+    }
+    return Month.of((int) month).maxLength();
+  }
+
+  /**
+   * canBecomeValidValue, This returns true if the supplied partially typed numeric field could
+   * still become a value from 1 to the supplied maximum, by typing more digits. The digit count is
+   * the number of digits that have already been typed.
+   */
+  private static boolean canBecomeValidValue(long value, int digitCount, long maximum) {
+    long smallest = value;
+    long largest = value;
+    for (int i = digitCount; i <= maximumLenientDigits; ++i) {
+      if (largest >= 1 && smallest <= maximum) {
+        return true;
+      }
+      if (smallest > maximum) {
+        return false;
+      }
+      smallest = smallest * 10;
+      largest = (largest * 10) + 9;
+    }
+    return false;
+  }
+
+  /**
+   * PrefixMatcher, This determines if a text is a "viable prefix" of the pattern of a scanner. A
+   * viable prefix is a text that could still become a valid date in that pattern, if the user types
+   * more characters at the end of the text. For example, "3", "3/1", and "3/14/" are viable
+   * prefixes of the pattern "M/d/yy", but "3/14/2024/" and "13/" are not.
+   *
+   * <p>A prefix matcher carries its state from one text to the next. The state of each pattern
+   * element is saved as a "checkpoint", together with the last text position that was read to
+   * complete the previous elements. When a new text is supplied, the matcher resumes from the last
+   * checkpoint that does not depend on any changed characters. When a user types or deletes
+   * characters at the end of the text, only the pattern element that is being typed is scanned
+   * again. Each keystroke therefore costs a small constant amount of work, and no objects are
+   * created.
+   *
+   * <p>Prefix matchers are not thread safe. Each matcher should only be used by a single component.
+   */
+  public class PrefixMatcher {
+
+    /**
+     * Checkpoints, For each pattern element index, these store the text position at which the
+     * element starts, the last text position that was read to complete the previous elements, and
+     * the field values that were parsed by the previous elements. Checkpoint zero is always valid.
+     */
+    private final int[] checkpointPositions = new int[elementKinds.length + 1];
+
+    private final int[] checkpointDependsUntil = new int[elementKinds.length + 1];
+    private final long[] checkpointDays = new long[elementKinds.length + 1];
+    private final long[] checkpointMonths = new long[elementKinds.length + 1];
+    private final long[] checkpointYears = new long[elementKinds.length + 1];
+
+    /** checkpointCount, This is the number of checkpoints that are valid for the last text. */
+    private int checkpointCount = 1;
+
+    /** Constructor, This is private. Use NumericDateScanner.createPrefixMatcher(). */
+    private PrefixMatcher() {
+      checkpointDependsUntil[0] = -1;
+    }
+
+    /**
+     * isViablePrefix, This returns true if the supplied text could become a valid date in the
+     * pattern of the scanner, by typing zero or more additional characters at the end. The
+     * unchangedLength must be the length of the common prefix of the supplied text and the text
+     * that was supplied in the previous call to this function (or zero for the first call).
+     *
+     * <p>A text that already contains a complete date can be a viable prefix if more digits can be
+     * typed into the last field. Text that matches the whole pattern, but which can not be extended
+     * any further, is not a viable prefix.
+     */
+    public boolean isViablePrefix(CharSequence text, int unchangedLength) {
+      // Discard the checkpoints that depend on any changed characters.
+      while (checkpointCount > 1
+          && checkpointDependsUntil[checkpointCount - 1] >= unchangedLength) {
+        --checkpointCount;
+      }
+      int element = checkpointCount - 1;
+      int position = checkpointPositions[element];
+      long day = checkpointDays[element];
+      long month = checkpointMonths[element];
+      long year = checkpointYears[element];
+      int length = text.length();
+      for (; element < elementKinds.length; ++element) {
+        if (position >= length) {
+          return isDayViableInMonth(day, month);
+        }
+        char current = text.charAt(position);
+        int kind = elementKinds[element];
+        int dependsUntil;
+        if (kind == KIND_LITERAL) {
+          if (!charEqualsIgnoreCase(current, elementLiterals[element])) {
+            return false;
+          }
+          dependsUntil = position;
+          ++position;
+          saveCheckpoint(element + 1, position, dependsUntil, day, month, year);
+          continue;
+        }
+        if (kind == KIND_MONTH_NAME) {
+          if (monthNameIndex.isMonthNamePrefix(text, position, length)) {
+            return true;
+          }
+          long matchResult = monthNameIndex.matchMonthName(text, position);
+          if (matchResult == MonthNameIndex.AMBIGUOUS_MATCH) {
+            // The formatter decides the month. Assume that the text can still be completed.
+            return true;
+          }
+          if (matchResult != MonthNameIndex.NO_MATCH) {
+            dependsUntil = position + monthNameIndex.getMaximumNameLength();
+            month = MonthNameIndex.getMonth(matchResult);
+            position = MonthNameIndex.getEndPosition(matchResult);
+            saveCheckpoint(element + 1, position, dependsUntil, day, month, year);
+            continue;
+          }
+          // If no month name matches, then a month number can be typed.
+        }
+        boolean negative = false;
+        if (current == '+' || current == '-') {
+          if (!elementAllowsSign[element]) {
+            return false;
+          }
+          negative = (current == '-');
+          ++position;
+        }
+        int digitsStart = position;
+        int digitsEnd = Math.min(position + maximumLenientDigits, length);
+        long value = 0;
+        while (position < digitsEnd) {
+          int digit = text.charAt(position) - '0';
+          if (digit < 0 || digit > 9) {
+            break;
+          }
+          value = (value * 10) + digit;
+          ++position;
+        }
+        int digitCount = position - digitsStart;
+        if (position >= length && digitCount < maximumLenientDigits) {
+          // The text ends inside this field, so more digits could still be typed.
+          return isFieldViable(kind, negative, value, digitCount, day, month);
+        }
+        if (digitCount == 0) {
+          return false;
+        }
+        if (negative) {
+          value = -value;
+        }
+        if (elementIsTwoDigitYear[element] && (digitCount == 2)) {
+          value += reducedYearBase;
+        }
+        // Completed fields must be within the range that is accepted by the smart resolver.
+        if (kind == KIND_DAY_OF_MONTH) {
+          if (value < 1 || value > 31) {
+            return false;
+          }
+          day = value;
+        } else if (kind == KIND_MONTH_OF_YEAR || kind == KIND_MONTH_NAME) {
+          if (value < 1 || value > 12) {
+            return false;
+          }
+          month = value;
+        } else {
+          if (kind == KIND_YEAR_OF_ERA && value < 1) {
+            return false;
+          }
+          year = value;
+        }
+        if (!isDayViableInMonth(day, month)) {
+          return false;
+        }
+        dependsUntil = Math.min(position, length - 1);
+        saveCheckpoint(element + 1, position, dependsUntil, day, month, year);
+      }
+      // The entire pattern was matched. The text can not be extended any further.
+      return false;
+    }
+
+    /**
+     * isDayViableInMonth, This returns true if the supplied day could exist in the supplied month,
+     * in at least one year. Unknown values (zero) are always considered viable.
+     */
+    private boolean isDayViableInMonth(long day, long month) {
+      return day == 0 || month == 0 || day <= getMaximumDayOfMonth(month);
+    }
+
+    /**
+     * isFieldViable, This returns true if a partially typed numeric field (and possibly a sign),
+     * could still become a valid value. The other field values are used to restrict the day of the
+     * month to the days that exist in a known month.
+     */
+    private boolean isFieldViable(
+        int kind, boolean negative, long value, int digitCount, long day, long month) {
+      if (kind == KIND_DAY_OF_MONTH) {
+        return !negative && canBecomeValidValue(value, digitCount, getMaximumDayOfMonth(month));
+      }
+      if (kind == KIND_MONTH_OF_YEAR || kind == KIND_MONTH_NAME) {
+        return !negative && canBecomeValidValue(value, digitCount, 12);
+      }
+      if (kind == KIND_YEAR_OF_ERA) {
+        return !negative;
+      }
+      return true;
+    }
+
+    /**
+     * saveCheckpoint, This saves the state before the specified element, if that checkpoint has
+     * not already been saved for the current text.
+     */
+    private void saveCheckpoint(
+        int element, int position, int dependsUntil, long day, long month, long year) {
+      if (element < checkpointCount) {
+        return;
+      }
+      checkpointPositions[element] = position;
+      checkpointDependsUntil[element] = dependsUntil;
+      checkpointDays[element] = day;
+      checkpointMonths[element] = month;
+      checkpointYears[element] = year;
+      checkpointCount = element + 1;
+    }
+  }
+}
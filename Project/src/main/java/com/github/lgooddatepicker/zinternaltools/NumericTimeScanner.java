@@ -0,0 +1,656 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * NumericTimeScanner, This is a compiled scanner for time patterns that contain an hour field, and
+ * optionally a minute field, a second field, an AM/PM field, and literal characters. Examples
+ * include "h:mma", "HH:mm", "h:mm:ss a", "a h:mm", and "ha". The scanner recognizes text in a
+ * single pass over the characters, without creating any objects and without throwing exceptions,
+ * and produces exactly the same result as parsing the text into a LocalTime with a lenient, case
+ * insensitive DateTimeFormatter that was created from the same pattern. (This is the type of
+ * formatter that is created by PickerUtilities.createFormatterFromPatternString() and by the
+ * default settings of the TimePickerSettings class.)
+ *
+ * <p>Scanners are associated with the formatters that they replicate, by calling
+ * registerPatternForFormatter(). The function InternalUtilities.getParsedTimeOrNull() will use the
+ * scanner of any registered formatter in place of that formatter. The strict formatter
+ * DateTimeFormatter.ISO_LOCAL_TIME always has a built in scanner. Any other formatters are parsed
+ * with the DateTimeFormatter class.
+ *
+ * <p>Replicated parsing rules: In lenient mode, every numeric field accepts from 1 to 9 digits.
+ * Plus and minus signs are accepted before any field that is not a two letter field (such as "hh",
+ * or "mm"). An AM/PM field accepts the longest matching AM/PM text of any text style, or a number
+ * if no text matches. The parsed fields are then resolved with the "smart" resolver style. For
+ * example, a clock hour of zero is accepted as midnight or noon, and "24:00" is accepted as
+ * midnight by an hour of day field.
+ */
+public class NumericTimeScanner {
+
+  /**
+   * NO_MATCH, This result indicates that the scanned text does not match the pattern, or that the
+   * parsed fields could not be resolved into a time.
+   */
+  public static final long NO_MATCH = -1;
+
+  /**
+   * UNDECIDED, This result indicates that the scanner cannot determine the result that the
+   * formatter would produce for the scanned text. This happens when an AM/PM text in the text is
+   * ambiguous. The text should be parsed with the formatter instead.
+   */
+  public static final long UNDECIDED = -2;
+
+  /**
+   * Element kinds, These identify the type of each element in a compiled pattern. The hour kinds
+   * match the pattern letters "H" (hour of day), "k" (clock hour of day), "K" (hour of AM/PM), and
+   * "h" (clock hour of AM/PM).
+   */
+  private static final int KIND_LITERAL = 0;
+
+  private static final int KIND_HOUR_OF_DAY = 1;
+  private static final int KIND_CLOCK_HOUR_OF_DAY = 2;
+  private static final int KIND_HOUR_OF_AMPM = 3;
+  private static final int KIND_CLOCK_HOUR_OF_AMPM = 4;
+  private static final int KIND_MINUTE_OF_HOUR = 5;
+  private static final int KIND_SECOND_OF_MINUTE = 6;
+  private static final int KIND_AMPM_OF_DAY = 7;
+
+  /**
+   * maximumLenientDigits, This is the maximum number of digits that a lenient DateTimeFormatter
+   * will parse for a numeric field that is not adjacent to another numeric field.
+   */
+  private static final int maximumLenientDigits = 9;
+
+  /** Time conversion constants. */
+  private static final long nanosPerSecond = 1000_000_000L;
+
+  private static final long nanosPerMinute = 60 * nanosPerSecond;
+  private static final long nanosPerHour = 60 * nanosPerMinute;
+
+  /**
+   * amPmTextStyles, These are the text styles that are used by a lenient DateTimeFormatter to
+   * parse an AM/PM text field. (Standalone styles are not used for AM/PM texts.)
+   */
+  private static final TextStyle[] amPmTextStyles = {
+    TextStyle.FULL, TextStyle.SHORT, TextStyle.NARROW
+  };
+
+  /**
+   * amPmTextsByLocale, This holds the AM/PM texts of each locale, once they have been created.
+   * Each value holds the texts of the locale, ordered from the longest text to the shortest text,
+   * or null if the texts of the locale cannot be replicated.
+   */
+  private static final HashMap<Locale, AmPmTexts> amPmTextsByLocale = new HashMap<>();
+
+  /**
+   * isoLocalTimeScanner, This is the built in scanner for DateTimeFormatter.ISO_LOCAL_TIME. That
+   * formatter uses strict parsing and the strict resolver style, so it is scanned by a separate
+   * function.
+   */
+  private static final NumericTimeScanner isoLocalTimeScanner =
+      new NumericTimeScanner(new int[0], new char[0], new boolean[0], KIND_HOUR_OF_DAY, null);
+
+  /**
+   * scannersByFormatter, This associates registered formatters with their scanners. The keys are
+   * weakly referenced, and DateTimeFormatter does not override equals(), so each formatter instance
+   * is matched by identity.
+   */
+  private static final Map<DateTimeFormatter, NumericTimeScanner> scannersByFormatter =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  /**
+   * elementKinds, elementLiterals, elementAllowsSign, These arrays describe each element of the
+   * compiled pattern, in order. All the arrays have the same length.
+   */
+  private final int[] elementKinds;
+
+  private final char[] elementLiterals;
+  private final boolean[] elementAllowsSign;
+
+  /** hourKind, This is the element kind of the hour field of the pattern. */
+  private final int hourKind;
+
+  /**
+   * amPmTexts, These are the AM/PM texts that are used for an AM/PM field. This is null if the
+   * pattern does not contain an AM/PM field.
+   */
+  private final AmPmTexts amPmTexts;
+
+  /** Constructor, This is private. Use compileOrNull() to create scanner instances. */
+  private NumericTimeScanner(
+      int[] elementKinds,
+      char[] elementLiterals,
+      boolean[] elementAllowsSign,
+      int hourKind,
+      AmPmTexts amPmTexts) {
+    this.elementKinds = elementKinds;
+    this.elementLiterals = elementLiterals;
+    this.elementAllowsSign = elementAllowsSign;
+    this.hourKind = hourKind;
+    this.amPmTexts = amPmTexts;
+  }
+
+  /**
+   * compileOrNull, This compiles the supplied DateTimeFormatter pattern string into a scanner. This
+   * returns null if the pattern cannot be replicated by a scanner. That is the case if the pattern
+   * contains any fields other than the hour, minute, second, and AM/PM fields, or if the pattern is
+   * missing the hour field. It is also the case if the pattern contains any field more than once,
+   * contains a second field without a minute field, contains optional sections, or contains two
+   * numeric fields without a literal between them. (Adjacent numeric fields use a different width
+   * rule.) The hour of AM/PM fields ("h" and "K") require an AM/PM field, and the hour of day
+   * fields ("H" and "k") must not be combined with an AM/PM field.
+   *
+   * <p>AM/PM fields are only supported if a locale is supplied. The locale must be the locale of
+   * the replicated formatter.
+   */
+  public static NumericTimeScanner compileOrNull(String pattern, Locale localeOrNull) {
+    if (pattern == null) {
+      return null;
+    }
+    AmPmTexts amPmTexts = null;
+    ArrayList<Integer> kinds = new ArrayList<>();
+    ArrayList<Character> literals = new ArrayList<>();
+    ArrayList<Boolean> allowsSign = new ArrayList<>();
+    int hourKind = KIND_LITERAL;
+    boolean hasMinute = false;
+    boolean hasSecond = false;
+    int position = 0;
+    while (position < pattern.length()) {
+      char current = pattern.charAt(position);
+      if ((current >= 'A' && current <= 'Z') || (current >= 'a' && current <= 'z')) {
+        int count = 1;
+        while (((position + count) < pattern.length())
+            && (pattern.charAt(position + count) == current)) {
+          ++count;
+        }
+        position += count;
+        int kind;
+        if (current == 'a' && count == 1 && amPmTexts == null) {
+          if (localeOrNull == null) {
+            return null;
+          }
+          amPmTexts = getAmPmTextsForLocaleOrNull(localeOrNull);
+          if (amPmTexts == null) {
+            return null;
+          }
+          kind = KIND_AMPM_OF_DAY;
+        } else if (count > 2) {
+          return null;
+        } else if (current == 'H' && hourKind == KIND_LITERAL) {
+          kind = hourKind = KIND_HOUR_OF_DAY;
+        } else if (current == 'k' && hourKind == KIND_LITERAL) {
+          kind = hourKind = KIND_CLOCK_HOUR_OF_DAY;
+        } else if (current == 'K' && hourKind == KIND_LITERAL) {
+          kind = hourKind = KIND_HOUR_OF_AMPM;
+        } else if (current == 'h' && hourKind == KIND_LITERAL) {
+          kind = hourKind = KIND_CLOCK_HOUR_OF_AMPM;
+        } else if (current == 'm' && !hasMinute) {
+          kind = KIND_MINUTE_OF_HOUR;
+          hasMinute = true;
+        } else if (current == 's' && !hasSecond) {
+          kind = KIND_SECOND_OF_MINUTE;
+          hasSecond = true;
+        } else {
+          return null;
+        }
+        // Any numeric field that directly follows another numeric field would be parsed with the
+        // "adjacent value" rules of the DateTimeFormatterBuilder. These are not replicated.
+        if (kind != KIND_AMPM_OF_DAY
+            && !kinds.isEmpty()
+            && kinds.get(kinds.size() - 1) != KIND_LITERAL
+            && kinds.get(kinds.size() - 1) != KIND_AMPM_OF_DAY) {
+          return null;
+        }
+        kinds.add(kind);
+        literals.add(' ');
+        // Two letter fields are fixed width fields with the "not negative" sign style. These never
+        // accept a sign. All other numeric fields (including the number that can be parsed in
+        // place of an AM/PM text) accept a sign when parsing leniently.
+        allowsSign.add(count != 2);
+      } else if (current == '\'') {
+        // Find the end of the quoted literal. Two single quotes represent one single quote.
+        int end = position + 1;
+        while (true) {
+          if (end >= pattern.length()) {
+            return null;
+          }
+          if (pattern.charAt(end) == '\'') {
+            if (((end + 1) < pattern.length()) && (pattern.charAt(end + 1) == '\'')) {
+              ++end;
+            } else {
+              break;
+            }
+          }
+          ++end;
+        }
+        String literal = pattern.substring(position + 1, end);
+        literal = (literal.isEmpty()) ? "'" : literal.replace("''", "'");
+        for (int i = 0; i < literal.length(); ++i) {
+          kinds.add(KIND_LITERAL);
+          literals.add(literal.charAt(i));
+          allowsSign.add(false);
+        }
+        position = end + 1;
+      } else if (current == '[' || current == ']' || current == '{' || current == '}'
+          || current == '#') {
+        return null;
+      } else {
+        kinds.add(KIND_LITERAL);
+        literals.add(current);
+        allowsSign.add(false);
+        ++position;
+      }
+    }
+    // The AM/PM field is only combined with the hour of AM/PM fields. (When combined with an hour
+    // of day field, the formatter cross checks the two fields, which is not replicated.)
+    boolean isAmPmHour = (hourKind == KIND_HOUR_OF_AMPM || hourKind == KIND_CLOCK_HOUR_OF_AMPM);
+    if (hourKind == KIND_LITERAL
+        || (hasSecond && !hasMinute)
+        || (isAmPmHour != (amPmTexts != null))) {
+      return null;
+    }
+    int elementCount = kinds.size();
+    int[] elementKinds = new int[elementCount];
+    char[] elementLiterals = new char[elementCount];
+    boolean[] elementAllowsSign = new boolean[elementCount];
+    for (int i = 0; i < elementCount; ++i) {
+      elementKinds[i] = kinds.get(i);
+      elementLiterals[i] = literals.get(i);
+      elementAllowsSign[i] = allowsSign.get(i);
+    }
+    return new NumericTimeScanner(
+        elementKinds, elementLiterals, elementAllowsSign, hourKind, amPmTexts);
+  }
+
+  /**
+   * getScannerForFormatterOrNull, This returns the scanner that was registered for the supplied
+   * formatter, or null if no scanner was registered for that formatter. The built in scanner is
+   * returned for DateTimeFormatter.ISO_LOCAL_TIME.
+   */
+  public static NumericTimeScanner getScannerForFormatterOrNull(DateTimeFormatter formatter) {
+    if (formatter == null) {
+      return null;
+    }
+    if (formatter == DateTimeFormatter.ISO_LOCAL_TIME) {
+      return isoLocalTimeScanner;
+    }
+    return scannersByFormatter.get(formatter);
+  }
+
+  /**
+   * registerPatternForFormatter, This compiles the supplied pattern with the locale of the supplied
+   * formatter, and registers the resulting scanner (if any) as a replacement for the formatter.
+   *
+   * <p>The formatter must have been created from the supplied pattern, with parseLenient() and
+   * parseCaseInsensitive(), and with all other formatter options left at their default values. This
+   * is true of any formatter that is created by PickerUtilities.createFormatterFromPatternString().
+   * For a formatter created with appendLocalized(null, style), the pattern must be the value that
+   * is returned by DateTimeFormatterBuilder.getLocalizedDateTimePattern() for the same style, the
+   * ISO chronology, and the locale of the formatter.
+   */
+  public static void registerPatternForFormatter(DateTimeFormatter formatter, String pattern) {
+    if (formatter == null) {
+      return;
+    }
+    NumericTimeScanner scanner = compileOrNull(pattern, formatter.getLocale());
+    if (scanner != null) {
+      scannersByFormatter.put(formatter, scanner);
+    }
+  }
+
+  /**
+   * unpackTimeOrNull, This returns the time that is represented by the supplied scan result, or
+   * null if the supplied value is NO_MATCH or UNDECIDED. Successful scan results are the nano of
+   * day of the parsed time.
+   */
+  public static LocalTime unpackTimeOrNull(long scanResult) {
+    if (scanResult == NO_MATCH || scanResult == UNDECIDED) {
+      return null;
+    }
+    return LocalTime.ofNanoOfDay(scanResult);
+  }
+
+  /**
+   * scan, This scans the supplied text, and returns the nano of day of the time that was parsed
+   * from the text. If the text does not match the pattern, or if the parsed fields do not form a
+   * valid time, this returns NO_MATCH. If the text contains an ambiguous AM/PM text, this returns
+   * UNDECIDED. The entire text must match the pattern. This function does not create any objects.
+   */
+  public long scan(CharSequence text) {
+    if (this == isoLocalTimeScanner) {
+      return scanIsoLocalTime(text);
+    }
+    int length = text.length();
+    int position = 0;
+    long hour = 0;
+    long minute = 0;
+    long second = 0;
+    long amPm = 0;
+    for (int i = 0; i < elementKinds.length; ++i) {
+      if (position >= length) {
+        return NO_MATCH;
+      }
+      char current = text.charAt(position);
+      int kind = elementKinds[i];
+      if (kind == KIND_LITERAL) {
+        if (!charEqualsIgnoreCase(current, elementLiterals[i])) {
+          return NO_MATCH;
+        }
+        ++position;
+        continue;
+      }
+      if (kind == KIND_AMPM_OF_DAY) {
+        long matchResult = amPmTexts.match(text, position);
+        if (matchResult == UNDECIDED) {
+          return UNDECIDED;
+        }
+        if (matchResult != NO_MATCH) {
+          amPm = matchResult >>> 32;
+          position = (int) matchResult;
+          continue;
+        }
+        // If no AM/PM text matches, then a lenient formatter will parse a number.
+      }
+      boolean negative = false;
+      if (current == '+' || current == '-') {
+        if (!elementAllowsSign[i]) {
+          return NO_MATCH;
+        }
+        negative = (current == '-');
+        ++position;
+      }
+      int digitsStart = position;
+      int digitsEnd = Math.min(position + maximumLenientDigits, length);
+      long value = 0;
+      while (position < digitsEnd) {
+        int digit = text.charAt(position) - '0';
+        if (digit < 0 || digit > 9) {
+          break;
+        }
+        value = (value * 10) + digit;
+        ++position;
+      }
+      if (position == digitsStart) {
+        return NO_MATCH;
+      }
+      if (negative) {
+        value = -value;
+      }
+      if (kind == KIND_MINUTE_OF_HOUR) {
+        minute = value;
+      } else if (kind == KIND_SECOND_OF_MINUTE) {
+        second = value;
+      } else if (kind == KIND_AMPM_OF_DAY) {
+        amPm = value;
+      } else {
+        hour = value;
+      }
+    }
+    if (position != length) {
+      return NO_MATCH;
+    }
+    // Resolve the hour field into an hour of day, in the same way as the smart resolver.
+    // The smart resolver accepts a clock hour of zero, in addition to the normal range.
+    long hourOfDay;
+    if (hourKind == KIND_HOUR_OF_DAY) {
+      hourOfDay = hour;
+    } else if (hourKind == KIND_CLOCK_HOUR_OF_DAY) {
+      if (hour < 0 || hour > 24) {
+        return NO_MATCH;
+      }
+      hourOfDay = (hour == 24) ? 0 : hour;
+    } else {
+      long hourOfAmPm = hour;
+      if (hourKind == KIND_CLOCK_HOUR_OF_AMPM) {
+        if (hour < 0 || hour > 12) {
+          return NO_MATCH;
+        }
+        hourOfAmPm = (hour == 12) ? 0 : hour;
+      }
+      if (amPm < 0 || amPm > 1 || hourOfAmPm < 0 || hourOfAmPm > 11) {
+        return NO_MATCH;
+      }
+      hourOfDay = (amPm * 12) + hourOfAmPm;
+    }
+    if (minute < 0 || minute > 59) {
+      return NO_MATCH;
+    }
+    // The smart resolver accepts "24:00:00" as the end of the day (midnight).
+    if (hourOfDay == 24 && minute == 0 && second == 0) {
+      return 0;
+    }
+    if (hourOfDay < 0 || hourOfDay > 23 || second < 0 || second > 59) {
+      return NO_MATCH;
+    }
+    return (hourOfDay * nanosPerHour) + (minute * nanosPerMinute) + (second * nanosPerSecond);
+  }
+
+  /**
+   * scanIsoLocalTime, This scans the supplied text in the same way as the strict formatter
+   * DateTimeFormatter.ISO_LOCAL_TIME. That formatter accepts "HH:mm", with optional seconds
+   * (":ss"), and an optional fraction of a second after the seconds (a decimal point followed by
+   * zero to nine digits). Every field except the fraction must have exactly two digits.
+   */
+  private static long scanIsoLocalTime(CharSequence text) {
+    int length = text.length();
+    if (length < 5 || text.charAt(2) != ':') {
+      return NO_MATCH;
+    }
+    long hour = getTwoDigitValueOrNegative(text, 0);
+    long minute = getTwoDigitValueOrNegative(text, 3);
+    long second = 0;
+    long nanos = 0;
+    int position = 5;
+    if (length > position) {
+      if (length < 8 || text.charAt(position) != ':') {
+        return NO_MATCH;
+      }
+      second = getTwoDigitValueOrNegative(text, 6);
+      position = 8;
+      if (length > position) {
+        if (text.charAt(position) != '.') {
+          return NO_MATCH;
+        }
+        ++position;
+        long scale = nanosPerSecond;
+        while (position < length && scale > 1) {
+          int digit = text.charAt(position) - '0';
+          if (digit < 0 || digit > 9) {
+            return NO_MATCH;
+          }
+          scale /= 10;
+          nanos += digit * scale;
+          ++position;
+        }
+        if (position != length) {
+          return NO_MATCH;
+        }
+      }
+    }
+    // The strict resolver only accepts the normal range of each field.
+    if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+      return NO_MATCH;
+    }
+    return (hour * nanosPerHour) + (minute * nanosPerMinute) + (second * nanosPerSecond) + nanos;
+  }
+
+  /**
+   * getTwoDigitValueOrNegative, This returns the value of the two digits at the specified position
+   * of the text, or -1 if either character is not a digit.
+   */
+  private static long getTwoDigitValueOrNegative(CharSequence text, int position) {
+    int first = text.charAt(position) - '0';
+    int second = text.charAt(position + 1) - '0';
+    if (first < 0 || first > 9 || second < 0 || second > 9) {
+      return -1;
+    }
+    return (first * 10) + second;
+  }
+
+  /**
+   * getAmPmTextsForLocaleOrNull, This returns the shared AM/PM texts for the specified locale, or
+   * null if the AM/PM texts of the locale cannot be replicated. The texts are created the first
+   * time that they are requested.
+   */
+  private static AmPmTexts getAmPmTextsForLocaleOrNull(Locale locale) {
+    synchronized (amPmTextsByLocale) {
+      if (!amPmTextsByLocale.containsKey(locale)) {
+        amPmTextsByLocale.put(locale, AmPmTexts.createOrNull(locale));
+      }
+      return amPmTextsByLocale.get(locale);
+    }
+  }
+
+  /**
+   * charEqualsIgnoreCase, This compares two characters in the same way as a case insensitive
+   * DateTimeFormatter.
+   */
+  private static boolean charEqualsIgnoreCase(char first, char second) {
+    return first == second
+        || Character.toUpperCase(first) == Character.toUpperCase(second)
+        || Character.toLowerCase(first) == Character.toLowerCase(second);
+  }
+
+  /**
+   * AmPmTexts, This holds all the AM/PM texts of one locale, ordered from the longest text to the
+   * shortest text. These are the texts that a lenient DateTimeFormatter will accept for an AM/PM
+   * field. Instances of this class are immutable.
+   */
+  private static class AmPmTexts {
+
+    /** texts, These are the AM/PM texts, from the longest to the shortest. */
+    private final String[] texts;
+
+    /** values, These are the AM/PM values of the texts. Zero is AM, and one is PM. */
+    private final int[] values;
+
+    /** Constructor, This is private. Use createOrNull(). */
+    private AmPmTexts(String[] texts, int[] values) {
+      this.texts = texts;
+      this.values = values;
+    }
+
+    /**
+     * createOrNull, This creates the AM/PM texts for the specified locale. The texts are retrieved
+     * by formatting a morning time and an afternoon time with an AM/PM text field of each style.
+     * This returns null if any text contains a digit, because texts with digits cannot be told
+     * apart from the numbers that a lenient formatter will parse when no text matches.
+     */
+    private static AmPmTexts createOrNull(Locale locale) {
+      ArrayList<String> textList = new ArrayList<>();
+      ArrayList<Integer> valueList = new ArrayList<>();
+      for (TextStyle textStyle : amPmTextStyles) {
+        DateTimeFormatter formatter =
+            new DateTimeFormatterBuilder()
+                .appendText(ChronoField.AMPM_OF_DAY, textStyle)
+                .toFormatter(locale);
+        for (int value = 0; value <= 1; ++value) {
+          String text = formatter.format(LocalTime.of(value * 12, 0));
+          if (text.isEmpty()) {
+            continue;
+          }
+          for (int i = 0; i < text.length(); ++i) {
+            if (Character.isDigit(text.charAt(i))) {
+              return null;
+            }
+          }
+          textList.add(text);
+          valueList.add(value);
+        }
+      }
+      // Sort the texts from the longest to the shortest. (The sort is stable.)
+      Integer[] order = new Integer[textList.size()];
+      for (int i = 0; i < order.length; ++i) {
+        order[i] = i;
+      }
+      Arrays.sort(
+          order, (first, second) -> textList.get(second).length() - textList.get(first).length());
+      String[] texts = new String[order.length];
+      int[] values = new int[order.length];
+      for (int i = 0; i < order.length; ++i) {
+        texts[i] = textList.get(order[i]);
+        values[i] = valueList.get(order[i]);
+      }
+      return new AmPmTexts(texts, values);
+    }
+
+    /**
+     * match, This finds the longest AM/PM text that matches the supplied text at the supplied
+     * position. If a text matches, this returns the AM/PM value in the upper 32 bits of the result
+     * and the end position of the match in the lower 32 bits. If no text matches, this returns
+     * NO_MATCH. If the longest matching texts have different values, this returns UNDECIDED.
+     */
+    private long match(CharSequence text, int position) {
+      int matchLength = -1;
+      int matchValue = -1;
+      for (int i = 0; i < texts.length; ++i) {
+        String candidate = texts[i];
+        if (candidate.length() < matchLength) {
+          break;
+        }
+        if (!regionEqualsIgnoreCase(text, position, candidate)) {
+          continue;
+        }
+        if (matchLength >= 0 && matchValue != values[i]) {
+          return UNDECIDED;
+        }
+        matchLength = candidate.length();
+        matchValue = values[i];
+      }
+      if (matchLength < 0) {
+        return NO_MATCH;
+      }
+      return (((long) matchValue) << 32) | (position + matchLength);
+    }
+
+    /**
+     * regionEqualsIgnoreCase, This returns true if the supplied text contains the candidate at the
+     * supplied position, when compared in the same way as a case insensitive DateTimeFormatter.
+     */
+    private static boolean regionEqualsIgnoreCase(
+        CharSequence text, int position, String candidate) {
+      if (position + candidate.length() > text.length()) {
+        return false;
+      }
+      for (int i = 0; i < candidate.length(); ++i) {
+        if (!charEqualsIgnoreCase(text.charAt(position + i), candidate.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
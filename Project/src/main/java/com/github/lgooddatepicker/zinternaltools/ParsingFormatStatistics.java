@@ -0,0 +1,239 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.lang.ref.WeakReference;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * ParsingFormatStatistics, This records how often each parsing format has successfully parsed the
+ * text that was typed into a date picker. The statistics are used by the "adaptive" parsing order
+ * of the DatePickerSettings class, to try the most successful parsing formats first.
+ *
+ * <p>Parsing formats are identified by their DateTimeFormatter.toString() description, rather than
+ * by object identity. This allows the statistics to be shared between the (separately constructed)
+ * default parsing formats of any settings instances that use the same locale. (The description is
+ * only compared for equality. It is never interpreted.)
+ *
+ * <p>All the functions in this class are synchronized, so a single statistics instance can be
+ * shared by multiple pickers.
+ */
+public class ParsingFormatStatistics {
+
+  /**
+   * sharedStatisticsByLocale, This holds the statistics instances that are shared by all settings
+   * instances with the same locale. Instances are created when they are first requested. The
+   * instances are weakly referenced, so the statistics of a locale are discarded when no settings
+   * instance uses them anymore. Entries of discarded instances are removed whenever an entry is
+   * added, so the size of the map is bounded by the number of locales that are in use.
+   */
+  private static final HashMap<Locale, WeakReference<ParsingFormatStatistics>>
+      sharedStatisticsByLocale = new HashMap<>();
+
+  /** modificationCount, This is incremented each time that a success is recorded. */
+  private int modificationCount = 0;
+
+  /** successCounts, This maps each parsing format description to its number of successes. */
+  private final HashMap<String, Integer> successCounts = new HashMap<>();
+
+  /**
+   * getSharedStatisticsForLocale, This returns the statistics instance that is shared by all
+   * settings instances with the specified locale. This will never return null.
+   */
+  public static ParsingFormatStatistics getSharedStatisticsForLocale(Locale locale) {
+    synchronized (sharedStatisticsByLocale) {
+      WeakReference<ParsingFormatStatistics> reference = sharedStatisticsByLocale.get(locale);
+      ParsingFormatStatistics statistics = (reference == null) ? null : reference.get();
+      if (statistics == null) {
+        sharedStatisticsByLocale.values().removeIf(oldReference -> oldReference.get() == null);
+        statistics = new ParsingFormatStatistics();
+        sharedStatisticsByLocale.put(locale, new WeakReference<>(statistics));
+      }
+      return statistics;
+    }
+  }
+
+  /**
+   * getModificationCount, This returns a number that changes whenever the result of
+   * orderFormatsBySuccessCount() could have changed. The result does not necessarily change.
+   */
+  public synchronized int getModificationCount() {
+    return modificationCount;
+  }
+
+  /**
+   * getSuccessCount, This returns the number of recorded successes for the supplied parsing format.
+   */
+  public synchronized int getSuccessCount(DateTimeFormatter format) {
+    Integer count = successCounts.get(String.valueOf(format));
+    return (count == null) ? 0 : count;
+  }
+
+  /**
+   * orderFormatsBySuccessCount, This returns a new list that contains the supplied parsing formats,
+   * ordered from the most successful to the least successful, with one restriction: A format is
+   * never moved ahead of an earlier format (in the supplied list) that could parse the same text.
+   * Formats with equal success counts keep their relative order from the supplied list.
+   *
+   * <p>Because of that restriction, the first format in the returned list that can parse any text
+   * is always the same format that would be found by trying the supplied list in its own order. The
+   * returned order can change how quickly text is parsed, but never the date that it is parsed to.
+   * Two formats are treated as able to parse the same text unless they have different text shapes.
+   * See getTextShapeOrNull(). The supplied list is not modified.
+   */
+  public synchronized ArrayList<DateTimeFormatter> orderFormatsBySuccessCount(
+      ArrayList<DateTimeFormatter> formats) {
+    int formatCount = formats.size();
+    // Look up each success count and text shape only once.
+    int[] counts = new int[formatCount];
+    String[] shapes = new String[formatCount];
+    for (int index = 0; index < formatCount; ++index) {
+      counts[index] = getSuccessCount(formats.get(index));
+      shapes[index] = getTextShapeOrNull(formats.get(index));
+    }
+    boolean[] isPlaced = new boolean[formatCount];
+    ArrayList<DateTimeFormatter> orderedFormats = new ArrayList<>(formatCount);
+    while (orderedFormats.size() < formatCount) {
+      // Choose the most successful format that has no unplaced and possibly overlapping format
+      // before it. The first unplaced format always qualifies, so a format is always chosen.
+      int chosenIndex = -1;
+      for (int index = 0; index < formatCount; ++index) {
+        if (isPlaced[index] || (chosenIndex >= 0 && counts[index] <= counts[chosenIndex])) {
+          continue;
+        }
+        boolean isBlocked = false;
+        for (int earlierIndex = 0; earlierIndex < index && !isBlocked; ++earlierIndex) {
+          isBlocked =
+              (!isPlaced[earlierIndex]) && canShareText(shapes[earlierIndex], shapes[index]);
+        }
+        if (!isBlocked) {
+          chosenIndex = index;
+        }
+      }
+      isPlaced[chosenIndex] = true;
+      orderedFormats.add(formats.get(chosenIndex));
+    }
+    return orderedFormats;
+  }
+
+  /**
+   * canShareText, This returns true if two formats with the supplied text shapes could possibly
+   * parse the same text. A null shape is unknown, and could share text with any other shape.
+   */
+  private static boolean canShareText(String firstShapeOrNull, String secondShapeOrNull) {
+    return firstShapeOrNull == null
+        || secondShapeOrNull == null
+        || firstShapeOrNull.equals(secondShapeOrNull);
+  }
+
+  /**
+   * getTextShapeOrNull, This returns a description of the shape of the text that can be parsed by
+   * the supplied format. The shape is the sequence of fields and literal characters in the pattern
+   * of the format. Each field is represented by the same symbol, because a lenient format can parse
+   * a text field (such as a month name) from a number, and a number field can have any number of
+   * digits. Literals are converted to lower case, because parsing is usually case insensitive.
+   *
+   * <p>The pattern is the pattern that was registered for the format with
+   * NumericDateScanner.registerPatternForFormatter(). This is true of all the default formats, and
+   * of any format that is created by PickerUtilities.createFormatterFromPatternString().
+   *
+   * <p>Two formats with different shapes can not parse the same text. This returns null if the
+   * shape can not be determined, for example if no pattern was registered for the format, or if
+   * the pattern contains optional sections.
+   */
+  static String getTextShapeOrNull(DateTimeFormatter format) {
+    String pattern = NumericDateScanner.getPatternForFormatterOrNull(format);
+    if (pattern == null) {
+      return null;
+    }
+    StringBuilder shape = new StringBuilder();
+    int length = pattern.length();
+    int index = 0;
+    while (index < length) {
+      char character = pattern.charAt(index);
+      if (pattern.startsWith("''", index)) {
+        // A single quote character literal.
+        appendLiteralToShape(shape, '\'');
+        index += 2;
+      } else if (character == '\'') {
+        index = appendQuotedLiteralToShape(shape, pattern, index);
+        if (index < 0) {
+          return null;
+        }
+      } else if ((character >= 'A' && character <= 'Z') || (character >= 'a' && character <= 'z')) {
+        // A run of the same pattern letter is one field.
+        while (index < length && pattern.charAt(index) == character) {
+          ++index;
+        }
+        shape.append('#');
+      } else if ("[]{}#".indexOf(character) >= 0) {
+        return null;
+      } else {
+        appendLiteralToShape(shape, character);
+        ++index;
+      }
+    }
+    return shape.toString();
+  }
+
+  /**
+   * appendQuotedLiteralToShape, This appends the quoted literal that starts at the supplied index
+   * to the supplied shape. Two quotes inside a quoted literal represent one quote character. This
+   * returns the index after the closing quote, or -1 if the literal is not closed.
+   */
+  private static int appendQuotedLiteralToShape(StringBuilder shape, String text, int index) {
+    ++index;
+    while (index < text.length()) {
+      char character = text.charAt(index);
+      if (character != '\'') {
+        appendLiteralToShape(shape, character);
+        ++index;
+      } else if (text.startsWith("''", index)) {
+        appendLiteralToShape(shape, '\'');
+        index += 2;
+      } else {
+        return index + 1;
+      }
+    }
+    return -1;
+  }
+
+  /** appendLiteralToShape, This appends one literal character to the supplied shape. */
+  private static void appendLiteralToShape(StringBuilder shape, char literal) {
+    shape.append('\'').append(Character.toLowerCase(literal));
+  }
+
+  /** recordSuccess, This records one successful parse by the supplied parsing format. */
+  public synchronized void recordSuccess(DateTimeFormatter format) {
+    if (format == null) {
+      return;
+    }
+    String key = format.toString();
+    Integer oldCount = successCounts.get(key);
+    successCounts.put(key, (oldCount == null) ? 1 : (oldCount + 1));
+    ++modificationCount;
+  }
+}
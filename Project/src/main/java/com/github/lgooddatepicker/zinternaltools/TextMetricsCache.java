@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import java.awt.Canvas;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.text.DateFormatSymbols;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.swing.UIManager;
+
+/**
+ * TextMetricsCache, This is a process wide cache of text measurements (in pixels), that are used
+ * to size the calendar headers and the week number labels. Measuring text requires font metrics,
+ * which are comparatively expensive to obtain and to use, while the measured values only depend on
+ * the font, the locale, and the measured text. Cached values are shared by all calendar panels, and
+ * are reused across redraws.
+ *
+ * <p>All measurements are made with the font metrics of one shared canvas, rather than with the
+ * font metrics of the component that needs the measurement. The font metrics of a component can
+ * depend on its rendering hints (such as anti-aliasing and fractional metrics), so a shared value
+ * must not depend on which component happened to measure it first.
+ *
+ * <p>The cache is weakly keyed by font, so fonts that are no longer used by any component can be
+ * garbage collected together with their measurements. Changing a font in the settings will use a
+ * different cache key, so no explicit invalidation is needed for font changes. The cache is cleared
+ * whenever the look and feel is changed, because the look and feel can change the way that text is
+ * rendered.
+ *
+ * <p>This class is intended to be used on the Swing Event Dispatch Thread, but it is thread safe.
+ */
+public class TextMetricsCache {
+
+  /**
+   * measurementsByFont, This holds the cached measurements for each font. The measurement keys are
+   * created by the functions of this class, and include the measured text or locale.
+   */
+  private static final Map<Font, Map<String, Integer>> measurementsByFont = new WeakHashMap<>();
+
+  /**
+   * measuringCanvas, This supplies the font metrics for all measurements. The canvas is never
+   * displayed, so its font metrics always use the same default rendering context.
+   */
+  private static final Canvas measuringCanvas = new Canvas();
+
+  /**
+   * Clear the cache whenever the look and feel is changed. The listener is added once, when this
+   * class is first used.
+   */
+  static {
+    UIManager.addPropertyChangeListener(
+        event -> {
+          if ("lookAndFeel".equals(event.getPropertyName())) {
+            clear();
+          }
+        });
+  }
+
+  /** clear, This removes all cached measurements. */
+  public static synchronized void clear() {
+    measurementsByFont.clear();
+  }
+
+  /**
+   * getFontHeight, This returns the standard height (in pixels) of a line of text in the supplied
+   * font.
+   */
+  public static int getFontHeight(Font font) {
+    Integer cachedHeight = getCachedMeasurement(font, "height");
+    if (cachedHeight != null) {
+      return cachedHeight;
+    }
+    int height = measuringCanvas.getFontMetrics(font).getHeight();
+    putCachedMeasurement(font, "height", height);
+    return height;
+  }
+
+  /**
+   * getStringWidth, This returns the width (in pixels) of the supplied text, in the supplied font.
+   */
+  public static int getStringWidth(Font font, String text) {
+    String key = "text " + text;
+    Integer cachedWidth = getCachedMeasurement(font, key);
+    if (cachedWidth != null) {
+      return cachedWidth;
+    }
+    int width = measuringCanvas.getFontMetrics(font).stringWidth(text);
+    putCachedMeasurement(font, key, width);
+    return width;
+  }
+
+  /**
+   * getLongestMonthNameWidth, This returns the width (in pixels) of the longest full month name of
+   * the supplied locale, in the supplied font. The month names are the names that are returned by
+   * DateFormatSymbols.getMonths().
+   */
+  public static int getLongestMonthNameWidth(Font font, Locale locale) {
+    String key = "months " + locale.toLanguageTag();
+    Integer cachedWidth = getCachedMeasurement(font, key);
+    if (cachedWidth != null) {
+      return cachedWidth;
+    }
+    FontMetrics metrics = measuringCanvas.getFontMetrics(font);
+    String[] allLocalMonths = DateFormatSymbols.getInstance(locale).getMonths();
+    int longestMonthPixels = 0;
+    for (String month : allLocalMonths) {
+      int monthPixels = metrics.stringWidth(month);
+      longestMonthPixels = (monthPixels > longestMonthPixels) ? monthPixels : longestMonthPixels;
+    }
+    putCachedMeasurement(font, key, longestMonthPixels);
+    return longestMonthPixels;
+  }
+
+  /**
+   * getCachedMeasurement, This returns the cached measurement for the supplied font and key, or
+   * null if the measurement is not cached.
+   */
+  private static synchronized Integer getCachedMeasurement(Font font, String key) {
+    Map<String, Integer> measurements = measurementsByFont.get(font);
+    return (measurements == null) ? null : measurements.get(key);
+  }
+
+  /** putCachedMeasurement, This saves a measurement for the supplied font and key. */
+  private static synchronized void putCachedMeasurement(Font font, String key, int value) {
+    measurementsByFont.computeIfAbsent(font, newFont -> new HashMap<>()).put(key, value);
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+/**
+ * TextParseOutcome, This holds the result of parsing one particular text string with one
+ * particular version of the parsing settings of a picker. A picker keeps the most recent outcome,
+ * so that the text change handler, the text field indicators, and the text validation functions can
+ * all share a single parse of the same text.
+ *
+ * <p>The parsed value may be null, which indicates that the text could not be parsed. Instances of
+ * this class are immutable.
+ */
+public class TextParseOutcome<T> {
+
+  /** text, This is the text that was parsed. */
+  public final String text;
+
+  /** settings, This is the settings instance that supplied the parsing formats. */
+  public final Object settings;
+
+  /**
+   * settingsVersion, This is the version of the parsing settings that was current when the text
+   * was parsed.
+   */
+  public final int settingsVersion;
+
+  /** parsedValue, This is the result of parsing the text, or null if the text was not parsable. */
+  public final T parsedValue;
+
+  /** Constructor, With all fields. */
+  public TextParseOutcome(String text, Object settings, int settingsVersion, T parsedValue) {
+    this.text = text;
+    this.settings = settings;
+    this.settingsVersion = settingsVersion;
+    this.parsedValue = parsedValue;
+  }
+
+  /**
+   * isOutcomeFor, This returns true if this outcome was produced from the supplied text, using the
+   * supplied settings instance at the supplied settings version. Otherwise this returns false.
+   */
+  public boolean isOutcomeFor(String text, Object settings, int settingsVersion) {
+    return (this.settings == settings)
+        && (this.settingsVersion == settingsVersion)
+        && InternalUtilities.areObjectsEqual(this.text, text);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * YearListModel, This is a list model that contains every year in a range of consecutive years, in
+ * ascending order. The years are not stored. Each element is calculated from its index when it is
+ * requested, so the size of the range does not change the memory that is used by the model.
+ *
+ * <p>The year range can be changed at any time. The list data listeners are only notified if the
+ * new range differs from the current range.
+ */
+public class YearListModel extends AbstractListModel<Integer> {
+
+  /** firstYear, This is the first year in the list. */
+  private int firstYear = 0;
+
+  /** lastYear, This is the last year in the list. The list is empty if this is before firstYear. */
+  private int lastYear = -1;
+
+  /** getElementAt, This returns the year at the supplied index. */
+  @Override
+  public Integer getElementAt(int index) {
+    if (index < 0 || index >= getSize()) {
+      throw new IndexOutOfBoundsException("YearListModel.getElementAt(), Invalid index: " + index);
+    }
+    return firstYear + index;
+  }
+
+  /** getFirstYear, This returns the first year in the list. */
+  public int getFirstYear() {
+    return firstYear;
+  }
+
+  /**
+   * getIndexOfYear, This returns the index of the supplied year, or -1 if the year is not in the
+   * list.
+   */
+  public int getIndexOfYear(int year) {
+    return (year < firstYear || year > lastYear) ? -1 : year - firstYear;
+  }
+
+  /** getLastYear, This returns the last year in the list. */
+  public int getLastYear() {
+    return lastYear;
+  }
+
+  /** getSize, This returns the number of years in the list. */
+  @Override
+  public int getSize() {
+    return Math.max(0, lastYear - firstYear + 1);
+  }
+
+  /**
+   * setYearRange, This sets the first and last year in the list (inclusive). This returns true if
+   * the range was changed, or false if the supplied range is the same as the current range. The
+   * number of years in the range must be less than Integer.MAX_VALUE.
+   */
+  public boolean setYearRange(int firstYear, int lastYear) {
+    if ((long) lastYear - firstYear + 1 >= Integer.MAX_VALUE) {
+      throw new RuntimeException("YearListModel.setYearRange(), The year range is too large.");
+    }
+    if (firstYear == this.firstYear && lastYear == this.lastYear) {
+      return false;
+    }
+    int oldSize = getSize();
+    this.firstYear = firstYear;
+    this.lastYear = lastYear;
+    int largestSize = Math.max(oldSize, getSize());
+    if (largestSize > 0) {
+      fireContentsChanged(this, 0, largestSize - 1);
+    }
+    return true;
+  }
+}
@@ -26,23 +26,48 @@ import static org.junit.Assert.assertTrue;
 
 import com.github.lgooddatepicker.TestHelpers;
 import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
+import com.github.lgooddatepicker.optionalusertools.CalendarListener;
+import com.github.lgooddatepicker.optionalusertools.DatePolicyMonthResults;
+import com.github.lgooddatepicker.zinternaltools.CalendarDateGrid;
+import com.github.lgooddatepicker.zinternaltools.CalendarLabelState;
+import com.github.lgooddatepicker.zinternaltools.CalendarSelectionEvent;
 import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
+import com.github.lgooddatepicker.zinternaltools.MonthGrid;
+import com.github.lgooddatepicker.zinternaltools.YearMonthChangeEvent;
 import java.awt.Color;
+import java.awt.Font;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.time.LocalDate;
 import java.time.Month;
+import java.time.Year;
 import java.time.YearMonth;
 import java.time.temporal.ChronoField;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JButton;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JMenuItem;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JTextField;
 import javax.swing.MenuElement;
+import javax.swing.MenuSelectionManager;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.border.LineBorder;
+import javax.swing.event.MenuKeyEvent;
+import javax.swing.event.MenuKeyListener;
+import javax.swing.plaf.FontUIResource;
 import org.junit.Test;
 
 public class TestCalendarPanel {
@@ -378,4 +403,478 @@ public class TestCalendarPanel {
     // monthAndYearInnerPanel invisible after finishing editing
     assertTrue(!monthAndYearInnerPanel.isAncestorOf(yearEditorPanel));
   }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestYearListFollowsLookAndFeelUpdates() throws Exception {
+    CalendarPanel testPanel = new CalendarPanel(new DatePickerSettings(Locale.ENGLISH));
+    TestHelpers.accessPrivateMethod(CalendarPanel.class, "populateYearPopupMenu").invoke(testPanel);
+    Object yearList = TestHelpers.readPrivateField(CalendarPanel.class, testPanel, "yearList");
+    Font oldListFont = ((JList<?>) yearList).getFont();
+    int oldRowHeight = ((JList<?>) yearList).getFixedCellHeight();
+    try {
+      Font newListFont = new FontUIResource(oldListFont.deriveFont(oldListFont.getSize2D() * 3));
+      UIManager.put("List.font", newListFont);
+      // The hidden year popup menu must follow a look and feel update of the calendar panel.
+      SwingUtilities.updateComponentTreeUI(testPanel);
+      assertTrue(((JList<?>) yearList).getFont().equals(newListFont));
+      assertTrue(((JList<?>) yearList).getFixedCellHeight() > oldRowHeight);
+    } finally {
+      // This removes the override, and restores the list font of the look and feel.
+      UIManager.put("List.font", null);
+    }
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestRedrawOnlyChangesChangedLabels()
+      throws NoSuchFieldException, IllegalAccessException {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    CalendarPanel panel = new CalendarPanel(settings);
+    panel.setSelectedDate(LocalDate.of(1995, Month.OCTOBER, 10));
+    ArrayList<?> labelList =
+        (ArrayList<?>) TestHelpers.readPrivateField(CalendarPanel.class, panel, "dateLabels");
+    HashSet<Object> changedLabels = new HashSet<>();
+    for (Object label : labelList) {
+      ((JLabel) label).addPropertyChangeListener(event -> changedLabels.add(event.getSource()));
+    }
+    // Redrawing an unchanged calendar does not change any date label.
+    panel.drawCalendar();
+    assertTrue(changedLabels.isEmpty());
+    // Moving the selected date only changes the previous and the new selected date labels.
+    panel.setSelectedDate(LocalDate.of(1995, Month.OCTOBER, 11));
+    assertTrue(changedLabels.size() == 2);
+    for (Object label : changedLabels) {
+      JLabel dateLabel = (JLabel) label;
+      boolean isSelected = "11".equals(dateLabel.getText());
+      assertTrue(isSelected || "10".equals(dateLabel.getText()));
+      assertTrue((dateLabel.getBorder() instanceof LineBorder) == isSelected);
+      Color expectedBackground =
+          settings.getColor(
+              isSelected
+                  ? DateArea.CalendarBackgroundSelectedDate
+                  : DateArea.CalendarBackgroundNormalDates);
+      assertTrue(dateLabel.getBackground().equals(expectedBackground));
+    }
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestPolicyResultCache() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    CalendarPanel panel = new CalendarPanel(settings);
+    HashMap<LocalDate, Integer> vetoCalls = new HashMap<>();
+    settings.setCachePolicyResults(true);
+    settings.setVetoPolicy(
+        date -> {
+          vetoCalls.merge(date, 1, Integer::sum);
+          return date.getDayOfMonth() != 13;
+        });
+    // Redrawing the calendar does not ask the veto policy about any date a second time.
+    panel.drawCalendar();
+    panel.drawCalendar();
+    LocalDate firstOfMonth = LocalDate.of(1995, Month.OCTOBER, 1);
+    for (int day = 0; day < 31; ++day) {
+      assertTrue(vetoCalls.get(firstOfMonth.plusDays(day)) == 1);
+    }
+    // Invalidating a range only re-evaluates the dates inside that range.
+    settings.invalidatePolicyCache(firstOfMonth, firstOfMonth.plusDays(4));
+    for (int day = 0; day < 31; ++day) {
+      assertTrue(vetoCalls.get(firstOfMonth.plusDays(day)) == ((day < 5) ? 2 : 1));
+    }
+    // Invalidating the whole cache re-evaluates every date.
+    settings.invalidatePolicyCache();
+    for (int day = 0; day < 31; ++day) {
+      assertTrue(vetoCalls.get(firstOfMonth.plusDays(day)) == ((day < 5) ? 3 : 2));
+    }
+    // The cached results match the veto policy.
+    assertTrue(settings.zIsDateVetoedForCalendar(firstOfMonth.plusDays(12)));
+    assertTrue(!settings.zIsDateVetoedForCalendar(firstOfMonth.plusDays(13)));
+    // Highlight results are cached the same way.
+    HashMap<LocalDate, Integer> highlightCalls = new HashMap<>();
+    settings.setHighlightPolicy(
+        date -> {
+          highlightCalls.merge(date, 1, Integer::sum);
+          return null;
+        });
+    panel.drawCalendar();
+    panel.drawCalendar();
+    for (int day = 0; day < 31; ++day) {
+      assertTrue(highlightCalls.get(firstOfMonth.plusDays(day)) == 1);
+    }
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestPaintedDateGrid() throws NoSuchFieldException, IllegalAccessException {
+    DatePickerSettings labelSettings = new DatePickerSettings(Locale.ENGLISH);
+    labelSettings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    CalendarPanel labelPanel = new CalendarPanel(labelSettings);
+    labelPanel.setSelectedDate(LocalDate.of(1995, Month.OCTOBER, 10));
+    DatePickerSettings gridSettings = new DatePickerSettings(Locale.ENGLISH);
+    gridSettings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    gridSettings.setPaintDateGrid(true);
+    CalendarPanel gridPanel = new CalendarPanel(gridSettings);
+    gridPanel.setSelectedDate(LocalDate.of(1995, Month.OCTOBER, 10));
+    // The painted date grid replaces the 42 date labels with a single component.
+    JPanel labelCenterPanel =
+        (JPanel) TestHelpers.readPrivateField(CalendarPanel.class, labelPanel, "centerPanel");
+    JPanel gridCenterPanel =
+        (JPanel) TestHelpers.readPrivateField(CalendarPanel.class, gridPanel, "centerPanel");
+    assertTrue(
+        labelCenterPanel.getComponentCount() - gridCenterPanel.getComponentCount() == 41);
+    assertTrue(TestHelpers.readPrivateField(CalendarPanel.class, gridPanel, "dateLabels") == null);
+    CalendarDateGrid dateGrid =
+        (CalendarDateGrid)
+            TestHelpers.readPrivateField(CalendarPanel.class, gridPanel, "dateGrid");
+    // Each painted cell has the same state as the matching date label.
+    ArrayList<?> labelList =
+        (ArrayList<?>) TestHelpers.readPrivateField(CalendarPanel.class, labelPanel, "dateLabels");
+    for (int cellIndex = 0; cellIndex < labelList.size(); ++cellIndex) {
+      JLabel dateLabel = (JLabel) labelList.get(cellIndex);
+      CalendarLabelState cell = dateGrid.getCellStateCopy(cellIndex);
+      assertTrue(dateLabel.getText().equals(cell.text));
+      assertTrue(dateLabel.getBackground().equals(cell.colorBackground));
+      assertTrue(dateLabel.getForeground().equals(cell.colorText));
+      assertTrue((dateLabel.getBorder() instanceof LineBorder) == (cell.colorLineBorder != null));
+    }
+    // Clicking a cell of the painted date grid selects the date of that cell.
+    dateGrid.setSize(7 * 30, 6 * 20);
+    Rectangle cellBounds = dateGrid.getCellBounds(dateGrid.getCellIndexAt(new Point(0, 0)));
+    assertTrue(cellBounds.equals(new Rectangle(0, 0, 30, 20)));
+    int clickedCellIndex = -1;
+    for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; ++cellIndex) {
+      if ("12".equals(dateGrid.getCellText(cellIndex))) {
+        clickedCellIndex = cellIndex;
+      }
+    }
+    cellBounds = dateGrid.getCellBounds(clickedCellIndex);
+    Point clickPoint = new Point((int) cellBounds.getCenterX(), (int) cellBounds.getCenterY());
+    assertTrue(dateGrid.getCellIndexAt(clickPoint) == clickedCellIndex);
+    for (int eventId : new int[] {MouseEvent.MOUSE_PRESSED, MouseEvent.MOUSE_RELEASED}) {
+      dateGrid.dispatchEvent(
+          new MouseEvent(
+              dateGrid, eventId, 0, 0, clickPoint.x, clickPoint.y, 1, false, MouseEvent.BUTTON1));
+    }
+    assertTrue(LocalDate.of(1995, Month.OCTOBER, 12).equals(gridPanel.getSelectedDate()));
+    // The setting can be changed after the calendar panel was created.
+    gridSettings.setPaintDateGrid(false);
+    assertTrue(TestHelpers.readPrivateField(CalendarPanel.class, gridPanel, "dateGrid") == null);
+    assertTrue(gridCenterPanel.getComponentCount() == labelCenterPanel.getComponentCount());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestAsyncDatePolicy() throws Exception {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    CalendarPanel[] panel = new CalendarPanel[1];
+    HashMap<YearMonth, CompletableFuture<DatePolicyMonthResults>> requests = new HashMap<>();
+    ArrayList<YearMonth> requestedMonths = new ArrayList<>();
+    YearMonth october = YearMonth.of(1995, Month.OCTOBER);
+    YearMonth november = YearMonth.of(1995, Month.NOVEMBER);
+    DatePolicyMonthResults results = new DatePolicyMonthResults(october);
+    // The calendar and its loader are only used on the event dispatch thread. Loaded results are
+    // applied by a later event, so each step that completes a request ends its block.
+    runOnEventDispatchThread(
+        () -> {
+          panel[0] = new CalendarPanel(settings);
+          settings.setAsyncDatePolicy(
+              yearMonth -> {
+                CompletableFuture<DatePolicyMonthResults> future = new CompletableFuture<>();
+                requests.put(yearMonth, future);
+                requestedMonths.add(yearMonth);
+                return future;
+              });
+          // The displayed month is loading, so its dates are drawn in the loading state.
+          assertTrue(requests.keySet().equals(new HashSet<>(Arrays.asList(october))));
+          assertTrue(
+              findDateLabel(panel[0], "13")
+                  .getBackground()
+                  .equals(settings.getColor(DateArea.CalendarBackgroundLoadingDates)));
+          // Months that the user navigates away from are cancelled, but the month of today is kept.
+          panel[0].setDisplayedYearMonth(november);
+          panel[0].setDisplayedYearMonth(november.plusMonths(1));
+          assertTrue(requests.get(november).isCancelled());
+          assertTrue(!requests.get(october).isCancelled());
+          // Loaded results are applied on the event dispatch thread, and the calendar is redrawn.
+          panel[0].setDisplayedYearMonth(october);
+          assertTrue(requestedMonths.size() == 3);
+          results.setDateVetoed(LocalDate.of(1995, Month.OCTOBER, 13), true);
+          results.setHighlightInformation(
+              LocalDate.of(1995, Month.OCTOBER, 14), new HighlightInformation(Color.orange));
+          requests.get(october).complete(results);
+        });
+    int[] yearMonthEventCount = new int[1];
+    YearMonth february = YearMonth.of(1996, Month.FEBRUARY);
+    YearMonth march = YearMonth.of(1996, Month.MARCH);
+    runOnEventDispatchThread(
+        () -> {
+          JLabel label13 = findDateLabel(panel[0], "13");
+          assertTrue(!label13.isEnabled());
+          assertTrue(
+              label13
+                  .getBackground()
+                  .equals(settings.getColor(DateArea.CalendarBackgroundVetoedDates)));
+          assertTrue(findDateLabel(panel[0], "14").getBackground().equals(Color.orange));
+          assertTrue(
+              findDateLabel(panel[0], "15")
+                  .getBackground()
+                  .equals(settings.getColor(DateArea.CalendarBackgroundNormalDates)));
+          // Loaded results are frozen, so the policy can not change them afterwards.
+          assertTrue(results.isFrozen());
+          try {
+            results.setDateVetoed(LocalDate.of(1995, Month.OCTOBER, 15), true);
+            assertTrue(false);
+          } catch (RuntimeException ex) {
+            assertTrue(!results.isDateVetoed(LocalDate.of(1995, Month.OCTOBER, 15)));
+          }
+          // Loaded months are not requested again, but cancelled months are.
+          panel[0].setDisplayedYearMonth(november);
+          panel[0].setDisplayedYearMonth(october);
+          assertTrue(
+              requestedMonths.equals(
+                  Arrays.asList(october, november, november.plusMonths(1), november)));
+          // Loading the month of today, while another month is displayed, only updates the today
+          // button. Loaded results do not notify the calendar listeners, because the YearMonth did
+          // not change.
+          settings.setClock(TestHelpers.getClockFixedToInstant(1996, Month.MARCH, 10, 0, 0));
+          panel[0].setDisplayedYearMonth(february);
+          Object todayLabel =
+              TestHelpers.readPrivateField(CalendarPanel.class, panel[0], "labelSetDateToToday");
+          assertTrue(!((JLabel) todayLabel).isEnabled());
+          panel[0].addCalendarListener(
+              new CalendarListener() {
+                @Override
+                public void selectedDateChanged(CalendarSelectionEvent event) {}
+
+                @Override
+                public void yearMonthChanged(YearMonthChangeEvent event) {
+                  ++yearMonthEventCount[0];
+                }
+              });
+          requests.get(march).complete(new DatePolicyMonthResults(march));
+        });
+    runOnEventDispatchThread(
+        () -> {
+          Object todayLabel =
+              TestHelpers.readPrivateField(CalendarPanel.class, panel[0], "labelSetDateToToday");
+          assertTrue(((JLabel) todayLabel).isEnabled());
+          requests.get(february).complete(new DatePolicyMonthResults(february));
+        });
+    runOnEventDispatchThread(() -> assertTrue(yearMonthEventCount[0] == 0));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestPrefetchAdjacentMonths() throws Exception {
+    HashMap<LocalDate, Integer> vetoCalls = new HashMap<>();
+    CalendarPanel[] panel = new CalendarPanel[1];
+    SwingUtilities.invokeAndWait(
+        () -> {
+          DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+          settings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+          settings.setCachePolicyResults(true);
+          settings.setPrefetchAdjacentMonths(true);
+          panel[0] = new CalendarPanel(settings);
+          settings.setVetoPolicy(
+              date -> {
+                vetoCalls.merge(date, 1, Integer::sum);
+                return true;
+              });
+        });
+    // Let the prefetch steps run. Each step is a separate event.
+    for (int i = 0; i < 5; ++i) {
+      SwingUtilities.invokeAndWait(() -> {});
+    }
+    // The next and previous month, and the same month of the next and previous year, are ready.
+    for (LocalDate date :
+        new LocalDate[] {
+          LocalDate.of(1995, Month.NOVEMBER, 30),
+          LocalDate.of(1995, Month.SEPTEMBER, 1),
+          LocalDate.of(1996, Month.OCTOBER, 31),
+          LocalDate.of(1994, Month.OCTOBER, 15)
+        }) {
+      assertTrue(vetoCalls.get(date) == 1);
+    }
+    // Navigating to a prefetched month does not call the policy again.
+    SwingUtilities.invokeAndWait(
+        () -> panel[0].setDisplayedYearMonth(YearMonth.of(1995, Month.NOVEMBER)));
+    assertTrue(vetoCalls.get(LocalDate.of(1995, Month.NOVEMBER, 30)) == 1);
+    // Drawing the calendar again abandons any unfinished prefetch.
+    SwingUtilities.invokeAndWait(
+        () -> {
+          panel[0].setDisplayedYearMonth(YearMonth.of(2000, Month.JANUARY));
+          panel[0].setDisplayedYearMonth(YearMonth.of(2000, Month.JUNE));
+        });
+    for (int i = 0; i < 5; ++i) {
+      SwingUtilities.invokeAndWait(() -> {});
+    }
+    assertTrue(vetoCalls.get(LocalDate.of(2000, Month.FEBRUARY, 1)) == null);
+    assertTrue(vetoCalls.get(LocalDate.of(2000, Month.JULY, 1)) == 1);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestLayoutOnlyWhenGeometryChanges() throws Exception {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    CalendarPanel panel = new CalendarPanel(settings);
+    Object layoutInputs =
+        TestHelpers.readPrivateField(CalendarPanel.class, panel, "lastLayoutInputs");
+    assertTrue(layoutInputs != null);
+    // Changing the month or the selected date does not change the geometry of the calendar.
+    panel.setDisplayedYearMonth(YearMonth.of(1996, Month.FEBRUARY));
+    panel.setSelectedDate(LocalDate.of(1996, Month.FEBRUARY, 14));
+    assertTrue(
+        layoutInputs
+            == TestHelpers.readPrivateField(CalendarPanel.class, panel, "lastLayoutInputs"));
+    // A larger font changes the geometry, so the calendar is laid out again.
+    Font menuFont = settings.getFontMonthAndYearMenuLabels();
+    settings.setFontMonthAndYearMenuLabels(menuFont.deriveFont(menuFont.getSize2D() * 2));
+    assertTrue(
+        layoutInputs
+            != TestHelpers.readPrivateField(CalendarPanel.class, panel, "lastLayoutInputs"));
+    // The minimum size of the date panel is part of the geometry.
+    layoutInputs = TestHelpers.readPrivateField(CalendarPanel.class, panel, "lastLayoutInputs");
+    settings.setSizeDatePanelMinimumHeight(settings.getSizeDatePanelMinimumHeight() + 70);
+    assertTrue(
+        layoutInputs
+            != TestHelpers.readPrivateField(CalendarPanel.class, panel, "lastLayoutInputs"));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestCoalescedNavigation() throws Exception {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    final Method navigationFrameEnded =
+        TestHelpers.accessPrivateMethod(CalendarPanel.class, "zNavigationFrameEnded");
+    final ArrayList<YearMonthChangeEvent> events = new ArrayList<>();
+    // Everything runs in one block on the event dispatch thread, so that the navigation frame timer
+    // can not end any frame by itself. Frames are ended by calling zNavigationFrameEnded().
+    SwingUtilities.invokeAndWait(
+        () -> {
+          CalendarPanel panel = new CalendarPanel(settings);
+          panel.addCalendarListener(
+              new CalendarListener() {
+                @Override
+                public void selectedDateChanged(CalendarSelectionEvent event) {}
+
+                @Override
+                public void yearMonthChanged(YearMonthChangeEvent event) {
+                  events.add(event);
+                }
+              });
+          try {
+            // The first press is drawn immediately. The other presses are combined.
+            for (int i = 0; i < 4; ++i) {
+              panel.getNextMonthButton().doClick(0);
+            }
+            panel.getNextYearButton().doClick(0);
+            panel.getPreviousMonthButton().doClick(0);
+            assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(1995, Month.NOVEMBER)));
+            assertTrue(events.size() == 1);
+            // The combined presses are drawn once, when the navigation frame ends.
+            navigationFrameEnded.invoke(panel);
+            assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(1997, Month.JANUARY)));
+            assertTrue(events.size() == 2);
+            assertTrue(events.get(1).getOldYearMonth().equals(YearMonth.of(1995, Month.NOVEMBER)));
+            assertTrue(events.get(1).getNewYearMonth().equals(YearMonth.of(1997, Month.JANUARY)));
+            // Pending presses are discarded when the displayed month is chosen in another way.
+            panel.getNextMonthButton().doClick(0);
+            panel.getNextYearButton().doClick(0);
+            panel.setDisplayedYearMonth(YearMonth.of(2000, Month.MAY));
+            navigationFrameEnded.invoke(panel);
+            assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2000, Month.MAY)));
+            panel.getNextMonthButton().doClick(0);
+            panel.getNextMonthButton().doClick(0);
+            panel.setSelectedDate(LocalDate.of(2010, Month.JULY, 4));
+            navigationFrameEnded.invoke(panel);
+            assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2010, Month.JULY)));
+            // Combined presses that pass the maximum of the date range stop at the maximum.
+            panel.setDisplayedYearMonth(YearMonth.of(Year.MAX_VALUE, Month.OCTOBER));
+            panel.getNextMonthButton().doClick(0);
+            panel.getNextMonthButton().doClick(0);
+            panel.getNextYearButton().doClick(0);
+            navigationFrameEnded.invoke(panel);
+            assertTrue(
+                panel.getDisplayedYearMonth().equals(YearMonth.of(Year.MAX_VALUE, Month.DECEMBER)));
+          } catch (ReflectiveOperationException ex) {
+            throw new RuntimeException(ex);
+          }
+        });
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestYearListPopupMenu() throws Exception {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    CalendarPanel panel = new CalendarPanel(settings);
+    JPopupMenu popupYear =
+        (JPopupMenu) TestHelpers.readPrivateField(CalendarPanel.class, panel, "popupYear");
+    JList<?> yearList =
+        (JList<?>) TestHelpers.readPrivateField(CalendarPanel.class, panel, "yearList");
+    TestHelpers.accessPrivateMethod(CalendarPanel.class, "populateYearPopupMenu").invoke(panel);
+    // The year list covers thousands of years around the displayed year.
+    assertTrue(yearList.getModel().getSize() == 20001);
+    assertTrue(yearList.getSelectedValue().equals(1995));
+    assertTrue(yearList.getFixedCellHeight() > 0);
+    int componentCount = popupYear.getComponentCount();
+    // Keyboard navigation moves the selected year, and enter chooses it.
+    MenuKeyListener keyListener = popupYear.getMenuKeyListeners()[0];
+    int[] keys = {KeyEvent.VK_DOWN, KeyEvent.VK_PAGE_DOWN, KeyEvent.VK_UP, KeyEvent.VK_ENTER};
+    for (int key : keys) {
+      MenuKeyEvent event =
+          new MenuKeyEvent(
+              popupYear,
+              KeyEvent.KEY_PRESSED,
+              0,
+              0,
+              key,
+              KeyEvent.CHAR_UNDEFINED,
+              new MenuElement[] {popupYear},
+              MenuSelectionManager.defaultManager());
+      keyListener.menuKeyPressed(event);
+      assertTrue(event.isConsumed());
+    }
+    assertTrue(panel.getDisplayedYearMonth().equals(YearMonth.of(2009, Month.OCTOBER)));
+    // The year list is limited by the date range limits, and is reused each time.
+    settings.setDateRangeLimits(LocalDate.of(2000, 1, 1), LocalDate.of(2010, 12, 31));
+    TestHelpers.accessPrivateMethod(CalendarPanel.class, "populateYearPopupMenu").invoke(panel);
+    assertTrue(yearList.getModel().getSize() == 11);
+    assertTrue(yearList.getModel().getElementAt(0).equals(2000));
+    assertTrue(yearList.getSelectedValue().equals(2009));
+    assertTrue(popupYear.getComponentCount() == componentCount);
+  }
+
+  /** TestBlock, This is a block of test code that can throw any exception. */
+  private interface TestBlock {
+    void run() throws Exception;
+  }
+
+  /**
+   * runOnEventDispatchThread, This runs the supplied test block on the event dispatch thread, and
+   * waits for it to finish. Any exception of the block is thrown again on the calling thread.
+   */
+  private static void runOnEventDispatchThread(TestBlock block) throws Exception {
+    Exception[] blockException = new Exception[1];
+    SwingUtilities.invokeAndWait(
+        () -> {
+          try {
+            block.run();
+          } catch (Exception ex) {
+            blockException[0] = ex;
+          }
+        });
+    if (blockException[0] != null) {
+      throw blockException[0];
+    }
+  }
+
+  private static JLabel findDateLabel(CalendarPanel panel, String text)
+      throws NoSuchFieldException, IllegalAccessException {
+    ArrayList<?> labelList =
+        (ArrayList<?>) TestHelpers.readPrivateField(CalendarPanel.class, panel, "dateLabels");
+    for (Object label : labelList) {
+      if (text.equals(((JLabel) label).getText())) {
+        return (JLabel) label;
+      }
+    }
+    return null;
+  }
 }
@@ -26,6 +26,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import com.github.lgooddatepicker.TestHelpers;
+import com.github.lgooddatepicker.optionalusertools.PickerUtilities;
+import com.github.lgooddatepicker.zinternaltools.DateTextClassifier;
 import java.awt.Color;
 import java.lang.reflect.InvocationTargetException;
 import java.time.Clock;
@@ -33,7 +35,10 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.time.YearMonth;
 import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Locale;
+import javax.swing.SwingUtilities;
 import org.junit.Test;
 
 public class TestDatePicker {
@@ -110,6 +115,142 @@ public class TestDatePicker {
     validateDatePickerDisabledColor(picker, defaultDisabledText, defaultDisabledBackground);
   }
 
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestParsedTextIsRevalidatedAfterParsingSettingsChange() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    DatePicker picker = new DatePicker(settings);
+    picker.setText("14.03.2024");
+    assertFalse(picker.isTextFieldValid());
+    // Modifying the list returned by getFormatsForParsing() must be detected.
+    settings
+        .getFormatsForParsing()
+        .add(PickerUtilities.createFormatterFromPatternString("dd.MM.uuuu", Locale.ENGLISH));
+    assertTrue(picker.isTextFieldValid());
+    // Replacing an element of the list returned by getFormatsForParsing() must be detected.
+    int lastIndex = settings.getFormatsForParsing().size() - 1;
+    DateTimeFormatter dashFormat =
+        PickerUtilities.createFormatterFromPatternString("dd-MM-uuuu", Locale.ENGLISH);
+    settings.getFormatsForParsing().set(lastIndex, dashFormat);
+    assertFalse(picker.isTextFieldValid());
+    // Replacing the list with the setter must be detected.
+    settings.setFormatsForParsing(new ArrayList<>());
+    assertFalse(picker.isTextFieldValid());
+    picker.setText("March 14, 2024");
+    assertTrue(picker.getDate().equals(LocalDate.of(2024, Month.MARCH, 14)));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestAdaptiveParsingOrder() throws Exception {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setParsingOrder(DatePickerSettings.ParsingOrder.Adaptive);
+    DatePicker picker = new DatePicker(settings);
+    DateTimeFormatter lastFormat =
+        settings.getFormatsForParsing().get(settings.getFormatsForParsing().size() - 1);
+    assertTrue(settings.zGetFormatsForParsingInParsingOrder().get(0) != lastFormat);
+    // The last english extra format is "MMM d, yyyy G".
+    picker.setText("Mar 14, 2024 AD");
+    assertTrue(picker.getDate().equals(LocalDate.of(2024, Month.MARCH, 14)));
+    // Repeated validation of the same text must not be counted more than once.
+    assertTrue(picker.isTextFieldValid());
+    assertTrue(settings.zGetParsingFormatStatisticsOrNull().getSuccessCount(lastFormat) == 1);
+    // Validating other text must not replace the cached outcome, or change the statistics.
+    Object fieldOutcome =
+        TestHelpers.readPrivateField(DatePicker.class, picker, "lastParseOutcome");
+    assertTrue(picker.isTextValid("Mar 15, 2024 AD"));
+    assertTrue(
+        TestHelpers.readPrivateField(DatePicker.class, picker, "lastParseOutcome") == fieldOutcome);
+    assertTrue(settings.zGetParsingFormatStatisticsOrNull().getSuccessCount(lastFormat) == 1);
+    assertTrue(settings.zGetFormatsForParsingInParsingOrder().get(0) == lastFormat);
+    // Shared statistics are shared by all settings with the same locale.
+    DatePickerSettings firstSharing = new DatePickerSettings(Locale.ENGLISH);
+    DatePickerSettings secondSharing = new DatePickerSettings(Locale.ENGLISH);
+    firstSharing.setParsingOrder(DatePickerSettings.ParsingOrder.AdaptiveSharedByLocale);
+    secondSharing.setParsingOrder(DatePickerSettings.ParsingOrder.AdaptiveSharedByLocale);
+    assertTrue(
+        firstSharing.zGetParsingFormatStatisticsOrNull()
+            == secondSharing.zGetParsingFormatStatisticsOrNull());
+    // The fixed order never changes the list.
+    settings.setParsingOrder(DatePickerSettings.ParsingOrder.Fixed);
+    assertTrue(settings.zGetParsingFormatStatisticsOrNull() == null);
+    assertTrue(settings.zGetFormatsForParsingInParsingOrder() == settings.getFormatsForParsing());
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestAdaptiveParsingOrderIsDeterministic() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setParsingOrder(DatePickerSettings.ParsingOrder.Adaptive);
+    DatePicker picker = new DatePicker(settings);
+    picker.setText("5 Mar 24");
+    assertTrue(picker.getDate().equals(LocalDate.of(2024, Month.MARCH, 5)));
+    // These texts can only be parsed by "d MMM uuuu", which also parses "5 Mar 24".
+    for (int year = 40; year <= 44; ++year) {
+      picker.setText("5 Mar -" + year);
+      assertTrue(picker.getDate().equals(LocalDate.of(-year, Month.MARCH, 5)));
+    }
+    // The more successful "d MMM uuuu" format must not take "5 Mar 24" from "d MMM uu".
+    picker.setText("5 Mar 24");
+    assertTrue(picker.getDate().equals(LocalDate.of(2024, Month.MARCH, 5)));
+    DateTextParser parser = new DateTextParser(settings, null);
+    assertTrue(parser.parseDateOrNull("5 Mar 24").equals(LocalDate.of(2024, Month.MARCH, 5)));
+    // New successes that do not change the order must not change the parsing version.
+    int parsingVersion = settings.zGetParsingVersion();
+    picker.setText("5 Mar -45");
+    picker.setText("5 Mar 24");
+    assertTrue(settings.zGetParsingVersion() == parsingVersion);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestTextFieldStatus() {
+    DatePicker picker = new DatePicker(new DatePickerSettings(Locale.ENGLISH));
+    String[] viableTexts = {"", "1", "12", "12/", "12/3", "Dec", "December 3", "Dec 3, "};
+    for (String text : viableTexts) {
+      picker.setText(text);
+      assertTrue(text, picker.getTextFieldStatus() == DateTextClassifier.TextStatus.ViablePrefix);
+    }
+    picker.setText("December 3, 2024");
+    assertTrue(picker.getTextFieldStatus() == DateTextClassifier.TextStatus.Valid);
+    String[] deadTexts = {"13/", "12/32", "Dex", "December 3, 2024x"};
+    for (String text : deadTexts) {
+      picker.setText(text);
+      assertTrue(text, picker.getTextFieldStatus() == DateTextClassifier.TextStatus.Dead);
+    }
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestCoalescedTextFieldValidation() throws Exception {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setCoalesceTextFieldValidation(true);
+    DatePicker picker = new DatePicker(settings);
+    int[] textEventCount = new int[1];
+    picker.addPropertyChangeListener("text", event -> ++textEventCount[0]);
+    // The text is changed on the event dispatch thread, so that the scheduled validation can not
+    // run until each block of changes is finished.
+    SwingUtilities.invokeAndWait(
+        () -> {
+          // Each direct text field change produces a remove event and an insert event.
+          picker.getComponentDateTextField().setText("March 14, 2024");
+          picker.getComponentDateTextField().setText("March 15, 2024");
+          assertTrue(textEventCount[0] == 0);
+          // Reading the date performs the pending validation.
+          assertTrue(picker.getDate().equals(LocalDate.of(2024, Month.MARCH, 15)));
+          assertTrue(textEventCount[0] == 1);
+        });
+    // The scheduled validation is skipped, because it was already performed.
+    SwingUtilities.invokeAndWait(() -> {});
+    assertTrue(textEventCount[0] == 1);
+    SwingUtilities.invokeAndWait(
+        () -> picker.getComponentDateTextField().setText("March 16, 2024"));
+    SwingUtilities.invokeAndWait(() -> {});
+    assertTrue(textEventCount[0] == 2);
+    // Programmatic changes are validated immediately.
+    SwingUtilities.invokeAndWait(
+        () -> {
+          picker.setDate(LocalDate.of(2024, Month.MARCH, 17));
+          assertTrue(textEventCount[0] == 3);
+          assertTrue(picker.getDate().equals(LocalDate.of(2024, Month.MARCH, 17)));
+        });
+  }
+
   void validateDatePickerDisabledColor(
       DatePicker picker, Color disabledTextColor, Color disabledBackground) {
     final Color validText =
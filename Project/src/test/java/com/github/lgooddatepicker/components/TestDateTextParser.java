@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.TestHelpers;
+import com.github.lgooddatepicker.zinternaltools.InternalUtilities;
+import com.github.lgooddatepicker.zinternaltools.NumericDateScanner;
+import com.github.lgooddatepicker.zinternaltools.NumericTimeScanner;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Test;
+
+public class TestDateTextParser {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void TestBulkParsingMatchesPickers() throws Exception {
+    DatePickerSettings dateSettings = new DatePickerSettings(Locale.ENGLISH);
+    TimePickerSettings timeSettings = new TimePickerSettings(Locale.ENGLISH);
+    DatePicker datePicker = new DatePicker(dateSettings);
+    TimePicker timePicker = new TimePicker(timeSettings);
+    dateSettings.setVetoPolicy(date -> date.getDayOfWeek() != DayOfWeek.SUNDAY);
+    timeSettings.setVetoPolicy(time -> time.getHour() >= 8);
+    DateTextParser parser = new DateTextParser(dateSettings, timeSettings);
+
+    ArrayList<String> dateTexts = new ArrayList<>();
+    ArrayList<String> timeTexts = new ArrayList<>();
+    for (int i = 0; i < 2000; ++i) {
+      LocalDate date = LocalDate.of(2024, 1, 1).plusDays(i * 7L);
+      dateTexts.add(date.format(dateSettings.getFormatForDatesCommonEra()));
+      dateTexts.add(date.getMonthValue() + "/" + (date.getDayOfMonth() + 3) + "/" + date.getYear());
+      LocalTime time = LocalTime.of(0, 0).plusMinutes(i * 13L);
+      timeTexts.add(time.format(timeSettings.getFormatForDisplayTime()));
+      timeTexts.add(time.getHour() + ":" + time.getMinute() + (i % 3 == 0 ? "x" : ""));
+    }
+    dateTexts.add("");
+    timeTexts.add(" ");
+
+    List<LocalDate> dates = parser.parseDates(dateTexts);
+    List<Boolean> validDates = parser.validateDateTexts(dateTexts);
+    for (int i = 0; i < dateTexts.size(); ++i) {
+      String text = dateTexts.get(i);
+      assertEquals(
+          text,
+          InternalUtilities.getParsedDateOrNull(
+              text,
+              dateSettings.getFormatForDatesCommonEra(),
+              dateSettings.getFormatForDatesBeforeCommonEra(),
+              dateSettings.getFormatsForParsing()),
+          dates.get(i));
+      assertEquals(text, datePicker.isTextValid(text), validDates.get(i));
+    }
+    List<LocalTime> times = parser.parseTimes(timeTexts);
+    List<Boolean> validTimes = parser.validateTimeTexts(timeTexts);
+    for (int i = 0; i < timeTexts.size(); ++i) {
+      String text = timeTexts.get(i);
+      assertEquals(
+          text,
+          InternalUtilities.getParsedTimeOrNull(
+              text,
+              timeSettings.getFormatForDisplayTime(),
+              timeSettings.getFormatForMenuTimes(),
+              timeSettings.formatsForParsing,
+              timeSettings.getLocale()),
+          times.get(i));
+      assertEquals(text, timePicker.isTextValid(text), validTimes.get(i));
+    }
+
+    // The numeric scanners are resolved once, when the parser is created.
+    Object dateScanners =
+        TestHelpers.readPrivateField(DateTextParser.class, parser, "dateScannersInOrder");
+    Object timeScanners =
+        TestHelpers.readPrivateField(DateTextParser.class, parser, "timeScannersInOrder");
+    assertTrue(((NumericDateScanner[]) dateScanners)[0] != null);
+    assertTrue(((NumericTimeScanner[]) timeScanners)[0] != null);
+
+    // The parser holds a snapshot. Later settings changes do not affect it.
+    dateSettings.setFormatsForParsing(new ArrayList<>());
+    assertTrue(parser.parseDateOrNull("3/14/2024").equals(LocalDate.of(2024, 3, 14)));
+    assertTrue(new DateTextParser(null, null).parseDateOrNull("March 14, 2024") == null);
+  }
+}
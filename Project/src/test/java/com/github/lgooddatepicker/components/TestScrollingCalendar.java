@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.TestHelpers;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.HashSet;
+import java.util.Locale;
+import javax.swing.JScrollPane;
+import org.junit.Test;
+
+/** TestScrollingCalendar, This tests the geometry, painting and selection of the calendar. */
+public class TestScrollingCalendar {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testScrollingCalendar() throws Exception {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    settings.setWeekNumbersDisplayed(true, true);
+    settings.setFirstDayOfWeek(DayOfWeek.SUNDAY);
+    ScrollingCalendar calendar = new ScrollingCalendar(settings);
+    assertEquals(LocalDate.of(1895, Month.OCTOBER, 1), calendar.getFirstDate());
+    assertEquals(LocalDate.of(2095, Month.OCTOBER, 31), calendar.getLastDate());
+    HashSet<LocalDate> vetoCalls = new HashSet<>();
+    settings.setVetoPolicy(
+        date -> {
+          vetoCalls.add(date);
+          return date.getDayOfWeek() != DayOfWeek.SUNDAY;
+        });
+    // The first week starts on the first day of the week (Sunday), before the first date.
+    calendar.setDateRange(LocalDate.of(1995, Month.JANUARY, 4), LocalDate.of(2095, Month.JUNE, 1));
+    calendar.setSize(calendar.getPreferredSize());
+    Rectangle firstBounds = calendar.getRectangleForDate(LocalDate.of(1995, Month.JANUARY, 4));
+    Rectangle saturdayBounds = calendar.getRectangleForDate(LocalDate.of(1995, Month.JANUARY, 7));
+    assertEquals(0, firstBounds.y);
+    assertEquals(calendar.getWidth(), saturdayBounds.x + saturdayBounds.width);
+    assertNull(calendar.getRectangleForDate(LocalDate.of(1995, Month.JANUARY, 3)));
+    Point sundayPoint = new Point(firstBounds.x - (3 * firstBounds.width) + 1, 1);
+    assertNull(calendar.getDateAt(sundayPoint));
+    int rowHeight = firstBounds.height;
+    assertEquals(5240 * rowHeight, calendar.getPreferredSize().height);
+    // Every date maps to its own cell, and back.
+    for (LocalDate date = LocalDate.of(2020, Month.FEBRUARY, 1);
+        date.isBefore(LocalDate.of(2020, Month.APRIL, 1));
+        date = date.plusDays(1)) {
+      Rectangle bounds = calendar.getRectangleForDate(date);
+      assertEquals(date, calendar.getDateAt(new Point(bounds.x + 1, bounds.y + 1)));
+    }
+    assertNull(calendar.getDateAt(new Point(0, 0)));
+    // Painting only draws the weeks in the clip area.
+    Rectangle clip = calendar.getRectangleForDate(LocalDate.of(2050, Month.MARCH, 9));
+    clip.setBounds(0, clip.y, calendar.getWidth(), rowHeight * 3);
+    BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    graphics.translate(0, -clip.y);
+    graphics.setClip(clip);
+    vetoCalls.clear();
+    calendar.paint(graphics);
+    graphics.dispose();
+    assertEquals(21, vetoCalls.size());
+    assertTrue(vetoCalls.contains(LocalDate.of(2050, Month.MARCH, 6)));
+    assertTrue(vetoCalls.contains(LocalDate.of(2050, Month.MARCH, 26)));
+    // Clicking a date selects it, but vetoed dates can not be selected.
+    LocalDate friday = LocalDate.of(2020, Month.MARCH, 13);
+    clickDate(calendar, friday);
+    assertEquals(friday, calendar.getSelectedDate());
+    clickDate(calendar, LocalDate.of(2020, Month.MARCH, 15));
+    assertEquals(friday, calendar.getSelectedDate());
+    // The weekday header is added to an enclosing scroll pane.
+    JScrollPane scrollPane = new JScrollPane(calendar);
+    calendar.addNotify();
+    assertTrue(scrollPane.getColumnHeader().getView() == calendar.getWeekdayHeader());
+    // Invalid date ranges are rejected.
+    try {
+      calendar.setDateRange(LocalDate.MIN, LocalDate.MAX);
+      assertTrue(false);
+    } catch (RuntimeException ex) {
+      assertEquals(LocalDate.of(1995, Month.JANUARY, 4), calendar.getFirstDate());
+    }
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testWeekNumbersAtMinimumDate() {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setWeekNumbersDisplayed(true, true);
+    settings.setFirstDayOfWeek(DayOfWeek.SUNDAY);
+    ScrollingCalendar calendar = new ScrollingCalendar(settings);
+    // LocalDate.MIN is a Monday, so the first week starts on the day before LocalDate.MIN.
+    assertEquals(DayOfWeek.MONDAY, LocalDate.MIN.getDayOfWeek());
+    calendar.setDateRange(LocalDate.MIN, LocalDate.MIN.plusDays(100));
+    calendar.setSize(calendar.getPreferredSize());
+    BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    graphics.setClip(0, 0, calendar.getWidth(), 200);
+    calendar.paint(graphics);
+    graphics.dispose();
+  }
+
+  /** clickDate, This clicks on the center of the cell of the supplied date. */
+  private static void clickDate(ScrollingCalendar calendar, LocalDate date) {
+    Rectangle bounds = calendar.getRectangleForDate(date);
+    int x = (int) bounds.getCenterX();
+    int y = (int) bounds.getCenterY();
+    for (int eventId : new int[] {MouseEvent.MOUSE_PRESSED, MouseEvent.MOUSE_RELEASED}) {
+      calendar.dispatchEvent(new MouseEvent(calendar, eventId, 0, 0, x, y, 1, false, 1));
+    }
+  }
+}
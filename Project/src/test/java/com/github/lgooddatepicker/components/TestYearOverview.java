@@ -0,0 +1,143 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.TestHelpers;
+import com.github.lgooddatepicker.components.DatePickerSettings.DateArea;
+import com.github.lgooddatepicker.zinternaltools.CalendarDateGrid;
+import com.github.lgooddatepicker.zinternaltools.CalendarLabelState;
+import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
+import com.github.lgooddatepicker.zinternaltools.MonthGrid;
+import java.awt.Color;
+import java.awt.Point;
+import java.awt.event.MouseEvent;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Locale;
+import org.junit.Test;
+
+/** TestYearOverview, This tests the drawing and the date selection of the YearOverview. */
+public class TestYearOverview {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testYearOverview() throws Exception {
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    settings.setFirstDayOfWeek(DayOfWeek.MONDAY);
+    YearOverview yearOverview = new YearOverview(settings);
+    assertEquals(1995, yearOverview.getDisplayedYear());
+    assertEquals(0, yearOverview.getComponentCount());
+    assertTrue(settings.getParentYearOverview() == yearOverview);
+    int[] vetoCallCount = new int[1];
+    settings.setVetoPolicy(
+        date -> {
+          ++vetoCallCount[0];
+          return date.getDayOfWeek() != DayOfWeek.SUNDAY;
+        });
+    settings.setHighlightPolicy(
+        date -> (date.getDayOfMonth() == 1) ? new HighlightInformation(Color.orange) : null);
+    // The date cells are drawn the same way as the dates of a calendar panel.
+    DatePickerSettings panelSettings = new DatePickerSettings(Locale.ENGLISH);
+    panelSettings.setClock(TestHelpers.getClockFixedToInstant(1995, Month.OCTOBER, 31, 0, 0));
+    panelSettings.setFirstDayOfWeek(DayOfWeek.MONDAY);
+    panelSettings.setPaintDateGrid(true);
+    CalendarPanel panel = new CalendarPanel(panelSettings);
+    panelSettings.setVetoPolicy(date -> date.getDayOfWeek() != DayOfWeek.SUNDAY);
+    panelSettings.setHighlightPolicy(settings.getHighlightPolicy());
+    CalendarDateGrid panelGrid =
+        (CalendarDateGrid) TestHelpers.readPrivateField(CalendarPanel.class, panel, "dateGrid");
+    CalendarLabelState[][] dateCellStates =
+        (CalendarLabelState[][])
+            TestHelpers.readPrivateField(YearOverview.class, yearOverview, "dateCellStates");
+    for (int cellIndex = 0; cellIndex < MonthGrid.CELL_COUNT; ++cellIndex) {
+      CalendarLabelState panelCell = panelGrid.getCellStateCopy(cellIndex);
+      CalendarLabelState overviewCell = dateCellStates[Month.OCTOBER.ordinal()][cellIndex];
+      assertEquals(panelCell.text, overviewCell.text);
+      assertEquals(panelCell.colorBackground, overviewCell.colorBackground);
+      assertEquals(panelCell.enabled, overviewCell.enabled);
+    }
+    // Clicking a date selects it, and fires a property change event.
+    yearOverview.setSize(yearOverview.getPreferredSize());
+    ArrayList<LocalDate> changedDates = new ArrayList<>();
+    yearOverview.addPropertyChangeListener(
+        "selectedDate", event -> changedDates.add((LocalDate) event.getNewValue()));
+    LocalDate friday = LocalDate.of(1995, Month.MARCH, 17);
+    vetoCallCount[0] = 0;
+    clickDate(yearOverview, friday);
+    assertEquals(friday, yearOverview.getSelectedDate());
+    assertEquals(1, changedDates.size());
+    // Only the clicked date is checked and refilled, rather than every date of the year.
+    assertTrue(vetoCallCount[0] <= 2);
+    MonthGrid march = MonthGrid.getGrid(YearMonth.from(friday), DayOfWeek.MONDAY, null);
+    int cellIndex = march.getCellIndexOfDate(friday);
+    assertEquals(
+        settings.getColor(DateArea.CalendarBackgroundSelectedDate),
+        dateCellStates[Month.MARCH.ordinal()][cellIndex].colorBackground);
+    // Selecting another date of the same year clears the old selected cell.
+    yearOverview.setSelectedDate(friday.minusDays(1));
+    assertEquals(
+        settings.getColor(DateArea.CalendarBackgroundNormalDates),
+        dateCellStates[Month.MARCH.ordinal()][cellIndex].colorBackground);
+    yearOverview.setSelectedDate(friday);
+    // Vetoed dates can not be selected.
+    clickDate(yearOverview, LocalDate.of(1995, Month.MARCH, 19));
+    assertEquals(friday, yearOverview.getSelectedDate());
+    // Points outside of the dates have no date.
+    assertNull(yearOverview.getDateAt(new Point(-1, -1)));
+    assertNull(yearOverview.getDateAt(new Point(1, 1)));
+    assertNull(yearOverview.getDateAt(new Point(yearOverview.getWidth(), 1)));
+    // Selecting a date of another year displays that year.
+    yearOverview.setSelectedDate(LocalDate.of(2000, Month.JANUARY, 3));
+    assertEquals(2000, yearOverview.getDisplayedYear());
+    // A settings instance can only have one parent.
+    try {
+      new CalendarPanel(settings);
+      assertTrue(false);
+    } catch (RuntimeException ex) {
+      assertTrue(settings.getParentCalendarPanel() == null);
+    }
+  }
+
+  /** clickDate, This clicks on the center of the cell of the supplied date. */
+  private static void clickDate(YearOverview yearOverview, LocalDate date) {
+    Point point = null;
+    for (int x = 0; x < yearOverview.getWidth() && point == null; ++x) {
+      for (int y = 0; y < yearOverview.getHeight() && point == null; ++y) {
+        if (date.equals(yearOverview.getDateAt(new Point(x, y)))) {
+          point = new Point(x + 3, y + 3);
+        }
+      }
+    }
+    for (int eventId : new int[] {MouseEvent.MOUSE_PRESSED, MouseEvent.MOUSE_RELEASED}) {
+      yearOverview.dispatchEvent(
+          new MouseEvent(yearOverview, eventId, 0, 0, point.x, point.y, 1, false, 1));
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.durationpicker_underconstruction;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.Duration;
+import java.util.Locale;
+import org.junit.Test;
+
+/** TestDurationConverter, This tests the conversion of strings to durations. */
+public class TestDurationConverter {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testConvertStringToDuration() {
+    DurationConverterSettings settings = new DurationConverterSettings(Locale.ENGLISH);
+    assertEquals(
+        Duration.ofMinutes(90), DurationConverter.convertStringToDuration("1.5h", settings));
+    assertEquals(
+        Duration.ofHours(2), DurationConverter.convertStringToDuration(" 2 HOURS ", settings));
+    // Month prefixes have priority over minute prefixes.
+    assertEquals(
+        Duration.ofSeconds(DurationUnit.Month.inSeconds * 3L),
+        DurationConverter.convertStringToDuration("3 months", settings));
+    assertEquals(Duration.ofMinutes(3), DurationConverter.convertStringToDuration("3m", settings));
+    // Only seconds keep fractions of a second.
+    assertEquals(
+        Duration.ofSeconds(1, 250_000_000),
+        DurationConverter.convertStringToDuration("1.25 sec", settings));
+    assertEquals(
+        Duration.ofSeconds(-1, -500_000_000),
+        DurationConverter.convertStringToDuration("-1.5 s", settings));
+    assertEquals(
+        Duration.ofSeconds(0), DurationConverter.convertStringToDuration("0.001m", settings));
+    // Values that do not fit the fixed point arithmetic are converted with BigDecimal.
+    assertEquals(
+        Duration.ofDays(1000), DurationConverter.convertStringToDuration("1e3 d", settings));
+    assertEquals(
+        Duration.ofSeconds(1, 123_456_789),
+        DurationConverter.convertStringToDuration("1.1234567891 s", settings));
+    assertEquals(
+        Duration.ofSeconds(123_456_789_012_345L),
+        DurationConverter.convertStringToDuration("123456789012345 s", settings));
+    // Invalid strings.
+    assertNull(DurationConverter.convertStringToDuration("h", settings));
+    assertNull(DurationConverter.convertStringToDuration("5", settings));
+    assertNull(DurationConverter.convertStringToDuration("5  h", settings));
+    assertNull(DurationConverter.convertStringToDuration("5..h", settings));
+    assertNull(DurationConverter.convertStringToDuration("5 q", settings));
+    assertNull(DurationConverter.convertStringToDuration("1e30 y", settings));
+    // Changes to the parsing prefixes are used by the next conversion.
+    assertNull(DurationConverter.convertStringToDuration("2 tage", settings));
+    settings.translationsParsingPrefixes.get(DurationUnit.Day).add("t");
+    assertEquals(Duration.ofDays(2), DurationConverter.convertStringToDuration("2 tage", settings));
+    // Bulk conversion.
+    String[] texts = {"1h", null, "bad", "2 d"};
+    Duration[] expected = {Duration.ofHours(1), null, null, Duration.ofDays(2)};
+    assertArrayEquals(expected, DurationConverter.convertStringsToDurations(texts, settings));
+  }
+}
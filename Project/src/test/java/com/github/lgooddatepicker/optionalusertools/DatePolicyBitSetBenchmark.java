@@ -0,0 +1,172 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.optionalusertools;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * DatePolicyBitSetBenchmark, This is a microbenchmark that compares a DatePolicyBitSet with a
+ * HashSet of LocalDate instances, for a roster that marks about half of the days of a century. It
+ * prints the retained memory of each structure, and the average time of each date lookup.
+ *
+ * <p>This is not a unit test, and is not run by the build. It can be run from the project folder
+ * after "mvn test-compile", with this command: java -cp target/classes:target/test-classes
+ * com.github.lgooddatepicker.optionalusertools.DatePolicyBitSetBenchmark
+ */
+public class DatePolicyBitSetBenchmark {
+
+  /** FIRST_DATE, This is the first date of the benchmark roster. */
+  private static final LocalDate FIRST_DATE = LocalDate.of(2000, 1, 1);
+
+  /** DAY_COUNT, This is the number of days in the benchmark roster. (About one century.) */
+  private static final int DAY_COUNT = 36525;
+
+  /** HASH_SET_COPIES, This is the number of hash sets that are created to measure memory. */
+  private static final int HASH_SET_COPIES = 20;
+
+  /** POLICY_COPIES, This is the number of policies that are created to measure memory. */
+  private static final int POLICY_COPIES = 1000;
+
+  /** LOOKUP_ROUNDS, This is the number of times that every day of the roster is looked up. */
+  private static final int LOOKUP_ROUNDS = 200;
+
+  public static void main(String[] args) {
+    // Choose the marked days once, so that both structures hold the same dates.
+    Random random = new Random(1);
+    boolean[] isMarked = new boolean[DAY_COUNT];
+    for (int i = 0; i < DAY_COUNT; ++i) {
+      isMarked[i] = random.nextBoolean();
+    }
+    LocalDate[] lookupDates = new LocalDate[DAY_COUNT];
+    for (int i = 0; i < DAY_COUNT; ++i) {
+      lookupDates[i] = FIRST_DATE.plusDays(i);
+    }
+
+    // Memory is measured over many copies of each structure, because one small structure would be
+    // hidden by the noise of the heap measurement.
+    long memoryBefore = getUsedMemory();
+    HashSet<?>[] hashSetCopies = new HashSet<?>[HASH_SET_COPIES];
+    for (int copy = 0; copy < HASH_SET_COPIES; ++copy) {
+      hashSetCopies[copy] = createHashSet(isMarked);
+    }
+    long hashSetBytes = (getUsedMemory() - memoryBefore) / HASH_SET_COPIES;
+
+    memoryBefore = getUsedMemory();
+    DatePolicyBitSet[] policyCopies = new DatePolicyBitSet[POLICY_COPIES];
+    for (int copy = 0; copy < POLICY_COPIES; ++copy) {
+      policyCopies[copy] = createPolicy(isMarked);
+    }
+    long policyBytes = (getUsedMemory() - memoryBefore) / POLICY_COPIES;
+    HashSet<LocalDate> hashSet = createHashSet(isMarked);
+    DatePolicyBitSet policy = policyCopies[0];
+
+    System.out.println("Marked dates: " + hashSet.size() + " of " + DAY_COUNT + " days.");
+    System.out.println("HashSet<LocalDate> retained memory: " + hashSetBytes + " bytes.");
+    System.out.println("DatePolicyBitSet retained memory: " + policyBytes + " bytes.");
+
+    int matchCount = 0;
+    // Warm up both lookups, so that they are compiled before they are timed.
+    for (int round = 0; round < 20; ++round) {
+      matchCount += countHashSetMatches(hashSet, lookupDates);
+      matchCount += countPolicyMatches(policy, lookupDates);
+    }
+    long startTime = System.nanoTime();
+    for (int round = 0; round < LOOKUP_ROUNDS; ++round) {
+      matchCount += countHashSetMatches(hashSet, lookupDates);
+    }
+    long hashSetNanos = System.nanoTime() - startTime;
+    startTime = System.nanoTime();
+    for (int round = 0; round < LOOKUP_ROUNDS; ++round) {
+      matchCount += countPolicyMatches(policy, lookupDates);
+    }
+    long policyNanos = System.nanoTime() - startTime;
+    double lookupCount = (double) LOOKUP_ROUNDS * DAY_COUNT;
+    System.out.printf("HashSet.contains(): %.1f ns per lookup.%n", hashSetNanos / lookupCount);
+    System.out.printf(
+        "DatePolicyBitSet.isDateAllowed(): %.1f ns per lookup.%n", policyNanos / lookupCount);
+    // Print the match count, so that the lookups can not be removed as unused code.
+    System.out.println("(Match count: " + matchCount + ")");
+    // Keep the measured copies reachable until the end of the benchmark.
+    System.out.println("(Copies: " + hashSetCopies.length + ", " + policyCopies.length + ")");
+  }
+
+  /** createHashSet, This returns a hash set that holds the marked dates. */
+  private static HashSet<LocalDate> createHashSet(boolean[] isMarked) {
+    HashSet<LocalDate> hashSet = new HashSet<>();
+    for (int i = 0; i < isMarked.length; ++i) {
+      if (isMarked[i]) {
+        hashSet.add(FIRST_DATE.plusDays(i));
+      }
+    }
+    return hashSet;
+  }
+
+  /** createPolicy, This returns a policy that allows the marked dates. */
+  private static DatePolicyBitSet createPolicy(boolean[] isMarked) {
+    DatePolicyBitSet policy = new DatePolicyBitSet();
+    for (int i = 0; i < isMarked.length; ++i) {
+      if (isMarked[i]) {
+        policy.setDateAllowed(FIRST_DATE.plusDays(i), true);
+      }
+    }
+    return policy;
+  }
+
+  /** countHashSetMatches, This returns the number of lookup dates that are in the hash set. */
+  private static int countHashSetMatches(HashSet<LocalDate> hashSet, LocalDate[] lookupDates) {
+    int count = 0;
+    for (LocalDate date : lookupDates) {
+      if (hashSet.contains(date)) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /** countPolicyMatches, This returns the number of lookup dates that the policy allows. */
+  private static int countPolicyMatches(DatePolicyBitSet policy, LocalDate[] lookupDates) {
+    int count = 0;
+    for (LocalDate date : lookupDates) {
+      if (policy.isDateAllowed(date)) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /** getUsedMemory, This returns the used heap memory, after asking for garbage collection. */
+  private static long getUsedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; ++i) {
+      System.gc();
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
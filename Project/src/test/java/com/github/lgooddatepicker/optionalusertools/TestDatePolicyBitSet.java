@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.optionalusertools;
+
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.components.DatePickerSettings;
+import com.github.lgooddatepicker.zinternaltools.HighlightInformation;
+import java.awt.Color;
+import java.time.LocalDate;
+import java.util.Locale;
+import org.junit.Test;
+
+/** TestDatePolicyBitSet, This tests the allowed and highlighted dates of a DatePolicyBitSet. */
+public class TestDatePolicyBitSet {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testAllowedAndHighlightedDates() {
+    DatePolicyBitSet policy = new DatePolicyBitSet();
+    LocalDate date = LocalDate.of(2040, 6, 15);
+    // Dates are vetoed unless they are marked as allowed.
+    assertTrue(!policy.isDateAllowed(date));
+    policy.setDatesAllowed(LocalDate.of(2000, 1, 1), LocalDate.of(2099, 12, 31), true);
+    policy.setDateAllowed(date, false);
+    assertTrue(policy.isDateAllowed(date.plusDays(1)) && !policy.isDateAllowed(date));
+    assertTrue(!policy.isDateAllowed(LocalDate.of(2100, 1, 1)));
+    // Highlighted dates share one highlight information instance.
+    HighlightInformation highlight = new HighlightInformation(Color.orange);
+    policy.setHighlightInformation(highlight);
+    policy.setDateHighlighted(date, true);
+    assertTrue(policy.getHighlightInformationOrNull(date) == highlight);
+    assertTrue(policy.getHighlightInformationOrNull(date.plusDays(1)) == null);
+    policy.getHighlightedDates().addAll(policy.getAllowedDates());
+    assertTrue(policy.isDateHighlighted(LocalDate.of(2000, 1, 1)));
+    // The same instance can be used as the veto policy and the highlight policy.
+    DatePickerSettings settings = new DatePickerSettings(Locale.ENGLISH);
+    settings.setHighlightPolicy(policy);
+    assertTrue(settings.getHighlightPolicy() == policy);
+  }
+}
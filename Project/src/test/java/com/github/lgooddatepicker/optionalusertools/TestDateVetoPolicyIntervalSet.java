@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.optionalusertools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * TestDateVetoPolicyIntervalSet, This tests the interval merging, the date lookups, and the
+ * snapshots of the DateVetoPolicyIntervalSet.
+ */
+public class TestDateVetoPolicyIntervalSet {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testMergedIntervals() {
+    DateVetoPolicyIntervalSet policy =
+        new DateVetoPolicyIntervalSet(
+            Arrays.asList(
+                new DateInterval(LocalDate.of(2020, 3, 10), LocalDate.of(2020, 3, 20)),
+                new DateInterval(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 5)),
+                new DateInterval(LocalDate.of(2020, 3, 15), LocalDate.of(2020, 4, 1)),
+                new DateInterval(LocalDate.of(2020, 1, 6), LocalDate.of(2020, 1, 6)),
+                new DateInterval(),
+                new DateInterval(LocalDate.of(2030, 1, 1), null)));
+    // Overlapping and adjacent intervals are merged, and empty intervals are ignored.
+    ArrayList<DateInterval> intervals = policy.getVetoedIntervals();
+    assertEquals(3, policy.getIntervalCount());
+    assertEquals(LocalDate.of(2020, 1, 1), intervals.get(0).firstDate);
+    assertEquals(LocalDate.of(2020, 1, 6), intervals.get(0).lastDate);
+    assertEquals(LocalDate.of(2020, 3, 10), intervals.get(1).firstDate);
+    assertEquals(LocalDate.of(2020, 4, 1), intervals.get(1).lastDate);
+    assertEquals(LocalDate.of(2030, 1, 1), intervals.get(2).firstDate);
+    assertEquals(null, intervals.get(2).lastDate);
+    // Lookups.
+    assertTrue(policy.isDateAllowed(LocalDate.of(2019, 12, 31)));
+    assertTrue(!policy.isDateAllowed(LocalDate.of(2020, 1, 1)));
+    assertTrue(!policy.isDateAllowed(LocalDate.of(2020, 1, 6)));
+    assertTrue(policy.isDateAllowed(LocalDate.of(2020, 1, 7)));
+    assertTrue(!policy.isDateAllowed(LocalDate.MAX));
+    assertTrue(policy.isDateAllowed(LocalDate.MIN));
+    assertEquals(LocalDate.of(2020, 1, 7), policy.nextAllowedDate(LocalDate.of(2020, 1, 3)));
+    assertEquals(LocalDate.of(2019, 12, 31), policy.previousAllowedDate(LocalDate.of(2020, 1, 3)));
+    assertEquals(LocalDate.of(2020, 2, 1), policy.nextAllowedDate(LocalDate.of(2020, 2, 1)));
+    assertEquals(null, policy.nextAllowedDate(LocalDate.of(2031, 1, 1)));
+    assertEquals(LocalDate.of(2029, 12, 31), policy.previousAllowedDate(LocalDate.MAX));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testSnapshots() {
+    DateVetoPolicyIntervalSet policy = new DateVetoPolicyIntervalSet();
+    assertTrue(policy.isDateAllowed(LocalDate.of(2020, 1, 1)));
+    DateVetoPolicyIntervalSet emptySnapshot = policy.getSnapshot();
+    policy.addVetoedIntervals(
+        Collections.singletonList(new DateInterval(null, LocalDate.of(2020, 1, 1))));
+    // The snapshot does not change when the policy is changed.
+    assertTrue(!policy.isDateAllowed(LocalDate.of(2020, 1, 1)));
+    assertTrue(emptySnapshot.isDateAllowed(LocalDate.of(2020, 1, 1)));
+    assertEquals(null, policy.previousAllowedDate(LocalDate.of(2019, 6, 1)));
+    DateVetoPolicyIntervalSet snapshot = policy.getSnapshot();
+    assertTrue(snapshot.isSnapshot() && !policy.isSnapshot());
+    assertTrue(snapshot.getSnapshot() == snapshot);
+    policy.setVetoedIntervals(Collections.<DateInterval>emptyList());
+    assertTrue(policy.isDateAllowed(LocalDate.of(2020, 1, 1)));
+    assertTrue(!snapshot.isDateAllowed(LocalDate.of(2020, 1, 1)));
+    // The intervals of a snapshot cannot be changed.
+    boolean threwException = false;
+    try {
+      snapshot.setVetoedIntervals(Collections.<DateInterval>emptyList());
+    } catch (RuntimeException ex) {
+      threwException = true;
+    }
+    assertTrue(threwException);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testMatchesLinearScan() {
+    Random random = new Random(42);
+    LocalDate base = LocalDate.of(2000, 1, 1);
+    ArrayList<DateInterval> intervals = new ArrayList<>();
+    for (int i = 0; i < 2000; ++i) {
+      LocalDate firstDate = base.plusDays(random.nextInt(20000));
+      intervals.add(new DateInterval(firstDate, firstDate.plusDays(random.nextInt(10))));
+    }
+    DateVetoPolicyIntervalSet policy = new DateVetoPolicyIntervalSet(intervals.subList(0, 1000));
+    policy.addVetoedIntervals(intervals.subList(1000, 2000));
+    for (int day = -5; day < 20020; ++day) {
+      LocalDate date = base.plusDays(day);
+      boolean isVetoed = false;
+      for (DateInterval interval : intervals) {
+        if (!date.isBefore(interval.firstDate) && !date.isAfter(interval.lastDate)) {
+          isVetoed = true;
+          break;
+        }
+      }
+      assertEquals("Date: " + date, !isVetoed, policy.isDateAllowed(date));
+      LocalDate nextAllowed = policy.nextAllowedDate(date);
+      assertTrue(policy.isDateAllowed(nextAllowed) && !nextAllowed.isBefore(date));
+      for (LocalDate between = date; between.isBefore(nextAllowed); between = between.plusDays(1)) {
+        assertTrue(!policy.isDateAllowed(between));
+      }
+      LocalDate previousAllowed = policy.previousAllowedDate(date);
+      assertTrue(policy.isDateAllowed(previousAllowed) && !previousAllowed.isAfter(date));
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * TestDateBitSet, This compares the DateBitSet with a HashSet of dates, over random changes that
+ * move chunks between the array, bitmap, and full forms.
+ */
+public class TestDateBitSet {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testMatchesHashSet() {
+    Random random = new Random(7);
+    // The base date is before the epoch, so that negative epoch days are tested too.
+    LocalDate base = LocalDate.of(1960, 1, 1);
+    int dayCount = 30000;
+    DateBitSet bitSet = new DateBitSet();
+    DateBitSet otherBitSet = new DateBitSet();
+    HashSet<LocalDate> expected = new HashSet<>();
+    HashSet<LocalDate> otherExpected = new HashSet<>();
+    for (int step = 0; step < 3000; ++step) {
+      LocalDate firstDate = base.plusDays(random.nextInt(dayCount));
+      // Mostly short ranges, with some ranges that cover several chunks.
+      int length = (random.nextInt(10) == 0) ? random.nextInt(10000) : random.nextInt(300);
+      LocalDate lastDate = firstDate.plusDays(length);
+      switch (random.nextInt(6)) {
+        case 0:
+          assertEquals(expected.add(firstDate), bitSet.add(firstDate));
+          break;
+        case 1:
+          assertEquals(expected.remove(firstDate), bitSet.remove(firstDate));
+          break;
+        case 2:
+          bitSet.addRange(firstDate, lastDate);
+          for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            expected.add(date);
+          }
+          break;
+        case 3:
+          bitSet.removeRange(firstDate, lastDate);
+          for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            expected.remove(date);
+          }
+          break;
+        case 4:
+          otherBitSet.addRange(firstDate, lastDate);
+          for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            otherExpected.add(date);
+          }
+          if (random.nextBoolean()) {
+            bitSet.addAll(otherBitSet);
+            expected.addAll(otherExpected);
+          } else {
+            bitSet.removeAll(otherBitSet);
+            expected.removeAll(otherExpected);
+          }
+          break;
+        default:
+          otherBitSet.removeRange(firstDate, lastDate);
+          for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            otherExpected.remove(date);
+          }
+          break;
+      }
+      assertEquals(expected.size(), bitSet.size());
+      if (step % 100 == 0) {
+        assertSameDates(expected, bitSet, base.minusDays(10), base.plusDays(dayCount + 10000));
+      }
+    }
+    assertSameDates(expected, bitSet, base.minusDays(10), base.plusDays(dayCount + 10000));
+    bitSet.clear();
+    assertTrue(bitSet.isEmpty() && !bitSet.contains(base.plusDays(100)));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testRangeLimits() {
+    DateBitSet bitSet = new DateBitSet();
+    bitSet.addRange(LocalDate.MIN, LocalDate.MIN.plusDays(10));
+    bitSet.addRange(LocalDate.MAX.minusDays(10), LocalDate.MAX);
+    bitSet.addRange(LocalDate.of(2000, 1, 1), LocalDate.of(2099, 12, 31));
+    assertEquals(22 + 36525, bitSet.size());
+    assertTrue(bitSet.contains(LocalDate.MIN) && bitSet.contains(LocalDate.MAX));
+    // Removing a range of any length only visits the stored chunks.
+    bitSet.removeRange(LocalDate.MIN, LocalDate.MAX);
+    assertTrue(bitSet.isEmpty());
+    boolean threwException = false;
+    try {
+      bitSet.addRange(LocalDate.MIN, LocalDate.MAX);
+    } catch (RuntimeException ex) {
+      threwException = true;
+    }
+    assertTrue(threwException);
+  }
+
+  private static void assertSameDates(
+      HashSet<LocalDate> expected, DateBitSet bitSet, LocalDate firstDate, LocalDate lastDate) {
+    for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+      assertEquals("Date: " + date, expected.contains(date), bitSet.contains(date));
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+/** TestMonthGrid, This tests the cell mapping and the week numbers of the MonthGrid. */
+public class TestMonthGrid {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testMonthGrid() {
+    // March 2024 starts on a Friday, and has 31 days.
+    YearMonth march = YearMonth.of(2024, 3);
+    MonthGrid grid = MonthGrid.getGrid(march, DayOfWeek.MONDAY, WeekFields.ISO);
+    assertTrue(grid == MonthGrid.getGrid(march, DayOfWeek.MONDAY, WeekFields.ISO));
+    assertNull(grid.getCellDateOrNull(3));
+    assertEquals("", grid.getCellText(3));
+    assertEquals(LocalDate.of(2024, 3, 1), grid.getCellDateOrNull(4));
+    assertEquals("1", grid.getCellText(4));
+    assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), grid.getCellEpochDay(3));
+    assertEquals(34, grid.getCellIndexOfDate(LocalDate.of(2024, 3, 31)));
+    assertEquals(-1, grid.getCellIndexOfDate(LocalDate.of(2024, 4, 1)));
+    assertEquals(5, grid.getUsedRowCount());
+    assertEquals("9", grid.getWeekNumberText(0));
+    assertEquals("13", grid.getWeekNumberText(4));
+    assertEquals("", grid.getWeekNumberText(5));
+    // A Sunday first column moves every date one cell to the right.
+    MonthGrid sundayGrid = MonthGrid.getGrid(march, DayOfWeek.SUNDAY, null);
+    assertEquals(5, sundayGrid.getCellIndexOfDate(LocalDate.of(2024, 3, 1)));
+    assertEquals(6, sundayGrid.getUsedRowCount());
+    assertEquals("", sundayGrid.getWeekNumberText(0));
+    // The year "-0004" is a leap year.
+    MonthGrid leapGrid = MonthGrid.getGrid(YearMonth.of(-4, 2), DayOfWeek.MONDAY, null);
+    assertEquals("29", leapGrid.getCellText(leapGrid.getCellIndexOfDate(LocalDate.of(-4, 2, 29))));
+    // The grids at the limits of LocalDate can be created.
+    MonthGrid.getGrid(YearMonth.of(LocalDate.MIN.getYear(), 1), DayOfWeek.SUNDAY, WeekFields.ISO);
+    MonthGrid.getGrid(YearMonth.of(LocalDate.MAX.getYear(), 12), DayOfWeek.SUNDAY, WeekFields.ISO);
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testWeekNumberForASevenDayRange() {
+    LocalDate[] rangeStarts = {
+      LocalDate.of(1999, 12, 1), LocalDate.of(2020, 12, 1), LocalDate.of(-1, 12, 1),
+      LocalDate.MIN, LocalDate.MAX.minusDays(400), LocalDate.of(Year.MAX_VALUE - 2, 12, 1)
+    };
+    for (DayOfWeek firstDayOfWeek : DayOfWeek.values()) {
+      for (int minimalDays = 1; minimalDays <= 7; ++minimalDays) {
+        WeekFields weekFields = WeekFields.of(firstDayOfWeek, minimalDays);
+        for (LocalDate rangeStart : rangeStarts) {
+          for (int day = 0; day < 400; ++day) {
+            LocalDate firstDate = rangeStart.plusDays(day);
+            for (boolean requireUnanimous : new boolean[] {false, true}) {
+              assertEquals(
+                  getWeekNumberFromEachDate(firstDate, weekFields, requireUnanimous),
+                  MonthGrid.getWeekNumberForASevenDayRange(
+                      firstDate, weekFields, requireUnanimous));
+            }
+          }
+        }
+      }
+    }
+    assertEquals(
+        Integer.valueOf(1),
+        MonthGrid.getWeekNumberForASevenDayRange(LocalDate.MAX, WeekFields.ISO, false));
+  }
+
+  /**
+   * getWeekNumberFromEachDate, This calculates the expected week number of a seven day range, from
+   * the java.time week number of each date in the range.
+   */
+  private static Integer getWeekNumberFromEachDate(
+      LocalDate firstDate, WeekFields weekFields, boolean requireUnanimous) {
+    Map<Integer, Integer> dayCounts = new HashMap<>();
+    for (int day = 0; day <= 6; ++day) {
+      int weekNumber;
+      try {
+        weekNumber = firstDate.plusDays(day).get(weekFields.weekOfWeekBasedYear());
+      } catch (Exception ex) {
+        return 1;
+      }
+      dayCounts.merge(weekNumber, 1, Integer::sum);
+    }
+    if (dayCounts.size() > 1 && requireUnanimous) {
+      return null;
+    }
+    Integer result = null;
+    for (Map.Entry<Integer, Integer> entry : dayCounts.entrySet()) {
+      if (result == null || entry.getValue() > dayCounts.get(result)) {
+        result = entry.getKey();
+      }
+    }
+    return result;
+  }
+}
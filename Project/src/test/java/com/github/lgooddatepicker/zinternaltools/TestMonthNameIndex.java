@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import org.junit.Test;
+
+/** TestMonthNameIndex, This tests the month name matching and completion of the MonthNameIndex. */
+public class TestMonthNameIndex {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testMonthNameIndex() {
+    MonthNameIndex english = MonthNameIndex.getIndexForLocale(Locale.ENGLISH);
+    assertTrue(english == MonthNameIndex.getIndexForLocale(Locale.ENGLISH));
+    assertTrue(english.isExactForParsing());
+    // The longest matching name is used.
+    long result = english.matchMonthName("14 MARCH 2024", 3);
+    assertEquals(3, MonthNameIndex.getMonth(result));
+    assertEquals(8, MonthNameIndex.getEndPosition(result));
+    result = english.matchMonthName("14 Marc 2024", 3);
+    assertEquals(3, MonthNameIndex.getMonth(result));
+    assertEquals(6, MonthNameIndex.getEndPosition(result));
+    // The narrow names of January, June and July are identical.
+    assertEquals(MonthNameIndex.AMBIGUOUS_MATCH, english.matchMonthName("J 5", 0));
+    assertEquals(MonthNameIndex.NO_MATCH, english.matchMonthName("5 J", 0));
+    // Completions.
+    assertTrue(english.isMonthNamePrefix("ju", 0, 2));
+    assertFalse(english.isMonthNamePrefix("jx", 0, 2));
+    ArrayList<String> completions = english.getCompletions("ju");
+    assertTrue(completions.indexOf("June") < completions.indexOf("July"));
+    assertFalse(completions.contains("J"));
+    // Russian has genitive (formatting) and nominative (standalone) month names.
+    MonthNameIndex russian = MonthNameIndex.getIndexForLocale(new Locale("ru"));
+    assertEquals(3, MonthNameIndex.getMonth(russian.matchMonthName("марта", 0)));
+    assertEquals(3, MonthNameIndex.getMonth(russian.matchMonthName("Март", 0)));
+    assertTrue(russian.getCompletions("мар").contains("марта"));
+    assertTrue(russian.getCompletions("МАР").contains("март"));
+  }
+}
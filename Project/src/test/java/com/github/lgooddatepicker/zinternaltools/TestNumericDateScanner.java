@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.github.lgooddatepicker.components.DatePickerSettings;
+import com.github.lgooddatepicker.optionalusertools.PickerUtilities;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Locale;
+import org.junit.Test;
+
+/**
+ * TestNumericDateScanner, This verifies that the date parsing results of the NumericDateScanner
+ * class are identical to the results of the DateTimeFormatter class, for the default parsing
+ * formats of every available locale.
+ */
+public class TestNumericDateScanner {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testPrefixMatcher() {
+    NumericDateScanner.PrefixMatcher matcher =
+        NumericDateScanner.compileOrNull("M/d/yy", null).createPrefixMatcher();
+    // Each text is typed (or deleted) at the end of the previous text.
+    String[] texts = {"1", "12", "12/", "12/3", "12/31", "12/31/", "12/31/2", "12/3", "12/32"};
+    boolean[] viable = {true, true, true, true, true, true, true, true, false};
+    String previous = "";
+    for (int i = 0; i < texts.length; ++i) {
+      int unchangedLength = 0;
+      while (unchangedLength < Math.min(previous.length(), texts[i].length())
+          && previous.charAt(unchangedLength) == texts[i].charAt(unchangedLength)) {
+        ++unchangedLength;
+      }
+      assertEquals(texts[i], viable[i], matcher.isViablePrefix(texts[i], unchangedLength));
+      previous = texts[i];
+    }
+    String[] deadTexts = {"13/", "2/30", "0/", "x", "-1", "12/31/2024/", "12/31/1234567890"};
+    for (String text : deadTexts) {
+      assertEquals(text, false, matcher.isViablePrefix(text, 0));
+    }
+    matcher = NumericDateScanner.compileOrNull("MMM d, y", Locale.ENGLISH).createPrefixMatcher();
+    String[] viableTexts = {"M", "Ma", "Mar", "March", "March 1", "Mar 1, ", "Mar 1, 2024", "3 1"};
+    for (String text : viableTexts) {
+      assertEquals(text, true, matcher.isViablePrefix(text, 0));
+    }
+    assertEquals(false, matcher.isViablePrefix("Febx", 0));
+    assertEquals(false, matcher.isViablePrefix("Feb 30", 0));
+  }
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testScannerPatterns() {
+    assertNotNull(NumericDateScanner.compileOrNull("M/d/yy", null));
+    assertNotNull(NumericDateScanner.compileOrNull("dd.MM.uuuu", null));
+    assertNotNull(NumericDateScanner.compileOrNull("y'年'M'月'd'日'", null));
+    assertNotNull(NumericDateScanner.compileOrNull("MMM d, y", Locale.ENGLISH));
+    assertNotNull(NumericDateScanner.compileOrNull("dMMMuu", Locale.ENGLISH));
+    assertNull(NumericDateScanner.compileOrNull("MMM d, y", null));
+    assertNull(NumericDateScanner.compileOrNull("d/M/y G", Locale.ENGLISH));
+    assertNull(NumericDateScanner.compileOrNull("ddMMyyyy", null));
+    assertNull(NumericDateScanner.compileOrNull("d/M", null));
+    assertNull(NumericDateScanner.compileOrNull("d/M/y/d", null));
+    assertNull(NumericDateScanner.compileOrNull("[d/M/y]", null));
+    // The pattern of a formatter is registered even if it can not be compiled into a scanner.
+    DateTimeFormatter eraFormatter =
+        PickerUtilities.createFormatterFromPatternString("d/M/y G", Locale.ENGLISH);
+    assertNull(NumericDateScanner.getScannerForFormatterOrNull(eraFormatter));
+    assertEquals("d/M/y G", NumericDateScanner.getPatternForFormatterOrNull(eraFormatter));
+    String[] patterns = {
+      "M/d/yy", "dd.MM.uuuu", "d-M-y", "uuuu-MM-dd", "yy/M/d", "d 'de' M y", "MMM d, y", "dMMMuu",
+      "d MMMM uuuu", "d-LLL-y"
+    };
+    String[] texts = {
+      "3/14/24", "3/14/2024", "14.03.2024", "14.3.24", "29.02.2023", "31-4-2024", "+3-+4-+2024",
+      "-3-4-2024", "1-1-0", "1-1--0", "2024-02-29", "-2024-02-29", "24/2/30", "24/13/1",
+      "1 DE 2 2024", "1 de 2 2024 ", "1234567890-1-1", "0001-1-1", "Mar 14, 2024", "MARCH 14, 2024",
+      "march 14, 2024", "3 14, 2024", "Feb 30, 2024", "14mar24", "14March24", "14 march 2024",
+      "14 MAR 2024", "14 Marc 2024", "J 14, 2024", "M 14, 2024", "14-Sep-2024", "14-Sept-2024"
+    };
+    for (String pattern : patterns) {
+      DateTimeFormatter formatter =
+          PickerUtilities.createFormatterFromPatternString(pattern, Locale.ENGLISH);
+      assertNotNull(NumericDateScanner.getScannerForFormatterOrNull(formatter));
+      for (String text : texts) {
+        assertEquals(
+            pattern + " \"" + text + "\"",
+            getParsedDateWithFormattersOrNull(text, formatter, null, new ArrayList<>()),
+            InternalUtilities.getParsedDateOrNull(text, formatter, null, new ArrayList<>()));
+      }
+    }
+  }
+
+  /**
+   * testDefaultFormatsOfAllLocales, This compares the parsed dates for a variety of valid, invalid
+   * and nonexistent numeric and text dates, in every available locale.
+   */
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testDefaultFormatsOfAllLocales() {
+    LocalDate[] dates = {LocalDate.of(2024, 3, 14), LocalDate.of(2023, 2, 28)};
+    for (Locale locale : Locale.getAvailableLocales()) {
+      DatePickerSettings settings = new DatePickerSettings(locale);
+      DateTimeFormatter formatAD = settings.getFormatForDatesCommonEra();
+      DateTimeFormatter formatBC = settings.getFormatForDatesBeforeCommonEra();
+      ArrayList<DateTimeFormatter> formats = settings.getFormatsForParsing();
+      ArrayList<DateTimeFormatter> allFormats = new ArrayList<>(formats);
+      allFormats.add(formatAD);
+      allFormats.add(formatBC);
+      ArrayList<String> texts = new ArrayList<>();
+      for (LocalDate date : dates) {
+        for (DateTimeFormatter format : allFormats) {
+          String text = date.format(format);
+          texts.add(text);
+          texts.add(text.substring(0, text.length() - 1));
+          texts.add(text.replace("28", "31").replace("14", "31"));
+          texts.add(text.replace("02", "13").replace("03", "00"));
+          texts.add(text.replaceFirst("\\d+", "+$0"));
+          texts.add(text.replaceFirst("\\d+", "-$0"));
+          texts.add(text.replaceAll("20(\\d\\d)", "$1"));
+          texts.add(text.replaceAll("\\d{4}", "0"));
+          texts.add(text.replaceAll("\\b0(\\d)", "$1"));
+        }
+      }
+      for (String text : texts) {
+        assertEquals(
+            locale + " \"" + text + "\"",
+            getParsedDateWithFormattersOrNull(text, formatAD, formatBC, formats),
+            InternalUtilities.getParsedDateOrNull(text, formatAD, formatBC, formats));
+      }
+    }
+  }
+
+  /**
+   * getParsedDateWithFormattersOrNull, This is the original formatter based implementation of
+   * InternalUtilities.getParsedDateOrNull(), which does not use any numeric scanners.
+   */
+  private static LocalDate getParsedDateWithFormattersOrNull(
+      String text,
+      DateTimeFormatter displayFormatterAD,
+      DateTimeFormatter displayFormatterBC,
+      ArrayList<DateTimeFormatter> parsingFormatters) {
+    if (text == null || text.trim().isEmpty()) {
+      return null;
+    }
+    text = text.trim();
+    ArrayList<DateTimeFormatter> formatters = new ArrayList<>();
+    formatters.add(displayFormatterAD);
+    formatters.add(displayFormatterBC);
+    formatters.addAll(parsingFormatters);
+    for (DateTimeFormatter formatter : formatters) {
+      if (formatter == null) {
+        continue;
+      }
+      LocalDate parsedDate;
+      try {
+        parsedDate = LocalDate.parse(text, formatter);
+      } catch (Exception ex) {
+        continue;
+      }
+      return InternalUtilities.doesParsedDateMatchText(parsedDate, text, formatter)
+          ? parsedDate
+          : null;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.github.lgooddatepicker.components.TimePickerSettings;
+import com.github.lgooddatepicker.optionalusertools.PickerUtilities;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Locale;
+import org.junit.Test;
+
+/**
+ * TestNumericTimeScanner, This verifies that the time parsing results of the NumericTimeScanner
+ * class are identical to the results of the DateTimeFormatter class, for the default parsing
+ * formats of every available locale.
+ */
+public class TestNumericTimeScanner {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testScannerPatterns() {
+    assertNotNull(NumericTimeScanner.compileOrNull("h:mma", Locale.ENGLISH));
+    assertNotNull(NumericTimeScanner.compileOrNull("HH:mm:ss", null));
+    assertNotNull(NumericTimeScanner.compileOrNull("a h'時'mm'分'", Locale.JAPANESE));
+    assertNull(NumericTimeScanner.compileOrNull("h:mma", null));
+    assertNull(NumericTimeScanner.compileOrNull("h:mm", Locale.ENGLISH));
+    assertNull(NumericTimeScanner.compileOrNull("HH:mm a", Locale.ENGLISH));
+    assertNull(NumericTimeScanner.compileOrNull("HHmm", null));
+    assertNull(NumericTimeScanner.compileOrNull("HH:ss", null));
+    assertNull(NumericTimeScanner.compileOrNull("h:mm:ss a z", Locale.ENGLISH));
+    assertNull(NumericTimeScanner.compileOrNull("HH[:mm]", null));
+    String[] patterns = {"h:mma", "h.ma", "ha", "HH:mm", "H:mm:ss", "k:mm", "K:mm a", "a hh:mm"};
+    String[] texts = {
+      "1:05pm", "1:05 PM", "12:00am", "12:00 p", "0:30am", "13:00pm", "1:5pm", "1:051", "1:05+1",
+      "1pm", "1PM", "+1pm", "-1pm", "12", "24:00", "24:01", "24:00:00", "23:59:59", "23:59:60",
+      "0:00", "24:00:01", "12:00 am", "am 12:00", "PM 01:30", "11:00 PM", "1234567890:00", "1:05pmx"
+    };
+    for (String pattern : patterns) {
+      DateTimeFormatter formatter =
+          PickerUtilities.createFormatterFromPatternString(pattern, Locale.ENGLISH);
+      assertNotNull(NumericTimeScanner.getScannerForFormatterOrNull(formatter));
+      ArrayList<DateTimeFormatter> formats = new ArrayList<>();
+      for (String text : texts) {
+        assertEquals(
+            pattern + " \"" + text + "\"",
+            getParsedTimeWithFormattersOrNull(text, formatter, formatter, formats),
+            InternalUtilities.getParsedTimeOrNull(
+                text, formatter, formatter, formats, Locale.ENGLISH));
+      }
+    }
+    String[] isoTexts = {
+      "12:30", "12:30:15", "12:30:15.", "12:30:15.123", "24:00", "1:30", "12:30.", "12:30:15.1234567890"
+    };
+    ArrayList<DateTimeFormatter> isoFormats = new ArrayList<>();
+    isoFormats.add(DateTimeFormatter.ISO_LOCAL_TIME);
+    for (String text : isoTexts) {
+      assertEquals(
+          text,
+          getParsedTimeWithFormattersOrNull(text, null, null, isoFormats),
+          InternalUtilities.getParsedTimeOrNull(text, null, null, isoFormats, Locale.ENGLISH));
+    }
+  }
+
+  /**
+   * testDefaultFormatsOfAllLocales, This compares the parsed times for a variety of valid and
+   * invalid times, in every available locale.
+   */
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testDefaultFormatsOfAllLocales() {
+    LocalTime[] times = {LocalTime.of(0, 5), LocalTime.of(12, 30), LocalTime.of(23, 59, 58)};
+    for (Locale locale : Locale.getAvailableLocales()) {
+      TimePickerSettings settings = new TimePickerSettings(locale);
+      DateTimeFormatter formatDisplay = settings.getFormatForDisplayTime();
+      DateTimeFormatter formatMenu = settings.getFormatForMenuTimes();
+      ArrayList<DateTimeFormatter> formats = settings.formatsForParsing;
+      ArrayList<DateTimeFormatter> allFormats = new ArrayList<>(formats);
+      allFormats.add(formatDisplay);
+      ArrayList<String> texts = new ArrayList<>();
+      for (LocalTime time : times) {
+        for (DateTimeFormatter format : allFormats) {
+          String text;
+          try {
+            text = time.format(format);
+          } catch (Exception ex) {
+            continue;
+          }
+          texts.add(text);
+          texts.add(text.toUpperCase());
+          texts.add(text.substring(0, text.length() - 1));
+          texts.add(text.replace("12", "13").replace("59", "60"));
+          texts.add(text.replaceFirst("\\d+", "+$0"));
+          texts.add(text.replaceFirst("\\d+", "-$0"));
+          texts.add(text.replaceAll("\\b0(\\d)", "$1"));
+        }
+      }
+      for (String text : texts) {
+        assertEquals(
+            locale + " \"" + text + "\"",
+            getParsedTimeWithFormattersOrNull(text, formatDisplay, formatMenu, formats),
+            InternalUtilities.getParsedTimeOrNull(
+                text, formatDisplay, formatMenu, formats, locale));
+      }
+    }
+  }
+
+  /**
+   * getParsedTimeWithFormattersOrNull, This is the original formatter based implementation of
+   * InternalUtilities.getParsedTimeOrNull(), which does not use any numeric scanners.
+   */
+  private static LocalTime getParsedTimeWithFormattersOrNull(
+      String text,
+      DateTimeFormatter formatForDisplayTime,
+      DateTimeFormatter formatForMenuTimes,
+      ArrayList<DateTimeFormatter> formatsForParsing) {
+    if (text == null || text.trim().isEmpty()) {
+      return null;
+    }
+    text = text.trim().toLowerCase();
+    ArrayList<DateTimeFormatter> formatters = new ArrayList<>();
+    formatters.add(formatForDisplayTime);
+    formatters.add(formatForMenuTimes);
+    formatters.addAll(formatsForParsing);
+    for (DateTimeFormatter formatter : formatters) {
+      try {
+        return LocalTime.parse(text, formatter);
+      } catch (Exception ex) {
+      }
+    }
+    return null;
+  }
+}
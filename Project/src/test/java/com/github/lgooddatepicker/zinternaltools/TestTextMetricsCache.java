@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.lgooddatepicker.zinternaltools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.github.lgooddatepicker.TestHelpers;
+import java.awt.Canvas;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.text.DateFormatSymbols;
+import java.util.Locale;
+import java.util.Map;
+import javax.swing.UIManager;
+import org.junit.Test;
+
+/** TestTextMetricsCache, This tests the cached text measurements of the TextMetricsCache. */
+public class TestTextMetricsCache {
+
+  @Test(expected = Test.None.class /* no exception expected */)
+  public void testTextMetricsCache() throws Exception {
+    Font font = new Font(Font.DIALOG, Font.PLAIN, 13);
+    // Measurements use the default rendering context of an undisplayed canvas.
+    FontMetrics metrics = new Canvas().getFontMetrics(font);
+    TextMetricsCache.clear();
+    assertEquals(metrics.stringWidth("53 "), TextMetricsCache.getStringWidth(font, "53 "));
+    assertEquals(metrics.getHeight(), TextMetricsCache.getFontHeight(font));
+    int longestMonthWidth = 0;
+    for (String month : DateFormatSymbols.getInstance(Locale.ENGLISH).getMonths()) {
+      longestMonthWidth = Math.max(longestMonthWidth, metrics.stringWidth(month));
+    }
+    assertEquals(
+        longestMonthWidth, TextMetricsCache.getLongestMonthNameWidth(font, Locale.ENGLISH));
+    // An equal font instance shares the cached measurements.
+    Font equalFont = new Font(Font.DIALOG, Font.PLAIN, 13);
+    assertEquals(metrics.stringWidth("53 "), TextMetricsCache.getStringWidth(equalFont, "53 "));
+    Map<?, ?> measurementsByFont =
+        (Map<?, ?>)
+            TestHelpers.readPrivateField(TextMetricsCache.class, null, "measurementsByFont");
+    assertEquals(1, measurementsByFont.size());
+    // A different font is measured separately.
+    Font largerFont = font.deriveFont(20f);
+    assertTrue(
+        TextMetricsCache.getStringWidth(largerFont, "53 ")
+            > TextMetricsCache.getStringWidth(font, "53 "));
+    assertEquals(2, measurementsByFont.size());
+    // Changing the look and feel clears the cache.
+    UIManager.setLookAndFeel(UIManager.getLookAndFeel().getClass().getName());
+    assertEquals(0, measurementsByFont.size());
+  }
+}